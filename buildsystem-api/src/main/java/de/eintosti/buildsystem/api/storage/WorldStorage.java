@@ -18,7 +18,10 @@
 package de.eintosti.buildsystem.api.storage;
 
 import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.BuildWorldStatus;
 import de.eintosti.buildsystem.api.world.data.Visibility;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -87,6 +90,59 @@ public interface WorldStorage extends Storage<BuildWorld> {
     @Unmodifiable
     List<BuildWorld> getBuildWorldsCreatedByPlayer(Player player, Visibility visibility);
 
+    /**
+     * Gets the {@link BuildWorld}s created by the player with the given unique id. Unlike
+     * {@link #getBuildWorldsCreatedByPlayer(Player)}, the player does not need to be online.
+     *
+     * @param creatorId The unique id of the player who created the worlds
+     * @return A list of worlds created by the player
+     * @since 4.0.0
+     */
+    @Unmodifiable
+    List<BuildWorld> getBuildWorldsCreatedBy(UUID creatorId);
+
+    /**
+     * Gets the {@link BuildWorld}s the player with the given unique id has been added to as a builder.
+     *
+     * @param builderId The unique id of the builder
+     * @return A list of worlds the player is a builder in
+     * @since 4.0.0
+     */
+    @Unmodifiable
+    List<BuildWorld> getBuildWorldsWithBuilder(UUID builderId);
+
+    /**
+     * Gets the {@link BuildWorld}s with the given visibility and status.
+     *
+     * @param visibility The visibility of the worlds
+     * @param status The status of the worlds
+     * @return A list of worlds with the given visibility and status
+     * @since 4.0.0
+     */
+    @Unmodifiable
+    List<BuildWorld> getBuildWorlds(Visibility visibility, BuildWorldStatus status);
+
+    /**
+     * Gets the {@link BuildWorld}s the given category {@link NavigatorCategory#groups groups}, regardless of whether
+     * they are assigned to a folder. Whether a player may see an individual world is not checked.
+     *
+     * @param category The navigator category
+     * @return A list of worlds grouped by the category
+     * @since 4.0.0
+     */
+    @Unmodifiable
+    List<BuildWorld> getBuildWorlds(NavigatorCategory category);
+
+    /**
+     * Gets the {@link BuildWorld}s assigned to the given {@link Folder}, not including those of its subfolders.
+     *
+     * @param folder The folder
+     * @return A list of worlds in the folder
+     * @since 4.0.0
+     */
+    @Unmodifiable
+    List<BuildWorld> getBuildWorlds(Folder folder);
+
     /**
      * Checks if a {@link BuildWorld} with the given name (case-insensitive) exists.
      *
@@ -19,6 +19,7 @@ package de.eintosti.buildsystem.api.world.backup;
 
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
@@ -40,13 +41,32 @@ public interface BackupProfile {
     CompletableFuture<List<Backup>> listBackups();
 
     /**
-     * Creates a backup of the {@link BuildWorld}. If the profile is at the maximum backup capacity, the oldest backup
-     * will be deleted.
+     * Creates a backup of the {@link BuildWorld}. Backups that expire under the configured retention are deleted shortly
+     * afterwards in the background.
      *
      * @return Future that completes with the created backup.
      */
     CompletableFuture<Backup> createBackup();
 
+    /**
+     * Checks whether the {@link BuildWorld} changed since its latest backup, by comparing its last edit time and the
+     * sizes and hashes of its region files against the ones recorded for that backup. Only region files that were
+     * written since are read again. A world that was never backed up counts as changed.
+     *
+     * @return Future that completes with {@code true} if a new backup would differ from the latest one
+     * @since 4.0.0
+     */
+    CompletableFuture<Boolean> isBackupNeeded();
+
+    /**
+     * Creates a backup like {@link #createBackup()}, but only if {@link #isBackupNeeded() the world changed} since its
+     * latest backup. Otherwise, neither the world is saved nor a backup is written.
+     *
+     * @return Future that completes with the created backup, or empty if the world is unchanged
+     * @since 4.0.0
+     */
+    CompletableFuture<Optional<Backup>> createBackupIfNeeded();
+
     /**
      * Restores a {@link Backup}, replacing the world's current state. World and file operations run on the server main
      * thread, so the returned future completes there; it completes exceptionally if the backup cannot be downloaded or
@@ -19,6 +19,7 @@ package de.eintosti.buildsystem.api.world.backup;
 
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.jspecify.annotations.NullMarked;
@@ -70,6 +71,19 @@ public interface BackupStorage {
      */
     CompletableFuture<Void> deleteBackup(Backup backup);
 
+    /**
+     * Deletes several {@link Backup}s, possibly of different worlds. Storages that support it delete them in batches,
+     * with fewer requests than deleting each backup on its own.
+     *
+     * @param backups The backups to delete
+     * @return A future that will complete after the deletion, or exceptionally if any backup could not be deleted
+     * @since 4.0.0
+     */
+    default CompletableFuture<Void> deleteBackups(Collection<Backup> backups) {
+        return CompletableFuture.allOf(
+                backups.stream().map(this::deleteBackup).toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Closes the backup storage, releasing any resources.
      */
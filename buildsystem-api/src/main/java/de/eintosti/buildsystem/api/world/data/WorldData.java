@@ -53,6 +53,29 @@ public interface WorldData {
      */
     <T> void set(WorldDataKey<T> key, T value);
 
+    /**
+     * Reads the value of a boolean setting without boxing it, where the implementation stores it unboxed.
+     *
+     * @param key The setting to read
+     * @return The current value
+     * @since 4.0.0
+     */
+    default boolean getBoolean(WorldDataKey<Boolean> key) {
+        return get(key);
+    }
+
+    /**
+     * Reads the value of a {@code long} setting, such as a timestamp, without boxing it, where the implementation stores
+     * it unboxed.
+     *
+     * @param key The setting to read
+     * @return The current value
+     * @since 4.0.0
+     */
+    default long getLong(WorldDataKey<Long> key) {
+        return get(key);
+    }
+
     /**
      * Gets the {@link BuildWorld}'s custom spawn as a {@link Location}, parsed from {@link WorldDataKey#CUSTOM_SPAWN}.
      *
@@ -18,6 +18,7 @@
 package de.eintosti.buildsystem.api.world.data;
 
 import com.cryptomorin.xseries.XMaterial;
+import java.util.List;
 import java.util.Objects;
 import org.bukkit.Difficulty;
 import org.jspecify.annotations.NullMarked;
@@ -27,123 +28,159 @@ import org.jspecify.annotations.NullMarked;
  * with {@link WorldData#set(WorldDataKey, Object)}; the type parameter carries the value type, so the call site needs no
  * cast. The {@link #id() id} is the on-disk config name and must stay stable across releases. Keys are equal by id.
  *
+ * <p>Every built-in key also carries a dense {@link #ordinal() ordinal}, so implementations can keep the settings in an
+ * array instead of a map keyed by id.
+ *
  * @param <T> The type of the value stored under this key
  * @since 4.0.0
  */
 @NullMarked
 public final class WorldDataKey<T> {
 
+    /** The ordinal assigned to the next built-in key; only touched while the constants below are initialized. */
+    private static int nextOrdinal = 0;
+
     /**
      * The custom spawn as a {@code x;y;z;yaw;pitch} string; see {@link WorldData#getCustomSpawnLocation()} for the
      * parsed form.
      */
-    public static final WorldDataKey<String> CUSTOM_SPAWN = of("spawn", String.class);
+    public static final WorldDataKey<String> CUSTOM_SPAWN = builtIn("spawn", String.class);
 
     /**
      * The permission required to enter the world, or {@code "-"} when none is required.
      */
-    public static final WorldDataKey<String> PERMISSION = of("permission", String.class);
+    public static final WorldDataKey<String> PERMISSION = builtIn("permission", String.class);
 
     /**
      * The project description of the world.
      */
-    public static final WorldDataKey<String> PROJECT = of("project", String.class);
+    public static final WorldDataKey<String> PROJECT = builtIn("project", String.class);
 
     /**
      * The world's {@link Difficulty}.
      */
-    public static final WorldDataKey<Difficulty> DIFFICULTY = of("difficulty", Difficulty.class);
+    public static final WorldDataKey<Difficulty> DIFFICULTY = builtIn("difficulty", Difficulty.class);
 
     /**
      * The {@link XMaterial} shown for the world in the navigator menus.
      */
-    public static final WorldDataKey<XMaterial> MATERIAL = of("material", XMaterial.class);
+    public static final WorldDataKey<XMaterial> MATERIAL = builtIn("material", XMaterial.class);
 
     /**
      * The skull texture used when the {@link #MATERIAL icon} is a player head; the empty string means none.
      */
-    public static final WorldDataKey<String> ICON_SKULL_TEXTURE = of("icon-skull-texture", String.class);
+    public static final WorldDataKey<String> ICON_SKULL_TEXTURE = builtIn("icon-skull-texture", String.class);
 
     /**
      * The current {@link BuildWorldStatus} of the world.
      */
-    public static final WorldDataKey<BuildWorldStatus> STATUS = of("status", BuildWorldStatus.class);
+    public static final WorldDataKey<BuildWorldStatus> STATUS = builtIn("status", BuildWorldStatus.class);
 
     /**
      * Whether block breaking is allowed.
      */
-    public static final WorldDataKey<Boolean> BLOCK_BREAKING = of("block-breaking", Boolean.class);
+    public static final WorldDataKey<Boolean> BLOCK_BREAKING = builtIn("block-breaking", Boolean.class);
 
     /**
      * Whether block interactions (doors, chests, …) are enabled.
      */
-    public static final WorldDataKey<Boolean> BLOCK_INTERACTIONS = of("block-interactions", Boolean.class);
+    public static final WorldDataKey<Boolean> BLOCK_INTERACTIONS = builtIn("block-interactions", Boolean.class);
 
     /**
      * Whether block placement is allowed.
      */
-    public static final WorldDataKey<Boolean> BLOCK_PLACEMENT = of("block-placement", Boolean.class);
+    public static final WorldDataKey<Boolean> BLOCK_PLACEMENT = builtIn("block-placement", Boolean.class);
 
     /**
      * Whether the builders feature (only designated builders may modify the world) is enabled.
      */
-    public static final WorldDataKey<Boolean> BUILDERS_ENABLED = of("builders-enabled", Boolean.class);
+    public static final WorldDataKey<Boolean> BUILDERS_ENABLED = builtIn("builders-enabled", Boolean.class);
 
     /**
      * Whether explosions are enabled.
      */
-    public static final WorldDataKey<Boolean> EXPLOSIONS = of("explosions", Boolean.class);
+    public static final WorldDataKey<Boolean> EXPLOSIONS = builtIn("explosions", Boolean.class);
 
     /**
      * Whether entities have artificial intelligence.
      */
-    public static final WorldDataKey<Boolean> MOB_AI = of("mob-ai", Boolean.class);
+    public static final WorldDataKey<Boolean> MOB_AI = builtIn("mob-ai", Boolean.class);
 
     /**
      * Whether block physics (gravity, fluid flow, …) is applied.
      */
-    public static final WorldDataKey<Boolean> PHYSICS = of("physics", Boolean.class);
+    public static final WorldDataKey<Boolean> PHYSICS = builtIn("physics", Boolean.class);
 
     /**
      * Whether the world is pinned to the top of the navigator.
      */
-    public static final WorldDataKey<Boolean> PINNED = of("pinned", Boolean.class);
+    public static final WorldDataKey<Boolean> PINNED = builtIn("pinned", Boolean.class);
 
     /**
      * The {@link Visibility} governing who may see and enter the world.
      */
-    public static final WorldDataKey<Visibility> VISIBILITY = of("visibility", Visibility.class);
+    public static final WorldDataKey<Visibility> VISIBILITY = builtIn("visibility", Visibility.class);
 
     /**
      * Seconds elapsed since the world's last backup.
      */
-    public static final WorldDataKey<Integer> TIME_SINCE_BACKUP = of("time-since-backup", Integer.class);
+    public static final WorldDataKey<Integer> TIME_SINCE_BACKUP = builtIn("time-since-backup", Integer.class);
 
     /**
      * Epoch-millis timestamp of the world's last edit.
      */
-    public static final WorldDataKey<Long> LAST_EDITED = of("last-edited", Long.class);
+    public static final WorldDataKey<Long> LAST_EDITED = builtIn("last-edited", Long.class);
 
     /**
      * Epoch-millis timestamp of the world's last load.
      */
-    public static final WorldDataKey<Long> LAST_LOADED = of("last-loaded", Long.class);
+    public static final WorldDataKey<Long> LAST_LOADED = builtIn("last-loaded", Long.class);
 
     /**
      * Epoch-millis timestamp of the world's last unload.
      */
-    public static final WorldDataKey<Long> LAST_UNLOADED = of("last-unloaded", Long.class);
+    public static final WorldDataKey<Long> LAST_UNLOADED = builtIn("last-unloaded", Long.class);
+
+    // Declared after the constants, so every entry is initialized when the list is built.
+    private static final List<WorldDataKey<?>> VALUES = List.of(
+            CUSTOM_SPAWN,
+            PERMISSION,
+            PROJECT,
+            DIFFICULTY,
+            MATERIAL,
+            ICON_SKULL_TEXTURE,
+            STATUS,
+            BLOCK_BREAKING,
+            BLOCK_INTERACTIONS,
+            BLOCK_PLACEMENT,
+            BUILDERS_ENABLED,
+            EXPLOSIONS,
+            MOB_AI,
+            PHYSICS,
+            PINNED,
+            VISIBILITY,
+            TIME_SINCE_BACKUP,
+            LAST_EDITED,
+            LAST_LOADED,
+            LAST_UNLOADED);
 
     private final String id;
     private final Class<T> type;
+    private final int ordinal;
 
-    private WorldDataKey(String id, Class<T> type) {
+    private WorldDataKey(String id, Class<T> type, int ordinal) {
         this.id = Objects.requireNonNull(id, "id");
         this.type = Objects.requireNonNull(type, "type");
+        this.ordinal = ordinal;
+    }
+
+    private static <T> WorldDataKey<T> builtIn(String id, Class<T> type) {
+        return new WorldDataKey<>(id, type, nextOrdinal++);
     }
 
     /**
-     * Creates a key with the given on-disk id and value type.
+     * Creates a key with the given on-disk id and value type. A key with the id of a built-in key shares its
+     * {@link #ordinal() ordinal}.
      *
      * @param id The stable config name for the setting
      * @param type The runtime type of the stored value
@@ -151,7 +188,20 @@ public final class WorldDataKey<T> {
      * @return A new key
      */
     public static <T> WorldDataKey<T> of(String id, Class<T> type) {
-        return new WorldDataKey<>(id, type);
+        for (WorldDataKey<?> key : VALUES) {
+            if (key.id.equals(id)) {
+                return new WorldDataKey<>(id, type, key.ordinal);
+            }
+        }
+        return new WorldDataKey<>(id, type, -1);
+    }
+
+    /**
+     * {@return every built-in key, in declaration order} Keys created through {@link #of(String, Class)} by third
+     * parties are not included.
+     */
+    public static List<WorldDataKey<?>> values() {
+        return VALUES;
     }
 
     /**
@@ -168,6 +218,13 @@ public final class WorldDataKey<T> {
         return type;
     }
 
+    /**
+     * {@return the index of this key in {@link #values()}, or {@code -1} if no built-in key has its id}
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other instanceof WorldDataKey<?> key && id.equals(key.id);
@@ -27,7 +27,8 @@ import org.jspecify.annotations.NullMarked;
  * @since 3.0.0
  * @apiNote Every method on this interface touches the Bukkit API (scheduler / world unloading) and <b>must be called on
  *     the Bukkit main thread</b>. All methods complete synchronously except {@link #startUnloadTask()} (and the
- *     {@link #manageUnload()} that may start it), which schedule the actual unload for a later main-thread tick.
+ *     {@link #manageUnload()} that may start it), which schedule the actual unload for a later main-thread tick, and
+ *     {@link #unload()}, which may spread the unload over several ticks.
  */
 @NullMarked
 public interface WorldUnloader {
@@ -54,6 +55,10 @@ public interface WorldUnloader {
      *
      * <p>If the world contains any players, is blacklisted for unloading or is the spawn world, the unload will be
      * canceled.
+     *
+     * <p>The world's chunks may be saved and unloaded over several ticks. The
+     * {@link de.eintosti.buildsystem.api.event.world.BuildWorldPostUnloadEvent} is only called once the world has been
+     * released, and a player entering the world in the meantime aborts the unload.
      */
     void unload();
 
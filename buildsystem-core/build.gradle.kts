@@ -8,6 +8,7 @@ plugins {
     id("com.gradleup.shadow") version "9.6.0"
     id("de.eldoria.plugin-yml.bukkit") version "0.9.0"
     id("xyz.jpenilla.run-paper") version "3.0.2"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 project.description = "Core"
@@ -68,6 +69,7 @@ dependencies {
     implementation(libs.bstats)
     implementation(libs.bundles.aws)
     implementation(libs.fastboard)
+    implementation(libs.h2)
     implementation(libs.nbt) { isTransitive = false }
     implementation(libs.paperlib)
     implementation(libs.sftp)
@@ -84,6 +86,18 @@ dependencies {
     testImplementation(libs.paperapi)
     testImplementation(libs.placeholderapi)
     testRuntimeOnly(libs.junit.platform.launcher)
+
+    // Benchmarks reuse the test fixtures (includeTests below) and run against MockBukkit like the tests do.
+    jmhImplementation(libs.mockito)
+    jmhImplementation(libs.mockbukkit)
+    jmhImplementation(libs.paperapi)
+}
+
+jmh {
+    // Run with ./gradlew jmh, or a single benchmark with ./gradlew jmh -Pjmh.includes=WorldFileSystemBenchmark
+    jmhVersion.set(libs.versions.jmh.get())
+    includeTests.set(true)
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
 }
 
 tasks.withType<Test> {
@@ -100,6 +114,8 @@ tasks.named<ShadowJar>("shadowJar") {
         exclude(dependency("org.apache.sshd:.*:.*"))
         exclude(dependency("org.bouncycastle:.*:.*"))
         exclude(dependency("org.bstats:.*:.*"))
+        // H2 loads its storage engine and functions reflectively, which minimize cannot see.
+        exclude(dependency("com.h2database:.*:.*"))
     }
     archiveFileName.set("${rootProject.name}-${project.version}.jar")
     destinationDirectory.set(rootProject.layout.buildDirectory.dir("libs"))
@@ -117,6 +133,7 @@ tasks.named<ShadowJar>("shadowJar") {
     relocate("org.apache.sshd", "$shadePath.sshd")
     relocate("org.bouncycastle", "$shadePath.bouncycastle")
     relocate("org.bstats", "$shadePath.bstats")
+    relocate("org.h2", "$shadePath.h2")
     relocate("org.reactivestreams", "$shadePath.reactivestreams")
     relocate("org.slf4j", "$shadePath.slf4j")
     relocate("software.amazon.awssdk", "$shadePath.awssdk")
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.event;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.event.world.BuildWorldManipulationEvent;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.access.WorldPermissions;
+import de.eintosti.buildsystem.api.world.access.WorldSetting;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.listener.world.WorldManipulateListener;
+import de.eintosti.buildsystem.player.settings.SettingsService;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.jspecify.annotations.NullMarked;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-manipulation cost of {@link EventDispatcher} over a stream of block breaks. Without a foreign
+ * listener the manipulation is handled inline; with one, a {@link BuildWorldManipulationEvent} is fired through the
+ * plugin manager, as every block change did before.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    private static final int MANIPULATIONS = 1024;
+
+    @Param({"false", "true"})
+    public boolean foreignListener;
+
+    private final BlockBreakEvent[] stream = new BlockBreakEvent[MANIPULATIONS];
+    private PlayerMock player;
+    private EventDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        World world = server.addSimpleWorld("alpha");
+        player = server.addPlayer();
+
+        WorldPermissions permissions = mock(WorldPermissions.class);
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(true);
+        WorldDataImpl worldData = new WorldDataImpl.WorldDataBuilder("alpha")
+                .withStatus(TestData.NOT_STARTED)
+                .build();
+        BuildWorld buildWorld = mock(BuildWorld.class);
+        when(buildWorld.getPermissions()).thenReturn(permissions);
+        when(buildWorld.getData()).thenReturn(worldData);
+        WorldStorageImpl storage = mock(WorldStorageImpl.class);
+        when(storage.getBuildWorld(any(World.class))).thenReturn(buildWorld);
+
+        WorldManipulateListener listener = new WorldManipulateListener(
+                storage,
+                mock(ConfigService.class, RETURNS_DEEP_STUBS),
+                TestData.statusRegistry(),
+                mock(SettingsService.class));
+        server.getPluginManager().registerEvents(listener, MockBukkit.createMockPlugin());
+        if (foreignListener) {
+            server.getPluginManager().registerEvents(new ForeignListener(), MockBukkit.createMockPlugin());
+        }
+        dispatcher = listener.getDispatcher();
+
+        for (int i = 0; i < MANIPULATIONS; i++) {
+            stream[i] = new BlockBreakEvent(world.getBlockAt(i & 15, 64, i >> 4), player);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HandlerList.unregisterAll();
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MANIPULATIONS)
+    public void dispatch() {
+        for (BlockBreakEvent event : stream) {
+            dispatcher.tryDispatchManipulationEvent(player, event);
+        }
+    }
+
+    /** Stands in for another plugin listening for manipulations. */
+    public static final class ForeignListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onWorldManipulation(BuildWorldManipulationEvent event) {}
+    }
+}
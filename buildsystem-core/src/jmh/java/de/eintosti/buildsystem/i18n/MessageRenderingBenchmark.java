@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.i18n;
+
+import de.eintosti.buildsystem.util.color.ColorAPI;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the previous per-call rendering of a message, one {@link String#replace} per placeholder followed by the
+ * color patterns, with a compiled {@link MessageTemplate} whose output goes through the {@link RenderCache}, from one
+ * thread and from several.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageRenderingBenchmark {
+
+    private static final String RAW =
+            "&8» &7World: &e%world% &8| &7Status: %status% &8| <GRADIENT:ff0000>%creator%</GRADIENT:00ff00>";
+    private static final int RENDERS = 16;
+
+    private final MessageTemplate template = MessageTemplate.compile(RAW);
+    private final RenderCache cache = new RenderCache(2048);
+    private final Entry<String, Object>[][] placeholders = placeholders();
+
+    @SuppressWarnings("unchecked")
+    private static Entry<String, Object>[][] placeholders() {
+        Entry<String, Object>[][] placeholders = new Entry[RENDERS][];
+        for (int i = 0; i < RENDERS; i++) {
+            placeholders[i] = new Entry[] {
+                Map.entry("%world%", "world-" + i), Map.entry("%status%", "&aFinished"), Map.entry("%creator%", "Alice")
+            };
+        }
+        return placeholders;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RENDERS)
+    public void sequential(Blackhole blackhole) {
+        for (Entry<String, Object>[] values : placeholders) {
+            blackhole.consume(ColorAPI.process(Placeholders.apply(RAW, values)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RENDERS)
+    public void compiled(Blackhole blackhole) {
+        for (Entry<String, Object>[] values : placeholders) {
+            blackhole.consume(cache.get(template.render(values), ColorAPI::process));
+        }
+    }
+
+    /** The same as {@link #compiled}, with several threads sharing the cache as chat and sidebar threads do. */
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(RENDERS)
+    public void compiledContended(Blackhole blackhole) {
+        compiled(blackhole);
+    }
+}
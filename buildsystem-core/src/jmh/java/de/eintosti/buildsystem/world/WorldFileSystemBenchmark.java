@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares copying and renaming a world through {@link WorldFileSystem} with the sequential copy through a 1 KiB
+ * buffer that was used before, where a rename was a copy followed by a delete. Each iteration is a single operation on
+ * a world of {@link #worldSizeMib} MiB spread over 64 region files.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorldFileSystemBenchmark {
+
+    @Param("1024")
+    public int worldSizeMib;
+
+    private Path directory;
+    private Path world;
+    private Path target;
+    private ExecutorService executor;
+    private WorldFileSystem fileSystem;
+
+    @Setup(Level.Trial)
+    public void createWorld() throws IOException {
+        directory = Files.createTempDirectory("buildsystem-benchmark");
+        world = directory.resolve("world");
+        target = directory.resolve("target");
+        executor = Executors.newFixedThreadPool(4);
+        fileSystem = new WorldFileSystem(executor);
+
+        Files.createDirectories(world.resolve("region"));
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        for (int region = 0; region < 64; region++) {
+            try (OutputStream out = Files.newOutputStream(world.resolve("region").resolve("r." + region + ".0.mca"))) {
+                for (int mib = 0; mib < worldSizeMib / 64; mib++) {
+                    out.write(chunk);
+                }
+            }
+        }
+    }
+
+    /** Deletes a copy, or moves a renamed world back, so every iteration starts from the same folder. */
+    @TearDown(Level.Iteration)
+    public void resetTarget() throws IOException {
+        if (!Files.exists(target)) {
+            return;
+        }
+        if (Files.exists(world)) {
+            deleteTree(target);
+        } else {
+            Files.move(target, world);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorld() throws IOException {
+        executor.shutdownNow();
+        deleteTree(directory);
+    }
+
+    @Benchmark
+    public void copy() {
+        fileSystem.copy(world, target).join();
+    }
+
+    @Benchmark
+    public void copyLegacy() throws IOException {
+        legacyCopy(world, target);
+    }
+
+    @Benchmark
+    public void move() {
+        fileSystem.move(world, target).join();
+    }
+
+    @Benchmark
+    public void moveLegacy() throws IOException {
+        legacyCopy(world, target);
+        deleteTree(world);
+    }
+
+    /** The copy the file system replaced: sequential, one 1 KiB buffer at a time. */
+    private static void legacyCopy(Path source, Path target) throws IOException {
+        if (Files.isDirectory(source)) {
+            Files.createDirectories(target);
+            try (Stream<Path> children = Files.list(source)) {
+                for (Path child : children.toList()) {
+                    legacyCopy(child, target.resolve(child.getFileName().toString()));
+                }
+            }
+            return;
+        }
+        try (InputStream in = Files.newInputStream(source);
+                OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) > 0) {
+                out.write(buffer, 0, length);
+            }
+        }
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
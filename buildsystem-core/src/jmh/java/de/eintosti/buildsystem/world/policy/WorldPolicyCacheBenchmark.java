@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.policy;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.data.BuildWorldType;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.config.PluginConfig;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.bukkit.World;
+import org.jspecify.annotations.NullMarked;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the per-event cost of resolving the build world and reading its physics setting, as the listeners did
+ * before, with reading the policy from {@link WorldPolicyCache}. Events alternate between two worlds in runs of 64, as
+ * physics updates do.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldPolicyCacheBenchmark {
+
+    private static final int EVENTS = 1024;
+
+    private final World[] worlds = new World[EVENTS];
+    private WorldStorageImpl storage;
+    private WorldPolicyCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        storage = new NoOpWorldStorage();
+        ConfigService configService = mock(ConfigService.class, RETURNS_DEEP_STUBS);
+        when(configService.current().world().disabledPhysics())
+                .thenReturn(new PluginConfig.World.DisabledPhysics(true, false, true));
+        cache = new WorldPolicyCache(storage, configService);
+
+        World alpha = server.addSimpleWorld("alpha");
+        World bravo = server.addSimpleWorld("bravo");
+        storage.addBuildWorld(buildWorld("alpha"));
+        storage.addBuildWorld(buildWorld("bravo"));
+        for (int i = 0; i < EVENTS; i++) {
+            worlds[i] = (i / 64) % 2 == 0 ? alpha : bravo;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private static BuildWorldImpl buildWorld(String name) {
+        return new BuildWorldImpl(
+                TestData.worldContext(),
+                UUID.randomUUID(),
+                name,
+                BuildWorldType.NORMAL,
+                new WorldDataBuilder(name).withStatus(TestData.NOT_STARTED).build(),
+                Builder.of(UUID.randomUUID(), "Creator"),
+                List.of(),
+                System.currentTimeMillis(),
+                null,
+                null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int lookup() {
+        int allowed = 0;
+        for (World world : worlds) {
+            BuildWorld buildWorld = storage.getBuildWorld(world);
+            if (buildWorld == null || buildWorld.getData().get(WorldDataKey.PHYSICS)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int cached() {
+        int allowed = 0;
+        for (World world : worlds) {
+            if (cache.get(world).physics()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    /** An in-memory storage; only its world index is benchmarked. */
+    private static final class NoOpWorldStorage extends WorldStorageImpl {
+
+        private NoOpWorldStorage() {
+            super(Logger.getLogger("benchmark"));
+        }
+
+        @Override
+        public CompletableFuture<Void> save(BuildWorld object) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> save(Collection<BuildWorld> objects) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Collection<BuildWorld>> load() {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(BuildWorld object) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(String key) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -128,8 +128,9 @@ public class BuildSystemPlugin extends JavaPlugin {
             this.configSaveTask.cancel();
         }
 
-        // Shut the shared background pool down only after the final saves above have completed.
+        // Shut the shared background pool and the database down only after the final saves above have completed.
         services.scheduler().shutdown();
+        services.closeDatabase();
 
         this.integrations.deactivate();
         getServer().getServicesManager().unregister(BuildSystem.class, api);
@@ -196,6 +197,7 @@ public class BuildSystemPlugin extends JavaPlugin {
 
         reloadConfig();
         services.config().load();
+        services.world().getPolicies().invalidateAll();
         if (isEnabled()) {
             services.backup().reload();
         }
@@ -30,6 +30,7 @@ import de.eintosti.buildsystem.player.PlayerServiceImpl;
 import de.eintosti.buildsystem.player.customblock.CustomBlockManager;
 import de.eintosti.buildsystem.player.noclip.NoClipService;
 import de.eintosti.buildsystem.player.settings.SettingsService;
+import de.eintosti.buildsystem.storage.sql.SqlDatabase;
 import de.eintosti.buildsystem.util.TaskScheduler;
 import de.eintosti.buildsystem.world.WorldContext;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
@@ -74,6 +75,7 @@ public final class Services {
     private @Nullable Menus menus;
     private @Nullable Prompts prompts;
     private @Nullable WorldContext worldContext;
+    private @Nullable SqlDatabase database;
 
     Services(BuildSystemPlugin plugin) {
         this.plugin = plugin;
@@ -88,6 +90,27 @@ public final class Services {
         return taskScheduler;
     }
 
+    /**
+     * The embedded database behind the {@code h2} storage type, opened on first use so the YAML storage types never
+     * create it. {@link #closeDatabase() Closed} on disable.
+     */
+    public synchronized SqlDatabase database() {
+        if (database == null) {
+            database = SqlDatabase.open(plugin.getDataFolder());
+        }
+        return database;
+    }
+
+    /**
+     * Closes the embedded database if it was opened. Must only be called once the final saves have completed.
+     */
+    public synchronized void closeDatabase() {
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+    }
+
     /**
      * Creates the configuration service. Must be called first, during {@code onLoad}.
      */
@@ -117,12 +140,13 @@ public final class Services {
 
         this.customBlockManager = new CustomBlockManager(plugin, this::world);
         this.playerLookupService = new PlayerLookupService(plugin);
-        (this.playerService = new PlayerServiceImpl(plugin, config(), this::world, taskScheduler)).init();
+        (this.playerService = new PlayerServiceImpl(plugin, config(), this::world, taskScheduler, this::database))
+                .init();
         this.navigatorEditorService = new NavigatorEditorService();
-        this.noClipService = new NoClipService(plugin);
+        this.noClipService = new NoClipService(taskScheduler);
         this.worldService = new WorldServiceImpl(plugin, this);
         this.backupService = new BackupServiceImpl(plugin, config(), messages(), world(), this::spawn);
-        this.settingsService = new SettingsService(plugin, config(), messages(), player(), world());
+        this.settingsService = new SettingsService(taskScheduler, config(), messages(), player(), world());
         this.spawnService = new SpawnService(plugin, world(), taskScheduler);
         this.menuItems = new MenuItems(plugin, messages(), settings());
         this.navigatorItems = new NavigatorItems(plugin, config(), messages());
@@ -274,11 +274,7 @@ public class FolderSubCommand extends AbstractSubCommand {
             if (folder == null) {
                 return result;
             }
-            worldService.getWorldStorage().getBuildWorlds().stream()
-                    .filter(bw -> folder.getCategory()
-                            .groups(
-                                    bw.getData().get(WorldDataKey.VISIBILITY),
-                                    bw.getData().get(WorldDataKey.STATUS).getId()))
+            worldService.getWorldStorage().getBuildWorlds(folder.getCategory()).stream()
                     .filter(bw -> op.equals("add") ? !bw.isAssignedToFolder() : folder.containsWorld(bw))
                     .forEach(bw -> WorldsCompletions.addIfStartsWith(args[3], bw.getName(), result));
             return result;
@@ -31,7 +31,6 @@ import de.eintosti.buildsystem.world.WorldServiceImpl;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.bukkit.World;
@@ -99,7 +98,9 @@ public class SaveTemplateSubCommand extends AbstractSubCommand {
                 "worlds_savetemplate_started",
                 Map.entry("%world%", buildWorld.getName()),
                 Map.entry("%template%", templateName));
-        CompletableFuture.runAsync(() -> FileUtils.copy(worldDir, templateDir), scheduler.background())
+        worldService
+                .getFileSystem()
+                .copy(worldDir.toPath(), templateDir.toPath())
                 .whenComplete((ignored, throwable) -> scheduler.run(() -> {
                     if (throwable != null) {
                         logger.log(
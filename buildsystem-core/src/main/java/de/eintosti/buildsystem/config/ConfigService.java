@@ -107,7 +107,11 @@ public class ConfigService {
      * @return The parsed {@link PluginConfig}
      */
     static PluginConfig parse(FileConfiguration config, Logger logger, XMaterial worldEditWand) {
-        return new PluginConfig(parseSettings(config, worldEditWand), parseWorld(config, logger), parseFolder(config));
+        return new PluginConfig(
+                parseSettings(config, worldEditWand),
+                parseWorld(config, logger),
+                parseFolder(config),
+                parseStorage(config, logger));
     }
 
     private static PluginConfig.Settings parseSettings(FileConfiguration config, XMaterial worldEditWand) {
@@ -187,15 +191,32 @@ public class ConfigService {
         PluginConfig.World.Unload unload = new PluginConfig.World.Unload(
                 config.getBoolean("world.unload.enabled", false),
                 Objects.requireNonNullElse(config.getString("world.unload.time-until-unload"), "01:00:00"),
+                Math.max(0, config.getInt("world.unload.tick-budget-millis", 5)),
                 new HashSet<>(config.getStringList("world.unload.blacklisted-worlds")));
 
+        PluginConfig.World.Preload preload = new PluginConfig.World.Preload(
+                config.getBoolean("world.preload.enabled", true),
+                Math.max(1, config.getInt("world.preload.max-loaded-worlds", 10)),
+                Math.max(0, config.getInt("world.preload.worlds-per-player", 2)));
+
         PluginConfig.World.Backup.AutoBackup autoBackup = new PluginConfig.World.Backup.AutoBackup(
                 config.getBoolean("world.backup.auto-backup.enabled", true),
                 config.getBoolean("world.backup.auto-backup.only-active-worlds", true),
-                config.getInt("world.backup.auto-backup.interval", 900));
+                config.getInt("world.backup.auto-backup.interval", 900),
+                Math.max(1, config.getInt("world.backup.auto-backup.max-concurrent", 2)),
+                Math.max(0, config.getInt("world.backup.auto-backup.jitter", 60)));
 
         PluginConfig.World.Backup backup = new PluginConfig.World.Backup(
                 Math.min(config.getInt("world.backup.max-backups-per-world", 5), 18),
+                new PluginConfig.World.Backup.Retention(
+                        Math.max(0, config.getInt("world.backup.retention.hourly", 0)),
+                        Math.max(0, config.getInt("world.backup.retention.daily", 0)),
+                        Math.max(0, config.getInt("world.backup.retention.weekly", 0))),
+                parseBackupFormat(config, logger),
+                new PluginConfig.World.Backup.Compression(
+                        Math.clamp(config.getInt("world.backup.compression.level", 6), 0, 9),
+                        config.getBoolean("world.backup.compression.store-region-files", true),
+                        Math.max(1, config.getInt("world.backup.compression.read-ahead", 32))),
                 StorageSettingsFactory.fromConfig(config, logger),
                 autoBackup);
 
@@ -212,9 +233,20 @@ public class ConfigService {
                 limits,
                 defaults,
                 unload,
+                preload,
                 backup);
     }
 
+    private static PluginConfig.World.Backup.Format parseBackupFormat(FileConfiguration config, Logger logger) {
+        String raw = Objects.requireNonNullElse(config.getString("world.backup.format"), "zip");
+        try {
+            return PluginConfig.World.Backup.Format.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Unknown backup format '" + raw + "', defaulting to zip.");
+            return PluginConfig.World.Backup.Format.ZIP;
+        }
+    }
+
     private static List<GameRuleEntry<?>> parseGameRules(FileConfiguration config, Logger logger) {
         var gameRulesSection = config.getConfigurationSection("world.defaults.gamerules");
         Map<String, Object> gameRulesMap = gameRulesSection == null ? Map.of() : gameRulesSection.getValues(true);
@@ -265,6 +297,19 @@ public class ConfigService {
                 config.getBoolean("folder.override-projects", false));
     }
 
+    private static PluginConfig.Storage parseStorage(FileConfiguration config, Logger logger) {
+        String raw = Objects.requireNonNullElse(config.getString("storage.type"), "yaml");
+        PluginConfig.Storage.Type type;
+        try {
+            type = PluginConfig.Storage.Type.valueOf(
+                    raw.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Unknown storage type '" + raw + "', defaulting to yaml.");
+            type = PluginConfig.Storage.Type.YAML;
+        }
+        return new PluginConfig.Storage(type);
+    }
+
     /**
      * Parses the {@link GameMode} from a string, defaulting to {@link GameMode#ADVENTURE} if the string is not valid.
      *
@@ -27,7 +27,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 @NullMarked
-public record PluginConfig(Settings settings, World world, Folder folder) {
+public record PluginConfig(Settings settings, World world, Folder folder, Storage storage) {
 
     public record Settings(
             boolean updateChecker,
@@ -62,6 +62,7 @@ public record PluginConfig(Settings settings, World world, Folder folder) {
             Limits limits,
             Defaults defaults,
             Unload unload,
+            Preload preload,
             Backup backup) {
 
         public World {
@@ -94,39 +95,114 @@ public record PluginConfig(Settings settings, World world, Folder folder) {
             public record BuildersEnabled(boolean publicBuilders, boolean privateBuilders) {}
         }
 
-        public record Unload(boolean enabled, String timeUntilUnload, Set<String> blacklistedWorlds) {
+        /**
+         * @param tickBudgetMillis The milliseconds per tick spent saving and unloading the chunks of an idle world, or
+         *     {@code 0} to unload it within a single tick
+         */
+        public record Unload(
+                boolean enabled, String timeUntilUnload, int tickBudgetMillis, Set<String> blacklistedWorlds) {
 
             public Unload {
                 blacklistedWorlds = Set.copyOf(blacklistedWorlds);
             }
         }
 
-        public record Backup(int maxBackupsPerWorld, StorageSettings storage, AutoBackup autoBackup) {
+        public record Preload(boolean enabled, int maxLoadedWorlds, int worldsPerPlayer) {}
+
+        /**
+         * @param maxBackupsPerWorld How many of a world's newest backups are always kept
+         * @param retention How many older backups are kept per hour, day and week
+         */
+        public record Backup(
+                int maxBackupsPerWorld,
+                Retention retention,
+                Format format,
+                Compression compression,
+                StorageSettings storage,
+                AutoBackup autoBackup) {
+
+            public enum Format {
+                /** Every backup is a self-contained zip of the whole world folder. */
+                ZIP,
+                /**
+                 * World files are split into blocks stored once by content hash; a backup is a manifest of the blocks
+                 * it needs, so only blocks that changed since an earlier backup are written.
+                 */
+                INCREMENTAL
+            }
+
+            /**
+             * @param level The deflate level of zip backups, from {@code 0} (no compression) to {@code 9}
+             * @param storeRegionFiles Whether region files, whose chunks are already compressed, are stored as-is
+             * @param readAhead The combined size in MiB of the files each zip backup reads ahead of its writer
+             */
+            public record Compression(int level, boolean storeRegionFiles, int readAhead) {}
+
+            /**
+             * Grandfather-father-son retention on top of {@code maxBackupsPerWorld}: the newest backup of each of the
+             * last {@code hourly} hours, {@code daily} days and {@code weekly} weeks that have a backup is kept too.
+             *
+             * @param hourly The number of hours to keep a backup of, or {@code 0} for none
+             * @param daily The number of days to keep a backup of, or {@code 0} for none
+             * @param weekly The number of weeks to keep a backup of, or {@code 0} for none
+             */
+            public record Retention(int hourly, int daily, int weekly) {}
 
             public sealed interface StorageSettings permits Local, Sftp, S3 {}
 
             public record Local() implements StorageSettings {}
 
+            /**
+             * @param maxSessions The maximum number of sessions open to the server, one per concurrent transfer
+             */
             public record Sftp(
                     @Nullable String host,
                     int port,
                     @Nullable String username,
                     @Nullable String password,
-                    @Nullable String path)
+                    @Nullable String path,
+                    int maxSessions)
                     implements StorageSettings {}
 
+            /**
+             * @param partSize The size of a multipart upload part in MiB, at least the S3 minimum of 5
+             * @param parallelism The number of parts uploaded at the same time
+             */
             public record S3(
                     @Nullable String url,
                     @Nullable String accessKey,
                     @Nullable String secretKey,
                     @Nullable String region,
                     @Nullable String bucket,
-                    @Nullable String path)
+                    @Nullable String path,
+                    int partSize,
+                    int parallelism)
                     implements StorageSettings {}
 
-            public record AutoBackup(boolean enabled, boolean onlyActiveWorlds, int interval) {}
+            /**
+             * @param interval Seconds between two backups of a world
+             * @param maxConcurrent How many automatic backups may run at once
+             * @param jitter Up to how many seconds each deadline is randomly pushed back, to spread backups out
+             */
+            public record AutoBackup(
+                    boolean enabled, boolean onlyActiveWorlds, int interval, int maxConcurrent, int jitter) {}
         }
     }
 
     public record Folder(boolean overridePermissions, boolean overrideProjects) {}
+
+    public record Storage(Type type) {
+
+        public enum Type {
+            /** All worlds in a single {@code worlds.yml}, rewritten in full on every save. */
+            YAML,
+            /** One file per world under {@code worlds/}, so a save only rewrites the worlds that changed. */
+            YAML_PER_WORLD,
+            /**
+             * An embedded H2 database ({@code buildsystem.mv.db}) holding worlds, players and folders, updated row by
+             * row.
+             */
+            H2
+        }
+    }
 }
@@ -39,6 +39,8 @@ import org.jspecify.annotations.Nullable;
 final class StorageSettingsFactory {
 
     private static final String BASE = "world.backup.storage.";
+    /** S3 rejects multipart parts smaller than 5 MiB, except for the last one. */
+    private static final int MIN_PART_SIZE_MIB = 5;
 
     private StorageSettingsFactory() {}
 
@@ -72,7 +74,9 @@ final class StorageSettingsFactory {
                 config.getString(prefix + "secret-key"),
                 config.getString(prefix + "region"),
                 config.getString(prefix + "bucket"),
-                config.getString(prefix + "path"));
+                config.getString(prefix + "path"),
+                Math.max(MIN_PART_SIZE_MIB, config.getInt(prefix + "part-size", 16)),
+                Math.max(1, config.getInt(prefix + "parallelism", 4)));
     }
 
     private static StorageSettings sftp(FileConfiguration config, Logger logger) {
@@ -91,7 +95,8 @@ final class StorageSettingsFactory {
                 config.getInt(prefix + "port", 22),
                 config.getString(prefix + "username"),
                 config.getString(prefix + "password"),
-                config.getString(prefix + "path"));
+                config.getString(prefix + "path"),
+                Math.max(1, config.getInt(prefix + "max-sessions", 3)));
     }
 
     /**
@@ -23,23 +23,42 @@ import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Manages the dispatching of custom events related to build world manipulations.
+ *
+ * <p>Block breaks, placements and interactions arrive at very high rates from brushes and building mods, and most
+ * servers have no listener for {@link BuildWorldManipulationEvent} besides BuildSystem's own. As long as that is the
+ * case, the manipulation is passed straight to that listener's {@link ManipulationHandler handler} instead of being
+ * wrapped in an event and run through the plugin manager.
  */
 @NullMarked
 public class EventDispatcher {
 
+    private final Listener owner;
     private final WorldStorageImpl worldStorage;
+    private final ManipulationHandler handler;
+
+    /** The listener array {@link #foreignListeners} was computed for; Bukkit replaces it when listeners change. */
+    private RegisteredListener @Nullable [] knownListeners;
+
+    private boolean foreignListeners;
 
     /**
      * Creates a new {@link EventDispatcher} instance.
      *
+     * @param owner The listener handling {@link BuildWorldManipulationEvent} through the handler
      * @param worldStorage The world storage used to retrieve {@link BuildWorld} information
+     * @param handler The owner's handling of a manipulation, called directly when nothing else listens for the event
      */
-    public EventDispatcher(WorldStorageImpl worldStorage) {
+    public EventDispatcher(Listener owner, WorldStorageImpl worldStorage, ManipulationHandler handler) {
+        this.owner = owner;
         this.worldStorage = worldStorage;
+        this.handler = handler;
     }
 
     /**
@@ -54,7 +73,7 @@ public class EventDispatcher {
      * </ol>
      *
      * <p>If both conditions are met, it triggers a {@link BuildWorldManipulationEvent} to allow further processing of
-     * the player's action.
+     * the player's action, or calls the handler directly if no other plugin listens for the event.
      *
      * @param player The player who performed the manipulation
      * @param parentEvent The original event that triggered this potential manipulation
@@ -69,6 +88,63 @@ public class EventDispatcher {
             return;
         }
 
-        Bukkit.getPluginManager().callEvent(new BuildWorldManipulationEvent(parentEvent, player, buildWorld));
+        tryDispatchManipulationEvent(player, buildWorld, parentEvent);
+    }
+
+    /**
+     * Dispatches a build world manipulation event for a world the caller already looked up, unless the parent event
+     * has been canceled.
+     *
+     * @param player The player who performed the manipulation
+     * @param buildWorld The build world the player is in
+     * @param parentEvent The original event that triggered this potential manipulation
+     */
+    public void tryDispatchManipulationEvent(Player player, BuildWorld buildWorld, Cancellable parentEvent) {
+        if (parentEvent.isCancelled()) {
+            return;
+        }
+
+        if (hasForeignListeners()) {
+            Bukkit.getPluginManager().callEvent(new BuildWorldManipulationEvent(parentEvent, player, buildWorld));
+        } else {
+            handler.handle(player, buildWorld, parentEvent);
+        }
+    }
+
+    /**
+     * {@return whether anything besides the owner listens for {@link BuildWorldManipulationEvent}} Only rescans the
+     * listeners after Bukkit rebuilt the array, which happens whenever a listener is registered or unregistered.
+     */
+    private boolean hasForeignListeners() {
+        RegisteredListener[] listeners =
+                BuildWorldManipulationEvent.getHandlerList().getRegisteredListeners();
+        if (listeners != knownListeners) {
+            boolean foreign = false;
+            for (RegisteredListener listener : listeners) {
+                if (listener.getListener() != owner) {
+                    foreign = true;
+                    break;
+                }
+            }
+            this.foreignListeners = foreign;
+            this.knownListeners = listeners;
+        }
+        return foreignListeners;
+    }
+
+    /**
+     * The owner's handling of a manipulation, run from its {@link BuildWorldManipulationEvent} handler or directly.
+     */
+    @FunctionalInterface
+    public interface ManipulationHandler {
+
+        /**
+         * Handles a manipulation of a build world.
+         *
+         * @param player The player who performed the manipulation
+         * @param buildWorld The world being manipulated
+         * @param parentEvent The original event, cancelled to deny the manipulation
+         */
+        void handle(Player player, BuildWorld buildWorld, Cancellable parentEvent);
     }
 }
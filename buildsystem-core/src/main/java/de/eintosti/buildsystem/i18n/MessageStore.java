@@ -23,7 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -36,13 +38,15 @@ import org.jspecify.annotations.NullMarked;
 
 /**
  * Loads {@code messages.yml} from disk, merging in any keys missing from the bundled defaults, and provides raw
- * (unrendered) lookups of the resulting message strings.
+ * (unrendered) lookups of the resulting message strings. Every message is also compiled into a {@link MessageTemplate},
+ * with the prefix already substituted, so rendering does not re-scan the text.
  */
 @NullMarked
 final class MessageStore {
 
     private final BuildSystemPlugin plugin;
     private volatile Map<String, String> messages = Map.of();
+    private volatile Map<String, Compiled> templates = Map.of();
 
     MessageStore(BuildSystemPlugin plugin) {
         this.plugin = plugin;
@@ -98,6 +102,11 @@ final class MessageStore {
             });
         }
         this.messages = Map.copyOf(map);
+
+        String prefix = map.getOrDefault("prefix", "");
+        Map<String, Compiled> compiled = new HashMap<>();
+        map.forEach((key, raw) -> compiled.put(key, Compiled.of(raw.replace("%prefix%", prefix))));
+        this.templates = Map.copyOf(compiled);
     }
 
     void reload() {
@@ -124,6 +133,26 @@ final class MessageStore {
         return messages.getOrDefault(key, "");
     }
 
+    /**
+     * {@return the compiled message for the given key, or an empty template when the key is absent} The prefix is
+     * already substituted.
+     *
+     * @param key The message key
+     */
+    MessageTemplate getTemplate(String key) {
+        return templates.getOrDefault(key, Compiled.MISSING).message();
+    }
+
+    /**
+     * {@return the compiled lines of a list message, or a single empty line when the key is absent} The prefix is
+     * already substituted.
+     *
+     * @param key The message key
+     */
+    List<MessageTemplate> getLineTemplates(String key) {
+        return templates.getOrDefault(key, Compiled.MISSING).lines();
+    }
+
     /**
      * Returns the raw stored value for the given key only if the loaded {@code messages.yml} actually contains it,
      * without logging a "missing key" warning. Used to read legacy keys during a one-time migration.
@@ -134,4 +163,16 @@ final class MessageStore {
     Optional<String> find(String key) {
         return Optional.ofNullable(messages.get(key));
     }
+
+    private record Compiled(MessageTemplate message, List<MessageTemplate> lines) {
+
+        private static final Compiled MISSING = new Compiled(MessageTemplate.EMPTY, List.of(MessageTemplate.EMPTY));
+
+        private static Compiled of(String text) {
+            List<MessageTemplate> lines = Arrays.stream(text.split("\n"))
+                    .map(MessageTemplate::compile)
+                    .toList();
+            return new Compiled(MessageTemplate.compile(text), lines);
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A message compiled once when {@code messages.yml} is loaded: the literal text split around its {@code %name%}
+ * placeholder slots. Rendering fills the slots in a single pass instead of one {@link String#replace} over the whole
+ * message per placeholder.
+ *
+ * <p>Substituted values are inserted as they are, so a value that itself looks like a placeholder is not expanded
+ * again. A placeholder key that is not shaped like {@code %name%} has no slot and falls back to a plain replacement.
+ */
+@NullMarked
+final class MessageTemplate {
+
+    static final MessageTemplate EMPTY = compile("");
+
+    private final String source;
+    private final String[] literals;
+    private final String[] slots;
+
+    private MessageTemplate(String source, String[] literals, String[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Compiles the given text into literal segments and placeholder slots.
+     *
+     * @param source The message text
+     * @return The compiled template
+     */
+    static MessageTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = source.indexOf('%');
+        while (open >= 0) {
+            int close = source.indexOf('%', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (!isName(source, open + 1, close)) {
+                // Not a placeholder, e.g. "50% off"; the closing '%' may still open the next one
+                open = close;
+                continue;
+            }
+            literals.add(source.substring(literalStart, open));
+            slots.add(source.substring(open, close + 1));
+            literalStart = close + 1;
+            open = source.indexOf('%', literalStart);
+        }
+        literals.add(source.substring(literalStart));
+
+        return new MessageTemplate(source, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    private static boolean isName(String text, int from, int to) {
+        if (from == to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSlotKey(String key) {
+        return key.length() > 2
+                && key.charAt(0) == '%'
+                && key.charAt(key.length() - 1) == '%'
+                && isName(key, 1, key.length() - 1);
+    }
+
+    /**
+     * {@return the text this template was compiled from}
+     */
+    String source() {
+        return source;
+    }
+
+    /**
+     * {@return whether this template has no placeholder slots} A static template always renders to its source.
+     */
+    boolean isStatic() {
+        return slots.length == 0;
+    }
+
+    /**
+     * Fills the placeholder slots. A slot without a matching placeholder is kept as written; when a key is given more
+     * than once, the first value wins.
+     *
+     * @param placeholders The placeholders, keyed by their {@code %name%}
+     * @return The rendered text
+     */
+    @SafeVarargs
+    final String render(Entry<String, Object>... placeholders) {
+        if (placeholders.length == 0) {
+            return source;
+        }
+
+        String rendered = source;
+        if (!isStatic()) {
+            StringBuilder builder = new StringBuilder(source.length() + 16 * slots.length);
+            builder.append(literals[0]);
+            for (int i = 0; i < slots.length; i++) {
+                Object value = find(slots[i], placeholders);
+                builder.append(value != null ? String.valueOf(value) : slots[i]);
+                builder.append(literals[i + 1]);
+            }
+            rendered = builder.toString();
+        }
+
+        for (Entry<String, Object> placeholder : placeholders) {
+            if (!isSlotKey(placeholder.getKey())) {
+                rendered = rendered.replace(placeholder.getKey(), String.valueOf(placeholder.getValue()));
+            }
+        }
+        return rendered;
+    }
+
+    private static @Nullable Object find(String slot, Entry<String, Object>[] placeholders) {
+        for (Entry<String, Object> placeholder : placeholders) {
+            if (placeholder.getKey().equals(slot)) {
+                return placeholder.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -34,8 +34,12 @@ import org.jspecify.annotations.Nullable;
 @NullMarked
 public final class Messages {
 
+    /** Enough for every message and lore line plus the dynamic text currently in circulation. */
+    private static final int RENDER_CACHE_SIZE = 2048;
+
     private final ConfigService configService;
     private final MessageStore store;
+    private final RenderCache renderCache = new RenderCache(RENDER_CACHE_SIZE);
     private volatile @Nullable TextResolver placeholderResolver;
 
     public Messages(BuildSystemPlugin plugin, ConfigService configService) {
@@ -55,6 +59,7 @@ public final class Messages {
 
     public void load() {
         this.store.load();
+        this.renderCache.clear();
     }
 
     /**
@@ -71,6 +76,7 @@ public final class Messages {
 
     public void reload() {
         this.store.reload();
+        this.renderCache.clear();
     }
 
     public void sendPermissionError(CommandSender sender) {
@@ -88,10 +94,9 @@ public final class Messages {
     @SafeVarargs
     public final String getString(String key, CommandSender sender, Entry<String, Object>... placeholders) {
         store.checkIfKeyPresent(key);
-        String message = store.getRaw(key).replace("%prefix%", store.getPrefix());
-        String result = Placeholders.apply(message, placeholders);
+        String result = store.getTemplate(key).render(placeholders);
         Player player = sender instanceof Player p ? p : null;
-        return ColorAPI.process(applyResolver(this.placeholderResolver, player, result));
+        return color(applyResolver(this.placeholderResolver, player, result));
     }
 
     /**
@@ -119,15 +124,51 @@ public final class Messages {
     @Unmodifiable
     public List<String> getStringList(
             String key, @Nullable Player player, Function<String, Entry<String, Object>[]> placeholders) {
-        String message = store.getRaw(key).replace("%prefix%", store.getPrefix());
-        TextResolver resolver = this.placeholderResolver;
-        return Arrays.stream(message.split("\n"))
-                .map(line -> Placeholders.apply(line, placeholders.apply(line)))
-                .map(line -> applyResolver(resolver, player, line))
-                .map(ColorAPI::process)
+        return getTemplateLines(key, placeholders).stream()
+                .map(line -> finishLine(player, line))
+                .toList();
+    }
+
+    /**
+     * Returns the lines of a list message with BuildSystem's own placeholders substituted, but neither expanded by the
+     * external resolver nor colored. The result does not depend on the audience, so it can be rendered once and
+     * {@link #finishLine finished} for each player it is shown to.
+     *
+     * @param key The message key
+     * @param placeholders The placeholders to substitute, per raw line
+     * @return The substituted lines
+     */
+    @Unmodifiable
+    public List<String> getTemplateLines(String key, Function<String, Entry<String, Object>[]> placeholders) {
+        return store.getLineTemplates(key).stream()
+                .map(line -> line.render(placeholders.apply(line.source())))
                 .toList();
     }
 
+    /**
+     * Completes a line from {@link #getTemplateLines} for an audience: expands it with the external resolver, if any,
+     * and applies colors.
+     *
+     * @param player The player the line is for, or {@code null} for non-player audiences
+     * @param line The substituted line
+     * @return The finished line
+     */
+    public String finishLine(@Nullable Player player, String line) {
+        return color(applyResolver(this.placeholderResolver, player, line));
+    }
+
+    private String color(String text) {
+        return renderCache.get(text, ColorAPI::process);
+    }
+
+    /**
+     * {@return whether an external placeholder resolver is registered} When one is, finished lines may differ per player
+     * and change without BuildSystem noticing.
+     */
+    public boolean hasPlaceholderResolver() {
+        return this.placeholderResolver != null;
+    }
+
     public String formatDate(long millis) {
         return millis > 0
                 ? new SimpleDateFormat(configService.current().settings().dateFormat()).format(millis)
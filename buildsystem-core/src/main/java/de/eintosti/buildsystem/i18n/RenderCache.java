@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.i18n;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A bounded, least-recently-used cache of colored message text, keyed by the text before coloring. Coloring is a pure
+ * function of its input, so any repeated text (a static message, a menu lore line, a sidebar line shown to many
+ * players) is only run through the color patterns once. Safe to use from any thread: lookups do not block each other,
+ * and text is rendered outside the cache, so two threads missing on the same text at once may both render it.
+ */
+@NullMarked
+final class RenderCache {
+
+    private final Cache<String, String> entries;
+
+    RenderCache(int capacity) {
+        this.entries = CacheBuilder.newBuilder().maximumSize(capacity).build();
+    }
+
+    /**
+     * {@return the cached rendering of the given text, rendering and caching it first if needed}
+     *
+     * @param text The text to render
+     * @param renderer The rendering function, which must only depend on its input
+     */
+    String get(String text, UnaryOperator<String> renderer) {
+        String rendered = entries.getIfPresent(text);
+        if (rendered == null) {
+            rendered = renderer.apply(text);
+            entries.put(text, rendered);
+        }
+        return rendered;
+    }
+
+    long size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+}
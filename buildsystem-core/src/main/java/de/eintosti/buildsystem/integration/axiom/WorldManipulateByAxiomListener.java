@@ -19,7 +19,6 @@ package de.eintosti.buildsystem.integration.axiom;
 
 import com.moulberry.axiom.event.AxiomModifyWorldEvent;
 import de.eintosti.buildsystem.event.EventDispatcher;
-import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import java.util.logging.Logger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -36,11 +35,11 @@ public class WorldManipulateByAxiomListener implements Listener {
     /**
      * Creates a new {@link WorldManipulateByAxiomListener} instance.
      *
-     * @param worldStorage the world storage the dispatcher guards
+     * @param dispatcher the dispatcher guarding the build worlds
      * @param logger the plugin logger
      */
-    public WorldManipulateByAxiomListener(WorldStorageImpl worldStorage, Logger logger) {
-        this.dispatcher = new EventDispatcher(worldStorage);
+    public WorldManipulateByAxiomListener(EventDispatcher dispatcher, Logger logger) {
+        this.dispatcher = dispatcher;
         logger.info("Axiom build-world manipulation prevention has been enabled.");
     }
 
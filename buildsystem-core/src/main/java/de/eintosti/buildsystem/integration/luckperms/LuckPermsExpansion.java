@@ -28,8 +28,12 @@ import java.util.function.Supplier;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.context.ContextCalculator;
 import net.luckperms.api.context.ContextManager;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public class LuckPermsExpansion {
@@ -38,8 +42,11 @@ public class LuckPermsExpansion {
     private final PlayerServiceImpl playerService;
     private final WorldStorageImpl worldStorage;
     private final ContextManager contextManager;
+    private final EventBus eventBus;
     private final List<ContextCalculator<Player>> registeredCalculators;
 
+    private @Nullable EventSubscription<UserDataRecalculateEvent> recalculateSubscription;
+
     public LuckPermsExpansion(
             BuildSystemPlugin plugin, PlayerServiceImpl playerService, WorldStorageImpl worldStorage) {
         LuckPerms luckPerms = plugin.getServer().getServicesManager().load(LuckPerms.class);
@@ -51,12 +58,17 @@ public class LuckPermsExpansion {
         this.playerService = playerService;
         this.worldStorage = worldStorage;
         this.contextManager = luckPerms.getContextManager();
+        this.eventBus = luckPerms.getEventBus();
         this.registeredCalculators = new ArrayList<>();
     }
 
     public void registerAll() {
         register("build-mode", () -> new BuildModeCalculator(playerService));
         register("role", () -> new RoleCalculator(worldStorage));
+        this.recalculateSubscription = eventBus.subscribe(
+                plugin,
+                UserDataRecalculateEvent.class,
+                event -> playerService.getPermissionCache().invalidate(event.getUser().getUniqueId()));
         plugin.getLogger().info("LuckPerms expansion initialized");
     }
 
@@ -70,5 +82,9 @@ public class LuckPermsExpansion {
     public void unregisterAll() {
         this.registeredCalculators.forEach(this.contextManager::unregisterCalculator);
         this.registeredCalculators.clear();
+        if (this.recalculateSubscription != null) {
+            this.recalculateSubscription.close();
+            this.recalculateSubscription = null;
+        }
     }
 }
@@ -21,6 +21,7 @@ import de.eintosti.buildsystem.BuildSystemPlugin;
 import de.eintosti.buildsystem.Services;
 import de.eintosti.buildsystem.api.world.data.WorldStatusRegistry;
 import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.event.EventDispatcher;
 import de.eintosti.buildsystem.i18n.Messages;
 import de.eintosti.buildsystem.integration.axiom.WorldManipulateByAxiomListener;
 import de.eintosti.buildsystem.integration.worldedit.EditSessionListener;
@@ -45,6 +46,7 @@ import de.eintosti.buildsystem.player.settings.SettingsService;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import de.eintosti.buildsystem.util.TaskScheduler;
 import de.eintosti.buildsystem.util.UpdateChecker;
+import de.eintosti.buildsystem.world.policy.WorldPolicyCache;
 import de.eintosti.buildsystem.world.spawn.SpawnService;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.PluginManager;
@@ -65,6 +67,7 @@ public final class ListenerRegistrar {
 
     public void registerAll() {
         WorldStorageImpl worldStorage = services.world().getWorldStorage();
+        WorldPolicyCache worldPolicies = services.world().getPolicies();
         ConfigService configService = services.config();
         SettingsService settingsService = services.settings();
         WorldStatusRegistry worldStatusRegistry = services.worldStatusRegistry();
@@ -83,12 +86,12 @@ public final class ListenerRegistrar {
         register(new AsyncPlayerChatListener());
         register(new AsyncPlayerPreLoginListener(
                 playerService.getPlayerStorage(), spawnService, worldStorage, scheduler));
-        register(new BlockPhysicsListener(worldStorage, configService));
+        register(new BlockPhysicsListener(worldPolicies));
         register(new BuildModePreventationListener(playerService, configService));
         register(new BuildWorldResetUnloadListener(worldStorage));
         register(new DisabledInteractionsListener(settingsService, worldStorage, configService));
         register(new EntityDamageListener(configService, worldStorage));
-        register(new EntitySpawnListener(worldStorage));
+        register(new EntitySpawnListener(worldPolicies));
         register(new FoodLevelChangeListener(worldStorage));
         register(new InstantSignPlacementListener(settingsService, worldStorage));
         register(new InventoryCreativeListener(navigatorItems, scheduler));
@@ -104,8 +107,15 @@ public final class ListenerRegistrar {
                 menus,
                 configService,
                 playerService));
+        register(new NoClipBlockChangeListener(noClipService));
         register(new PlayerChangedWorldListener(
-                navigatorService, playerService, settingsService, worldStorage, configService, messages));
+                navigatorService,
+                playerService,
+                settingsService,
+                worldStorage,
+                services.world().getPreloader(),
+                configService,
+                messages));
         register(new PlayerCommandPreprocessListener(
                 settingsService, worldStorage, navigatorItems, configService, messages, scheduler));
         register(new PlayerInventoryClearListener(settingsService, navigatorItems));
@@ -136,9 +146,11 @@ public final class ListenerRegistrar {
         register(new SignChangeListener());
         register(new SlabListener(settingsService, worldStorage));
         register(new WeatherChangeListener(configService));
-        register(new WorldManipulateListener(worldStorage, configService, worldStatusRegistry, settingsService));
+        WorldManipulateListener manipulateListener =
+                new WorldManipulateListener(worldStorage, configService, worldStatusRegistry, settingsService);
+        register(manipulateListener);
 
-        registerIntegrations(configService);
+        registerIntegrations(configService, manipulateListener.getDispatcher());
     }
 
     private void register(Listener listener) {
@@ -150,9 +162,9 @@ public final class ListenerRegistrar {
      * plugin. {@link EditSessionListener} hooks WorldEdit's own event bus from its constructor, so it is created rather
      * than registered through the {@link PluginManager}.
      */
-    private void registerIntegrations(ConfigService configService) {
+    private void registerIntegrations(ConfigService configService, EventDispatcher dispatcher) {
         if (pluginManager.getPlugin("AxiomPaper") != null) {
-            register(new WorldManipulateByAxiomListener(services.world().getWorldStorage(), plugin.getLogger()));
+            register(new WorldManipulateByAxiomListener(dispatcher, plugin.getLogger()));
         }
 
         boolean isWorldEdit =
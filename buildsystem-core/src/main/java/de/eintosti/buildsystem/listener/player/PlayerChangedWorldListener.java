@@ -19,7 +19,6 @@ package de.eintosti.buildsystem.listener.player;
 
 import com.cryptomorin.xseries.XPotion;
 import com.cryptomorin.xseries.XSound;
-import de.eintosti.buildsystem.api.player.PlayerService;
 import de.eintosti.buildsystem.api.storage.WorldStorage;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.data.BuildWorldType;
@@ -30,7 +29,9 @@ import de.eintosti.buildsystem.i18n.Messages;
 import de.eintosti.buildsystem.navigator.NavigatorService;
 import de.eintosti.buildsystem.player.BuildPlayerImpl;
 import de.eintosti.buildsystem.player.CachedValues;
+import de.eintosti.buildsystem.player.PlayerServiceImpl;
 import de.eintosti.buildsystem.player.settings.SettingsService;
+import de.eintosti.buildsystem.world.preload.WorldPreloader;
 import java.util.Map;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -48,23 +49,26 @@ import org.jspecify.annotations.Nullable;
 public class PlayerChangedWorldListener implements Listener {
 
     private final NavigatorService navigatorService;
-    private final PlayerService playerManager;
+    private final PlayerServiceImpl playerManager;
     private final SettingsService settingsManager;
     private final WorldStorage worldStorage;
+    private final WorldPreloader worldPreloader;
     private final ConfigService configService;
     private final Messages messages;
 
     public PlayerChangedWorldListener(
             NavigatorService navigatorService,
-            PlayerService playerManager,
+            PlayerServiceImpl playerManager,
             SettingsService settingsManager,
             WorldStorage worldStorage,
+            WorldPreloader worldPreloader,
             ConfigService configService,
             Messages messages) {
         this.navigatorService = navigatorService;
         this.playerManager = playerManager;
         this.settingsManager = settingsManager;
         this.worldStorage = worldStorage;
+        this.worldPreloader = worldPreloader;
         this.configService = configService;
         this.messages = messages;
     }
@@ -73,6 +77,8 @@ public class PlayerChangedWorldListener implements Listener {
     public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
         String worldName = player.getWorld().getName();
+        // The world is a LuckPerms context, so the player's permissions may differ in the new one
+        playerManager.getPermissionCache().invalidate(player.getUniqueId());
 
         event.getPlayer().setAllowFlight(true);
 
@@ -96,6 +102,8 @@ public class PlayerChangedWorldListener implements Listener {
         if (settingsManager.getSettings(player).isScoreboard()) {
             settingsManager.forceUpdateSidebar(player);
         }
+
+        worldPreloader.onWorldChange(player, event.getFrom());
     }
 
     private void removeOldNavigator(Player player) {
@@ -17,7 +17,6 @@
  */
 package de.eintosti.buildsystem.listener.player;
 
-import de.eintosti.buildsystem.api.player.PlayerService;
 import de.eintosti.buildsystem.api.player.settings.Settings;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.i18n.Messages;
@@ -26,6 +25,7 @@ import de.eintosti.buildsystem.navigator.NavigatorService;
 import de.eintosti.buildsystem.player.BuildPlayerImpl;
 import de.eintosti.buildsystem.player.CachedValues;
 import de.eintosti.buildsystem.player.LogoutLocation;
+import de.eintosti.buildsystem.player.PlayerServiceImpl;
 import de.eintosti.buildsystem.player.noclip.NoClipService;
 import de.eintosti.buildsystem.player.settings.SettingsService;
 import java.util.Map;
@@ -40,7 +40,7 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class PlayerQuitListener implements Listener {
 
-    private final PlayerService playerManager;
+    private final PlayerServiceImpl playerManager;
     private final NavigatorService navigatorService;
     private final NavigatorEditorService navigatorEditorService;
     private final NoClipService noClipService;
@@ -49,7 +49,7 @@ public class PlayerQuitListener implements Listener {
     private final Messages messages;
 
     public PlayerQuitListener(
-            PlayerService playerManager,
+            PlayerServiceImpl playerManager,
             NavigatorService navigatorService,
             NavigatorEditorService navigatorEditorService,
             NoClipService noClipService,
@@ -103,6 +103,7 @@ public class PlayerQuitListener implements Listener {
         cachedValues.resetGameModeIfPresent(player);
         cachedValues.resetInventoryIfPresent(player);
         playerManager.leaveBuildMode(player.getUniqueId());
+        playerManager.getPermissionCache().invalidate(player.getUniqueId());
 
         manageHidePlayer(player);
     }
@@ -18,11 +18,9 @@
 package de.eintosti.buildsystem.listener.world;
 
 import com.cryptomorin.xseries.XMaterial;
-import de.eintosti.buildsystem.api.storage.WorldStorage;
-import de.eintosti.buildsystem.api.world.BuildWorld;
-import de.eintosti.buildsystem.api.world.data.WorldDataKey;
-import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.util.DirectionUtil;
+import de.eintosti.buildsystem.world.policy.WorldPolicy;
+import de.eintosti.buildsystem.world.policy.WorldPolicyCache;
 import java.util.List;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -41,27 +39,25 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class BlockPhysicsListener implements Listener {
 
-    private final WorldStorage worldStorage;
-    private final ConfigService configService;
+    private final WorldPolicyCache worldPolicies;
 
-    public BlockPhysicsListener(WorldStorage worldStorage, ConfigService configService) {
-        this.worldStorage = worldStorage;
-        this.configService = configService;
+    public BlockPhysicsListener(WorldPolicyCache worldPolicies) {
+        this.worldPolicies = worldPolicies;
     }
 
     private boolean physicsAllowed(World world) {
-        BuildWorld buildWorld = worldStorage.getBuildWorld(world);
-        return buildWorld == null || buildWorld.getData().get(WorldDataKey.PHYSICS);
+        return worldPolicies.get(world).physics();
     }
 
     @EventHandler
     public void onBlockPhysics(BlockPhysicsEvent event) {
         Block block = event.getBlock();
-        if (physicsAllowed(block.getWorld())) {
+        WorldPolicy policy = worldPolicies.get(block.getWorld());
+        if (policy.physics()) {
             return;
         }
 
-        if (!configService.current().world().disabledPhysics().preventConnections()) {
+        if (policy.connections()) {
             boolean canConnect =
                     switch (block.getBlockData()) {
                         case Fence fence -> true;
@@ -125,12 +121,12 @@ public class BlockPhysicsListener implements Listener {
 
     @EventHandler
     public void onBlockFromTo(BlockFromToEvent event) {
-        if (physicsAllowed(event.getBlock().getWorld())) {
+        WorldPolicy policy = worldPolicies.get(event.getBlock().getWorld());
+        if (policy.physics()) {
             return;
         }
 
-        if (event.getBlock().isLiquid()
-                && !configService.current().world().disabledPhysics().preventFluidFlow()) {
+        if (event.getBlock().isLiquid() && policy.fluidFlow()) {
             event.setCancelled(false);
             return;
         }
@@ -156,12 +152,12 @@ public class BlockPhysicsListener implements Listener {
 
     @EventHandler
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-        if (physicsAllowed(event.getBlock().getWorld())) {
+        WorldPolicy policy = worldPolicies.get(event.getBlock().getWorld());
+        if (policy.physics()) {
             return;
         }
 
-        if (event.getEntityType() == EntityType.FALLING_BLOCK
-                && configService.current().world().disabledPhysics().preventFallingBlocks()) {
+        if (event.getEntityType() == EntityType.FALLING_BLOCK && !policy.fallingBlocks()) {
             event.setCancelled(true);
             event.getBlock().getState().update(false, false);
         }
@@ -188,7 +184,7 @@ public class BlockPhysicsListener implements Listener {
 
     @EventHandler
     public void onBlockExplode(BlockExplodeEvent event) {
-        if (physicsAllowed(event.getBlock().getWorld())) {
+        if (worldPolicies.get(event.getBlock().getWorld()).explosions()) {
             return;
         }
         event.setCancelled(true);
@@ -197,7 +193,7 @@ public class BlockPhysicsListener implements Listener {
     @EventHandler
     public void onEntityExplode(EntityExplodeEvent event) {
         World world = event.getLocation().getWorld();
-        if (world == null || physicsAllowed(world)) {
+        if (world == null || worldPolicies.get(world).explosions()) {
             return;
         }
         event.setCancelled(true);
@@ -19,12 +19,17 @@ package de.eintosti.buildsystem.listener.world;
 
 import de.eintosti.buildsystem.api.storage.WorldStorage;
 import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.world.lifecycle.WorldUnloaderImpl;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public class BuildWorldResetUnloadListener implements Listener {
@@ -40,6 +45,24 @@ public class BuildWorldResetUnloadListener implements Listener {
         resetUnloadTask(event.getFrom());
     }
 
+    /**
+     * Keeps a world that is being unloaded over several ticks loaded when a player is about to enter it.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        Location destination = event.getTo();
+        @Nullable World to = destination == null ? null : destination.getWorld();
+        if (to == null || to.equals(event.getFrom().getWorld())) {
+            return;
+        }
+        BuildWorld buildWorld = worldStorage.getBuildWorld(to.getName());
+        if (buildWorld != null
+                && buildWorld.getUnloader() instanceof WorldUnloaderImpl unloader
+                && unloader.isUnloading()) {
+            unloader.resetUnloadTask();
+        }
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         resetUnloadTask(event.getPlayer().getWorld());
@@ -17,9 +17,7 @@
  */
 package de.eintosti.buildsystem.listener.world;
 
-import de.eintosti.buildsystem.api.storage.WorldStorage;
-import de.eintosti.buildsystem.api.world.BuildWorld;
-import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.world.policy.WorldPolicyCache;
 import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
@@ -30,10 +28,10 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class EntitySpawnListener implements Listener {
 
-    private final WorldStorage worldStorage;
+    private final WorldPolicyCache worldPolicies;
 
-    public EntitySpawnListener(WorldStorage worldStorage) {
-        this.worldStorage = worldStorage;
+    public EntitySpawnListener(WorldPolicyCache worldPolicies) {
+        this.worldPolicies = worldPolicies;
     }
 
     @EventHandler
@@ -43,8 +41,7 @@ public class EntitySpawnListener implements Listener {
             return;
         }
 
-        BuildWorld buildWorld = worldStorage.getBuildWorld(bukkitWorld.getName());
-        if (buildWorld == null || buildWorld.getData().get(WorldDataKey.MOB_AI)) {
+        if (worldPolicies.get(bukkitWorld).mobAi()) {
             return;
         }
 
@@ -28,6 +28,7 @@ import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.event.EventDispatcher;
 import de.eintosti.buildsystem.player.settings.SettingsService;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Player;
 import org.bukkit.event.*;
@@ -43,6 +44,13 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class WorldManipulateListener implements Listener {
 
+    /**
+     * Edits within this many milliseconds of the last recorded one, about a tick, are not recorded again. Brushes and
+     * building mods edit a world many times per tick, and one {@link WorldDataKey#LAST_EDITED} write and status check
+     * per tick is all the world needs.
+     */
+    static final long EDIT_COALESCE_MILLIS = 50;
+
     private final WorldStorageImpl worldStorage;
     private final ConfigService configService;
     private final WorldStatusRegistry worldStatusRegistry;
@@ -58,7 +66,15 @@ public class WorldManipulateListener implements Listener {
         this.configService = configService;
         this.worldStatusRegistry = worldStatusRegistry;
         this.settingsService = settingsService;
-        this.dispatcher = new EventDispatcher(worldStorage);
+        this.dispatcher = new EventDispatcher(this, worldStorage, this::handleManipulation);
+    }
+
+    /**
+     * {@return the dispatcher routing manipulations to this listener} Integrations report their own manipulations
+     * through it.
+     */
+    public EventDispatcher getDispatcher() {
+        return dispatcher;
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -105,9 +121,9 @@ public class WorldManipulateListener implements Listener {
             return;
         }
 
-        dispatcher.tryDispatchManipulationEvent(player, event);
+        dispatcher.tryDispatchManipulationEvent(player, buildWorld, event);
 
-        if (!buildWorld.getData().get(WorldDataKey.PHYSICS) && event.getClickedBlock() != null) {
+        if (!buildWorld.getData().getBoolean(WorldDataKey.PHYSICS) && event.getClickedBlock() != null) {
             if (event.getAction() == Action.PHYSICAL && event.getClickedBlock().getType() == XMaterial.FARMLAND.get()) {
                 event.setCancelled(true);
             }
@@ -120,19 +136,37 @@ public class WorldManipulateListener implements Listener {
             return;
         }
 
-        Player player = event.getPlayer();
-        BuildWorld buildWorld = event.getBuildWorld();
-        WorldData worldData = buildWorld.getData();
-        Cancellable parentEvent = event.getParentEvent();
+        handleManipulation(event.getPlayer(), event.getBuildWorld(), event.getParentEvent());
+    }
 
+    /**
+     * Denies the manipulation if the player may not modify the world, and records the edit otherwise. Called for every
+     * manipulation, directly by the {@link EventDispatcher} when no other plugin listens for
+     * {@link BuildWorldManipulationEvent}, so it must not allocate on the common path.
+     */
+    private void handleManipulation(Player player, BuildWorld buildWorld, Cancellable parentEvent) {
         WorldSetting setting = worldSettingFor(parentEvent);
         if (!buildWorld.getPermissions().canModify(player, setting)) {
             parentEvent.setCancelled(true);
-            denyPlayerInteraction(event);
+            denyPlayerInteraction(parentEvent);
             return;
         }
 
-        worldData.set(WorldDataKey.LAST_EDITED, System.currentTimeMillis());
+        recordEdit(buildWorld.getData(), player);
+    }
+
+    private void recordEdit(WorldData worldData, Player player) {
+        long now = System.currentTimeMillis();
+        long sinceLastEdit = now - worldData.getLong(WorldDataKey.LAST_EDITED);
+        if (sinceLastEdit >= 0 && sinceLastEdit < EDIT_COALESCE_MILLIS) {
+            return;
+        }
+
+        if (worldData instanceof WorldDataImpl worldDataImpl) {
+            worldDataImpl.setLong(WorldDataKey.LAST_EDITED, now);
+        } else {
+            worldData.set(WorldDataKey.LAST_EDITED, now);
+        }
         updateStatus(worldData, player);
     }
 
@@ -144,7 +178,7 @@ public class WorldManipulateListener implements Listener {
         };
     }
 
-    private void denyPlayerInteraction(Event event) {
+    private void denyPlayerInteraction(Cancellable event) {
         if (event instanceof PlayerInteractEvent interactEvent) {
             interactEvent.setUseItemInHand(Event.Result.DENY);
             interactEvent.setUseInteractedBlock(Event.Result.DENY);
@@ -190,11 +190,13 @@ public final class Menus {
     }
 
     public void openNavigator(Player player) {
+        services.world().getPreloader().onNavigatorOpened(player);
         new NavigatorMenu(services.messages(), services.menuItems(), this, services.navigatorCategoryRegistry(), player)
                 .open(player);
     }
 
     public void openCategoryWorlds(NavigatorCategory category, Player player) {
+        services.world().getPreloader().onNavigatorOpened(player);
         new CategoryWorldsMenu(displayablesContext(), services.worldStatusRegistry(), player, category).open(player);
     }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.navigator;
+
+import org.bukkit.Location;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The box around a navigator armor stand's head that the player's line of sight is tested against.
+ *
+ * @param minX The lower x bound
+ * @param minY The lower y bound
+ * @param minZ The lower z bound
+ * @param maxX The upper x bound
+ * @param maxY The upper y bound
+ * @param maxZ The upper z bound
+ */
+@NullMarked
+record HeadHitbox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+
+    /** Returned by {@link #intersect} when the ray misses the box. */
+    static final double MISS = -1;
+
+    private static final double HALF_SIZE = 0.3;
+
+    /**
+     * Creates the hitbox centred on an armor stand's eye location.
+     *
+     * @param eyeLocation The armor stand's eye location
+     * @return The head hitbox
+     */
+    static HeadHitbox around(Location eyeLocation) {
+        double x = eyeLocation.getX();
+        double y = eyeLocation.getY();
+        double z = eyeLocation.getZ();
+        return new HeadHitbox(
+                x - HALF_SIZE, y - HALF_SIZE, z - HALF_SIZE, x + HALF_SIZE, y + HALF_SIZE, z + HALF_SIZE);
+    }
+
+    /**
+     * Intersects a ray with this box using the slab method: the ray enters the box at the latest of its entries into
+     * the three axis-aligned slabs and leaves it at the earliest exit, so it hits if it enters before it leaves.
+     *
+     * @param originX The x coordinate the ray starts at
+     * @param originY The y coordinate the ray starts at
+     * @param originZ The z coordinate the ray starts at
+     * @param directionX The x component of the ray's unit direction
+     * @param directionY The y component of the ray's unit direction
+     * @param directionZ The z component of the ray's unit direction
+     * @param maxDistance How far along the ray to look
+     * @return The distance along the ray at which it enters the box, {@code 0} if it starts inside, or {@link #MISS}
+     */
+    double intersect(
+            double originX,
+            double originY,
+            double originZ,
+            double directionX,
+            double directionY,
+            double directionZ,
+            double maxDistance) {
+        double near = 0;
+        double far = maxDistance;
+
+        if (directionX != 0) {
+            double t1 = (minX - originX) / directionX;
+            double t2 = (maxX - originX) / directionX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (originX < minX || originX > maxX) {
+            return MISS;
+        }
+
+        if (directionY != 0) {
+            double t1 = (minY - originY) / directionY;
+            double t2 = (maxY - originY) / directionY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (originY < minY || originY > maxY) {
+            return MISS;
+        }
+
+        if (directionZ != 0) {
+            double t1 = (minZ - originZ) / directionZ;
+            double t2 = (maxZ - originZ) / directionZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (originZ < minZ || originZ > maxZ) {
+            return MISS;
+        }
+
+        return near <= far ? near : MISS;
+    }
+}
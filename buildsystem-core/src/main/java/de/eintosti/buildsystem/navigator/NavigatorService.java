@@ -42,7 +42,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.util.Vector;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -52,6 +51,9 @@ public class NavigatorService {
     private static final float RADIUS = 2.2f;
     private static final float SPREAD = 90.0f;
 
+    /** How often, in checks, the looked-at category is re-sent before the client fades the action bar out. */
+    private static final int ACTION_BAR_REFRESH_RUNS = 20;
+
     private final NavigatorCategoryRegistryImpl navigatorCategoryRegistry;
     private final ConfigService configService;
     private final NavigatorItems navigatorItems;
@@ -62,7 +64,7 @@ public class NavigatorService {
     private final NamespacedKey categoryKey;
 
     private final Set<Player> openNavigator;
-    private final Map<UUID, ArmorStand[]> armorStands;
+    private final Map<UUID, NavigatorView> navigatorViews;
 
     public NavigatorService(
             NavigatorCategoryRegistryImpl navigatorCategoryRegistry,
@@ -82,7 +84,7 @@ public class NavigatorService {
         this.ownerKey = ownerKey;
         this.categoryKey = categoryKey;
         this.openNavigator = new HashSet<>();
-        this.armorStands = new HashMap<>();
+        this.navigatorViews = new HashMap<>();
         initEntityChecker();
     }
 
@@ -107,15 +109,15 @@ public class NavigatorService {
         for (int i = 0; i < shownCategories.size(); i++) {
             stands[i] = spawnArmorStand(player, shownCategories.get(i), spreadAngle(i, shownCategories.size()));
         }
-        this.armorStands.put(player.getUniqueId(), stands);
+        this.navigatorViews.put(player.getUniqueId(), new NavigatorView(stands));
     }
 
     public void removeArmorStands(Player player) {
-        ArmorStand[] stands = this.armorStands.remove(player.getUniqueId());
-        if (stands == null) {
+        NavigatorView view = this.navigatorViews.remove(player.getUniqueId());
+        if (view == null) {
             return;
         }
-        for (ArmorStand armorStand : stands) {
+        for (ArmorStand armorStand : view.stands()) {
             armorStand.remove();
         }
     }
@@ -226,52 +228,34 @@ public class NavigatorService {
         scheduler.runTimer(this::checkForArmorStandNavigator, 0L, 2L);
     }
 
+    /**
+     * Updates the action bar of every player with an open navigator to the category they look at. The line of sight is
+     * only re-evaluated for players who moved or turned their head, and the action bar is only sent when the looked-at
+     * category changes or is due for a refresh.
+     */
     private void checkForArmorStandNavigator() {
         for (Player player : openNavigator) {
-            ArmorStand[] stands = armorStands.get(player.getUniqueId());
-            if (stands == null) {
+            NavigatorView view = navigatorViews.get(player.getUniqueId());
+            if (view == null) {
                 continue;
             }
 
-            NavigatorCategory lookedAt = null;
-            for (ArmorStand armorStand : stands) {
-                if (!armorStand.isDead() && isLookingAtArmorStandHead(player, armorStand)) {
-                    lookedAt = matchNavigatorCategory(armorStand);
-                    break;
-                }
-            }
-            sendTypeInfo(player, lookedAt);
-        }
-    }
-
-    private boolean isLookingAtArmorStandHead(Player player, ArmorStand armorStand) {
-        Location eyeLocation = player.getEyeLocation();
-        Vector direction = eyeLocation.getDirection().normalize();
-
-        Location standEyeLocation = armorStand.getEyeLocation().clone();
-        double boxHalfSize = 0.3;
-
-        double minX = standEyeLocation.getX() - boxHalfSize;
-        double maxX = standEyeLocation.getX() + boxHalfSize;
-        double minY = standEyeLocation.getY() - boxHalfSize;
-        double maxY = standEyeLocation.getY() + boxHalfSize;
-        double minZ = standEyeLocation.getZ() - boxHalfSize;
-        double maxZ = standEyeLocation.getZ() + boxHalfSize;
-
-        for (double distance = 0; distance <= 3; distance += 0.05) {
-            Vector point = eyeLocation.toVector().add(direction.clone().multiply(distance));
-
-            if (point.getX() >= minX
-                    && point.getX() <= maxX
-                    && point.getY() >= minY
-                    && point.getY() <= maxY
-                    && point.getZ() >= minZ
-                    && point.getZ() <= maxZ) {
-                return true;
+            Location location = player.getLocation(view.scratch());
+            boolean changed = view.look(
+                    location.getX(),
+                    location.getY() + player.getEyeHeight(),
+                    location.getZ(),
+                    location.getYaw(),
+                    location.getPitch());
+
+            ArmorStand target = view.target();
+            if (changed) {
+                view.actionBarSent();
+                sendTypeInfo(player, target != null ? matchNavigatorCategory(target) : null);
+            } else if (target != null && view.actionBarDue(ACTION_BAR_REFRESH_RUNS)) {
+                sendTypeInfo(player, matchNavigatorCategory(target));
             }
         }
-
-        return false;
     }
 
     private void sendTypeInfo(Player player, @Nullable NavigatorCategory category) {
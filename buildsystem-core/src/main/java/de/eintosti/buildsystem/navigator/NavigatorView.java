@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.navigator;
+
+import org.bukkit.Location;
+import org.bukkit.entity.ArmorStand;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The armor stands of one player's open navigator, with their head hitboxes computed once when they are spawned, and
+ * what the player looked at on the last check. The stands have no gravity, so the hitboxes stay valid while the
+ * navigator is open.
+ */
+@NullMarked
+final class NavigatorView {
+
+    /** How far the player's line of sight reaches, in blocks. */
+    static final double REACH = 3.0;
+
+    private static final int NO_TARGET = -1;
+
+    private final ArmorStand[] stands;
+    private final HeadHitbox[] heads;
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private boolean evaluated;
+    private double eyeX;
+    private double eyeY;
+    private double eyeZ;
+    private float yaw;
+    private float pitch;
+    private int target = NO_TARGET;
+    private int runsSinceActionBar;
+
+    NavigatorView(ArmorStand[] stands) {
+        this.stands = stands;
+        this.heads = new HeadHitbox[stands.length];
+        for (int i = 0; i < stands.length; i++) {
+            this.heads[i] = HeadHitbox.around(stands[i].getEyeLocation());
+        }
+    }
+
+    ArmorStand[] stands() {
+        return stands;
+    }
+
+    /**
+     * {@return a location to copy the player's position into} Reused across checks so they do not allocate.
+     */
+    Location scratch() {
+        return scratch;
+    }
+
+    /**
+     * Re-evaluates which stand's head the player looks at, unless their eye position and rotation are exactly those of
+     * the last call.
+     *
+     * @param eyeX The x coordinate of the player's eyes
+     * @param eyeY The y coordinate of the player's eyes
+     * @param eyeZ The z coordinate of the player's eyes
+     * @param yaw The player's yaw
+     * @param pitch The player's pitch
+     * @return Whether the looked-at stand changed
+     */
+    boolean look(double eyeX, double eyeY, double eyeZ, float yaw, float pitch) {
+        if (evaluated
+                && eyeX == this.eyeX
+                && eyeY == this.eyeY
+                && eyeZ == this.eyeZ
+                && yaw == this.yaw
+                && pitch == this.pitch
+                && (target == NO_TARGET || !stands[target].isDead())) {
+            return false;
+        }
+
+        this.evaluated = true;
+        this.eyeX = eyeX;
+        this.eyeY = eyeY;
+        this.eyeZ = eyeZ;
+        this.yaw = yaw;
+        this.pitch = pitch;
+
+        // Location#getDirection without allocating a vector
+        double yawRadians = Math.toRadians(yaw);
+        double pitchRadians = Math.toRadians(pitch);
+        double horizontal = Math.cos(pitchRadians);
+        double directionX = -horizontal * Math.sin(yawRadians);
+        double directionY = -Math.sin(pitchRadians);
+        double directionZ = horizontal * Math.cos(yawRadians);
+
+        int closest = NO_TARGET;
+        double closestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < heads.length; i++) {
+            double distance =
+                    heads[i].intersect(eyeX, eyeY, eyeZ, directionX, directionY, directionZ, REACH);
+            if (distance != HeadHitbox.MISS && distance < closestDistance && !stands[i].isDead()) {
+                closest = i;
+                closestDistance = distance;
+            }
+        }
+
+        boolean changed = closest != target;
+        this.target = closest;
+        return changed;
+    }
+
+    /**
+     * {@return the stand whose head the player looked at on the last check, if any}
+     */
+    @Nullable ArmorStand target() {
+        return target != NO_TARGET ? stands[target] : null;
+    }
+
+    /**
+     * Counts a check towards refreshing the action bar, which the client fades out after a few seconds.
+     *
+     * @param refreshRuns The number of checks after which the action bar is due again
+     * @return Whether the action bar should be sent again now
+     */
+    boolean actionBarDue(int refreshRuns) {
+        if (++runsSinceActionBar < refreshRuns) {
+            return false;
+        }
+        runsSinceActionBar = 0;
+        return true;
+    }
+
+    /** Restarts the action bar refresh countdown after the action bar was sent. */
+    void actionBarSent() {
+        runsSinceActionBar = 0;
+    }
+}
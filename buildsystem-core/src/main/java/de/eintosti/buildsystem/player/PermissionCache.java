@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Remembers the result of {@link Player#hasPermission(String)} per player and permission node. With a permission plugin
+ * such as LuckPerms every lookup resolves the player's contexts and inheritance, and the world permission checks make
+ * several of them for every block interaction and for every world a navigator menu lists.
+ *
+ * <p>Only the node lookups are cached, not the decisions built from them: those also depend on the world's status,
+ * builders and folder overrides, which stay cheap field reads and so never go stale. A player's entries are dropped
+ * whenever their permissions may have changed: when LuckPerms recalculates them, when they switch worlds or toggle
+ * build mode (both feed LuckPerms contexts), when they become or stop being a world's creator or builder, and when they
+ * quit. A change a permission plugin does not announce is picked up once the entries are {@link #MAX_AGE_NANOS} old.
+ *
+ * <p>Safe to use from any thread. A lookup racing an invalidation may store its result in the dropped entries, where it
+ * is never read again.
+ */
+@NullMarked
+public final class PermissionCache {
+
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<UUID, Entries> players = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether the player has the given permission, asking the server only if the result is not cached.
+     *
+     * @param player The player to check
+     * @param permission The permission node
+     * @return {@code true} if the player has the permission, otherwise {@code false}
+     */
+    public boolean has(Player player, String permission) {
+        Map<String, Boolean> permissions = entries(player.getUniqueId()).permissions();
+        Boolean cached = permissions.get(permission);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean result = player.hasPermission(permission);
+        permissions.put(permission, result);
+        return result;
+    }
+
+    private Entries entries(UUID playerId) {
+        long now = System.nanoTime();
+        Entries entries = players.get(playerId);
+        if (entries == null || now - entries.createdNanos() > MAX_AGE_NANOS) {
+            entries = new Entries(now, new ConcurrentHashMap<>());
+            players.put(playerId, entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Drops every cached permission of the given player.
+     *
+     * @param playerId The player's unique id
+     */
+    public void invalidate(UUID playerId) {
+        players.remove(playerId);
+    }
+
+    /** Drops every cached permission of every player. */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    private record Entries(long createdNanos, Map<String, Boolean> permissions) {}
+}
@@ -17,6 +17,7 @@
  */
 package de.eintosti.buildsystem.player;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -27,8 +28,14 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -48,6 +55,9 @@ import org.jspecify.annotations.Nullable;
 public final class PlayerLookupService {
 
     private static final String UUID_URL = "https://api.mojang.com/users/profiles/minecraft/%s";
+    private static final String BULK_UUID_URL =
+            "https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname";
+    private static final int BULK_LIMIT = 10;
     private static final String PROFILE_URL = "https://sessionserver.mojang.com/session/minecraft/profile/%s";
     private static final Duration TIMEOUT = Duration.ofSeconds(5);
 
@@ -123,7 +133,7 @@ public final class PlayerLookupService {
             return uuid;
         }
 
-        JsonObject json = requestJson(UUID_URL.formatted(name));
+        JsonObject json = requestJsonObject(UUID_URL.formatted(name));
         if (json == null || !json.has("id")) {
             return null;
         }
@@ -132,6 +142,72 @@ public final class PlayerLookupService {
         return uuid;
     }
 
+    /**
+     * Blocking bulk uuid resolution, for resolving many names at once (e.g. every legacy world creator at startup).
+     * Cached names are answered locally; the rest are requested {@value #BULK_LIMIT} at a time instead of one request
+     * per name. Never call on the main thread.
+     *
+     * @param names The player names
+     * @return The resolved uuids keyed by lower-cased name; names without an account are absent
+     */
+    public Map<String, UUID> lookupUniqueIdsBlocking(Collection<String> names) {
+        Map<String, UUID> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            String key = name.toLowerCase(Locale.ROOT);
+            UUID cached = uuidCache.get(key);
+            if (cached != null) {
+                resolved.put(key, cached);
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        if (ServerModeChecker.getServerMode() == ServerMode.OFFLINE) {
+            for (String name : missing) {
+                UUID uuid = lookupUniqueIdBlocking(name);
+                if (uuid != null) {
+                    resolved.put(name.toLowerCase(Locale.ROOT), uuid);
+                }
+            }
+            return resolved;
+        }
+
+        List<String> pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += BULK_LIMIT) {
+            JsonArray request = new JsonArray();
+            pending.subList(from, Math.min(from + BULK_LIMIT, pending.size())).forEach(request::add);
+
+            JsonElement response = requestJson(HttpRequest.newBuilder(URI.create(BULK_UUID_URL))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(request.toString()))
+                    .build());
+            if (response == null || !response.isJsonArray()) {
+                continue;
+            }
+
+            for (JsonElement element : response.getAsJsonArray()) {
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                JsonObject profile = element.getAsJsonObject();
+                if (!profile.has("id") || !profile.has("name")) {
+                    continue;
+                }
+                UUID uuid = fromUndashed(profile.get("id").getAsString());
+                String name = profile.get("name").getAsString();
+                cacheUser(uuid, name);
+                resolved.put(name.toLowerCase(Locale.ROOT), uuid);
+            }
+        }
+        return resolved;
+    }
+
     /**
      * Blocking name resolution. Never call on the main thread.
      *
@@ -152,7 +228,7 @@ public final class PlayerLookupService {
             return name;
         }
 
-        JsonObject json = requestJson(PROFILE_URL.formatted(toUndashed(uuid)));
+        JsonObject json = requestJsonObject(PROFILE_URL.formatted(toUndashed(uuid)));
         if (json == null || !json.has("name")) {
             return null;
         }
@@ -161,23 +237,26 @@ public final class PlayerLookupService {
         return name;
     }
 
-    private @Nullable JsonObject requestJson(String url) {
+    private @Nullable JsonObject requestJsonObject(String url) {
+        JsonElement element = requestJson(HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .GET()
+                .build());
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    private @Nullable JsonElement requestJson(HttpRequest request) {
         try {
-            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
-                    .timeout(TIMEOUT)
-                    .GET()
-                    .build();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() != 200 || response.body().isEmpty()) {
                 return null;
             }
-            JsonElement element = JsonParser.parseString(response.body());
-            return element.isJsonObject() ? element.getAsJsonObject() : null;
+            return JsonParser.parseString(response.body());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return null;
         } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed Mojang lookup: " + url, e);
+            plugin.getLogger().log(Level.SEVERE, "Failed Mojang lookup: " + request.uri(), e);
             return null;
         }
     }
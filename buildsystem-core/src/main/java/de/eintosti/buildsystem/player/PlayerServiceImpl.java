@@ -24,6 +24,8 @@ import de.eintosti.buildsystem.api.world.data.Visibility;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.storage.PlayerStorageImpl;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.storage.sql.SqlDatabase;
+import de.eintosti.buildsystem.storage.sql.SqlPlayerStorage;
 import de.eintosti.buildsystem.storage.yaml.YamlPlayerStorage;
 import de.eintosti.buildsystem.util.TaskScheduler;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
@@ -47,18 +49,32 @@ public class PlayerServiceImpl implements PlayerService {
     private final MaxWorldsResolver maxWorldsResolver;
 
     private final Set<UUID> buildModePlayers;
+    private final PermissionCache permissionCache;
 
     public PlayerServiceImpl(
             BuildSystemPlugin plugin,
             ConfigService configService,
             Supplier<WorldServiceImpl> worldService,
-            TaskScheduler scheduler) {
+            TaskScheduler scheduler,
+            Supplier<SqlDatabase> database) {
         this.plugin = plugin;
         this.configService = configService;
         this.worldService = worldService;
-        this.playerStorage = new YamlPlayerStorage(plugin, scheduler);
+        this.playerStorage = createPlayerStorage(plugin, configService, scheduler, database);
         this.maxWorldsResolver = new MaxWorldsResolver(plugin.getLogger());
         this.buildModePlayers = new HashSet<>();
+        this.permissionCache = new PermissionCache();
+    }
+
+    private static PlayerStorageImpl createPlayerStorage(
+            BuildSystemPlugin plugin,
+            ConfigService configService,
+            TaskScheduler scheduler,
+            Supplier<SqlDatabase> database) {
+        return switch (configService.current().storage().type()) {
+            case YAML, YAML_PER_WORLD -> new YamlPlayerStorage(plugin, scheduler);
+            case H2 -> new SqlPlayerStorage(plugin, scheduler, database.get());
+        };
     }
 
     public void init() {
@@ -70,6 +86,13 @@ public class PlayerServiceImpl implements PlayerService {
         return playerStorage;
     }
 
+    /**
+     * {@return the cache of permission lookups the world permission checks go through}
+     */
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
     @Override
     public Set<UUID> getBuildModePlayers() {
         return Collections.unmodifiableSet(buildModePlayers);
@@ -82,12 +105,21 @@ public class PlayerServiceImpl implements PlayerService {
 
     @Override
     public boolean enterBuildMode(UUID playerId) {
-        return buildModePlayers.add(playerId);
+        if (!buildModePlayers.add(playerId)) {
+            return false;
+        }
+        // Build mode is a LuckPerms context, so the player's permissions may differ inside it
+        permissionCache.invalidate(playerId);
+        return true;
     }
 
     @Override
     public boolean leaveBuildMode(UUID playerId) {
-        return buildModePlayers.remove(playerId);
+        if (!buildModePlayers.remove(playerId)) {
+            return false;
+        }
+        permissionCache.invalidate(playerId);
+        return true;
     }
 
     @Override
@@ -70,7 +70,7 @@ public class CustomBlockManager implements Listener {
         // Placing a custom block fires physics updates; toggle physics on for the placement if the world disables it,
         // otherwise the block (e.g., a portal or piston head) would pop off.
         boolean hadToDisablePhysics = false;
-        if (isBuildWorld && !buildWorld.getData().get(WorldDataKey.PHYSICS)) {
+        if (isBuildWorld && !buildWorld.getData().getBoolean(WorldDataKey.PHYSICS)) {
             hadToDisablePhysics = true;
             buildWorld.getData().set(WorldDataKey.PHYSICS, true);
         }
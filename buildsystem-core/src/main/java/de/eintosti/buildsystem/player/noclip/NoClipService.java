@@ -17,34 +17,56 @@
  */
 package de.eintosti.buildsystem.player.noclip;
 
-import de.eintosti.buildsystem.BuildSystemPlugin;
 import de.eintosti.buildsystem.api.player.settings.Settings;
+import de.eintosti.buildsystem.util.TaskScheduler;
 import java.util.*;
 import org.bukkit.*;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+/**
+ * Switches No-Clip players into spectator mode while their hitbox is inside blocks, and back to their previous game
+ * mode once it is free again.
+ *
+ * <p>The check runs every {@link #CHECK_PERIOD_TICKS} ticks, but only for players who moved, toggled sneaking or had a
+ * block change next to them since their last check; everyone else is re-checked every {@link #RECHECK_INTERVAL_RUNS}
+ * runs to catch block changes no event reports, such as WorldEdit edits. A check reads the handful of blocks around the
+ * player's hitbox directly, so a run costs nothing for players standing still in an unchanged spot.
+ */
 @NullMarked
 public class NoClipService {
 
-    private final BuildSystemPlugin plugin;
+    private static final long CHECK_PERIOD_TICKS = 4L;
+    private static final int RECHECK_INTERVAL_RUNS = 5;
+
+    private final TaskScheduler scheduler;
     private final Map<UUID, GameMode> previousGameMode;
     private final Set<UUID> noClipPlayers;
+    private final Map<UUID, CheckState> checkStates;
+
+    private int run;
 
-    public NoClipService(BuildSystemPlugin plugin) {
-        this.plugin = plugin;
+    public NoClipService(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
         this.noClipPlayers = new HashSet<>();
         this.previousGameMode = new HashMap<>();
+        this.checkStates = new HashMap<>();
         runBlockCheckTask();
     }
 
     private void runBlockCheckTask() {
-        Bukkit.getScheduler().runTaskTimer(plugin, this::checkForBlocks, 0L, 4L);
+        scheduler.runTimer(this::checkForBlocks, 0L, CHECK_PERIOD_TICKS);
     }
 
-    private void checkForBlocks() {
+    /**
+     * Checks the players whose position or surroundings changed since their last check, and everyone not checked for
+     * {@link #RECHECK_INTERVAL_RUNS} runs.
+     */
+    void checkForBlocks() {
+        run++;
         List<UUID> toRemove = new ArrayList<>();
-
         for (UUID uuid : noClipPlayers) {
             Player player = Bukkit.getPlayer(uuid);
             if (player == null) {
@@ -52,65 +74,99 @@ public class NoClipService {
                 continue;
             }
 
-            GameMode playerGameMode = player.getGameMode();
-            if (playerGameMode != GameMode.SPECTATOR) {
-                previousGameMode.put(uuid, playerGameMode);
-            }
-
-            GameMode gameMode;
-            if (checkNoClip(player)) {
-                gameMode = GameMode.SPECTATOR;
-            } else {
-                gameMode = previousGameMode.getOrDefault(uuid, GameMode.CREATIVE);
-                previousGameMode.remove(uuid);
-            }
-
-            if (player.getGameMode() == gameMode) {
+            Sample sample = Sample.of(player);
+            CheckState state = checkStates.computeIfAbsent(uuid, ignored -> new CheckState());
+            if (!state.needsCheck(sample, run)) {
                 continue;
             }
 
-            player.setGameMode(gameMode);
-            if (gameMode == GameMode.SURVIVAL || gameMode == GameMode.ADVENTURE) {
-                if (player.getAllowFlight()) {
-                    player.setFlying(true);
-                }
-            }
+            state.checked(sample, run);
+            World world = player.getWorld();
+            apply(player, collides(sample, (x, y, z) -> isSolid(world, sample, x, y, z)));
         }
-
         toRemove.forEach(this::stopNoClip);
     }
 
-    private boolean checkNoClip(Player player) {
-        Location loc = player.getLocation();
-        World world = loc.getWorld();
-        if (world == null) {
+    private static boolean isSolid(World world, Sample sample, int x, int y, int z) {
+        if (y < sample.minHeight() || y >= sample.maxHeight()) {
             return false;
         }
+        return world.getBlockAt(x, y, z).getType() != Material.AIR;
+    }
+
+    /**
+     * Checks the positions around the player's hitbox (feet, body, head), and below the feet while sneaking.
+     *
+     * @param sample The player's position
+     * @param blocks Whether the block at the given coordinates is solid
+     * @return {@code true} if the hitbox is inside a solid block
+     */
+    static boolean collides(Sample sample, BlockLookup blocks) {
+        double x = sample.x();
+        double y = sample.y();
+        double z = sample.z();
+        double halfWidth = Sample.HALF_WIDTH;
 
-        double x = loc.getX();
-        double y = loc.getY();
-        double z = loc.getZ();
-
-        // Check the positions around the player hitbox (feet, body, head)
-        if (isSolid(world, x + 0.4, y, z)
-                || isSolid(world, x - 0.4, y, z)
-                || isSolid(world, x + 0.4, y + 1, z)
-                || isSolid(world, x - 0.4, y + 1, z)
-                || isSolid(world, x, y, z + 0.4)
-                || isSolid(world, x, y, z - 0.4)
-                || isSolid(world, x, y + 1, z + 0.4)
-                || isSolid(world, x, y + 1, z - 0.4)
-                || isSolid(world, x, y + 1.9, z)) {
+        if (isSolid(blocks, x + halfWidth, y, z)
+                || isSolid(blocks, x - halfWidth, y, z)
+                || isSolid(blocks, x + halfWidth, y + 1, z)
+                || isSolid(blocks, x - halfWidth, y + 1, z)
+                || isSolid(blocks, x, y, z + halfWidth)
+                || isSolid(blocks, x, y, z - halfWidth)
+                || isSolid(blocks, x, y + 1, z + halfWidth)
+                || isSolid(blocks, x, y + 1, z - halfWidth)
+                || isSolid(blocks, x, y + 1.9, z)) {
             return true;
         }
 
-        return player.isSneaking() && isSolid(world, x, y - 0.1, z);
+        return sample.sneaking() && isSolid(blocks, x, y - 0.1, z);
+    }
+
+    private static boolean isSolid(BlockLookup blocks, double x, double y, double z) {
+        return blocks.isSolid(Location.locToBlock(x), Location.locToBlock(y), Location.locToBlock(z));
+    }
+
+    private void apply(Player player, boolean noClip) {
+        UUID uuid = player.getUniqueId();
+        GameMode playerGameMode = player.getGameMode();
+        if (playerGameMode != GameMode.SPECTATOR) {
+            previousGameMode.put(uuid, playerGameMode);
+        }
+
+        GameMode gameMode;
+        if (noClip) {
+            gameMode = GameMode.SPECTATOR;
+        } else {
+            gameMode = previousGameMode.getOrDefault(uuid, GameMode.CREATIVE);
+            previousGameMode.remove(uuid);
+        }
+
+        if (player.getGameMode() == gameMode) {
+            return;
+        }
+
+        player.setGameMode(gameMode);
+        if (gameMode == GameMode.SURVIVAL || gameMode == GameMode.ADVENTURE) {
+            if (player.getAllowFlight()) {
+                player.setFlying(true);
+            }
+        }
     }
 
-    private boolean isSolid(World world, double x, double y, double z) {
-        return world.getBlockAt((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z))
-                        .getType()
-                != Material.AIR;
+    /**
+     * Re-checks the No-Clip players next to the block on the next run, even if they have not moved.
+     *
+     * @param block The block that was placed or broken
+     */
+    public void onBlockChange(Block block) {
+        if (checkStates.isEmpty()) {
+            return;
+        }
+
+        UUID worldId = block.getWorld().getUID();
+        for (CheckState state : checkStates.values()) {
+            state.markDirtyNear(worldId, block.getX(), block.getY(), block.getZ());
+        }
     }
 
     public boolean isNoClip(UUID uuid) {
@@ -126,6 +182,7 @@ public class NoClipService {
     public void startNoClip(Player player, Settings settings) {
         if (!settings.isNoClip()) {
             noClipPlayers.remove(player.getUniqueId());
+            checkStates.remove(player.getUniqueId());
             return;
         }
 
@@ -155,6 +212,7 @@ public class NoClipService {
         }
 
         this.noClipPlayers.remove(uuid);
+        this.checkStates.remove(uuid);
 
         Player player = Bukkit.getPlayer(uuid);
         if (player == null) {
@@ -168,4 +226,70 @@ public class NoClipService {
             player.setFlying(true);
         }
     }
+
+    /**
+     * Whether the block at the given coordinates is solid.
+     */
+    @FunctionalInterface
+    interface BlockLookup {
+
+        boolean isSolid(int x, int y, int z);
+    }
+
+    /**
+     * A player's position as of a check, with the height limits of their world.
+     */
+    record Sample(UUID worldId, int minHeight, int maxHeight, double x, double y, double z, boolean sneaking) {
+
+        /** The distance from the centre of the player's hitbox to the points checked around it. */
+        static final double HALF_WIDTH = 0.4;
+
+        static Sample of(Player player) {
+            Location location = player.getLocation();
+            World world = player.getWorld();
+            return new Sample(
+                    world.getUID(),
+                    world.getMinHeight(),
+                    world.getMaxHeight(),
+                    location.getX(),
+                    location.getY(),
+                    location.getZ(),
+                    player.isSneaking());
+        }
+    }
+
+    /**
+     * When a player was last checked, and whether a block change next to them calls for a check regardless.
+     */
+    private static final class CheckState {
+
+        private @Nullable Sample lastSample;
+        private int checkedRun;
+        private boolean dirty;
+
+        boolean needsCheck(Sample sample, int run) {
+            return dirty || !sample.equals(lastSample) || run - checkedRun >= RECHECK_INTERVAL_RUNS;
+        }
+
+        void checked(Sample sample, int run) {
+            this.lastSample = sample;
+            this.checkedRun = run;
+            this.dirty = false;
+        }
+
+        void markDirtyNear(UUID worldId, int blockX, int blockY, int blockZ) {
+            Sample sample = this.lastSample;
+            if (sample == null || !sample.worldId().equals(worldId)) {
+                return;
+            }
+
+            int y = Location.locToBlock(sample.y());
+            if (Math.abs(blockX - Location.locToBlock(sample.x())) <= 1
+                    && Math.abs(blockZ - Location.locToBlock(sample.z())) <= 1
+                    && blockY >= y - 1
+                    && blockY <= y + 2) {
+                this.dirty = true;
+            }
+        }
+    }
 }
@@ -17,7 +17,6 @@
  */
 package de.eintosti.buildsystem.player.settings;
 
-import de.eintosti.buildsystem.BuildSystemPlugin;
 import de.eintosti.buildsystem.api.player.settings.Settings;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.builder.Builders;
@@ -26,6 +25,7 @@ import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.i18n.Messages;
 import de.eintosti.buildsystem.player.PlayerServiceImpl;
+import de.eintosti.buildsystem.util.TaskScheduler;
 import de.eintosti.buildsystem.util.color.ColorAPI;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
 import fr.mrmicky.fastboard.FastBoard;
@@ -34,38 +34,37 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.bukkit.Bukkit;
-import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Contract;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
 public class SettingsService {
 
-    private final BuildSystemPlugin plugin;
     private final ConfigService configService;
     private final Messages messages;
     private final PlayerServiceImpl playerService;
     private final WorldServiceImpl worldService;
 
+    private final SidebarRenderer sidebarRenderer;
     private final Map<UUID, FastBoard> boards;
-    private final Map<UUID, BukkitTask> scoreboardTasks;
 
     public SettingsService(
-            BuildSystemPlugin plugin,
+            TaskScheduler scheduler,
             ConfigService configService,
             Messages messages,
             PlayerServiceImpl playerService,
             WorldServiceImpl worldService) {
-        this.plugin = plugin;
         this.configService = configService;
         this.messages = messages;
         this.playerService = playerService;
         this.worldService = worldService;
 
+        this.sidebarRenderer = new SidebarRenderer(scheduler, messages, this::renderSidebar);
         this.boards = new HashMap<>();
-        this.scoreboardTasks = new HashMap<>();
+        worldService
+                .getWorldStorage()
+                .addModificationListener(buildWorld -> sidebarRenderer.markDirty(buildWorld.getName()));
     }
 
     public Settings getSettings(Player player) {
@@ -92,9 +91,7 @@ public class SettingsService {
         }
 
         board.updateTitle(messages.getString("title", player));
-        BukkitTask scoreboardTask = Bukkit.getScheduler()
-                .runTaskTimerAsynchronously(plugin, () -> updateScoreboard(player, board), 0L, 20L);
-        this.scoreboardTasks.put(player.getUniqueId(), scoreboardTask);
+        sidebarRenderer.show(player, new FastBoardSidebar(board));
     }
 
     /**
@@ -108,26 +105,21 @@ public class SettingsService {
         Bukkit.getOnlinePlayers().forEach(this::displayScoreboard);
     }
 
-    public void updateScoreboard(Player player) {
-        FastBoard board = this.boards.get(player.getUniqueId());
-        if (board != null) {
-            updateScoreboard(player, board);
-        }
-    }
-
-    private void updateScoreboard(Player player, FastBoard board) {
-        List<String> body = messages.getStringList("body", player, (line) -> getPlaceholders(line, player));
-        board.updateLines(body);
+    /**
+     * Renders the sidebar body for everyone in the given world. Only called on the main thread, by the
+     * {@link SidebarRenderer}.
+     */
+    private List<String> renderSidebar(String worldName) {
+        return messages.getTemplateLines("body", line -> getPlaceholders(line, worldName));
     }
 
     @Contract("_, _ -> new")
     @SuppressWarnings("unchecked")
-    private Map.Entry<String, Object>[] getPlaceholders(String originalString, Player player) {
+    private Map.Entry<String, Object>[] getPlaceholders(String originalString, String worldName) {
         if (!originalString.contains("%")) {
             return new Map.Entry[0]; // Don't replace anything
         }
 
-        String worldName = player.getWorld().getName();
         BuildWorld buildWorld = worldService.getWorldStorage().getBuildWorld(worldName);
 
         final String defaultVal = "§f-";
@@ -168,10 +160,7 @@ public class SettingsService {
     }
 
     public void hideScoreboard(Player player) {
-        BukkitTask scoreboardTask = this.scoreboardTasks.remove(player.getUniqueId());
-        if (scoreboardTask != null) {
-            scoreboardTask.cancel();
-        }
+        sidebarRenderer.hide(player);
 
         FastBoard board = this.boards.remove(player.getUniqueId());
         if (board != null) {
@@ -187,11 +176,7 @@ public class SettingsService {
         if (!configService.current().settings().scoreboard()) {
             return;
         }
-        World bukkitWorld = Bukkit.getWorld(buildWorld.getName());
-        if (bukkitWorld == null) {
-            return;
-        }
-        bukkitWorld.getPlayers().forEach(this::forceUpdateSidebar);
+        sidebarRenderer.refreshWorld(buildWorld.getName());
     }
 
     public void forceUpdateSidebar(Player player) {
@@ -199,6 +184,19 @@ public class SettingsService {
                 || !getSettings(player).isScoreboard()) {
             return;
         }
-        updateScoreboard(player);
+        sidebarRenderer.refresh(player);
+    }
+
+    private record FastBoardSidebar(FastBoard board) implements SidebarRenderer.Board {
+
+        @Override
+        public void updateLine(int line, String text) {
+            board.updateLine(line, text);
+        }
+
+        @Override
+        public void updateLines(List<String> lines) {
+            board.updateLines(lines);
+        }
     }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player.settings;
+
+import de.eintosti.buildsystem.i18n.Messages;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Renders the scoreboard sidebar once per world and fans the result out to every player in that world. A world's lines
+ * are only re-rendered after it was {@link #markDirty marked dirty} (a data write, a builder change) and only the lines
+ * that differ from what a player is currently shown are pushed to their board, so the cost scales with changes rather
+ * than with players times seconds.
+ *
+ * <p>All rendering happens on the main thread, in a single timer that runs while at least one sidebar is shown.
+ * {@link #markDirty} may be called from any thread.
+ */
+@NullMarked
+public final class SidebarRenderer {
+
+    /** How often dirty worlds are re-rendered and pushed to the players viewing them. */
+    static final long PERIOD_TICKS = 10L;
+
+    /**
+     * With an external placeholder resolver, every viewer's lines are re-resolved at this many runs, since other
+     * plugins' placeholders cannot tell BuildSystem when they change.
+     */
+    static final int RESOLVER_REFRESH_RUNS = 2;
+
+    private final TaskScheduler scheduler;
+    private final Messages messages;
+    private final Function<String, List<String>> templates;
+
+    private final Map<String, Rendered> renderedWorlds = new HashMap<>();
+    private final Set<String> dirtyWorlds = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Viewer> viewers = new HashMap<>();
+    private @Nullable BukkitTask task;
+    private int runs;
+
+    /**
+     * @param scheduler The scheduler to run the render timer on
+     * @param messages The messages to finish rendered lines with
+     * @param templates Renders a world's lines by world name, with BuildSystem's placeholders substituted
+     * @see Messages#getTemplateLines
+     */
+    public SidebarRenderer(TaskScheduler scheduler, Messages messages, Function<String, List<String>> templates) {
+        this.scheduler = scheduler;
+        this.messages = messages;
+        this.templates = templates;
+    }
+
+    /**
+     * Starts showing the sidebar on the given board and pushes the player's current lines right away.
+     *
+     * @param player The player
+     * @param board The board to render to
+     */
+    public void show(Player player, Board board) {
+        Viewer viewer = new Viewer(player, board);
+        this.viewers.put(player.getUniqueId(), viewer);
+        push(viewer, false);
+
+        if (this.task == null) {
+            this.task = scheduler.runTimer(this::run, PERIOD_TICKS, PERIOD_TICKS);
+        }
+    }
+
+    /**
+     * Stops rendering to the player's board. Once nobody is shown a sidebar any more, the timer is stopped and the
+     * rendered lines are dropped, so a reload starts from freshly loaded messages.
+     *
+     * @param player The player
+     */
+    public void hide(Player player) {
+        this.viewers.remove(player.getUniqueId());
+        if (!this.viewers.isEmpty()) {
+            return;
+        }
+
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.renderedWorlds.clear();
+        this.dirtyWorlds.clear();
+    }
+
+    /**
+     * Marks a world's rendered lines as stale, so they are re-rendered the next time they are pushed.
+     *
+     * @param worldName The name of the world
+     */
+    public void markDirty(String worldName) {
+        this.dirtyWorlds.add(worldName);
+    }
+
+    /**
+     * Pushes the player's lines right away, e.g. after they switched worlds, instead of waiting for the next run.
+     *
+     * @param player The player
+     */
+    public void refresh(Player player) {
+        Viewer viewer = this.viewers.get(player.getUniqueId());
+        if (viewer != null) {
+            dropDirtyWorlds();
+            push(viewer, false);
+        }
+    }
+
+    /**
+     * Pushes the lines of every player in the given world right away.
+     *
+     * @param worldName The name of the world
+     */
+    public void refreshWorld(String worldName) {
+        dropDirtyWorlds();
+        for (Viewer viewer : this.viewers.values()) {
+            if (viewer.player.getWorld().getName().equals(worldName)) {
+                push(viewer, false);
+            }
+        }
+    }
+
+    private void run() {
+        this.runs++;
+        boolean resolve = messages.hasPlaceholderResolver() && this.runs % RESOLVER_REFRESH_RUNS == 0;
+        dropDirtyWorlds();
+
+        Set<String> viewedWorlds = new HashSet<>();
+        for (Viewer viewer : this.viewers.values()) {
+            viewedWorlds.add(push(viewer, resolve));
+        }
+        // Worlds nobody is in any more would only be re-rendered from scratch once someone returns
+        this.renderedWorlds.keySet().retainAll(viewedWorlds);
+    }
+
+    private void dropDirtyWorlds() {
+        if (this.dirtyWorlds.isEmpty()) {
+            return;
+        }
+        for (String worldName : List.copyOf(this.dirtyWorlds)) {
+            this.dirtyWorlds.remove(worldName);
+            this.renderedWorlds.remove(worldName);
+        }
+    }
+
+    /**
+     * Shows the viewer the lines of the world they are in, unless they are already shown exactly those.
+     *
+     * @return The name of the viewer's world
+     */
+    private String push(Viewer viewer, boolean force) {
+        String worldName = viewer.player.getWorld().getName();
+        Rendered rendered = this.renderedWorlds.computeIfAbsent(worldName, name -> new Rendered(templates.apply(name)));
+        if (rendered != viewer.source || force) {
+            viewer.source = rendered;
+            viewer.show(rendered.linesFor(viewer.player));
+        }
+        return worldName;
+    }
+
+    /**
+     * The lines of one world. Without an external resolver the finished lines are the same for every player, so they
+     * are colored once and shared.
+     */
+    private final class Rendered {
+
+        private final List<String> template;
+        private @Nullable List<String> shared;
+
+        private Rendered(List<String> template) {
+            this.template = template;
+        }
+
+        private List<String> linesFor(Player player) {
+            if (messages.hasPlaceholderResolver()) {
+                return template.stream()
+                        .map(line -> messages.finishLine(player, line))
+                        .toList();
+            }
+            if (this.shared == null) {
+                this.shared = template.stream()
+                        .map(line -> messages.finishLine(null, line))
+                        .toList();
+            }
+            return this.shared;
+        }
+    }
+
+    private static final class Viewer {
+
+        private final Player player;
+        private final Board board;
+        private @Nullable Rendered source;
+        private List<String> shown = List.of();
+
+        private Viewer(Player player, Board board) {
+            this.player = player;
+            this.board = board;
+        }
+
+        private void show(List<String> lines) {
+            if (lines.size() != this.shown.size()) {
+                board.updateLines(lines);
+            } else {
+                for (int i = 0; i < lines.size(); i++) {
+                    String line = lines.get(i);
+                    if (!line.equals(this.shown.get(i))) {
+                        board.updateLine(i, line);
+                    }
+                }
+            }
+            this.shown = lines;
+        }
+    }
+
+    /**
+     * The sidebar a player is shown, e.g. a {@link fr.mrmicky.fastboard.FastBoard}.
+     */
+    public interface Board {
+
+        void updateLine(int line, String text);
+
+        void updateLines(List<String> lines);
+    }
+}
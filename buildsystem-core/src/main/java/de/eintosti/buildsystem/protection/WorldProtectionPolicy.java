@@ -22,6 +22,8 @@ import de.eintosti.buildsystem.api.world.access.WorldSetting;
 import de.eintosti.buildsystem.api.world.builder.Builders;
 import de.eintosti.buildsystem.api.world.data.BuildWorldStatus;
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.player.PermissionCache;
+import de.eintosti.buildsystem.world.lifecycle.WorldPermissionsImpl;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
 
@@ -67,7 +69,7 @@ public final class WorldProtectionPolicy {
      */
     public Denial checkStatus(Player player, BuildWorld world) {
         if (world.getPermissions().canBypassBuildRestriction(player)
-                || player.hasPermission("buildsystem.bypass.archive")) {
+                || hasPermission(player, world, "buildsystem.bypass.archive")) {
             return Denial.NONE;
         }
 
@@ -88,7 +90,7 @@ public final class WorldProtectionPolicy {
      */
     public Denial checkBuilders(Player player, BuildWorld world) {
         if (world.getPermissions().canBypassBuildRestriction(player)
-                || player.hasPermission("buildsystem.bypass.builders")) {
+                || hasPermission(player, world, "buildsystem.bypass.builders")) {
             return Denial.NONE;
         }
 
@@ -170,4 +172,14 @@ public final class WorldProtectionPolicy {
 
         return checkBuilders(player, world);
     }
+
+    /**
+     * Checks a bypass permission through the world's {@link PermissionCache} when it has one, so listeners checking
+     * every block change do not ask the permission plugin each time.
+     */
+    private static boolean hasPermission(Player player, BuildWorld world, String permission) {
+        return world.getPermissions() instanceof WorldPermissionsImpl permissions
+                ? permissions.hasPermission(player, permission)
+                : player.hasPermission(permission);
+    }
 }
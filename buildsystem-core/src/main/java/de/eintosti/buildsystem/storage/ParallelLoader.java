@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Runs a per-entry load step (parsing a file, deserializing a section) over many entries in parallel. The entries are
+ * split into contiguous chunks, one task per chunk, so the pool sees a handful of tasks instead of one per world, and the
+ * results keep the input order.
+ *
+ * <p>The returned future composes the chunk futures instead of joining them, so a caller running on the same pool never
+ * blocks one of its threads waiting for the others.
+ */
+@NullMarked
+public final class ParallelLoader {
+
+    /** Below this many entries per chunk, the task overhead outweighs the parallelism. */
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private ParallelLoader() {}
+
+    /**
+     * Applies the step to every input on the executor. An input whose step throws is reported to {@code onFailure} and
+     * left out of the result, mirroring how the storages skip a single unreadable entry.
+     *
+     * @param inputs The entries to load
+     * @param step The load step for one entry
+     * @param executor The executor to run the chunks on
+     * @param onFailure Called with the input and the exception for every failed entry
+     * @param <I> The input type
+     * @param <O> The output type
+     * @return A future completing with the loaded entries, in input order
+     */
+    public static <I, O> CompletableFuture<List<O>> loadAll(
+            List<I> inputs, Step<I, O> step, Executor executor, BiConsumer<I, Exception> onFailure) {
+        if (inputs.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        int chunks = Math.max(1, Math.min(
+                Runtime.getRuntime().availableProcessors() * 2, Math.ceilDiv(inputs.size(), MIN_CHUNK_SIZE)));
+        int chunkSize = Math.ceilDiv(inputs.size(), chunks);
+
+        List<CompletableFuture<List<O>>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < inputs.size(); from += chunkSize) {
+            List<I> chunk = inputs.subList(from, Math.min(from + chunkSize, inputs.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> loadChunk(chunk, step, onFailure), executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<O> loaded = new ArrayList<>(inputs.size());
+                    futures.forEach(future -> loaded.addAll(future.join()));
+                    return loaded;
+                });
+    }
+
+    private static <I, O> List<O> loadChunk(List<I> chunk, Step<I, O> step, BiConsumer<I, Exception> onFailure) {
+        List<O> loaded = new ArrayList<>(chunk.size());
+        for (I input : chunk) {
+            try {
+                loaded.add(step.load(input));
+            } catch (Exception e) {
+                onFailure.accept(input, e);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The load step for a single entry.
+     *
+     * @param <I> The input type
+     * @param <O> The output type
+     */
+    @FunctionalInterface
+    public interface Step<I, O> {
+
+        O load(I input) throws Exception;
+    }
+}
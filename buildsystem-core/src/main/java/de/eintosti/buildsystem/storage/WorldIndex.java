@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.builder.Builders;
+import de.eintosti.buildsystem.api.world.data.Visibility;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.api.world.display.WorldSort;
+import de.eintosti.buildsystem.world.display.DisplaySortKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Secondary indexes over the indexed worlds: by visibility and status (what a navigator category groups), by creator
+ * and by builder. A lookup returns the matching world ids directly instead of scanning every world.
+ *
+ * <p>Every visibility and status group also keeps its worlds sorted under each {@link WorldSort}, as
+ * {@link DisplaySortKey}s in skip lists, so a navigator category is listed in order by merging a few presorted groups
+ * instead of sorting all of its worlds on every page click.
+ *
+ * <p>The world storage {@link #update re-indexes} a world after every mutation it is notified of. Re-indexing first
+ * compares the world against the keys it was last indexed under, so the frequent writes that touch none of them (edit
+ * timestamps, settings) cost a few comparisons. Updates are serialized; lookups may run on any thread and see a weakly
+ * consistent view.
+ */
+@NullMarked
+final class WorldIndex {
+
+    /** Ascending and descending keys share a sort value and go stale together, so one of each is checked. */
+    private static final List<WorldSort> STALE_CHECKED_SORTS =
+            List.of(WorldSort.NAME_A_TO_Z, WorldSort.PROJECT_A_TO_Z, WorldSort.STATUS_NOT_STARTED);
+
+    private final Map<UUID, Keys> keysByWorld = new ConcurrentHashMap<>();
+    private final Map<Group, Set<UUID>> byGroup = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> byCreator = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> byBuilder = new ConcurrentHashMap<>();
+    private final Map<Group, Map<WorldSort, NavigableSet<DisplaySortKey>>> sortedByGroup = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the world under its current visibility, status, creator and builders, moving it out of the entries it
+     * no longer matches.
+     *
+     * @param buildWorld The world to index
+     */
+    synchronized void update(BuildWorld buildWorld) {
+        UUID worldId = buildWorld.getUniqueId();
+        Keys previous = this.keysByWorld.get(worldId);
+        if (previous != null && previous.matches(buildWorld)) {
+            return;
+        }
+        reindex(buildWorld);
+    }
+
+    /**
+     * Indexes the world from scratch, even if none of its own keys changed; needed when a key is derived from shared
+     * state, such as the order of its status.
+     *
+     * @param buildWorld The world to index
+     */
+    synchronized void reindex(BuildWorld buildWorld) {
+        UUID worldId = buildWorld.getUniqueId();
+        Keys previous = this.keysByWorld.get(worldId);
+        Keys current = Keys.of(buildWorld);
+        if (previous != null) {
+            unindex(worldId, previous);
+        }
+        this.keysByWorld.put(worldId, current);
+        addTo(this.byGroup, current.group(), worldId);
+        UUID creator = current.creator();
+        if (creator != null) {
+            addTo(this.byCreator, creator, worldId);
+        }
+        current.builders().forEach(builderId -> addTo(this.byBuilder, builderId, worldId));
+        Map<WorldSort, NavigableSet<DisplaySortKey>> sorted =
+                this.sortedByGroup.computeIfAbsent(current.group(), ignored -> createSortedSets());
+        current.sortKeys().forEach((sort, key) -> sorted.get(sort).add(key));
+    }
+
+    private static Map<WorldSort, NavigableSet<DisplaySortKey>> createSortedSets() {
+        Map<WorldSort, NavigableSet<DisplaySortKey>> sets = new EnumMap<>(WorldSort.class);
+        for (WorldSort sort : WorldSort.values()) {
+            sets.put(sort, new ConcurrentSkipListSet<>(DisplaySortKey.comparator(sort)));
+        }
+        return sets;
+    }
+
+    /**
+     * Removes the world from every index.
+     *
+     * @param worldId The unique id of the world
+     */
+    synchronized void remove(UUID worldId) {
+        Keys previous = this.keysByWorld.remove(worldId);
+        if (previous != null) {
+            unindex(worldId, previous);
+        }
+    }
+
+    private void unindex(UUID worldId, Keys keys) {
+        removeFrom(this.byGroup, keys.group(), worldId);
+        UUID creator = keys.creator();
+        if (creator != null) {
+            removeFrom(this.byCreator, creator, worldId);
+        }
+        keys.builders().forEach(builderId -> removeFrom(this.byBuilder, builderId, worldId));
+        Map<WorldSort, NavigableSet<DisplaySortKey>> sorted = this.sortedByGroup.get(keys.group());
+        if (sorted != null) {
+            keys.sortKeys().forEach((sort, key) -> sorted.get(sort).remove(key));
+        }
+    }
+
+    private static <K> void addTo(Map<K, Set<UUID>> index, K key, UUID worldId) {
+        index.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(worldId);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<UUID>> index, K key, UUID worldId) {
+        index.computeIfPresent(key, (ignored, worlds) -> {
+            worlds.remove(worldId);
+            return worlds.isEmpty() ? null : worlds;
+        });
+    }
+
+    /**
+     * {@return the ids of the worlds with the given visibility and status}
+     *
+     * @param visibility The visibility
+     * @param statusId The status id
+     */
+    Set<UUID> withGroup(Visibility visibility, String statusId) {
+        return view(this.byGroup.get(new Group(visibility, statusId)));
+    }
+
+    /**
+     * {@return the ids of the worlds created by the given player}
+     *
+     * @param creatorId The creator's unique id
+     */
+    Set<UUID> createdBy(UUID creatorId) {
+        return view(this.byCreator.get(creatorId));
+    }
+
+    /**
+     * {@return the ids of the worlds the given player is a builder in}
+     *
+     * @param builderId The builder's unique id
+     */
+    Set<UUID> builtBy(UUID builderId) {
+        return view(this.byBuilder.get(builderId));
+    }
+
+    /**
+     * Lists the worlds of the given visibilities and statuses in the given order, by merging the presorted groups.
+     *
+     * @param visibilities The visibilities
+     * @param statusIds The status ids
+     * @param sort The sort order
+     * @return The sort keys of the matching worlds, in order
+     */
+    List<DisplaySortKey> sorted(Collection<Visibility> visibilities, Collection<String> statusIds, WorldSort sort) {
+        List<NavigableSet<DisplaySortKey>> groups = new ArrayList<>();
+        for (Visibility visibility : visibilities) {
+            for (String statusId : statusIds) {
+                Map<WorldSort, NavigableSet<DisplaySortKey>> sorted =
+                        this.sortedByGroup.get(new Group(visibility, statusId));
+                if (sorted != null && !sorted.get(sort).isEmpty()) {
+                    groups.add(sorted.get(sort));
+                }
+            }
+        }
+        if (groups.size() == 1) {
+            return new ArrayList<>(groups.getFirst());
+        }
+
+        Comparator<DisplaySortKey> order = DisplaySortKey.comparator(sort);
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Math.max(1, groups.size()), (first, second) -> order.compare(first.head, second.head));
+        for (NavigableSet<DisplaySortKey> group : groups) {
+            Iterator<DisplaySortKey> iterator = group.iterator();
+            if (iterator.hasNext()) {
+                cursors.add(new Cursor(iterator, iterator.next()));
+            }
+        }
+
+        List<DisplaySortKey> merged = new ArrayList<>();
+        Cursor cursor;
+        while ((cursor = cursors.poll()) != null) {
+            merged.add(cursor.head);
+            if (cursor.iterator.hasNext()) {
+                cursor.head = cursor.iterator.next();
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static Set<UUID> view(@Nullable Set<UUID> worlds) {
+        return worlds != null ? Collections.unmodifiableSet(worlds) : Set.of();
+    }
+
+    private record Group(Visibility visibility, String statusId) {}
+
+    /** The next key of one presorted group during a merge. */
+    private static final class Cursor {
+
+        private final Iterator<DisplaySortKey> iterator;
+        private DisplaySortKey head;
+
+        private Cursor(Iterator<DisplaySortKey> iterator, DisplaySortKey head) {
+            this.iterator = iterator;
+            this.head = head;
+        }
+    }
+
+    /** The index keys a world was last indexed under. */
+    private record Keys(
+            Group group, @Nullable UUID creator, Set<UUID> builders, Map<WorldSort, DisplaySortKey> sortKeys) {
+
+        private static Keys of(BuildWorld buildWorld) {
+            WorldData data = buildWorld.getData();
+            Builders builders = buildWorld.getBuilders();
+            Collection<Builder> allBuilders = builders.getAllBuilders();
+            Set<UUID> builderIds = HashSet.newHashSet(allBuilders.size());
+            allBuilders.forEach(builder -> builderIds.add(builder.getUniqueId()));
+            Map<WorldSort, DisplaySortKey> sortKeys = new EnumMap<>(WorldSort.class);
+            for (WorldSort sort : WorldSort.values()) {
+                sortKeys.put(sort, DisplaySortKey.of(buildWorld, sort));
+            }
+            return new Keys(
+                    new Group(data.get(WorldDataKey.VISIBILITY), data.get(WorldDataKey.STATUS).getId()),
+                    creatorId(builders),
+                    Set.copyOf(builderIds),
+                    sortKeys);
+        }
+
+        private static @Nullable UUID creatorId(Builders builders) {
+            Builder creator = builders.getCreator();
+            return creator != null ? creator.getUniqueId() : null;
+        }
+
+        private boolean matches(BuildWorld buildWorld) {
+            WorldData data = buildWorld.getData();
+            Builders builders = buildWorld.getBuilders();
+            if (data.get(WorldDataKey.VISIBILITY) != group.visibility()
+                    || !data.get(WorldDataKey.STATUS).getId().equals(group.statusId())
+                    || !Objects.equals(creatorId(builders), this.creator)) {
+                return false;
+            }
+            for (WorldSort sort : STALE_CHECKED_SORTS) {
+                if (!this.sortKeys.get(sort).isCurrent()) {
+                    return false;
+                }
+            }
+
+            Collection<Builder> allBuilders = builders.getAllBuilders();
+            if (allBuilders.size() != this.builders.size()) {
+                return false;
+            }
+            for (Builder builder : allBuilders) {
+                if (!this.builders.contains(builder.getUniqueId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
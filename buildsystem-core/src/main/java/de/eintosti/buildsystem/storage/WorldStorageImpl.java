@@ -19,17 +19,33 @@ package de.eintosti.buildsystem.storage;
 
 import de.eintosti.buildsystem.api.storage.WorldStorage;
 import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.BuildWorldStatus;
 import de.eintosti.buildsystem.api.world.data.Visibility;
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
+import de.eintosti.buildsystem.api.world.display.WorldSort;
+import de.eintosti.buildsystem.storage.codec.WorldCodec;
 import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.util.PhaseTimer;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.display.DisplaySortKey;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Unmodifiable;
@@ -42,6 +58,12 @@ import org.jspecify.annotations.Nullable;
  * off it: {@code AsyncPlayerPreLoginEvent} resolves a returning player's last world on Bukkit's async login thread. The
  * indexes are therefore {@link ConcurrentHashMap}s so concurrent reads stay safe and consistently published, and the
  * compound mutations are ordered so a concurrent reader never observes a world's two index entries out of step.
+ *
+ * <p>The storage also tracks which worlds were modified since they were last persisted. Indexing a
+ * {@link BuildWorldImpl} installs a modification listener that marks it dirty on every data write, builder change or
+ * rename, so {@link #saveDirty()} only re-serializes (and, for backends that support it, only rewrites) the worlds that
+ * actually changed. The same notification keeps the {@link WorldIndex secondary indexes} current, which answer the
+ * by-category, by-creator and by-builder queries without scanning every world.
  */
 @NullMarked
 public abstract class WorldStorageImpl implements WorldStorage {
@@ -50,11 +72,18 @@ public abstract class WorldStorageImpl implements WorldStorage {
 
     private final ConcurrentHashMap<UUID, BuildWorld> buildWorldsByUuid;
     private final ConcurrentHashMap<String, UUID> uuidByName;
+    private final Set<UUID> dirtyWorlds;
+    private final PhaseTimer loadTimer = new PhaseTimer();
+    private final List<Runnable> policyListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<BuildWorld>> modificationListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<BuildWorld>> additionListeners = new CopyOnWriteArrayList<>();
+    private final WorldIndex index = new WorldIndex();
 
     protected WorldStorageImpl(Logger logger) {
         this.logger = logger;
         this.buildWorldsByUuid = new ConcurrentHashMap<>();
         this.uuidByName = new ConcurrentHashMap<>();
+        this.dirtyWorlds = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -91,12 +120,33 @@ public abstract class WorldStorageImpl implements WorldStorage {
     public synchronized void addBuildWorld(BuildWorld buildWorld) {
         this.buildWorldsByUuid.put(buildWorld.getUniqueId(), buildWorld);
         this.uuidByName.put(buildWorld.getName().toLowerCase(), buildWorld.getUniqueId());
+
+        if (buildWorld instanceof BuildWorldImpl impl) {
+            UUID worldId = impl.getUniqueId();
+            impl.setModificationListener(() -> {
+                this.dirtyWorlds.add(worldId);
+                this.index.update(impl);
+                this.modificationListeners.forEach(listener -> listener.accept(impl));
+            });
+            this.index.update(impl);
+            impl.setPolicyChangeListener(this::firePolicyChanged);
+        }
+        firePolicyChanged();
+        this.additionListeners.forEach(listener -> listener.accept(buildWorld));
     }
 
     public synchronized void removeBuildWorld(BuildWorld buildWorld) {
         UUID worldId = buildWorld.getUniqueId();
         this.buildWorldsByUuid.remove(worldId);
         this.uuidByName.remove(buildWorld.getName().toLowerCase());
+        this.dirtyWorlds.remove(worldId);
+        this.index.remove(worldId);
+
+        if (buildWorld instanceof BuildWorldImpl impl) {
+            impl.setModificationListener(null);
+            impl.setPolicyChangeListener(null);
+        }
+        firePolicyChanged();
 
         Folder assignedFolder = buildWorld.getFolder();
         if (assignedFolder != null) {
@@ -113,6 +163,144 @@ public abstract class WorldStorageImpl implements WorldStorage {
         if (!oldKey.equals(newKey)) {
             this.uuidByName.remove(oldKey);
         }
+        firePolicyChanged();
+    }
+
+    /**
+     * Registers a listener that is notified whenever the world policies may have changed: a world being indexed,
+     * removed or renamed, or an indexed world's physics, explosions or mob AI setting changing.
+     *
+     * @param listener The listener
+     * @see de.eintosti.buildsystem.world.policy.WorldPolicyCache
+     */
+    public void addPolicyListener(Runnable listener) {
+        this.policyListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is notified with the modified world whenever an indexed world's persisted state
+     * changes, alongside the world being marked dirty. May be called off the main thread.
+     *
+     * @param listener The listener
+     * @see de.eintosti.buildsystem.player.settings.SidebarRenderer
+     */
+    public void addModificationListener(Consumer<BuildWorld> listener) {
+        this.modificationListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is notified with every world added to the storage, both when the worlds are loaded and
+     * when one is created or imported later. May be called off the main thread.
+     *
+     * @param listener The listener
+     */
+    public void addAdditionListener(Consumer<BuildWorld> listener) {
+        this.additionListeners.add(listener);
+    }
+
+    private void firePolicyChanged() {
+        this.policyListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Marks the given world as modified, so it is written by the next {@link #saveDirty()}. Worlds indexed through
+     * {@link #addBuildWorld} are marked automatically on mutation; this is for state that changed before indexing, such
+     * as a freshly created world.
+     *
+     * @param buildWorld The world to mark
+     */
+    public void markDirty(BuildWorld buildWorld) {
+        this.dirtyWorlds.add(buildWorld.getUniqueId());
+    }
+
+    /**
+     * {@return whether the given world has modifications that have not been persisted yet}
+     *
+     * @param buildWorld The world to check
+     */
+    public boolean isDirty(BuildWorld buildWorld) {
+        return this.dirtyWorlds.contains(buildWorld.getUniqueId());
+    }
+
+    /**
+     * Removes and returns every world currently marked dirty. A world modified while the drained batch is being saved
+     * is simply marked again and picked up by the following save.
+     *
+     * @return The dirty worlds that are still indexed
+     */
+    public List<BuildWorld> drainDirtyWorlds() {
+        List<BuildWorld> drained = new ArrayList<>();
+        for (UUID worldId : List.copyOf(this.dirtyWorlds)) {
+            this.dirtyWorlds.remove(worldId);
+            BuildWorld buildWorld = this.buildWorldsByUuid.get(worldId);
+            if (buildWorld != null) {
+                drained.add(buildWorld);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Persists only the worlds modified since the last save. If the save fails, the drained worlds are marked dirty
+     * again so they are retried by the next save rather than lost.
+     *
+     * @return A future completing when the dirty worlds have been written
+     */
+    public CompletableFuture<Void> saveDirty() {
+        List<BuildWorld> dirty = drainDirtyWorlds();
+        if (dirty.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return save(dirty).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                dirty.forEach(this::markDirty);
+            }
+        });
+    }
+
+    /**
+     * {@return the phase timings of the last load} The storage records how long reading and decoding took; the startup
+     * bootstrap adds its main-thread phases and logs the breakdown.
+     */
+    public PhaseTimer getLoadTimer() {
+        return loadTimer;
+    }
+
+    /**
+     * The shared second half of every load: resolves all legacy creators in one bulk lookup, then deserializes the
+     * sections in parallel chunks on the executor. A section that fails to deserialize is logged and skipped.
+     *
+     * @param codec The codec to deserialize with
+     * @param sections The world sections, keyed by world key
+     * @param executor The executor to decode on, never the main thread
+     * @return A future completing with the decoded worlds
+     */
+    protected CompletableFuture<Collection<BuildWorld>> decodeWorlds(
+            WorldCodec codec, Map<String, ConfigurationSection> sections, Executor executor) {
+        List<Map.Entry<String, ConfigurationSection>> entries = List.copyOf(sections.entrySet());
+        return CompletableFuture.runAsync(
+                        () -> {
+                            long start = System.nanoTime();
+                            codec.prefetchCreators(sections.values());
+                            loadTimer.record("creators", start);
+                        },
+                        executor)
+                .thenCompose(ignored -> {
+                    long start = System.nanoTime();
+                    return ParallelLoader.<Map.Entry<String, ConfigurationSection>, BuildWorld>loadAll(
+                                    entries,
+                                    entry -> codec.deserialize(entry.getKey(), entry.getValue()),
+                                    executor,
+                                    (entry, e) -> logger.log(
+                                            Level.WARNING,
+                                            "Skipping world \"" + entry.getKey() + "\": could not be loaded",
+                                            e))
+                            .<Collection<BuildWorld>>thenApply(worlds -> {
+                                loadTimer.record("decode", start);
+                                return worlds;
+                            });
+                });
     }
 
     @Override
@@ -133,9 +321,7 @@ public abstract class WorldStorageImpl implements WorldStorage {
     @Override
     @Unmodifiable
     public List<BuildWorld> getBuildWorldsCreatedByPlayer(Player player) {
-        return getBuildWorlds().stream()
-                .filter(buildWorld -> buildWorld.getBuilders().isCreator(player))
-                .toList();
+        return getBuildWorldsCreatedBy(player.getUniqueId());
     }
 
     @Override
@@ -145,4 +331,82 @@ public abstract class WorldStorageImpl implements WorldStorage {
                 .filter(buildWorld -> buildWorld.getData().get(WorldDataKey.VISIBILITY) == visibility)
                 .toList();
     }
+
+    @Override
+    @Unmodifiable
+    public List<BuildWorld> getBuildWorldsCreatedBy(UUID creatorId) {
+        return resolve(this.index.createdBy(creatorId));
+    }
+
+    @Override
+    @Unmodifiable
+    public List<BuildWorld> getBuildWorldsWithBuilder(UUID builderId) {
+        return resolve(this.index.builtBy(builderId));
+    }
+
+    @Override
+    @Unmodifiable
+    public List<BuildWorld> getBuildWorlds(Visibility visibility, BuildWorldStatus status) {
+        return resolve(this.index.withGroup(visibility, status.getId()));
+    }
+
+    @Override
+    @Unmodifiable
+    public List<BuildWorld> getBuildWorlds(NavigatorCategory category) {
+        List<BuildWorld> worlds = new ArrayList<>();
+        for (Visibility visibility : category.getVisibilities()) {
+            for (String statusId : category.getStatusIds()) {
+                resolveInto(this.index.withGroup(visibility, statusId), worlds);
+            }
+        }
+        return Collections.unmodifiableList(worlds);
+    }
+
+    /**
+     * Lists the worlds of a navigator category in the given order, from the presorted views kept by the index, so a
+     * navigator page neither scans nor sorts every world.
+     *
+     * <p>A sort value can change without the world being modified, for example when its folder overrides the project
+     * or a status is moved in the layout. Every returned key is therefore checked against its world, which is cheap
+     * compared to sorting; stale worlds are re-keyed and the views merged again.
+     *
+     * @param category The navigator category
+     * @param sort The sort order
+     * @return The sort keys of the category's worlds, in order
+     */
+    public List<DisplaySortKey> getSortedBuildWorlds(NavigatorCategory category, WorldSort sort) {
+        List<DisplaySortKey> keys = this.index.sorted(category.getVisibilities(), category.getStatusIds(), sort);
+        boolean stale = false;
+        for (DisplaySortKey key : keys) {
+            if (!key.isCurrent()) {
+                this.index.reindex((BuildWorld) key.displayable());
+                stale = true;
+            }
+        }
+        return stale ? this.index.sorted(category.getVisibilities(), category.getStatusIds(), sort) : keys;
+    }
+
+    @Override
+    @Unmodifiable
+    public List<BuildWorld> getBuildWorlds(Folder folder) {
+        List<BuildWorld> worlds = new ArrayList<>();
+        resolveInto(folder.getWorldUUIDs(), worlds);
+        return Collections.unmodifiableList(worlds);
+    }
+
+    @Unmodifiable
+    private List<BuildWorld> resolve(Collection<UUID> worldIds) {
+        List<BuildWorld> worlds = new ArrayList<>(worldIds.size());
+        resolveInto(worldIds, worlds);
+        return Collections.unmodifiableList(worlds);
+    }
+
+    private void resolveInto(Collection<UUID> worldIds, List<BuildWorld> worlds) {
+        for (UUID worldId : worldIds) {
+            BuildWorld buildWorld = this.buildWorldsByUuid.get(worldId);
+            if (buildWorld != null) {
+                worlds.add(buildWorld);
+            }
+        }
+    }
 }
@@ -32,11 +32,14 @@ import de.eintosti.buildsystem.world.WorldContext;
 import de.eintosti.buildsystem.world.creation.generator.CustomGeneratorImpl;
 import de.eintosti.buildsystem.world.data.WorldDataImpl;
 import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.bukkit.Difficulty;
@@ -56,15 +59,18 @@ import org.jspecify.annotations.Nullable;
 @NullMarked
 public final class WorldCodec implements Codec<BuildWorld> {
 
-    private static final String NAME = "name";
-    private static final String UUID_KEY = "uuid";
-    private static final String CREATOR = "creator";
+    // Field names of the serialized map; public so storages with a fixed schema can map them to columns.
+    public static final String NAME = "name";
+    public static final String UUID_KEY = "uuid";
+    public static final String CREATOR = "creator";
+    public static final String TYPE = "type";
+    public static final String DATE = "date";
+    public static final String BUILDERS = "builders";
+    public static final String CHUNK_GENERATOR = "chunk-generator";
+    public static final String DATA = "data";
+
+    // Pre-4.0 creator id, read only as a fallback by parseCreator.
     private static final String CREATOR_ID = "creator-id";
-    private static final String TYPE = "type";
-    private static final String DATE = "date";
-    private static final String BUILDERS = "builders";
-    private static final String CHUNK_GENERATOR = "chunk-generator";
-    private static final String DATA = "data";
 
     // The data keys come straight from WorldDataKey (see dataPath); only the pre-4.0 private boolean has no key.
     private static final String LEGACY_PRIVATE = "private";
@@ -176,7 +182,7 @@ public final class WorldCodec implements Codec<BuildWorld> {
      * {@return the nested {@code data.<id>} path for a key} The data keys are owned by {@link WorldDataKey}, so the
      * codec never duplicates the on-disk strings.
      */
-    private static String dataPath(WorldDataKey<?> key) {
+    public static String dataPath(WorldDataKey<?> key) {
         return DATA + "." + key.id();
     }
 
@@ -270,6 +276,28 @@ public final class WorldCodec implements Codec<BuildWorld> {
         }
     }
 
+    /**
+     * Resolves, in one bulk lookup, the creators that {@link #deserialize} would otherwise look up one network request at
+     * a time: pre-4.0 entries that stored a creator name without its uuid. Call before deserializing the sections, off
+     * the main thread; the resolved uuids are cached, so the per-world lookups then complete locally.
+     *
+     * @param sections The world sections about to be deserialized
+     * @return The number of creator names that needed resolving
+     */
+    public int prefetchCreators(Collection<? extends ConfigurationSection> sections) {
+        Set<String> names = new HashSet<>();
+        for (ConfigurationSection section : sections) {
+            String creator = section.getString(CREATOR);
+            if ("null".equals(section.getString(CREATOR_ID)) && creator != null && !creator.equals("-")) {
+                names.add(creator);
+            }
+        }
+        if (!names.isEmpty()) {
+            playerLookup.lookupUniqueIdsBlocking(names);
+        }
+        return names.size();
+    }
+
     private @Nullable Builder parseCreator(String worldName, ConfigurationSection section) {
         final String creator = section.getString(CREATOR);
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Coalesces the rows a SQL storage is about to write, the same way {@code YamlPerWorldStorage} coalesces its files. A
+ * save publishes its row snapshot on the calling thread; the background task that writes it takes whichever snapshot is
+ * newest once it holds the write lock. Two saves of one key therefore never reach the database out of order, even
+ * though their tasks run on the shared multi-threaded pool.
+ *
+ * @param <R> The row snapshot type
+ */
+@NullMarked
+final class PendingWrites<R> {
+
+    private final Map<String, R> pending = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Publishes the newest snapshot for a key, replacing any snapshot not yet written.
+     */
+    void put(String key, R row) {
+        pending.put(key, row);
+    }
+
+    /**
+     * Hands the newest pending snapshots for the given keys to the writer, in one call. Keys whose snapshot a
+     * concurrent flush already wrote are skipped; the writer is not called when nothing is left.
+     */
+    void flush(Collection<String> keys, Consumer<List<R>> writer) {
+        synchronized (writeLock) {
+            List<R> rows = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                R row = pending.remove(key);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            if (!rows.isEmpty()) {
+                writer.accept(rows);
+            }
+        }
+    }
+
+    /**
+     * Drops any pending snapshot for the key and runs the delete under the write lock, so a save queued before the
+     * delete cannot recreate the row afterwards.
+     */
+    void discard(String key, Runnable delete) {
+        synchronized (writeLock) {
+            pending.remove(key);
+            delete.run();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The embedded H2 database shared by the SQL storages. Opened once on first use and {@link #close() closed} on disable,
+ * after the final saves have completed.
+ *
+ * <p>Connections come from a small pool, so a storage borrows one per operation instead of holding it. Every write
+ * goes through {@link #transaction}, which commits a whole batch at once or rolls it back, so a failed save never leaves
+ * half of its rows updated.
+ */
+@NullMarked
+public final class SqlDatabase implements AutoCloseable {
+
+    private static final String FILE_NAME = "buildsystem";
+
+    private final JdbcConnectionPool pool;
+
+    SqlDatabase(String url) {
+        this.pool = JdbcConnectionPool.create(url, "sa", "");
+    }
+
+    /**
+     * Opens (or creates) the database file {@code buildsystem.mv.db} in the given folder.
+     *
+     * @param dataFolder The plugin's data folder
+     * @return The opened database
+     */
+    public static SqlDatabase open(File dataFolder) {
+        return new SqlDatabase("jdbc:h2:" + new File(dataFolder, FILE_NAME).getAbsolutePath());
+    }
+
+    /**
+     * Runs the given work on a pooled connection without a surrounding transaction.
+     *
+     * @param work The work to run
+     * @param <T> The result type
+     * @return The work's result
+     * @throws IllegalStateException if the database reports an error
+     */
+    public <T extends @Nullable Object> T query(SqlWork<T> work) {
+        try (Connection connection = pool.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Database query failed", e);
+        }
+    }
+
+    /**
+     * Runs the given work in a single transaction, committing on success and rolling back on failure.
+     *
+     * @param work The work to run
+     * @param <T> The result type
+     * @return The work's result
+     * @throws IllegalStateException if the database reports an error
+     */
+    public <T extends @Nullable Object> T transaction(SqlWork<T> work) {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Database transaction failed", e);
+        }
+    }
+
+    /**
+     * Runs each DDL statement, in order. Used by the storages to create their tables and indexes on startup.
+     *
+     * @param statements The statements to execute
+     */
+    public void execute(String... statements) {
+        transaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * {@return whether the given table holds no rows} Used to decide whether the YAML files still need importing.
+     */
+    public boolean isEmpty(String table) {
+        return query(connection -> {
+            try (Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery("SELECT 1 FROM " + table + " LIMIT 1")) {
+                return !result.next();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+
+    /**
+     * Work to run against a database connection.
+     *
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    public interface SqlWork<T extends @Nullable Object> {
+
+        T run(Connection connection) throws SQLException;
+    }
+}
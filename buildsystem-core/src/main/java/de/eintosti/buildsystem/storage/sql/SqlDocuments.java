@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import java.util.Map;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Converts a codec's serialized map to and from the YAML text stored in a {@code document} column. Players and folders
+ * are stored this way: only their key and lookup columns are relational, so their codecs are reused unchanged.
+ */
+@NullMarked
+final class SqlDocuments {
+
+    private SqlDocuments() {}
+
+    static String encode(Map<String, ? extends @Nullable Object> serialized) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        serialized.forEach(yaml::set);
+        return yaml.saveToString();
+    }
+
+    static YamlConfiguration decode(String document) throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(document);
+        return yaml;
+    }
+}
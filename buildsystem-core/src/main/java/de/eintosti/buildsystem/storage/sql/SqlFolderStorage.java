@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.storage.WorldStorage;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
+import de.eintosti.buildsystem.storage.FolderStorageImpl;
+import de.eintosti.buildsystem.storage.codec.FolderCodec;
+import de.eintosti.buildsystem.storage.yaml.YamlFolderStorage;
+import de.eintosti.buildsystem.world.folder.FolderImpl;
+import java.io.File;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link FolderStorageImpl} backed by the embedded {@link SqlDatabase}. Each folder is one row of the {@code folders}
+ * table with the {@link FolderCodec} output stored as a YAML document. Parents are linked in a second pass after every
+ * row is read, as in {@link YamlFolderStorage}. When the table is empty on load, an existing {@code folders.yml} is
+ * imported once.
+ */
+@NullMarked
+public class SqlFolderStorage extends FolderStorageImpl {
+
+    private static final String TABLE = "folders";
+    private static final String UPSERT = "MERGE INTO " + TABLE + " (uuid, name, document) KEY (uuid) VALUES (?, ?, ?)";
+
+    private final BuildSystemPlugin plugin;
+    private final Services services;
+    private final SqlDatabase database;
+    private final Executor background;
+    private final PendingWrites<FolderRow> pendingWrites = new PendingWrites<>();
+    private @Nullable FolderCodec codec;
+
+    public SqlFolderStorage(
+            BuildSystemPlugin plugin, WorldStorage worldStorage, Services services, SqlDatabase database) {
+        super(plugin.getLogger(), worldStorage);
+        this.plugin = plugin;
+        this.services = services;
+        this.database = database;
+        this.background = services.scheduler().background();
+
+        database.execute("CREATE TABLE IF NOT EXISTS " + TABLE
+                + " (uuid VARCHAR(36) PRIMARY KEY, name VARCHAR NOT NULL, document VARCHAR)");
+    }
+
+    /**
+     * The codec, built lazily on first use for the same reason as {@link YamlFolderStorage}.
+     */
+    private FolderCodec codec() {
+        if (codec == null) {
+            codec = new FolderCodec(services.worldContext(), services.navigatorCategoryRegistry());
+        }
+        return codec;
+    }
+
+    @Override
+    protected Folder newFolder(String name, NavigatorCategory category, @Nullable Folder parent, Builder creator) {
+        return new FolderImpl(services.worldContext(), name, category, parent, creator);
+    }
+
+    private FolderRow toRow(Folder folder) {
+        return new FolderRow(codec().key(folder), folder.getName(), SqlDocuments.encode(codec().serialize(folder)));
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Folder folder) {
+        // Serialize on the calling (main) thread; the async block only writes the captured row.
+        FolderRow row = toRow(folder);
+        pendingWrites.put(row.key(), row);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(List.of(row.key()), this::upsert), background);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Collection<Folder> folders) {
+        Map<String, FolderRow> rows = new LinkedHashMap<>();
+        for (Folder folder : folders) {
+            FolderRow row = toRow(folder);
+            rows.put(row.key(), row);
+        }
+        rows.forEach(pendingWrites::put);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(rows.keySet(), this::upsert), background);
+    }
+
+    private void upsert(List<FolderRow> rows) {
+        database.transaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (FolderRow row : rows) {
+                    statement.setString(1, row.key());
+                    statement.setString(2, row.name());
+                    statement.setString(3, row.document());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Collection<Folder>> load() {
+        return CompletableFuture.supplyAsync(
+                        () -> database.isEmpty(TABLE) && new File(plugin.getDataFolder(), "folders.yml").exists(),
+                        background)
+                .thenCompose(importLegacy -> importLegacy
+                        ? new YamlFolderStorage(plugin, worldStorage, services)
+                                .load()
+                                .thenApplyAsync(this::importLegacyFolders, background)
+                        : CompletableFuture.supplyAsync(this::loadRows, background));
+    }
+
+    private Collection<Folder> loadRows() {
+        return database.query(connection -> {
+            // First pass: load each folder by its key (UUID) without its parent reference.
+            Map<String, Folder> loadedByKey = new HashMap<>();
+            Map<String, YamlConfiguration> sectionsByKey = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT uuid, document FROM " + TABLE);
+                    ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    String folderKey = result.getString("uuid");
+                    try {
+                        YamlConfiguration section = SqlDocuments.decode(result.getString("document"));
+                        loadedByKey.put(folderKey, codec().deserialize(folderKey, section));
+                        sectionsByKey.put(folderKey, section);
+                    } catch (Exception e) {
+                        logger.log(Level.WARNING, "Skipping folder \"" + folderKey + "\": could not be loaded", e);
+                    }
+                }
+            }
+
+            // Second pass: link parents (referenced by UUID) now that every folder exists.
+            for (Map.Entry<String, Folder> entry : loadedByKey.entrySet()) {
+                String parentKey = codec().parentReference(sectionsByKey.get(entry.getKey()));
+                if (parentKey != null) {
+                    Folder parent = loadedByKey.get(parentKey);
+                    if (parent != null) {
+                        entry.getValue().setParent(parent);
+                    }
+                }
+            }
+
+            return new ArrayList<>(loadedByKey.values());
+        });
+    }
+
+    private Collection<Folder> importLegacyFolders(Collection<Folder> folders) {
+        upsert(folders.stream().map(this::toRow).toList());
+        logger.info("Imported " + folders.size() + " folders into the database");
+        return folders;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Folder folder) {
+        return delete(folder.getUniqueId().toString());
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String folderKey) {
+        return CompletableFuture.runAsync(
+                () -> pendingWrites.discard(folderKey, () -> database.transaction(connection -> {
+                    try (PreparedStatement statement =
+                            connection.prepareStatement("DELETE FROM " + TABLE + " WHERE uuid = ?")) {
+                        statement.setString(1, folderKey);
+                        statement.executeUpdate();
+                    }
+                    return null;
+                })),
+                background);
+    }
+
+    private record FolderRow(String key, String name, String document) {}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.api.player.BuildPlayer;
+import de.eintosti.buildsystem.storage.PlayerStorageImpl;
+import de.eintosti.buildsystem.storage.codec.PlayerCodec;
+import de.eintosti.buildsystem.storage.yaml.YamlPlayerStorage;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.io.File;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link PlayerStorageImpl} backed by the embedded {@link SqlDatabase}. Each player is one row of the {@code players}
+ * table, keyed by UUID, with the {@link PlayerCodec} output stored as a YAML document; saving a player rewrites only
+ * that row. When the table is empty on load, an existing {@code players.yml} is imported once.
+ */
+@NullMarked
+public class SqlPlayerStorage extends PlayerStorageImpl {
+
+    private static final String TABLE = "players";
+    private static final String UPSERT = "MERGE INTO " + TABLE + " (uuid, document) KEY (uuid) VALUES (?, ?)";
+
+    private final BuildSystemPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final SqlDatabase database;
+    private final PlayerCodec codec;
+    private final Executor background;
+    private final PendingWrites<PlayerRow> pendingWrites = new PendingWrites<>();
+
+    public SqlPlayerStorage(BuildSystemPlugin plugin, TaskScheduler scheduler, SqlDatabase database) {
+        super(plugin.getLogger());
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.database = database;
+        this.codec = new PlayerCodec(plugin.getLogger());
+        this.background = scheduler.background();
+
+        database.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (uuid VARCHAR(36) PRIMARY KEY, document VARCHAR)");
+    }
+
+    private PlayerRow toRow(BuildPlayer buildPlayer) {
+        return new PlayerRow(codec.key(buildPlayer), SqlDocuments.encode(codec.serialize(buildPlayer)));
+    }
+
+    @Override
+    public CompletableFuture<Void> save(BuildPlayer buildPlayer) {
+        // Serialize on the calling (main) thread; the async block only writes the captured row.
+        PlayerRow row = toRow(buildPlayer);
+        pendingWrites.put(row.key(), row);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(List.of(row.key()), this::upsert), background);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Collection<BuildPlayer> players) {
+        Map<String, PlayerRow> rows = new LinkedHashMap<>();
+        for (BuildPlayer player : players) {
+            PlayerRow row = toRow(player);
+            rows.put(row.key(), row);
+        }
+        rows.forEach(pendingWrites::put);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(rows.keySet(), this::upsert), background);
+    }
+
+    private void upsert(List<PlayerRow> rows) {
+        database.transaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (PlayerRow row : rows) {
+                    statement.setString(1, row.key());
+                    statement.setString(2, row.document());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Collection<BuildPlayer>> load() {
+        return CompletableFuture.supplyAsync(
+                        () -> database.isEmpty(TABLE) && new File(plugin.getDataFolder(), "players.yml").exists(),
+                        background)
+                .thenCompose(importLegacy -> importLegacy
+                        ? new YamlPlayerStorage(plugin, scheduler)
+                                .load()
+                                .thenApplyAsync(this::importLegacyPlayers, background)
+                        : CompletableFuture.supplyAsync(this::loadRows, background));
+    }
+
+    private Collection<BuildPlayer> loadRows() {
+        return database.query(connection -> {
+            Collection<BuildPlayer> players = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT uuid, document FROM " + TABLE);
+                    ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    String playerKey = result.getString("uuid");
+                    try {
+                        players.add(codec.deserialize(playerKey, SqlDocuments.decode(result.getString("document"))));
+                    } catch (Exception e) {
+                        logger.log(Level.WARNING, "Skipping player \"" + playerKey + "\": could not be loaded", e);
+                    }
+                }
+            }
+            return players;
+        });
+    }
+
+    private Collection<BuildPlayer> importLegacyPlayers(Collection<BuildPlayer> players) {
+        upsert(players.stream().map(this::toRow).toList());
+        logger.info("Imported " + players.size() + " players into the database");
+        return players;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(BuildPlayer buildPlayer) {
+        return delete(buildPlayer.getUniqueId().toString());
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String playerKey) {
+        return CompletableFuture.runAsync(
+                () -> pendingWrites.discard(playerKey, () -> database.transaction(connection -> {
+                    try (PreparedStatement statement =
+                            connection.prepareStatement("DELETE FROM " + TABLE + " WHERE uuid = ?")) {
+                        statement.setString(1, playerKey);
+                        statement.executeUpdate();
+                    }
+                    return null;
+                })),
+                background);
+    }
+
+    private record PlayerRow(String key, String document) {}
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.storage.codec.WorldCodec;
+import de.eintosti.buildsystem.storage.yaml.YamlPerWorldStorage;
+import de.eintosti.buildsystem.storage.yaml.YamlWorldStorage;
+import java.io.File;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link WorldStorageImpl} backed by the embedded {@link SqlDatabase}. Every world is one row of the {@code worlds}
+ * table, so saving a world updates that row only, and a save of many worlds is a single batched transaction.
+ *
+ * <p>The table mirrors {@link WorldCodec}: its top-level fields are columns, and every built-in {@link WorldDataKey}
+ * gets a typed {@code data_<id>} column (booleans, integers and timestamps keep their SQL type). Rows are read back into
+ * a {@link MemoryConfiguration} shaped like the codec's section, so deserialization, including its fallbacks, is the
+ * exact code path the YAML storages use. Worlds are only ever read in full on load, so no column besides the key is
+ * indexed.
+ *
+ * <p>When the table is empty on load, the worlds of the previous YAML storage ({@code worlds/} or {@code worlds.yml})
+ * are imported once.
+ */
+@NullMarked
+public class SqlWorldStorage extends WorldStorageImpl {
+
+    private static final String TABLE = "worlds";
+    private static final int BATCH_SIZE = 500;
+
+    private static final List<WorldDataKey<?>> DATA_KEYS = WorldDataKey.values();
+    private static final List<String> FIXED_COLUMNS = List.of(
+            "uuid", "name", "creator", "world_type", "creation", "builders", "chunk_generator");
+
+    private final BuildSystemPlugin plugin;
+    private final Services services;
+    private final SqlDatabase database;
+    private final Executor background;
+    private final PendingWrites<WorldRow> pendingWrites = new PendingWrites<>();
+    private final String upsertSql;
+
+    private @Nullable WorldCodec codec;
+
+    public SqlWorldStorage(BuildSystemPlugin plugin, Services services, SqlDatabase database) {
+        super(plugin.getLogger());
+        this.plugin = plugin;
+        this.services = services;
+        this.database = database;
+        this.background = services.scheduler().background();
+
+        List<String> columns = new ArrayList<>(FIXED_COLUMNS);
+        DATA_KEYS.forEach(key -> columns.add(column(key)));
+        this.upsertSql = "MERGE INTO " + TABLE + " (" + String.join(", ", columns) + ") KEY (uuid) VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+
+        createSchema();
+    }
+
+    private void createSchema() {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "uuid VARCHAR(36) PRIMARY KEY, "
+                + "name VARCHAR NOT NULL, "
+                + "creator VARCHAR, "
+                + "world_type VARCHAR, "
+                + "creation BIGINT, "
+                + "builders VARCHAR, "
+                + "chunk_generator VARCHAR)");
+        // Added one by one, so a key introduced by a later release extends an existing table in place.
+        for (WorldDataKey<?> key : DATA_KEYS) {
+            statements.add("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS " + column(key) + " " + sqlType(key));
+        }
+        database.execute(statements.toArray(String[]::new));
+    }
+
+    private static String column(WorldDataKey<?> key) {
+        return "data_" + key.id().replace('-', '_');
+    }
+
+    private static String sqlType(WorldDataKey<?> key) {
+        Class<?> type = key.type();
+        if (type == Boolean.class) {
+            return "BOOLEAN";
+        } else if (type == Integer.class) {
+            return "INT";
+        } else if (type == Long.class) {
+            return "BIGINT";
+        }
+        return "VARCHAR";
+    }
+
+    /**
+     * The codec, built lazily on first use for the same reason as the YAML storages: the services it bundles do not all
+     * exist yet when the storage is constructed.
+     */
+    private WorldCodec codec() {
+        if (codec == null) {
+            codec = new WorldCodec(services.worldContext(), services.playerLookup());
+        }
+        return codec;
+    }
+
+    /**
+     * Captures a world's row on the calling thread, where the world's state is owned.
+     */
+    private WorldRow toRow(BuildWorld buildWorld) {
+        return new WorldRow(codec().key(buildWorld), codec().serialize(buildWorld));
+    }
+
+    @Override
+    public CompletableFuture<Void> save(BuildWorld buildWorld) {
+        WorldRow row = toRow(buildWorld);
+        pendingWrites.put(row.key(), row);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(List.of(row.key()), this::upsert), background);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Collection<BuildWorld> buildWorlds) {
+        Map<String, WorldRow> rows = new LinkedHashMap<>();
+        for (BuildWorld buildWorld : buildWorlds) {
+            WorldRow row = toRow(buildWorld);
+            rows.put(row.key(), row);
+        }
+        rows.forEach(pendingWrites::put);
+        return CompletableFuture.runAsync(() -> pendingWrites.flush(rows.keySet(), this::upsert), background);
+    }
+
+    private void upsert(List<WorldRow> rows) {
+        database.transaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(upsertSql)) {
+                int batched = 0;
+                for (WorldRow row : rows) {
+                    bind(statement, row);
+                    statement.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batched % BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement statement, WorldRow row) throws SQLException {
+        Map<String, @Nullable Object> serialized = row.serialized();
+        String name = String.valueOf(serialized.get(WorldCodec.NAME));
+
+        int index = 1;
+        statement.setString(index++, row.key());
+        statement.setString(index++, name);
+        statement.setObject(index++, serialized.get(WorldCodec.CREATOR));
+        statement.setObject(index++, serialized.get(WorldCodec.TYPE));
+        statement.setObject(index++, serialized.get(WorldCodec.DATE));
+        statement.setObject(index++, serialized.get(WorldCodec.BUILDERS));
+        statement.setObject(index++, serialized.get(WorldCodec.CHUNK_GENERATOR));
+
+        Map<?, ?> data = serialized.get(WorldCodec.DATA) instanceof Map<?, ?> map ? map : Map.of();
+        for (WorldDataKey<?> key : DATA_KEYS) {
+            statement.setObject(index++, data.get(key.id()));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Collection<BuildWorld>> load() {
+        return CompletableFuture.supplyAsync(() -> database.isEmpty(TABLE) ? legacyStorage() : null, background)
+                .thenCompose(legacy -> legacy != null
+                        ? legacy.load().thenApplyAsync(this::importLegacyWorlds, background)
+                        : CompletableFuture.supplyAsync(this::loadRows, background)
+                                .thenCompose(sections -> decodeWorlds(codec(), sections, background)));
+    }
+
+    /**
+     * Reads every row into a section; the sections are then decoded in parallel like those of the YAML storages.
+     */
+    private Map<String, ConfigurationSection> loadRows() {
+        long start = System.nanoTime();
+        Map<String, ConfigurationSection> sections = database.query(connection -> {
+            Map<String, ConfigurationSection> rows = new LinkedHashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + TABLE);
+                    ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    rows.put(result.getString("uuid"), toSection(result));
+                }
+            }
+            return rows;
+        });
+        getLoadTimer().record("read", start);
+        return sections;
+    }
+
+    /**
+     * Rebuilds the section {@link WorldCodec#deserialize} expects from a row. {@code NULL} columns are left out, so the
+     * codec applies the same defaults as for a key missing from a YAML file.
+     */
+    private static MemoryConfiguration toSection(ResultSet result) throws SQLException {
+        MemoryConfiguration section = new MemoryConfiguration();
+        section.set(WorldCodec.NAME, result.getString("name"));
+        setIfPresent(section, WorldCodec.CREATOR, result.getObject("creator"));
+        setIfPresent(section, WorldCodec.TYPE, result.getObject("world_type"));
+        setIfPresent(section, WorldCodec.DATE, result.getObject("creation"));
+        setIfPresent(section, WorldCodec.BUILDERS, result.getObject("builders"));
+        setIfPresent(section, WorldCodec.CHUNK_GENERATOR, result.getObject("chunk_generator"));
+        for (WorldDataKey<?> key : DATA_KEYS) {
+            setIfPresent(section, WorldCodec.dataPath(key), result.getObject(column(key)));
+        }
+        return section;
+    }
+
+    private static void setIfPresent(MemoryConfiguration section, String path, @Nullable Object value) {
+        if (value != null) {
+            section.set(path, value);
+        }
+    }
+
+    /**
+     * {@return the YAML storage to import from, or {@code null} when there is nothing to import}
+     */
+    private @Nullable WorldStorageImpl legacyStorage() {
+        if (new File(plugin.getDataFolder(), "worlds").isDirectory()) {
+            return new YamlPerWorldStorage(plugin, services);
+        }
+        if (new File(plugin.getDataFolder(), "worlds.yml").exists()) {
+            return new YamlWorldStorage(plugin, services);
+        }
+        return null;
+    }
+
+    /**
+     * Writes every world loaded from the YAML storage in one transaction. Runs before the worlds are published to the
+     * main thread, so reading their state here is safe.
+     */
+    private Collection<BuildWorld> importLegacyWorlds(Collection<BuildWorld> worlds) {
+        upsert(worlds.stream().map(this::toRow).toList());
+        logger.info("Imported " + worlds.size() + " worlds into the database");
+        return worlds;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(BuildWorld buildWorld) {
+        return delete(buildWorld.getUniqueId().toString());
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String worldKey) {
+        return CompletableFuture.runAsync(
+                () -> pendingWrites.discard(worldKey, () -> database.transaction(connection -> {
+                    try (PreparedStatement statement =
+                            connection.prepareStatement("DELETE FROM " + TABLE + " WHERE uuid = ?")) {
+                        statement.setString(1, worldKey);
+                        statement.executeUpdate();
+                    }
+                    return null;
+                })),
+                background);
+    }
+
+    /**
+     * A world's row as captured on the main thread: its key and the codec's serialized map the columns are taken from.
+     */
+    private record WorldRow(String key, Map<String, @Nullable Object> serialized) {}
+}
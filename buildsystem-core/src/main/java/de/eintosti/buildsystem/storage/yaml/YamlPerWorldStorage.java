@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.yaml;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.storage.ParallelLoader;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.storage.codec.WorldCodec;
+import de.eintosti.buildsystem.storage.migration.StorageMigration;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link WorldStorageImpl} that keeps every world in its own {@code worlds/<uuid>.yml} file instead of one shared
+ * {@code worlds.yml}. Saving a world rewrites only that world's file, so the cost of a save scales with the number of
+ * modified worlds rather than with the total number of worlds.
+ *
+ * <p>Each file holds exactly the map {@link WorldCodec#serialize} produces, at its root, so the codec deserializes it
+ * unchanged. Files are written to a temporary sibling and atomically moved into place, so a crash mid-write never leaves
+ * a truncated world behind.
+ *
+ * <p>Writes for the same world are coalesced: a save only publishes the newest serialized snapshot for its key, and the
+ * background task writing it picks up whatever snapshot is newest when it acquires that world's lock. Two saves of one
+ * world can therefore never land on disk out of order, even though they run on the shared multi-threaded pool.
+ *
+ * <p>On first load, when the {@code worlds/} directory does not exist yet but a {@code worlds.yml} does, the worlds are
+ * loaded through {@link YamlWorldStorage} (including its legacy format migration) and written out as individual files.
+ */
+@NullMarked
+public class YamlPerWorldStorage extends WorldStorageImpl {
+
+    private static final String DIRECTORY = "worlds";
+    private static final String EXTENSION = ".yml";
+    private static final String TEMP_EXTENSION = ".yml.tmp";
+
+    private final BuildSystemPlugin plugin;
+    private final Services services;
+    private final File directory;
+    private final File legacyFile;
+    private final Executor background;
+
+    private final Map<String, Map<String, @Nullable Object>> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, Object> fileLocks = new ConcurrentHashMap<>();
+
+    private @Nullable WorldCodec codec;
+
+    public YamlPerWorldStorage(BuildSystemPlugin plugin, Services services) {
+        super(plugin.getLogger());
+        this.plugin = plugin;
+        this.services = services;
+        this.directory = new File(plugin.getDataFolder(), DIRECTORY);
+        this.legacyFile = new File(plugin.getDataFolder(), "worlds.yml");
+        this.background = services.scheduler().background();
+    }
+
+    /**
+     * The codec, built lazily on first use for the same reason as {@link YamlWorldStorage}: the services it bundles do
+     * not all exist yet when the storage is constructed.
+     */
+    private WorldCodec codec() {
+        if (codec == null) {
+            codec = new WorldCodec(services.worldContext(), services.playerLookup());
+        }
+        return codec;
+    }
+
+    @Override
+    public CompletableFuture<Void> save(BuildWorld buildWorld) {
+        // Serialize on the calling thread, where the world's data is owned; only the captured map is written async.
+        String worldKey = codec().key(buildWorld);
+        pendingWrites.put(worldKey, codec().serialize(buildWorld));
+        return CompletableFuture.runAsync(() -> flush(worldKey), background);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Collection<BuildWorld> buildWorlds) {
+        Map<String, Map<String, @Nullable Object>> serialized = new LinkedHashMap<>();
+        for (BuildWorld buildWorld : buildWorlds) {
+            serialized.put(codec().key(buildWorld), codec().serialize(buildWorld));
+        }
+        pendingWrites.putAll(serialized);
+        return CompletableFuture.runAsync(() -> serialized.keySet().forEach(this::flush), background);
+    }
+
+    /**
+     * Writes the newest pending snapshot for the given world, if any. The snapshot is taken under the world's lock, so
+     * a later save's snapshot is never overwritten by an earlier one.
+     */
+    private void flush(String worldKey) {
+        synchronized (lockFor(worldKey)) {
+            Map<String, @Nullable Object> serialized = pendingWrites.remove(worldKey);
+            if (serialized == null) {
+                return; // A concurrent flush already wrote the newest snapshot.
+            }
+            write(worldKey, serialized);
+        }
+    }
+
+    private void write(String worldKey, Map<String, @Nullable Object> serialized) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set(StorageMigration.VERSION_KEY, StorageMigration.CURRENT_VERSION);
+        serialized.forEach(yaml::set);
+
+        Path target = fileFor(worldKey).toPath();
+        Path temp = directory.toPath().resolve(worldKey + TEMP_EXTENSION);
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.writeString(temp, yaml.saveToString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save world file " + target.getFileName(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Collection<BuildWorld>> load() {
+        if (!directory.isDirectory() && legacyFile.exists()) {
+            // Only constructed for the one-time import: YamlWorldStorage parses worlds.yml as soon as it is created.
+            return new YamlWorldStorage(plugin, services).load().thenApplyAsync(this::importLegacyWorlds, background);
+        }
+
+        return CompletableFuture.supplyAsync(
+                        () -> {
+                            File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+                            return files == null ? List.<File>of() : List.of(files);
+                        },
+                        background)
+                .thenCompose(this::readWorldFiles)
+                .thenCompose(sections -> decodeWorlds(codec(), sections, background));
+    }
+
+    /**
+     * Parses the world files in parallel. Parsing the YAML is the expensive part of reading a file, so it runs in the
+     * same chunked fashion as the decoding that follows.
+     */
+    private CompletableFuture<Map<String, ConfigurationSection>> readWorldFiles(List<File> files) {
+        long start = System.nanoTime();
+        return ParallelLoader.<File, Map.Entry<String, ConfigurationSection>>loadAll(
+                        files,
+                        file -> {
+                            YamlConfiguration yaml = new YamlConfiguration();
+                            yaml.load(file);
+                            return Map.entry(worldKey(file), yaml);
+                        },
+                        background,
+                        (file, e) -> logger.log(
+                                Level.WARNING, "Skipping world \"" + worldKey(file) + "\": could not be loaded", e))
+                .thenApply(entries -> {
+                    getLoadTimer().record("read", start);
+                    Map<String, ConfigurationSection> sections = new LinkedHashMap<>();
+                    entries.forEach(entry -> sections.put(entry.getKey(), entry.getValue()));
+                    return sections;
+                });
+    }
+
+    private static String worldKey(File file) {
+        return file.getName().substring(0, file.getName().length() - EXTENSION.length());
+    }
+
+    /**
+     * Writes every world loaded from {@code worlds.yml} to its own file. Runs before the worlds are published to the
+     * main thread, so reading their state here is safe.
+     */
+    private Collection<BuildWorld> importLegacyWorlds(Collection<BuildWorld> worlds) {
+        for (BuildWorld buildWorld : worlds) {
+            write(codec().key(buildWorld), codec().serialize(buildWorld));
+        }
+        // Create the directory even for an empty worlds.yml, so the import is not attempted again.
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warning("Could not create world storage directory " + directory);
+        }
+        logger.info("Imported " + worlds.size() + " worlds from " + legacyFile.getName() + " into " + DIRECTORY + "/");
+        return worlds;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(BuildWorld buildWorld) {
+        return delete(buildWorld.getUniqueId().toString());
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String worldKey) {
+        return CompletableFuture.runAsync(
+                () -> {
+                    synchronized (lockFor(worldKey)) {
+                        pendingWrites.remove(worldKey);
+                        try {
+                            Files.deleteIfExists(fileFor(worldKey).toPath());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to delete world file for " + worldKey, e);
+                        }
+                    }
+                },
+                background);
+    }
+
+    private Object lockFor(String worldKey) {
+        return fileLocks.computeIfAbsent(worldKey, key -> new Object());
+    }
+
+    private File fileFor(String worldKey) {
+        return new File(directory, worldKey + EXTENSION);
+    }
+}
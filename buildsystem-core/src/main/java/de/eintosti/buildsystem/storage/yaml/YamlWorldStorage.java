@@ -23,14 +23,12 @@ import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import de.eintosti.buildsystem.storage.codec.WorldCodec;
 import de.eintosti.buildsystem.storage.migration.StorageMigration;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.logging.Level;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.jspecify.annotations.NullMarked;
@@ -99,22 +97,30 @@ public class YamlWorldStorage extends WorldStorageImpl {
     @Override
     public CompletableFuture<Collection<BuildWorld>> load() {
         return CompletableFuture.supplyAsync(
-                () -> store.locked(() -> {
-                    Collection<BuildWorld> worlds = new ArrayList<>();
-                    for (String worldKey : loadWorldKeys()) {
-                        try {
-                            ConfigurationSection section = config.getConfigurationSection(WORLDS_KEY + "." + worldKey);
-                            if (section == null) {
-                                continue;
-                            }
-                            worlds.add(codec().deserialize(worldKey, section));
-                        } catch (Exception e) {
-                            logger.log(Level.WARNING, "Skipping world \"" + worldKey + "\": could not be loaded", e);
-                        }
-                    }
-                    return worlds;
-                }),
-                background);
+                        () -> {
+                            long start = System.nanoTime();
+                            Map<String, ConfigurationSection> sections = store.locked(this::loadWorldSections);
+                            getLoadTimer().record("read", start);
+                            return sections;
+                        },
+                        background)
+                .thenCompose(sections -> decodeWorlds(codec(), sections, background));
+    }
+
+    /**
+     * Reloads the file and collects every world's section. The sections are decoded in parallel after the store lock
+     * is released: no world is saved before the load has published it, and a save replaces a world's section instead of
+     * mutating it, so a collected section is never written while it is being decoded.
+     */
+    private Map<String, ConfigurationSection> loadWorldSections() {
+        Map<String, ConfigurationSection> sections = new LinkedHashMap<>();
+        for (String worldKey : loadWorldKeys()) {
+            ConfigurationSection section = config.getConfigurationSection(WORLDS_KEY + "." + worldKey);
+            if (section != null) {
+                sections.put(worldKey, section);
+            }
+        }
+        return sections;
     }
 
     private Set<String> loadWorldKeys() {
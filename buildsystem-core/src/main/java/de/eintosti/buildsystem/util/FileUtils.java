@@ -17,8 +17,6 @@
  */
 package de.eintosti.buildsystem.util;
 
-import com.google.common.collect.Sets;
-import de.eintosti.buildsystem.api.world.BuildWorld;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,21 +29,14 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
-import net.lingala.zip4j.ZipFile;
-import net.lingala.zip4j.model.ExcludeFileFilter;
-import net.lingala.zip4j.model.ZipParameters;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.jspecify.annotations.NullMarked;
-import org.jspecify.annotations.Nullable;
 
 @NullMarked
 public final class FileUtils {
 
     private static final Logger LOGGER = Logger.getLogger(FileUtils.class.getName());
-    private static final Set<String> IGNORE_FILES = Sets.newHashSet("uid.dat", "session.lock");
     private static final Set<String> VANILLA_DIMENSIONS = Set.of("overworld", "the_nether", "the_end");
 
     private FileUtils() {}
@@ -87,13 +78,22 @@ public final class FileUtils {
     }
 
     /**
-     * Whether {@code folder} is an importable world directory: a non-vanilla dimension folder that holds world data.
+     * Whether {@code folder} is an importable world directory: a non-vanilla, non-hidden dimension folder that holds
+     * world data. Hidden folders are the plugin's own scratch space, such as a backup being staged for restore.
      */
     public static boolean isWorldDirectory(File folder) {
         if (!folder.isDirectory()
+                || folder.getName().startsWith(".")
                 || VANILLA_DIMENSIONS.contains(folder.getName().toLowerCase(Locale.ROOT))) {
             return false;
         }
+        return containsWorldData(folder);
+    }
+
+    /**
+     * Whether {@code folder} holds world data, i.e. region files or a {@code level.dat}.
+     */
+    public static boolean containsWorldData(File folder) {
         return new File(folder, "region").isDirectory() || new File(folder, "level.dat").isFile();
     }
 
@@ -117,71 +117,6 @@ public final class FileUtils {
         return path;
     }
 
-    /**
-     * Copies a file or directory from the source location to the target location.
-     *
-     * @param source The source file or directory to be copied
-     * @param target The target file or directory where the source will be copied to
-     * @throws RuntimeException If an I/O error occurs while copying
-     */
-    public static void copy(File source, File target) {
-        try {
-            if (IGNORE_FILES.contains(source.getName())) {
-                return;
-            }
-
-            if (source.isDirectory()) {
-                copyDirectory(source, target);
-            } else {
-                copyFile(source, target);
-            }
-        } catch (IOException e) {
-            LOGGER.log(
-                    Level.SEVERE, "Failed to copy " + source.getAbsolutePath() + " to " + target.getAbsolutePath(), e);
-        }
-    }
-
-    /**
-     * Copies a directory from source to target.
-     *
-     * @param source The source directory to be copied
-     * @param target The target directory where the source directory will be copied to
-     */
-    private static void copyDirectory(File source, File target) {
-        if (!target.exists() && !target.mkdirs()) {
-            LOGGER.log(Level.SEVERE, "Failed to create target directory: " + target.getAbsolutePath());
-            return;
-        }
-
-        for (String fileName : source.list()) {
-            if (IGNORE_FILES.contains(fileName)) {
-                continue;
-            }
-
-            File sourceFile = new File(source, fileName);
-            File targetFile = new File(target, fileName);
-            copy(sourceFile, targetFile);
-        }
-    }
-
-    /**
-     * Copies a file from the source to the target location.
-     *
-     * @param source The source file to be copied
-     * @param target The target file where the source file will be copied to
-     * @throws IOException If an I/O error occurs while copying the file
-     */
-    private static void copyFile(File source, File target) throws IOException {
-        try (InputStream inputStream = Files.newInputStream(source.toPath());
-                OutputStream outputStream = Files.newOutputStream(target.toPath())) {
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = inputStream.read(buffer)) > 0) {
-                outputStream.write(buffer, 0, length);
-            }
-        }
-    }
-
     /**
      * Deletes a directory recursively.
      *
@@ -233,51 +168,16 @@ public final class FileUtils {
         return creation;
     }
 
-    public static @Nullable File zipWorld(File storage, BuildWorld buildWorld) {
-        try (ZipFile zipFile = new ZipFile(storage.getAbsolutePath())) {
-            File worldContainer = worldFolder(buildWorld.getName());
-
-            ExcludeFileFilter excludeFileFilter = Sets.newHashSet(
-                    new File(worldContainer, "uid.dat"), new File(worldContainer, "session.lock"))::contains;
-            ZipParameters zipParameters = new ZipParameters();
-            zipParameters.setExcludeFileFilter(excludeFileFilter);
-
-            zipFile.addFolder(worldContainer, zipParameters);
-            return zipFile.getFile();
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to zip world " + storage.getAbsolutePath(), e);
-        }
-        return null;
-    }
-
-    public static byte[] zipWorldToMemory(BuildWorld buildWorld) throws IOException {
-        Path worldPath = worldFolder(buildWorld.getName()).toPath();
-        return zipDirectoryToMemory(worldPath);
-    }
-
     /**
-     * Zips every regular file under {@code worldPath} into an in-memory archive. A failure reading any single file
-     * aborts the whole archive (propagated as {@link IOException}) rather than being swallowed and producing a
-     * silently-truncated backup.
+     * {@return the combined size of every regular file under {@code directory}}
      *
-     * @param worldPath The directory to archive
-     * @return The zipped bytes
-     * @throws IOException If the directory cannot be walked or any file cannot be read
+     * @throws IOException If the directory cannot be walked
      */
-    static byte[] zipDirectoryToMemory(Path worldPath) throws IOException {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-
-        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut);
-                Stream<Path> walk = Files.walk(worldPath)) {
-            List<Path> files = walk.filter(Files::isRegularFile).toList();
-            for (Path file : files) {
-                Path relativePath = worldPath.relativize(file);
-                zipOut.putNextEntry(new ZipEntry(relativePath.toString().replace("\\", "/")));
-                Files.copy(file, zipOut);
-                zipOut.closeEntry();
-            }
+    public static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            return walk.filter(Files::isRegularFile)
+                    .mapToLong(path -> path.toFile().length())
+                    .sum();
         }
-
-        return byteOut.toByteArray();
     }
 }
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes a directory as a zip archive, compressing the entries concurrently. Every file is deflated into its own
+ * buffer on the executor, while the calling thread writes the finished entries to the output in order, so the archive
+ * is still a single stream that can go straight to a file, an S3 upload or an SFTP channel.
+ *
+ * <p>Memory stays bounded: entries are only read ahead while their combined size fits the buffer budget, and files
+ * larger than {@link #LARGE_ENTRY_SIZE} are not buffered at all but streamed by the writing thread with a trailing
+ * data descriptor. Region files ({@code .mca}) hold chunks that are already zlib-compressed, so they can be stored
+ * as-is instead of being deflated a second time for a few percent.
+ *
+ * <p>The archive uses ZIP64 records only where a size, offset or entry count needs them.
+ */
+@NullMarked
+public final class ParallelZipArchiver {
+
+    /** Files above this size are streamed instead of being compressed into memory. */
+    static final int LARGE_ENTRY_SIZE = 32 * 1024 * 1024;
+    /** The default combined size of files read ahead of the writer. */
+    static final long DEFAULT_BUFFER_BUDGET = 32L * 1024 * 1024;
+
+    private static final Set<String> EXCLUDED_FILES = Set.of("uid.dat", "session.lock");
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int ZIP64_END = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int END = 0x06054b50;
+    private static final short ZIP64_EXTRA = 0x0001;
+    private static final long MAX_32 = 0xFFFFFFFFL;
+    private static final int MAX_16 = 0xFFFF;
+    private static final short STORED = 0;
+    private static final short DEFLATED = 8;
+    private static final short FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final short FLAG_UTF8 = 0x0800;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int level;
+    private final boolean storeRegionFiles;
+    private final int largeEntrySize;
+    private final long bufferBudget;
+
+    /**
+     * @param executor The executor compressing the entries; must not be the one running {@link #archive}
+     * @param parallelism The number of entries compressed at the same time
+     * @param level The deflate level from {@code 0} (store everything) to {@code 9}
+     * @param storeRegionFiles Whether to store {@code .mca} files without compressing them again
+     */
+    public ParallelZipArchiver(Executor executor, int parallelism, int level, boolean storeRegionFiles) {
+        this(executor, parallelism, level, storeRegionFiles, DEFAULT_BUFFER_BUDGET);
+    }
+
+    /**
+     * @param executor The executor compressing the entries; must not be the one running {@link #archive}
+     * @param parallelism The number of entries compressed at the same time
+     * @param level The deflate level from {@code 0} (store everything) to {@code 9}
+     * @param storeRegionFiles Whether to store {@code .mca} files without compressing them again
+     * @param bufferBudget The combined size in bytes of the files read ahead of the writer, per archive
+     */
+    public ParallelZipArchiver(
+            Executor executor, int parallelism, int level, boolean storeRegionFiles, long bufferBudget) {
+        this(executor, parallelism, level, storeRegionFiles, LARGE_ENTRY_SIZE, bufferBudget);
+    }
+
+    ParallelZipArchiver(
+            Executor executor,
+            int parallelism,
+            int level,
+            boolean storeRegionFiles,
+            int largeEntrySize,
+            long bufferBudget) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.level = Math.clamp(level, Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION);
+        this.storeRegionFiles = storeRegionFiles;
+        this.largeEntrySize = largeEntrySize;
+        this.bufferBudget = bufferBudget;
+    }
+
+    /**
+     * Archives every regular file under {@code directory}, except the server's {@code uid.dat} and
+     * {@code session.lock}, into {@code out}. The stream is not closed.
+     *
+     * @param directory The directory to archive
+     * @param out The stream to write the archive to
+     * @throws IOException If the directory cannot be walked, a file cannot be read or the output fails
+     */
+    public void archive(Path directory, OutputStream out) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> !EXCLUDED_FILES.contains(file.getFileName().toString()))
+                    .sorted()
+                    .toList();
+        }
+
+        CountingOutputStream counting = new CountingOutputStream(out);
+        List<CentralEntry> written = new ArrayList<>(files.size());
+        Deque<Pending> pending = new ArrayDeque<>();
+        long buffered = 0;
+
+        for (Path file : files) {
+            String name = directory.relativize(file).toString().replace('\\', '/');
+            long size = Files.size(file);
+            boolean large = size > largeEntrySize;
+            long cost = large ? 0 : size;
+
+            // Write finished entries first while the read-ahead is over budget or every worker is busy twice over
+            while (!pending.isEmpty() && (buffered + cost > bufferBudget || pending.size() >= parallelism * 2)) {
+                Pending next = pending.removeFirst();
+                buffered -= next.cost();
+                written.add(writeEntry(counting, next));
+            }
+
+            @Nullable CompletableFuture<Compressed> future =
+                    large ? null : CompletableFuture.supplyAsync(() -> compress(file), executor);
+            pending.addLast(new Pending(file, name, cost, future));
+            buffered += cost;
+        }
+        while (!pending.isEmpty()) {
+            written.add(writeEntry(counting, pending.removeFirst()));
+        }
+
+        writeCentralDirectory(counting, written);
+        counting.flush();
+    }
+
+    private Compressed compress(Path file) {
+        try {
+            byte[] data = Files.readAllBytes(file);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+
+            if (isStored(file)) {
+                return new Compressed(STORED, crc.getValue(), data.length, data, modified);
+            }
+
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                ByteArrayOutputStream deflated = new ByteArrayOutputStream(data.length / 2 + 64);
+                byte[] buffer = new byte[64 * 1024];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    deflated.write(buffer, 0, length);
+                }
+                // Incompressible data is smaller stored
+                return deflated.size() < data.length
+                        ? new Compressed(DEFLATED, crc.getValue(), data.length, deflated.toByteArray(), modified)
+                        : new Compressed(STORED, crc.getValue(), data.length, data, modified);
+            } finally {
+                deflater.end();
+            }
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private boolean isStored(Path file) {
+        return level == Deflater.NO_COMPRESSION
+                || (storeRegionFiles && file.getFileName().toString().endsWith(".mca"));
+    }
+
+    private CentralEntry writeEntry(CountingOutputStream out, Pending pending) throws IOException {
+        CompletableFuture<Compressed> future = pending.future();
+        if (future == null) {
+            return streamEntry(out, pending);
+        }
+
+        Compressed compressed;
+        try {
+            compressed = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+
+        byte[] name = pending.name().getBytes(StandardCharsets.UTF_8);
+        long offset = out.count();
+        int dosTime = dosTime(compressed.modified());
+
+        ByteBuffer header = littleEndian(30 + name.length);
+        header.putInt(LOCAL_HEADER)
+                .putShort((short) 20)
+                .putShort(FLAG_UTF8)
+                .putShort(compressed.method())
+                .putInt(dosTime)
+                .putInt((int) compressed.crc())
+                .putInt(compressed.data().length)
+                .putInt((int) compressed.size())
+                .putShort((short) name.length)
+                .putShort((short) 0)
+                .put(name);
+        out.write(header.array());
+        out.write(compressed.data());
+
+        return new CentralEntry(
+                name,
+                compressed.method(),
+                FLAG_UTF8,
+                dosTime,
+                compressed.crc(),
+                compressed.data().length,
+                compressed.size(),
+                offset);
+    }
+
+    /**
+     * Writes a large file without buffering it: the local header carries no sizes, the file is deflated straight into
+     * the output and its CRC and sizes follow in a ZIP64 data descriptor.
+     */
+    private CentralEntry streamEntry(CountingOutputStream out, Pending pending) throws IOException {
+        byte[] name = pending.name().getBytes(StandardCharsets.UTF_8);
+        long offset = out.count();
+        int dosTime = dosTime(Files.getLastModifiedTime(pending.file()).toMillis());
+        short flags = FLAG_UTF8 | FLAG_DATA_DESCRIPTOR;
+
+        ByteBuffer header = littleEndian(30 + name.length + 20);
+        header.putInt(LOCAL_HEADER)
+                .putShort((short) 45)
+                .putShort(flags)
+                .putShort(DEFLATED)
+                .putInt(dosTime)
+                .putInt(0)
+                .putInt((int) MAX_32)
+                .putInt((int) MAX_32)
+                .putShort((short) name.length)
+                .putShort((short) 20)
+                .put(name)
+                .putShort(ZIP64_EXTRA)
+                .putShort((short) 16)
+                .putLong(0)
+                .putLong(0);
+        out.write(header.array());
+
+        // Stored region files still go through the deflate format, as uncompressed blocks
+        Deflater deflater = new Deflater(isStored(pending.file()) ? Deflater.NO_COMPRESSION : level, true);
+        long start = out.count();
+        long size;
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(Files.newInputStream(pending.file()), crc)) {
+            // Finished but not closed, which would close the archive beneath it
+            DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater, 64 * 1024);
+            size = in.transferTo(deflating);
+            deflating.finish();
+        } finally {
+            deflater.end();
+        }
+        long compressedSize = out.count() - start;
+
+        ByteBuffer descriptor = littleEndian(24);
+        descriptor.putInt(DATA_DESCRIPTOR)
+                .putInt((int) crc.getValue())
+                .putLong(compressedSize)
+                .putLong(size);
+        out.write(descriptor.array());
+
+        return new CentralEntry(name, DEFLATED, flags, dosTime, crc.getValue(), compressedSize, size, offset);
+    }
+
+    private static void writeCentralDirectory(CountingOutputStream out, List<CentralEntry> entries)
+            throws IOException {
+        long start = out.count();
+        for (CentralEntry entry : entries) {
+            boolean zip64Size = entry.size() >= MAX_32 || entry.compressedSize() >= MAX_32;
+            boolean zip64Offset = entry.offset() >= MAX_32;
+            int extraLength = (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0);
+            boolean zip64 = extraLength > 0;
+
+            ByteBuffer header = littleEndian(46 + entry.name().length + (zip64 ? 4 + extraLength : 0));
+            header.putInt(CENTRAL_HEADER)
+                    .putShort((short) 45)
+                    .putShort((short) (zip64 || entry.flags() != FLAG_UTF8 ? 45 : 20))
+                    .putShort(entry.flags())
+                    .putShort(entry.method())
+                    .putInt(entry.dosTime())
+                    .putInt((int) entry.crc())
+                    .putInt((int) (zip64Size ? MAX_32 : entry.compressedSize()))
+                    .putInt((int) (zip64Size ? MAX_32 : entry.size()))
+                    .putShort((short) entry.name().length)
+                    .putShort((short) (zip64 ? 4 + extraLength : 0))
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putInt(0)
+                    .putInt((int) (zip64Offset ? MAX_32 : entry.offset()))
+                    .put(entry.name());
+            if (zip64) {
+                header.putShort(ZIP64_EXTRA).putShort((short) extraLength);
+                if (zip64Size) {
+                    header.putLong(entry.size()).putLong(entry.compressedSize());
+                }
+                if (zip64Offset) {
+                    header.putLong(entry.offset());
+                }
+            }
+            out.write(header.array());
+        }
+
+        long end = out.count();
+        long directorySize = end - start;
+        boolean zip64 = entries.size() >= MAX_16 || start >= MAX_32 || directorySize >= MAX_32;
+        if (zip64) {
+            ByteBuffer record = littleEndian(56 + 20);
+            record.putInt(ZIP64_END)
+                    .putLong(44)
+                    .putShort((short) 45)
+                    .putShort((short) 45)
+                    .putInt(0)
+                    .putInt(0)
+                    .putLong(entries.size())
+                    .putLong(entries.size())
+                    .putLong(directorySize)
+                    .putLong(start)
+                    .putInt(ZIP64_LOCATOR)
+                    .putInt(0)
+                    .putLong(end)
+                    .putInt(1);
+            out.write(record.array());
+        }
+
+        ByteBuffer record = littleEndian(22);
+        record.putInt(END)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) Math.min(entries.size(), MAX_16))
+                .putShort((short) Math.min(entries.size(), MAX_16))
+                .putInt((int) Math.min(directorySize, MAX_32))
+                .putInt((int) Math.min(start, MAX_32))
+                .putShort((short) 0);
+        out.write(record.array());
+    }
+
+    private static ByteBuffer littleEndian(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * {@return the MS-DOS time (low half) and date (high half) of the given instant, as stored in zip headers}
+     */
+    private static int dosTime(long epochMillis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            time = LocalDateTime.of(1980, 1, 1, 0, 0);
+        }
+        int dosTime = time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+        int dosDate = (time.getYear() - 1980) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+        return dosDate << 16 | dosTime;
+    }
+
+    private record Pending(Path file, String name, long cost, @Nullable CompletableFuture<Compressed> future) {}
+
+    private record Compressed(short method, long crc, long size, byte[] data, long modified) {}
+
+    private record CentralEntry(
+            byte[] name,
+            short method,
+            short flags,
+            int dosTime,
+            long crc,
+            long compressedSize,
+            long size,
+            long offset) {}
+
+    /** Tracks the archive offset of every header. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
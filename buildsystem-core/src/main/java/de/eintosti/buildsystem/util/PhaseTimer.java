@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Accumulates the wall-clock time spent in named phases of a multi-step operation, such as loading the worlds at
+ * startup, for a one-line breakdown in the log. Phases are reported in the order they were first recorded; recording a
+ * phase again adds to its total, so work spread across several ticks sums up. Safe to record from any thread.
+ */
+@NullMarked
+public final class PhaseTimer {
+
+    private final Map<String, Long> elapsedNanos = new LinkedHashMap<>();
+
+    /**
+     * Adds the time elapsed since {@code startNanos} to the given phase.
+     *
+     * @param phase The phase name as shown in the summary
+     * @param startNanos The {@link System#nanoTime()} at which the phase started
+     */
+    public synchronized void record(String phase, long startNanos) {
+        elapsedNanos.merge(phase, System.nanoTime() - startNanos, Long::sum);
+    }
+
+    /**
+     * {@return the total milliseconds recorded for the given phase, or {@code 0} if it was never recorded}
+     */
+    public synchronized long millis(String phase) {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos.getOrDefault(phase, 0L));
+    }
+
+    /** Forgets every recorded phase. */
+    public synchronized void reset() {
+        elapsedNanos.clear();
+    }
+
+    /**
+     * {@return the recorded phases as {@code "read 12 ms, decode 30 ms"}}
+     */
+    public synchronized String summary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        elapsedNanos.forEach(
+                (phase, nanos) -> joiner.add(phase + " " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms"));
+        return joiner.toString();
+    }
+}
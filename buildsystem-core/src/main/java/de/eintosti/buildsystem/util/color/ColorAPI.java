@@ -43,6 +43,9 @@ public final class ColorAPI {
      * @param string The string we want to process
      */
     public static String process(String string) {
+        if (!mayContainColors(string)) {
+            return string;
+        }
         for (ColorPattern pattern : PATTERNS) {
             string = pattern.process(string);
         }
@@ -50,6 +53,20 @@ public final class ColorAPI {
         return string;
     }
 
+    /**
+     * Every color syntax starts with one of {@code <} (gradient, rainbow, solid), {@code #} (hex), {@code &} or
+     * {@code §}, so text without any of them is returned by {@link #process(String)} unchanged.
+     */
+    private static boolean mayContainColors(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '<' || c == '#' || c == '&' || c == '§') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Processes multiple strings in a collection.
      *
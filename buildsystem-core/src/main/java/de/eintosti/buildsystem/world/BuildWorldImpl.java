@@ -39,6 +39,7 @@ import de.eintosti.buildsystem.world.lifecycle.WorldLoaderImpl;
 import de.eintosti.buildsystem.world.lifecycle.WorldPermissionsImpl;
 import de.eintosti.buildsystem.world.lifecycle.WorldTeleporterImpl;
 import de.eintosti.buildsystem.world.lifecycle.WorldUnloaderImpl;
+import de.eintosti.buildsystem.world.policy.WorldPolicy;
 import java.util.*;
 import org.bukkit.Bukkit;
 import org.bukkit.Difficulty;
@@ -65,6 +66,8 @@ public final class BuildWorldImpl implements BuildWorld {
 
     private final long creation;
 
+    private @Nullable Runnable modificationListener;
+
     private final WorldContext context;
     private final WorldLoaderImpl worldLoader;
     private final WorldUnloaderImpl worldUnloader;
@@ -153,6 +156,9 @@ public final class BuildWorldImpl implements BuildWorld {
         this.folder = folder;
 
         this.worldData.setFolderResolver(this::getFolder);
+        // The creator and builder roles are a LuckPerms context, so a role change may change the player's permissions
+        this.builders.setRoleChangeListener(
+                playerId -> context.playerService().getPermissionCache().invalidate(playerId));
         this.worldData.setStatusChangeListener((previousStatus, newStatus) -> Bukkit.getServer()
                 .getPluginManager()
                 .callEvent(new BuildWorldStatusChangeEvent(this, previousStatus, newStatus)));
@@ -186,6 +192,32 @@ public final class BuildWorldImpl implements BuildWorld {
     public void setName(String name) {
         this.name = name;
         this.worldData.setWorldName(name);
+        Runnable listener = this.modificationListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a listener that is notified whenever persisted state of this world changes: a {@link WorldData} write,
+     * a creator or builder change, or a rename. The world storage installs one when the world is indexed, so only
+     * modified worlds need to be written on the next save.
+     *
+     * @param listener The listener to run after a mutation, or {@code null} to deregister
+     */
+    public void setModificationListener(@Nullable Runnable listener) {
+        this.modificationListener = listener;
+        this.worldData.setModificationListener(listener);
+        this.builders.setModificationListener(listener);
+    }
+
+    /**
+     * Registers a listener that is notified whenever a setting this world's {@link WorldPolicy} is built from changes.
+     *
+     * @param listener The listener to run after a change, or {@code null} to deregister
+     */
+    public void setPolicyChangeListener(@Nullable Runnable listener) {
+        this.worldData.setPolicyChangeListener(listener);
     }
 
     @Override
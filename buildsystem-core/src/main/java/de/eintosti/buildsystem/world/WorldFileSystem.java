@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.storage.ParallelLoader;
+import de.eintosti.buildsystem.util.FileUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Copies and moves world folders, such as when a world is created from a template, renamed or saved as a template.
+ *
+ * <p>A move is a single atomic rename whenever source and target share a filesystem, so renaming a world takes the
+ * same time regardless of its size. Copies go through {@link Files#copy(Path, Path, java.nio.file.CopyOption...)},
+ * which clones the file (reflink) on filesystems that support it and otherwise copies inside the kernel, and the files
+ * of a world are copied in parallel. Files are deliberately never hard-linked: the server rewrites region files in
+ * place, so a linked copy would share every later edit with its source.
+ *
+ * <p>The returned futures compose their parallel steps instead of joining them, so they may be started from a task
+ * already running on the executor.
+ */
+@NullMarked
+public final class WorldFileSystem {
+
+    /** Files written by the running server that must not be carried over into a copy. */
+    private static final Set<String> EXCLUDED_FILES = Set.of("uid.dat", "session.lock");
+
+    private final Executor executor;
+
+    public WorldFileSystem(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Copies the folder {@code source} to {@code target}, leaving out the server's {@code uid.dat} and
+     * {@code session.lock}. Existing files in {@code target} are replaced.
+     *
+     * @param source The folder to copy
+     * @param target The folder to copy to, created if missing
+     * @return A future completing once every file has been copied, or exceptionally with the first failure
+     */
+    public CompletableFuture<Void> copy(Path source, Path target) {
+        return CompletableFuture.supplyAsync(() -> prepareCopy(source, target), executor)
+                .thenCompose(files -> {
+                    ConcurrentLinkedQueue<Exception> failures = new ConcurrentLinkedQueue<>();
+                    return ParallelLoader.<Path, Path>loadAll(
+                                    files,
+                                    file -> Files.copy(
+                                            file,
+                                            target.resolve(source.relativize(file).toString()),
+                                            StandardCopyOption.REPLACE_EXISTING),
+                                    executor,
+                                    (file, e) -> failures.add(e))
+                            .thenAccept(copied -> {
+                                Exception failure = failures.peek();
+                                if (failure != null) {
+                                    throw new CompletionException(failure);
+                                }
+                            });
+                });
+    }
+
+    /**
+     * Moves the folder {@code source} to {@code target}. On the same filesystem this is a single atomic rename;
+     * otherwise the folder is {@link #copy copied} and the source deleted afterwards.
+     *
+     * @param source The folder to move
+     * @param target The new location of the folder, which must not exist yet
+     * @return A future completing once the folder has been moved
+     */
+    public CompletableFuture<Void> move(Path source, Path target) {
+        return CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                                return true;
+                            } catch (AtomicMoveNotSupportedException e) {
+                                // Different filesystem; copy instead
+                                return false;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        executor)
+                .thenCompose(moved -> moved
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : copy(source, target).thenRunAsync(() -> deleteSource(source), executor));
+    }
+
+    /**
+     * Creates the folder structure below {@code target} and returns the files left to copy.
+     */
+    private static List<Path> prepareCopy(Path source, Path target) {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) walk::iterator) {
+                if (EXCLUDED_FILES.contains(path.getFileName().toString())) {
+                    continue;
+                }
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target.resolve(source.relativize(path).toString()));
+                } else {
+                    files.add(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private static void deleteSource(Path source) {
+        try {
+            FileUtils.deleteDirectory(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -39,7 +39,10 @@ import de.eintosti.buildsystem.api.world.lifecycle.SaveBehavior;
 import de.eintosti.buildsystem.i18n.Messages;
 import de.eintosti.buildsystem.storage.FolderStorageImpl;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.storage.sql.SqlFolderStorage;
+import de.eintosti.buildsystem.storage.sql.SqlWorldStorage;
 import de.eintosti.buildsystem.storage.yaml.YamlFolderStorage;
+import de.eintosti.buildsystem.storage.yaml.YamlPerWorldStorage;
 import de.eintosti.buildsystem.storage.yaml.YamlWorldStorage;
 import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.StringCleaner;
@@ -51,6 +54,8 @@ import de.eintosti.buildsystem.world.creation.generator.CustomGeneratorImpl;
 import de.eintosti.buildsystem.world.lifecycle.WorldLoadBootstrap;
 import de.eintosti.buildsystem.world.lifecycle.WorldRenamer;
 import de.eintosti.buildsystem.world.lifecycle.WorldUnloaderImpl;
+import de.eintosti.buildsystem.world.policy.WorldPolicyCache;
+import de.eintosti.buildsystem.world.preload.WorldPreloader;
 import de.eintosti.buildsystem.world.spawn.SpawnService;
 import java.io.File;
 import java.io.IOException;
@@ -77,6 +82,9 @@ public class WorldServiceImpl implements WorldService {
     private final Messages messages;
     private final FolderStorageImpl folderStorage;
     private final WorldStorageImpl worldStorage;
+    private final WorldFileSystem fileSystem;
+    private final WorldPreloader preloader;
+    private final WorldPolicyCache policies;
 
     private final WorldLoadBootstrap loadBootstrap;
     private final WorldCreationPrompts creationPrompts;
@@ -86,14 +94,35 @@ public class WorldServiceImpl implements WorldService {
         this.plugin = plugin;
         this.services = services;
         this.messages = services.messages();
-        this.worldStorage = new YamlWorldStorage(plugin, services);
-        this.folderStorage = new YamlFolderStorage(plugin, this.worldStorage, services);
+        this.fileSystem = new WorldFileSystem(services.scheduler().background());
+        this.worldStorage = createWorldStorage(plugin, services);
+        this.folderStorage = createFolderStorage(plugin, this.worldStorage, services);
+        this.preloader =
+                new WorldPreloader(this.worldStorage, services.config(), services.scheduler(), plugin.getLogger());
+        this.policies = new WorldPolicyCache(this.worldStorage, services.config());
         this.loadBootstrap = new WorldLoadBootstrap(plugin, this.folderStorage, this.worldStorage, services.config());
         this.creationPrompts = new WorldCreationPrompts(this, services::prompts, services.messages());
         this.importCoordinator =
                 new WorldImportCoordinator(plugin, this, this.worldStorage, services.config(), services.messages());
     }
 
+    private static WorldStorageImpl createWorldStorage(BuildSystemPlugin plugin, Services services) {
+        return switch (services.config().current().storage().type()) {
+            case YAML -> new YamlWorldStorage(plugin, services);
+            case YAML_PER_WORLD -> new YamlPerWorldStorage(plugin, services);
+            case H2 -> new SqlWorldStorage(plugin, services, services.database());
+        };
+    }
+
+    private static FolderStorageImpl createFolderStorage(
+            BuildSystemPlugin plugin, WorldStorageImpl worldStorage, Services services) {
+        return switch (services.config().current().storage().type()) {
+            // Folders are few and small, so both YAML layouts share the single folders.yml.
+            case YAML, YAML_PER_WORLD -> new YamlFolderStorage(plugin, worldStorage, services);
+            case H2 -> new SqlFolderStorage(plugin, worldStorage, services, services.database());
+        };
+    }
+
     public void init() {
         this.folderStorage.loadFolders();
         this.loadBootstrap.loadWorlds();
@@ -109,6 +138,27 @@ public class WorldServiceImpl implements WorldService {
         return worldStorage;
     }
 
+    /**
+     * {@return the file system operations used to copy and move world folders}
+     */
+    public WorldFileSystem getFileSystem() {
+        return fileSystem;
+    }
+
+    /**
+     * {@return the preloader warming the worlds players are likely to enter next}
+     */
+    public WorldPreloader getPreloader() {
+        return preloader;
+    }
+
+    /**
+     * {@return the physics, explosion and mob AI policies of the loaded worlds}
+     */
+    public WorldPolicyCache getPolicies() {
+        return policies;
+    }
+
     @Override
     @Contract("_ -> new")
     public WorldBuilder newWorld(String name) {
@@ -121,7 +171,7 @@ public class WorldServiceImpl implements WorldService {
         if (StringCleaner.isPathEscape(Bukkit.getWorldContainer(), worldDirectory)) {
             throw new IllegalArgumentException("World name '" + name + "' resolves outside the world container");
         }
-        return new WorldBuilderImpl(services.worldContext(), worldStorage, plugin.getDataFolder(), name);
+        return new WorldBuilderImpl(services.worldContext(), worldStorage, fileSystem, plugin.getDataFolder(), name);
     }
 
     @Override
@@ -298,7 +348,8 @@ public class WorldServiceImpl implements WorldService {
                         services.config(),
                         services.messages(),
                         services.spawn(),
-                        services.scheduler())
+                        services.scheduler(),
+                        fileSystem)
                 .rename(player, buildWorld, newName);
     }
 
@@ -355,6 +406,7 @@ public class WorldServiceImpl implements WorldService {
     }
 
     public void cancelAllUnloadTasks() {
+        preloader.stop();
         worldStorage.getBuildWorlds().forEach(w -> {
             if (w.getUnloader() instanceof WorldUnloaderImpl impl) {
                 impl.cancelScheduledTask();
@@ -364,7 +416,7 @@ public class WorldServiceImpl implements WorldService {
 
     public CompletableFuture<Void> save() {
         CompletableFuture<Void> worldFuture = this.worldStorage
-                .save(this.worldStorage.getBuildWorlds())
+                .saveDirty()
                 .whenComplete((r, e) -> {
                     if (e != null) {
                         plugin.getLogger().log(Level.SEVERE, "Failed to save world data", e);
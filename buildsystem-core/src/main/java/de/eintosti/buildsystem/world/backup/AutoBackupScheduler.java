@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.PluginConfig;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Schedules automatic backups by deadline. Every tracked world sits in a priority queue keyed by the time its next
+ * backup is due, so a {@link #tick()} only looks at the head of the queue and touches nothing until a world is due.
+ *
+ * <p>Two measures keep many worlds falling due together, as after a restart, from piling onto the backup pool: every
+ * deadline is pushed back by a random jitter, and at most {@code maxConcurrent} backups run at once, leaving further
+ * due worlds queued until a slot frees up. With {@code onlyActiveWorlds}, a due world that was not edited since its
+ * last backup is skipped until its next deadline.
+ *
+ * <p>The time since a world's last backup is written back to {@link WorldDataKey#TIME_SINCE_BACKUP} by
+ * {@link #persist()}, so the schedule carries over a restart.
+ */
+@NullMarked
+public final class AutoBackupScheduler {
+
+    private final Logger logger;
+    private final Function<UUID, @Nullable BuildWorld> worlds;
+    private final Function<BuildWorld, CompletableFuture<?>> backup;
+    private final LongSupplier clock;
+    private final RandomGenerator random;
+    private final long intervalMillis;
+    private final long jitterMillis;
+    private final int maxConcurrent;
+    private final boolean onlyEditedWorlds;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.dueMillis));
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * @param logger The logger failed backups are reported to
+     * @param worlds Looks up a world by its unique id, or {@code null} once it was deleted
+     * @param backup Starts a backup of the world
+     * @param settings The auto-backup settings
+     * @param clock The current time in epoch milliseconds
+     * @param random The source of the jitter
+     */
+    public AutoBackupScheduler(
+            Logger logger,
+            Function<UUID, @Nullable BuildWorld> worlds,
+            Function<BuildWorld, CompletableFuture<?>> backup,
+            PluginConfig.World.Backup.AutoBackup settings,
+            LongSupplier clock,
+            RandomGenerator random) {
+        this.logger = logger;
+        this.worlds = worlds;
+        this.backup = backup;
+        this.clock = clock;
+        this.random = random;
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(settings.interval());
+        this.jitterMillis = TimeUnit.SECONDS.toMillis(settings.jitter());
+        this.maxConcurrent = settings.maxConcurrent();
+        this.onlyEditedWorlds = settings.onlyActiveWorlds();
+    }
+
+    /**
+     * Schedules the world's next backup from its {@link WorldDataKey#TIME_SINCE_BACKUP}, unless it is already tracked.
+     * A world already past its interval is due within the jitter.
+     *
+     * @param buildWorld The world to track
+     */
+    public synchronized void track(BuildWorld buildWorld) {
+        UUID worldId = buildWorld.getUniqueId();
+        if (this.entries.containsKey(worldId)) {
+            return;
+        }
+
+        long now = this.clock.getAsLong();
+        long lastBackup = now - TimeUnit.SECONDS.toMillis(buildWorld.getData().get(WorldDataKey.TIME_SINCE_BACKUP));
+        Entry entry = new Entry(worldId, lastBackup, Math.max(now, lastBackup + this.intervalMillis) + jitter());
+        this.entries.put(worldId, entry);
+        this.queue.add(entry);
+    }
+
+    /**
+     * Starts the backups of the worlds that are due, as far as the concurrency limit allows, and schedules their next
+     * deadline. Worlds that were deleted in the meantime are dropped.
+     */
+    public synchronized void tick() {
+        long now = this.clock.getAsLong();
+        Entry entry;
+        while (this.running.get() < this.maxConcurrent
+                && (entry = this.queue.peek()) != null
+                && entry.dueMillis <= now) {
+            this.queue.poll();
+            BuildWorld buildWorld = this.worlds.apply(entry.worldId);
+            if (buildWorld == null) {
+                this.entries.remove(entry.worldId);
+                continue;
+            }
+
+            if (!this.onlyEditedWorlds || buildWorld.getData().get(WorldDataKey.LAST_EDITED) > entry.lastBackupMillis) {
+                start(entry, buildWorld, now);
+            }
+            entry.dueMillis = now + this.intervalMillis + jitter();
+            this.queue.add(entry);
+        }
+    }
+
+    private void start(Entry entry, BuildWorld buildWorld, long now) {
+        buildWorld.getData().set(WorldDataKey.TIME_SINCE_BACKUP, 0);
+        this.running.incrementAndGet();
+
+        CompletableFuture<?> future;
+        try {
+            future = this.backup.apply(buildWorld);
+        } catch (RuntimeException e) {
+            this.running.decrementAndGet();
+            this.logger.log(Level.SEVERE, "Automatic backup of " + buildWorld.getName() + " failed", e);
+            return;
+        }
+
+        future.whenComplete((result, throwable) -> {
+            this.running.decrementAndGet();
+            if (throwable != null) {
+                this.logger.log(Level.SEVERE, "Automatic backup of " + buildWorld.getName() + " failed", throwable);
+                return;
+            }
+            // Edits made while the backup ran may be missing from it, so they count towards the next one
+            synchronized (this) {
+                entry.lastBackupMillis = now;
+            }
+        });
+    }
+
+    /**
+     * {@return the seconds until the world's next automatic backup is due, or empty if the world is not tracked}
+     *
+     * @param buildWorld The world
+     */
+    public synchronized OptionalLong secondsUntilBackup(BuildWorld buildWorld) {
+        Entry entry = this.entries.get(buildWorld.getUniqueId());
+        if (entry == null) {
+            return OptionalLong.empty();
+        }
+        long remainingMillis = Math.max(0, entry.dueMillis - this.clock.getAsLong());
+        return OptionalLong.of(TimeUnit.MILLISECONDS.toSeconds(remainingMillis));
+    }
+
+    /**
+     * Writes the time since every tracked world's last backup to its {@link WorldDataKey#TIME_SINCE_BACKUP}, so a
+     * scheduler created after a reload or restart picks the schedule up where this one left off.
+     */
+    public synchronized void persist() {
+        long now = this.clock.getAsLong();
+        this.entries.values().forEach(entry -> {
+            BuildWorld buildWorld = this.worlds.apply(entry.worldId);
+            if (buildWorld == null) {
+                return;
+            }
+            long elapsedSeconds = TimeUnit.MILLISECONDS.toSeconds(Math.max(0, now - entry.lastBackupMillis));
+            int timeSinceBackup = (int) Math.min(Integer.MAX_VALUE, elapsedSeconds);
+            WorldData worldData = buildWorld.getData();
+            if (worldData.get(WorldDataKey.TIME_SINCE_BACKUP) != timeSinceBackup) {
+                worldData.set(WorldDataKey.TIME_SINCE_BACKUP, timeSinceBackup);
+            }
+        });
+    }
+
+    /**
+     * {@return the number of backups started by this scheduler that have not completed yet}
+     */
+    public int runningBackups() {
+        return this.running.get();
+    }
+
+    private long jitter() {
+        return this.jitterMillis > 0 ? this.random.nextLong(this.jitterMillis + 1) : 0;
+    }
+
+    /** A tracked world and its deadline. Only accessed while holding the scheduler's lock. */
+    private static final class Entry {
+
+        private final UUID worldId;
+        private long lastBackupMillis;
+        private long dueMillis;
+
+        private Entry(UUID worldId, long lastBackupMillis, long dueMillis) {
+            this.worldId = worldId;
+            this.lastBackupMillis = lastBackupMillis;
+            this.dueMillis = dueMillis;
+        }
+    }
+}
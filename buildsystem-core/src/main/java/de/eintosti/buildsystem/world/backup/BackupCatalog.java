@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The backups of every world as last seen in the backup storage, kept in memory and in one small file per world, so
+ * opening the backups menu and applying the retention limit need no round trip to the storage. Backups stored or
+ * deleted through a {@link BackupProfileImpl} are recorded right away; changes made behind the plugin's back, such as
+ * a backup deleted by hand, are picked up when the catalog is {@link #reconcile reconciled} with the storage.
+ *
+ * <p>Each file records the storage it describes, so a catalog of another storage, for example after switching from
+ * local to S3, is ignored instead of listing backups that do not exist there.
+ */
+@NullMarked
+final class BackupCatalog {
+
+    private static final String FILE_SUFFIX = ".catalog";
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparingLong(Entry::creationTime).reversed();
+
+    private final Logger logger;
+    private final Path directory;
+    private final String source;
+
+    /** Empty for worlds known to have no catalog yet. Guarded by {@code this}. */
+    private final Map<UUID, Optional<List<Entry>>> catalogs = new HashMap<>();
+    /** Bumped by every local change, so a listing that started before one does not overwrite it. */
+    private final Map<UUID, Long> versions = new HashMap<>();
+
+    /**
+     * @param logger The logger unreadable or unwritable catalogs are reported to
+     * @param directory The directory the catalog files are kept in
+     * @param source Identifies the storage the catalog describes
+     */
+    BackupCatalog(Logger logger, Path directory, String source) {
+        this.logger = logger;
+        this.directory = directory;
+        this.source = source;
+    }
+
+    /**
+     * {@return the world's backups, newest first, if they are already in memory, otherwise {@code null}} Never touches
+     * the disk, so it is safe to call on the main thread.
+     *
+     * @param worldId The world's unique id
+     */
+    synchronized @Nullable List<Entry> getIfLoaded(UUID worldId) {
+        Optional<List<Entry>> catalog = this.catalogs.get(worldId);
+        return catalog != null ? catalog.orElse(null) : null;
+    }
+
+    /**
+     * {@return the world's backups, newest first, reading the catalog file if needed, or {@code null} if the world has
+     * no catalog yet}
+     *
+     * @param worldId The world's unique id
+     */
+    @Nullable List<Entry> get(UUID worldId) {
+        synchronized (this) {
+            Optional<List<Entry>> catalog = this.catalogs.get(worldId);
+            if (catalog != null) {
+                return catalog.orElse(null);
+            }
+        }
+        Optional<List<Entry>> read = read(worldId);
+        synchronized (this) {
+            return this.catalogs.computeIfAbsent(worldId, id -> read).orElse(null);
+        }
+    }
+
+    /**
+     * {@return whether the world has a catalog, in memory or on disk}
+     *
+     * @param worldId The world's unique id
+     */
+    boolean contains(UUID worldId) {
+        return get(worldId) != null;
+    }
+
+    /**
+     * {@return the number of local changes made to the world's catalog so far}
+     *
+     * @param worldId The world's unique id
+     */
+    synchronized long version(UUID worldId) {
+        return this.versions.getOrDefault(worldId, 0L);
+    }
+
+    /**
+     * Replaces the world's catalog with a listing of the storage, unless a backup was recorded or removed since the
+     * listing started, in which case the listing may already be outdated.
+     *
+     * @param worldId The world's unique id
+     * @param backups The backups listed by the storage
+     * @param version The {@link #version} read before the listing started
+     * @return Whether the catalog was replaced
+     */
+    synchronized boolean replace(UUID worldId, List<Backup> backups, long version) {
+        if (version(worldId) != version) {
+            return false;
+        }
+        // Listings do not include checksums, so keep those recorded when the backups were stored
+        Map<String, Entry> known = new HashMap<>();
+        List<Entry> current = getIfLoaded(worldId);
+        if (current != null) {
+            current.forEach(entry -> known.put(entry.key(), entry));
+        }
+        List<Entry> entries = new ArrayList<>(backups.size());
+        backups.forEach(backup -> entries.add(Entry.of(backup).withDetailsOf(known.get(backup.key()))));
+        store(worldId, entries);
+        return true;
+    }
+
+    /**
+     * Records a backup that was just stored. Worlds without a catalog are left alone, as their first listing will
+     * include the backup.
+     *
+     * @param worldId The world's unique id
+     * @param backup The stored backup
+     */
+    synchronized void add(UUID worldId, Backup backup) {
+        this.versions.merge(worldId, 1L, Long::sum);
+        List<Entry> current = getIfLoaded(worldId);
+        if (current != null) {
+            List<Entry> entries = new ArrayList<>(current);
+            entries.add(Entry.of(backup));
+            store(worldId, entries);
+        }
+    }
+
+    /**
+     * Removes a backup that was just deleted.
+     *
+     * @param worldId The world's unique id
+     * @param key The deleted backup's key
+     */
+    synchronized void remove(UUID worldId, String key) {
+        this.versions.merge(worldId, 1L, Long::sum);
+        List<Entry> current = getIfLoaded(worldId);
+        if (current != null) {
+            List<Entry> entries = new ArrayList<>(current);
+            entries.removeIf(entry -> entry.key().equals(key));
+            store(worldId, entries);
+        }
+    }
+
+    /**
+     * Lists the world's backups in the storage and replaces its catalog with them, if it has one. Worlds without a
+     * catalog are skipped, as they are listed from the storage the first time their backups are needed anyway.
+     *
+     * @param buildWorld The world
+     * @param storage The storage the catalog describes
+     * @param executor The executor the catalog file is read on
+     * @return A future completing with whether the world has a catalog, or exceptionally if the storage could not be
+     *     listed
+     */
+    CompletableFuture<Boolean> reconcile(BuildWorld buildWorld, BackupStorage storage, Executor executor) {
+        UUID worldId = buildWorld.getUniqueId();
+        return CompletableFuture.supplyAsync(() -> contains(worldId) ? version(worldId) : null, executor)
+                .thenCompose(version -> {
+                    if (version == null) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return storage.listBackups(buildWorld).thenApply(backups -> {
+                        replace(worldId, backups, version);
+                        return true;
+                    });
+                });
+    }
+
+    private void store(UUID worldId, List<Entry> entries) {
+        entries.sort(NEWEST_FIRST);
+        List<Entry> catalog = List.copyOf(entries);
+        this.catalogs.put(worldId, Optional.of(catalog));
+        write(worldId, catalog);
+    }
+
+    private Optional<List<Entry>> read(UUID worldId) {
+        Path file = file(worldId);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file);
+            if (lines.isEmpty() || !lines.getFirst().equals(this.source)) {
+                return Optional.empty();
+            }
+            List<Entry> entries = new ArrayList<>(lines.size() - 1);
+            for (String line : lines.subList(1, lines.size())) {
+                entries.add(Entry.parse(line));
+            }
+            return Optional.of(List.copyOf(entries));
+        } catch (IOException | IllegalArgumentException e) {
+            this.logger.log(Level.WARNING, "Could not read backup catalog " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /** Replaces the file atomically, so a crash never leaves a truncated catalog behind. */
+    private void write(UUID worldId, List<Entry> entries) {
+        StringJoiner joiner = new StringJoiner("\n", "", "\n");
+        joiner.add(this.source);
+        entries.forEach(entry -> joiner.add(entry.serialize()));
+
+        Path file = file(worldId);
+        try {
+            Files.createDirectories(this.directory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, joiner.toString());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not write backup catalog " + file, e);
+        }
+    }
+
+    private Path file(UUID worldId) {
+        return this.directory.resolve(worldId + FILE_SUFFIX);
+    }
+
+    /**
+     * A backup as recorded in the catalog.
+     *
+     * @param key The backup's key in the storage
+     * @param creationTime The backup's creation time in milliseconds since the Unix epoch
+     * @param size The size of the stored backup in bytes, or {@code -1} if unknown
+     * @param checksum The hex SHA-256 of a zip backup, or {@code null} if unknown
+     */
+    record Entry(String key, long creationTime, long size, @Nullable String checksum) {
+
+        private static final String SEPARATOR = "\t";
+        private static final String UNKNOWN = "-";
+
+        static Entry of(Backup backup) {
+            if (backup instanceof BackupImpl impl) {
+                return new Entry(impl.key(), impl.creationTime(), impl.size(), impl.checksum());
+            }
+            return new Entry(backup.key(), backup.creationTime(), -1, null);
+        }
+
+        private Entry withDetailsOf(@Nullable Entry known) {
+            if (known == null) {
+                return this;
+            }
+            boolean sameSize = this.size < 0 || this.size == known.size();
+            return new Entry(
+                    this.key,
+                    this.creationTime,
+                    this.size >= 0 ? this.size : known.size(),
+                    this.checksum != null || !sameSize ? this.checksum : known.checksum());
+        }
+
+        /** The key comes last, so it may contain the separator. */
+        private String serialize() {
+            return String.join(
+                    SEPARATOR,
+                    Long.toString(this.creationTime),
+                    Long.toString(this.size),
+                    this.checksum != null ? this.checksum : UNKNOWN,
+                    this.key);
+        }
+
+        private static Entry parse(String line) {
+            String[] parts = line.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed catalog entry: " + line);
+            }
+            return new Entry(
+                    parts[3],
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    parts[2].equals(UNKNOWN) ? null : parts[2]);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Deletes expired backups in the background. Creating a backup only marks its world; a periodic run then works out
+ * the expired backups of every marked world from the {@link BackupCatalog} and deletes all of them with a single
+ * batched call to the storage, instead of deleting old backups one by one before each new backup.
+ */
+@NullMarked
+final class BackupCompactor {
+
+    private final Logger logger;
+    private final Function<UUID, @Nullable BuildWorld> worldLookup;
+    private final Function<BuildWorld, BackupProfile> profiles;
+    private final BiConsumer<BuildWorld, Backup> onDeleted;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    /** Guarded by {@code this}. */
+    private CompletableFuture<Void> running = CompletableFuture.completedFuture(null);
+
+    /**
+     * @param logger The logger failed runs are reported to
+     * @param worldLookup Resolves a world by its unique id, or {@code null} if it was deleted in the meantime
+     * @param profiles Provides the profile listing a world's backups
+     * @param onDeleted Called for every deleted backup
+     */
+    BackupCompactor(
+            Logger logger,
+            Function<UUID, @Nullable BuildWorld> worldLookup,
+            Function<BuildWorld, BackupProfile> profiles,
+            BiConsumer<BuildWorld, Backup> onDeleted) {
+        this.logger = logger;
+        this.worldLookup = worldLookup;
+        this.profiles = profiles;
+        this.onDeleted = onDeleted;
+    }
+
+    /**
+     * Marks the world to be compacted by the next run.
+     *
+     * @param worldId The world's unique id
+     */
+    void schedule(UUID worldId) {
+        this.pending.add(worldId);
+    }
+
+    /**
+     * Deletes the expired backups of every world marked since the last run. Does nothing while a run is still in
+     * progress, as the worlds marked in the meantime are picked up by the next one. If the deletion fails, the worlds
+     * are marked again, so they are retried.
+     *
+     * @param storage The storage to delete the backups from
+     * @param catalog The catalog to remove the deleted backups from
+     * @param retention Decides which backups have expired
+     * @return A future completing once the run is done
+     */
+    synchronized CompletableFuture<Void> compact(
+            BackupStorage storage, BackupCatalog catalog, BackupRetention retention) {
+        if (!this.running.isDone()) {
+            return this.running;
+        }
+
+        List<BuildWorld> worlds = new ArrayList<>();
+        for (Iterator<UUID> iterator = this.pending.iterator(); iterator.hasNext(); ) {
+            BuildWorld buildWorld = this.worldLookup.apply(iterator.next());
+            iterator.remove();
+            if (buildWorld != null) {
+                worlds.add(buildWorld);
+            }
+        }
+        if (worlds.isEmpty()) {
+            return this.running;
+        }
+
+        // Served by the catalog, so working out what expired needs no round trip to the storage
+        List<CompletableFuture<List<Expired>>> listings = new ArrayList<>(worlds.size());
+        for (BuildWorld buildWorld : worlds) {
+            listings.add(expiredBackups(buildWorld, retention));
+        }
+
+        this.running = CompletableFuture.allOf(listings.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> {
+                    List<Expired> expired = new ArrayList<>();
+                    listings.forEach(listing -> expired.addAll(listing.join()));
+                    if (expired.isEmpty()) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    List<Backup> backups = expired.stream().map(Expired::backup).toList();
+                    return storage.deleteBackups(backups).thenRun(() -> expired.forEach(entry -> {
+                        catalog.remove(entry.buildWorld().getUniqueId(), entry.backup().key());
+                        this.onDeleted.accept(entry.buildWorld(), entry.backup());
+                    }));
+                })
+                .exceptionally(throwable -> {
+                    this.logger.log(Level.WARNING, "Could not delete expired backups, retrying later", throwable);
+                    worlds.forEach(buildWorld -> schedule(buildWorld.getUniqueId()));
+                    return null;
+                });
+        return this.running;
+    }
+
+    private CompletableFuture<List<Expired>> expiredBackups(BuildWorld buildWorld, BackupRetention retention) {
+        return this.profiles
+                .apply(buildWorld)
+                .listBackups()
+                .thenApply(backups -> retention.expired(backups).stream()
+                        .map(backup -> new Expired(buildWorld, backup))
+                        .toList())
+                .exceptionally(throwable -> {
+                    String message = "Could not list the backups of " + buildWorld.getName();
+                    this.logger.log(Level.WARNING, message, throwable);
+                    schedule(buildWorld.getUniqueId());
+                    return List.of();
+                });
+    }
+
+    private record Expired(BuildWorld buildWorld, Backup backup) {}
+}
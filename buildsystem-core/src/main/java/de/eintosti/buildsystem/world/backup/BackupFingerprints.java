@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The {@link WorldFingerprint} of every world's latest backup, kept in memory and in one small file per world, so
+ * whether a world changed since its last backup is still known after a restart. Files are read lazily and off the
+ * main thread. A fingerprint is dropped again when the backup it was recorded for is deleted.
+ */
+@NullMarked
+final class BackupFingerprints {
+
+    private static final String FILE_SUFFIX = ".fingerprint";
+
+    private final Logger logger;
+    private final Path directory;
+    private final Map<UUID, Optional<WorldFingerprint>> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * @param logger The logger unreadable or unwritable fingerprints are reported to
+     * @param directory The directory the fingerprint files are kept in
+     */
+    BackupFingerprints(Logger logger, Path directory) {
+        this.logger = logger;
+        this.directory = directory;
+    }
+
+    /**
+     * {@return the fingerprint of the world's latest backup, or {@code null} if none was recorded}
+     *
+     * @param worldId The world's unique id
+     */
+    @Nullable WorldFingerprint get(UUID worldId) {
+        return this.fingerprints.computeIfAbsent(worldId, this::read).orElse(null);
+    }
+
+    private Optional<WorldFingerprint> read(UUID worldId) {
+        Path file = file(worldId);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(WorldFingerprint.parse(Files.readString(file)));
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not read backup fingerprint " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records the fingerprint of a world's latest backup. The file is replaced atomically, so a crash never leaves a
+     * truncated fingerprint behind.
+     *
+     * @param worldId The world's unique id
+     * @param fingerprint The fingerprint
+     */
+    synchronized void put(UUID worldId, WorldFingerprint fingerprint) {
+        this.fingerprints.put(worldId, Optional.of(fingerprint));
+        Path file = file(worldId);
+        try {
+            Files.createDirectories(this.directory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, fingerprint.serialize());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not write backup fingerprint " + file, e);
+        }
+    }
+
+    /**
+     * Drops the fingerprint of a world if it was recorded for the given backup, which was just deleted.
+     *
+     * @param worldId The world's unique id
+     * @param backupKey The deleted backup's key
+     */
+    synchronized void remove(UUID worldId, String backupKey) {
+        WorldFingerprint recorded = get(worldId);
+        if (recorded == null || !backupKey.equals(recorded.backupKey())) {
+            return;
+        }
+        this.fingerprints.put(worldId, Optional.empty());
+        Path file = file(worldId);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not delete backup fingerprint " + file, e);
+        }
+    }
+
+    private Path file(UUID worldId) {
+        return this.directory.resolve(worldId + FILE_SUFFIX);
+    }
+}
@@ -20,6 +20,17 @@ package de.eintosti.buildsystem.world.backup;
 import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+/**
+ * @param size The size of the stored backup in bytes, or {@code -1} if the storage did not report it
+ * @param checksum The hex SHA-256 of a zip backup as written, or {@code null} if unknown
+ */
 @NullMarked
-public record BackupImpl(BackupProfile owner, long creationTime, String key) implements Backup {}
+public record BackupImpl(BackupProfile owner, long creationTime, String key, long size, @Nullable String checksum)
+        implements Backup {
+
+    public BackupImpl(BackupProfile owner, long creationTime, String key) {
+        this(owner, creationTime, key, -1, null);
+    }
+}
@@ -19,12 +19,12 @@ package de.eintosti.buildsystem.world.backup;
 
 import de.eintosti.buildsystem.BuildSystemPlugin;
 import de.eintosti.buildsystem.api.event.backup.BackupCreatedEvent;
-import de.eintosti.buildsystem.api.event.backup.BackupDeletedEvent;
 import de.eintosti.buildsystem.api.event.backup.BackupRestoredEvent;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.api.world.lifecycle.SaveBehavior;
 import de.eintosti.buildsystem.api.world.lifecycle.WorldTeleporter;
 import de.eintosti.buildsystem.config.ConfigService;
@@ -36,11 +36,15 @@ import de.eintosti.buildsystem.world.WorldServiceImpl;
 import de.eintosti.buildsystem.world.spawn.SpawnService;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 import net.lingala.zip4j.ZipFile;
 import net.lingala.zip4j.model.FileHeader;
 import org.bukkit.Bukkit;
@@ -60,6 +64,10 @@ public class BackupProfileImpl implements BackupProfile {
     private final WorldServiceImpl worldService;
     private final SpawnService spawnService;
     private final BackupStorage storage;
+    private final BackupCatalog catalog;
+    private final BackupCompactor compactor;
+    private final Executor executor;
+    private final BackupFingerprints fingerprints;
     private final BuildWorld buildWorld;
     protected final Object backupLock;
 
@@ -70,6 +78,10 @@ public class BackupProfileImpl implements BackupProfile {
             WorldServiceImpl worldService,
             SpawnService spawnService,
             BackupStorage storage,
+            BackupCatalog catalog,
+            BackupCompactor compactor,
+            Executor executor,
+            BackupFingerprints fingerprints,
             BuildWorld buildWorld) {
         this.plugin = plugin;
         this.configService = configService;
@@ -77,56 +89,143 @@ public class BackupProfileImpl implements BackupProfile {
         this.worldService = worldService;
         this.spawnService = spawnService;
         this.storage = storage;
+        this.catalog = catalog;
+        this.compactor = compactor;
+        this.executor = executor;
+        this.fingerprints = fingerprints;
         this.buildWorld = buildWorld;
         this.backupLock = new Object();
     }
 
+    /**
+     * Served from the {@link BackupCatalog}, so only the first listing of a world goes to the storage.
+     */
     @Override
     public CompletableFuture<List<Backup>> listBackups() {
+        UUID worldId = this.buildWorld.getUniqueId();
+        List<BackupCatalog.Entry> loaded = this.catalog.getIfLoaded(worldId);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(toBackups(loaded));
+        }
+        return CompletableFuture.supplyAsync(() -> this.catalog.get(worldId), this.executor)
+                .thenCompose(entries ->
+                        entries != null ? CompletableFuture.completedFuture(toBackups(entries)) : listFromStorage());
+    }
+
+    private CompletableFuture<List<Backup>> listFromStorage() {
+        UUID worldId = this.buildWorld.getUniqueId();
+        long version = this.catalog.version(worldId);
+        CompletableFuture<List<Backup>> listing;
         synchronized (this.backupLock) {
-            return this.storage.listBackups(this.buildWorld);
+            listing = this.storage.listBackups(this.buildWorld);
+        }
+        return listing.thenApply(backups -> {
+            this.catalog.replace(worldId, backups, version);
+            return backups;
+        });
+    }
+
+    private List<Backup> toBackups(List<BackupCatalog.Entry> entries) {
+        List<Backup> backups = new ArrayList<>(entries.size());
+        for (BackupCatalog.Entry entry : entries) {
+            backups.add(new BackupImpl(this, entry.creationTime(), entry.key(), entry.size(), entry.checksum()));
         }
+        return backups;
     }
 
     @Override
     public CompletableFuture<Backup> createBackup() {
         this.buildWorld.getWorld().ifPresent(World::save);
+        // Captured after the save, alongside the archive, so it describes what the backup contains
+        long lastEdited = this.buildWorld.getData().get(WorldDataKey.LAST_EDITED);
+        CompletableFuture<@Nullable WorldFingerprint> fingerprint =
+                CompletableFuture.supplyAsync(() -> captureFingerprint(lastEdited), this.executor);
 
+        // Expired backups are deleted afterwards, in the background and batched with those of other worlds
         CompletableFuture<Backup> resultFuture = new CompletableFuture<>();
-        this.listBackups()
-                .thenComposeAsync(backups -> {
-                    synchronized (this.backupLock) {
-                        int maxBackups =
-                                configService.current().world().backup().maxBackupsPerWorld();
-                        int excess = backups.size() - maxBackups + 1;
-
-                        List<CompletableFuture<Void>> deleteFutures = Collections.emptyList();
-
-                        if (excess > 0) {
-                            deleteFutures = backups.stream()
-                                    .sorted(Comparator.comparingLong(Backup::creationTime))
-                                    .limit(excess)
-                                    .map(b -> storage.deleteBackup(b)
-                                            .thenRun(() -> fireEventSync(new BackupDeletedEvent(buildWorld, b))))
-                                    .toList();
-                        }
-
-                        return CompletableFuture.allOf(deleteFutures.toArray(new CompletableFuture[0]))
-                                .thenCompose(v -> storage.storeBackup(this.buildWorld));
-                    }
-                })
-                .whenComplete((backup, throwable) -> {
-                    if (throwable != null) {
-                        resultFuture.completeExceptionally(throwable);
-                    } else {
-                        fireEventSync(new BackupCreatedEvent(buildWorld, backup));
-                        resultFuture.complete(backup);
+        this.storage.storeBackup(this.buildWorld).whenComplete((backup, throwable) -> {
+            if (throwable != null) {
+                resultFuture.completeExceptionally(throwable);
+            } else {
+                this.catalog.add(this.buildWorld.getUniqueId(), backup);
+                this.compactor.schedule(this.buildWorld.getUniqueId());
+                fingerprint.whenComplete((captured, ignored) -> {
+                    if (captured != null) {
+                        this.fingerprints.put(this.buildWorld.getUniqueId(), captured.forBackup(backup.key()));
                     }
+                    fireEventSync(new BackupCreatedEvent(buildWorld, backup));
+                    resultFuture.complete(backup);
                 });
+            }
+        });
 
         return resultFuture;
     }
 
+    /**
+     * A backup is needed unless the world matches the fingerprint of its latest backup and that backup still exists, so
+     * a world whose backup was deleted or lives in another storage is backed up again.
+     */
+    @Override
+    public CompletableFuture<Boolean> isBackupNeeded() {
+        long lastEdited = this.buildWorld.getData().get(WorldDataKey.LAST_EDITED);
+        return CompletableFuture.supplyAsync(() -> this.fingerprints.get(this.buildWorld.getUniqueId()), this.executor)
+                .thenCompose(recorded -> {
+                    if (recorded == null || recorded.backupKey() == null || recorded.lastEdited() != lastEdited) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    return listBackups()
+                            .thenApplyAsync(backups -> !isUnchanged(recorded, backups, lastEdited), this.executor);
+                });
+    }
+
+    /**
+     * {@return whether the world still matches the fingerprint of its latest backup, and that backup still exists}
+     *
+     * @param recorded The fingerprint recorded for the latest backup
+     * @param backups The world's backups
+     * @param lastEdited The world's last edit time
+     */
+    private boolean isUnchanged(WorldFingerprint recorded, List<Backup> backups, long lastEdited) {
+        if (backups.stream().noneMatch(backup -> backup.key().equals(recorded.backupKey()))) {
+            return false;
+        }
+        WorldFingerprint current = captureFingerprint(lastEdited);
+        return current != null && current.sameWorld(recorded);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Backup>> createBackupIfNeeded() {
+        return isBackupNeeded().thenCompose(needed -> {
+            if (!needed) {
+                return CompletableFuture.completedFuture(Optional.<Backup>empty());
+            }
+            // The world is saved on the main thread before it is archived
+            return CompletableFuture.supplyAsync(
+                            this::createBackup, runnable -> Bukkit.getScheduler().runTask(plugin, runnable))
+                    .thenCompose(backup -> backup)
+                    .thenApply(Optional::of);
+        });
+    }
+
+    /**
+     * Fingerprints the world folder, reusing the hashes of the region files that did not change since the latest
+     * backup.
+     *
+     * @param lastEdited The world's last edit time
+     * @return The fingerprint, or {@code null} if the world folder could not be read
+     */
+    private @Nullable WorldFingerprint captureFingerprint(long lastEdited) {
+        Path worldFolder = FileUtils.worldFolder(this.buildWorld.getName()).toPath();
+        try {
+            return WorldFingerprint.capture(
+                    worldFolder, lastEdited, this.fingerprints.get(this.buildWorld.getUniqueId()));
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not fingerprint world " + this.buildWorld.getName(), e);
+            return null;
+        }
+    }
+
     /**
      * Backup futures complete on async threads, but Bukkit events must be fired on the main thread.
      */
@@ -134,71 +233,93 @@ public class BackupProfileImpl implements BackupProfile {
         Bukkit.getScheduler().runTask(plugin, () -> Bukkit.getPluginManager().callEvent(event));
     }
 
+    /**
+     * Restores a backup in three phases. The backup is downloaded, then extracted and verified into a staging directory
+     * next to the world folder on the backup pool, while the world stays loaded and players keep building. Only the
+     * swap runs on the main thread: unload, two directory renames and a reload, which take milliseconds regardless of
+     * the world size. If staging fails the world is never touched; if the swap fails the original folder is renamed
+     * back and reloaded.
+     */
     @Override
     public CompletableFuture<Void> restoreBackup(Backup backup, Player player) {
         String worldName = this.buildWorld.getName();
-        Optional<World> optionalWorld = this.buildWorld.getWorld();
-        if (optionalWorld.isEmpty()) {
+        if (this.buildWorld.getWorld().isEmpty()) {
             messages.sendMessage(player, "worlds_backup_unknown_world");
             return CompletableFuture.completedFuture(null);
         }
-        World world = optionalWorld.get();
 
-        List<@Nullable Player> removedPlayers =
-                worldService.removePlayersFromWorld(worldName, "worlds_backup_restoration_in_progress");
+        // Resolved on the main thread, where a loaded world reports its real folder
+        Path worldPath = FileUtils.worldFolder(worldName).toPath();
+        Path stagingPath = siblingPath(worldPath, "restore");
 
-        // Download off the main thread, then apply the restore back on the main thread. Blocking the
-        // download here would freeze the entire server for the duration of a remote (S3/SFTP) fetch.
         return this.storage
                 .downloadBackup(backup)
-                .thenCompose(backupFile -> CompletableFuture.runAsync(
-                        () -> {
-                            try {
-                                applyRestore(backup, player, world, worldName, removedPlayers, backupFile);
-                            } catch (IOException e) {
-                                throw new CompletionException(e);
-                            }
-                        },
-                        mainThreadExecutor()))
+                .thenAcceptAsync(backupFile -> stage(backup, backupFile, stagingPath), executor)
+                .thenRunAsync(() -> swapIn(backup, player, worldName, worldPath, stagingPath), mainThreadExecutor())
                 .whenComplete((ignored, throwable) -> {
-                    if (throwable != null) {
-                        plugin.getLogger()
-                                .log(Level.SEVERE, "Failed to restore backup for world " + worldName, throwable);
+                    if (throwable == null) {
+                        return;
                     }
+                    plugin.getLogger().log(Level.SEVERE, "Failed to restore backup for world " + worldName, throwable);
+                    executor.execute(() -> deleteQuietly(stagingPath));
+                    Bukkit.getScheduler()
+                            .runTask(
+                                    plugin,
+                                    () -> messages.sendMessage(
+                                            player,
+                                            "worlds_backup_restoration_failed",
+                                            Map.entry("%world%", worldName)));
                 });
     }
 
     /**
-     * Applies a downloaded backup to the world. Must run on the main thread: it unloads, wipes and reloads the world
-     * and fires Bukkit events.
+     * Unpacks a downloaded backup into {@code stagingPath} and checks that it holds a world. Runs off the main thread;
+     * a partially staged directory is removed again on failure.
      */
-    private void applyRestore(
-            Backup backup,
-            Player player,
-            World world,
-            String worldName,
-            List<@Nullable Player> removedPlayers,
-            File backupFile)
-            throws IOException {
+    private void stage(Backup backup, File backupFile, Path stagingPath) {
+        try {
+            if (backupFile.isDirectory()) {
+                // An incremental backup, already rebuilt and verified by the storage
+                moveDirectory(backupFile.toPath(), stagingPath);
+            } else {
+                Files.createDirectories(stagingPath);
+                extractBackup(backupFile, stagingPath.toFile());
+                liftNestedWorld(stagingPath);
+            }
+            if (!FileUtils.containsWorldData(stagingPath.toFile())) {
+                throw new IOException("Backup " + backup.key() + " does not contain a world");
+            }
+        } catch (IOException e) {
+            deleteQuietly(stagingPath);
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Swaps the staged world in. Must run on the main thread: it unloads and reloads the world and fires Bukkit events.
+     */
+    private void swapIn(Backup backup, Player player, String worldName, Path worldPath, Path stagingPath) {
         Location spawn = spawnService.getSpawn();
-        boolean isSpawn = spawn != null && Objects.equals(spawn.getWorld(), world);
+        boolean isSpawn = spawn != null
+                && spawn.getWorld() != null
+                && spawn.getWorld().getName().equals(worldName);
 
+        List<@Nullable Player> removedPlayers =
+                worldService.removePlayersFromWorld(worldName, "worlds_backup_restoration_in_progress");
         this.buildWorld.getUnloader().forceUnload(SaveBehavior.DISCARD);
-        File targetDirectory = FileUtils.worldFolder(worldName);
+
+        Path replacedPath = siblingPath(worldPath, "replaced");
         try {
-            FileUtils.deleteDirectory(targetDirectory);
+            swapDirectories(worldPath, stagingPath, replacedPath);
         } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Error while deleting world directory before restore", e);
-        }
-
-        if (!targetDirectory.isDirectory() && !targetDirectory.mkdirs()) {
-            throw new IOException("Failed to create world directory for restore: " + targetDirectory.getAbsolutePath());
+            throw new CompletionException(e);
+        } finally {
+            // Reload either way: after a failed swap this brings the untouched original world back
+            this.buildWorld.getLoader().load();
+            WorldTeleporter worldTeleporter = this.buildWorld.getTeleporter();
+            removedPlayers.stream().filter(Objects::nonNull).forEach(worldTeleporter::teleport);
         }
-        extractBackup(backupFile, targetDirectory);
-
-        this.buildWorld.getLoader().load();
-        WorldTeleporter worldTeleporter = this.buildWorld.getTeleporter();
-        removedPlayers.stream().filter(Objects::nonNull).forEach(worldTeleporter::teleport);
+        executor.execute(() -> deleteQuietly(replacedPath));
 
         if (isSpawn) {
             spawn.setWorld(Bukkit.getWorld(worldName));
@@ -217,9 +338,37 @@ public class BackupProfileImpl implements BackupProfile {
                                 configService.current().settings().dateFormat())));
     }
 
+    /**
+     * Renames the world folder aside and the staged folder into its place. Both are siblings, so each step is a plain
+     * rename on the same filesystem. Renames the original back if the second step fails.
+     */
+    static void swapDirectories(Path worldPath, Path stagingPath, Path replacedPath) throws IOException {
+        boolean hadWorld = Files.exists(worldPath);
+        if (hadWorld) {
+            Files.move(worldPath, replacedPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        try {
+            Files.move(stagingPath, worldPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (hadWorld) {
+                Files.move(replacedPath, worldPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A hidden directory next to the world folder, so it lives on the same filesystem and is never listed as an
+     * importable world.
+     */
+    private static Path siblingPath(Path worldPath, String purpose) {
+        return worldPath.resolveSibling("." + worldPath.getFileName() + "-" + purpose + "-" + UUID.randomUUID());
+    }
+
     /**
      * Extracts a backup archive into {@code targetDirectory}, rejecting any entry whose resolved path escapes that
-     * directory (zip-slip / path traversal) before anything is written to disk.
+     * directory (zip-slip / path traversal) before anything is written to disk. zip4j checks every entry's CRC while
+     * extracting, so a corrupt archive fails here rather than after the swap.
      */
     private void extractBackup(File backupFile, File targetDirectory) throws IOException {
         try (ZipFile zip = new ZipFile(backupFile)) {
@@ -234,6 +383,64 @@ public class BackupProfileImpl implements BackupProfile {
         }
     }
 
+    /**
+     * Archives written by zip4j's {@code addFolder} keep the world folder as their single root entry. Moves that
+     * folder's contents up, so the staged directory is the world folder itself.
+     */
+    static void liftNestedWorld(Path stagingPath) throws IOException {
+        if (FileUtils.containsWorldData(stagingPath.toFile())) {
+            return;
+        }
+        List<Path> children;
+        try (Stream<Path> list = Files.list(stagingPath)) {
+            children = list.toList();
+        }
+        if (children.size() != 1 || !FileUtils.containsWorldData(children.getFirst().toFile())) {
+            return;
+        }
+        Path lifted = stagingPath.resolveSibling(stagingPath.getFileName() + "-world");
+        Files.move(children.getFirst(), lifted);
+        Files.delete(stagingPath);
+        Files.move(lifted, stagingPath);
+    }
+
+    /**
+     * Moves a directory, renaming it when possible and copying it across filesystems otherwise.
+     */
+    private static void moveDirectory(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        } catch (IOException e) {
+            // Different filesystem; fall through to a copy
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(source)) {
+            paths = walk.toList();
+        }
+        for (Path path : paths) {
+            Path destination = target.resolve(source.relativize(path).toString());
+            if (Files.isDirectory(path)) {
+                Files.createDirectories(destination);
+            } else {
+                Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        FileUtils.deleteDirectory(source);
+    }
+
+    private void deleteQuietly(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try {
+            FileUtils.deleteDirectory(directory);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to delete " + directory, e);
+        }
+    }
+
     /**
      * Returns an {@link Executor} that runs tasks on the server main thread, where Bukkit world and event operations
      * must happen.
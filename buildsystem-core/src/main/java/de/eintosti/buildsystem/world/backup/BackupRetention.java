@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.config.PluginConfig;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Decides which of a world's backups have expired under grandfather-father-son retention. The newest
+ * {@code keepLast} backups are always kept. On top of that, each tier keeps the newest backup of each of its most
+ * recent periods that have a backup at all, so a world that was not backed up for a while keeps its older backups
+ * instead of losing them to empty periods.
+ */
+@NullMarked
+final class BackupRetention {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final int keepLast;
+    private final PluginConfig.World.Backup.Retention tiers;
+    private final ZoneId zone;
+
+    /**
+     * @param keepLast How many of the newest backups are always kept
+     * @param tiers How many hours, days and weeks to keep a backup of
+     * @param zone The time zone days and weeks start in
+     */
+    BackupRetention(int keepLast, PluginConfig.World.Backup.Retention tiers, ZoneId zone) {
+        this.keepLast = keepLast;
+        this.tiers = tiers;
+        this.zone = zone;
+    }
+
+    static BackupRetention of(PluginConfig.World.Backup backup) {
+        return new BackupRetention(backup.maxBackupsPerWorld(), backup.retention(), ZoneId.systemDefault());
+    }
+
+    /**
+     * {@return the backups no tier keeps, oldest first}
+     *
+     * @param backups A world's backups, in any order
+     */
+    List<Backup> expired(List<Backup> backups) {
+        List<Backup> newestFirst = new ArrayList<>(backups);
+        newestFirst.sort(Comparator.comparingLong(Backup::creationTime).reversed());
+
+        boolean[] kept = new boolean[newestFirst.size()];
+        for (int i = 0; i < Math.min(this.keepLast, kept.length); i++) {
+            kept[i] = true;
+        }
+        keepNewestPerPeriod(newestFirst, kept, this.tiers.hourly(), time -> Math.floorDiv(time, HOUR_MILLIS));
+        keepNewestPerPeriod(newestFirst, kept, this.tiers.daily(), time -> date(time).toEpochDay());
+        keepNewestPerPeriod(
+                newestFirst,
+                kept,
+                this.tiers.weekly(),
+                time -> date(time).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay());
+
+        List<Backup> expired = new ArrayList<>();
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            if (!kept[i]) {
+                expired.add(newestFirst.get(i));
+            }
+        }
+        return expired;
+    }
+
+    private LocalDate date(long time) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(time), this.zone);
+    }
+
+    /** As the backups are sorted newest first, the periods they fall in never increase. */
+    private static void keepNewestPerPeriod(
+            List<Backup> newestFirst, boolean[] kept, int periods, LongUnaryOperator periodOf) {
+        int seen = 0;
+        long lastPeriod = 0;
+        for (int i = 0; i < newestFirst.size() && seen < periods; i++) {
+            long period = periodOf.applyAsLong(newestFirst.get(i).creationTime());
+            if (seen == 0 || period != lastPeriod) {
+                kept[i] = true;
+                lastPeriod = period;
+                seen++;
+            }
+        }
+    }
+}
@@ -20,33 +20,35 @@ package de.eintosti.buildsystem.world.backup;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import de.eintosti.buildsystem.BuildSystemPlugin;
-import de.eintosti.buildsystem.api.storage.WorldStorage;
+import de.eintosti.buildsystem.api.event.backup.BackupDeletedEvent;
 import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import de.eintosti.buildsystem.api.world.backup.BackupService;
 import de.eintosti.buildsystem.api.world.backup.BackupStorage;
-import de.eintosti.buildsystem.api.world.data.WorldData;
-import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.config.PluginConfig;
 import de.eintosti.buildsystem.i18n.Messages;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
 import de.eintosti.buildsystem.world.backup.storage.LocalBackupStorage;
 import de.eintosti.buildsystem.world.backup.storage.S3BackupStorage;
 import de.eintosti.buildsystem.world.backup.storage.SftpBackupStorage;
 import de.eintosti.buildsystem.world.spawn.SpawnService;
-import java.time.Duration;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -54,9 +56,14 @@ import org.jspecify.annotations.Nullable;
 @NullMarked
 public class BackupServiceImpl implements BackupService {
 
-    private static final long UPDATE_PERIOD_SECONDS = Duration.ofSeconds(5).getSeconds();
-    private static final long UPDATE_PERIOD_TICKS = UPDATE_PERIOD_SECONDS * 20;
+    /** Only the head of the deadline queue is checked, so polling every second costs nothing until a world is due. */
+    private static final long AUTO_BACKUP_POLL_TICKS = 20;
+    /** Picks up backups added or deleted behind the plugin's back, such as by hand or by another server. */
+    private static final long CATALOG_RECONCILE_TICKS = 20 * 60 * 10;
+    /** Expired backups of worlds backed up in the meantime are deleted together, once a minute. */
+    private static final long COMPACTION_TICKS = 20 * 60;
     private static final int BACKUP_PROFILE_POOL_SIZE = 3;
+    private static final int ARCHIVER_POOL_SIZE = Runtime.getRuntime().availableProcessors();
 
     private final BuildSystemPlugin plugin;
     private final ConfigService configService;
@@ -64,13 +71,21 @@ public class BackupServiceImpl implements BackupService {
     private final WorldServiceImpl worldService;
     private final Supplier<SpawnService> spawnService;
     private final ExecutorService executor;
-    private final WorldStorage worldStorage;
+    private final ExecutorService archiverExecutor;
+    private final WorldStorageImpl worldStorage;
+    private final BackupFingerprints fingerprints;
+    private final BackupCompactor compactor;
 
     private final Cache<UUID, BackupProfile> backupProfileCache =
             CacheBuilder.newBuilder().expireAfterAccess(3, TimeUnit.MINUTES).build();
 
     private BackupStorage backupStorage;
+    private BackupCatalog catalog;
     private @Nullable BukkitTask autoBackupTask;
+    private @Nullable BukkitTask catalogReconcileTask;
+    private @Nullable BukkitTask compactionTask;
+    private CompletableFuture<Void> catalogReconciliation = CompletableFuture.completedFuture(null);
+    private volatile @Nullable AutoBackupScheduler autoBackupScheduler;
 
     public BackupServiceImpl(
             BuildSystemPlugin plugin,
@@ -84,10 +99,33 @@ public class BackupServiceImpl implements BackupService {
         this.worldService = worldService;
         this.spawnService = spawnService;
         this.executor = Executors.newFixedThreadPool(BACKUP_PROFILE_POOL_SIZE);
+        // Separate from the backup pool, whose threads block while the entries they archive are compressed
+        AtomicInteger archiverThreads = new AtomicInteger();
+        this.archiverExecutor = Executors.newFixedThreadPool(ARCHIVER_POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-Archiver-" + archiverThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         this.worldStorage = worldService.getWorldStorage();
+        this.fingerprints = new BackupFingerprints(
+                plugin.getLogger(), plugin.getDataFolder().toPath().resolve("backup-fingerprints"));
+        this.compactor = new BackupCompactor(
+                plugin.getLogger(),
+                worldStorage::getBuildWorld,
+                this::getProfile,
+                this::onBackupDeleted);
+        // The worlds are loaded after this service is created, and more can be created or imported at any time
+        this.worldStorage.addAdditionListener(buildWorld -> {
+            AutoBackupScheduler scheduler = this.autoBackupScheduler;
+            if (scheduler != null) {
+                scheduler.track(buildWorld);
+            }
+        });
         this.backupStorage =
                 createStorageOrFallback(configService.current().world().backup().storage());
+        this.catalog = createCatalog(configService.current().world().backup().storage(), this.backupStorage);
         scheduleAutoBackupIfEnabled();
+        scheduleCatalogTasks();
     }
 
     private BackupStorage createStorage(PluginConfig.World.Backup.StorageSettings settings) {
@@ -103,12 +141,14 @@ public class BackupServiceImpl implements BackupService {
                         executor,
                         plugin.getDataFolder(),
                         configService,
+                        archiver(),
                         this::getProfile,
                         s.host(),
                         s.port(),
                         s.username(),
                         password,
-                        s.path());
+                        s.path(),
+                        s.maxSessions());
             }
             case PluginConfig.World.Backup.S3 s3 -> {
                 String accessKey = envOrConfig("AWS_ACCESS_KEY_ID", s3.accessKey());
@@ -122,13 +162,16 @@ public class BackupServiceImpl implements BackupService {
                         executor,
                         plugin.getDataFolder(),
                         configService,
+                        archiver(),
                         this::getProfile,
                         s3.url(),
                         accessKey,
                         secretKey,
                         s3.region(),
                         s3.bucket(),
-                        s3.path());
+                        s3.path(),
+                        s3.partSize(),
+                        s3.parallelism());
             }
         };
     }
@@ -143,7 +186,41 @@ public class BackupServiceImpl implements BackupService {
     }
 
     private LocalBackupStorage localStorage() {
-        return new LocalBackupStorage(plugin.getLogger(), executor, plugin.getDataFolder(), this::getProfile);
+        return new LocalBackupStorage(
+                plugin.getLogger(),
+                executor,
+                plugin.getDataFolder(),
+                configService.current().world().backup().format(),
+                archiver(),
+                this::getProfile);
+    }
+
+    /**
+     * The catalog is tied to the storage it describes, so switching the storage or its location never serves backups
+     * listed by the previous one.
+     */
+    private BackupCatalog createCatalog(PluginConfig.World.Backup.StorageSettings settings, BackupStorage storage) {
+        String source = switch (settings) {
+            case PluginConfig.World.Backup.Local ignored -> "local";
+            case PluginConfig.World.Backup.Sftp s ->
+                "sftp://%s@%s:%d/%s".formatted(s.username(), s.host(), s.port(), s.path());
+            case PluginConfig.World.Backup.S3 s3 -> "s3://%s/%s at %s".formatted(s3.bucket(), s3.path(), s3.url());
+        };
+        return new BackupCatalog(
+                plugin.getLogger(),
+                plugin.getDataFolder().toPath().resolve("backup-catalog"),
+                storage instanceof LocalBackupStorage ? "local" : source);
+    }
+
+    private ParallelZipArchiver archiver() {
+        PluginConfig.World.Backup.Compression compression =
+                configService.current().world().backup().compression();
+        return new ParallelZipArchiver(
+                archiverExecutor,
+                ARCHIVER_POOL_SIZE,
+                compression.level(),
+                compression.storeRegionFiles(),
+                compression.readAhead() * 1024L * 1024);
     }
 
     /**
@@ -162,26 +239,130 @@ public class BackupServiceImpl implements BackupService {
     }
 
     private void scheduleAutoBackupIfEnabled() {
-        PluginConfig.World.Backup backupConfig = configService.current().world().backup();
-        if (backupConfig.autoBackup().enabled() && plugin.isEnabled()) {
-            this.autoBackupTask = Bukkit.getScheduler()
-                    .runTaskTimer(plugin, this::incrementTimeSinceBackup, UPDATE_PERIOD_TICKS, UPDATE_PERIOD_TICKS);
+        PluginConfig.World.Backup.AutoBackup autoBackup =
+                configService.current().world().backup().autoBackup();
+        if (!autoBackup.enabled() || !plugin.isEnabled()) {
+            return;
+        }
+
+        AutoBackupScheduler scheduler = new AutoBackupScheduler(
+                plugin.getLogger(),
+                worldStorage::getBuildWorld,
+                buildWorld -> getProfile(buildWorld).createBackupIfNeeded(),
+                autoBackup,
+                System::currentTimeMillis,
+                new Random());
+        worldStorage.getBuildWorlds().forEach(scheduler::track);
+        this.autoBackupScheduler = scheduler;
+        this.autoBackupTask = Bukkit.getScheduler()
+                .runTaskTimer(plugin, scheduler::tick, AUTO_BACKUP_POLL_TICKS, AUTO_BACKUP_POLL_TICKS);
+    }
+
+    private void cancelAutoBackup() {
+        if (autoBackupTask != null) {
+            autoBackupTask.cancel();
+            autoBackupTask = null;
+        }
+        AutoBackupScheduler scheduler = this.autoBackupScheduler;
+        if (scheduler != null) {
+            scheduler.persist();
+            this.autoBackupScheduler = null;
+        }
+    }
+
+    private void scheduleCatalogTasks() {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        this.catalogReconcileTask = Bukkit.getScheduler()
+                .runTaskTimer(plugin, this::reconcileCatalog, CATALOG_RECONCILE_TICKS, CATALOG_RECONCILE_TICKS);
+        this.compactionTask = Bukkit.getScheduler()
+                .runTaskTimer(
+                        plugin,
+                        () -> compactor.compact(
+                                this.backupStorage,
+                                this.catalog,
+                                BackupRetention.of(configService.current().world().backup())),
+                        COMPACTION_TICKS,
+                        COMPACTION_TICKS);
+    }
+
+    /**
+     * Reconciles the catalog of every world with the storage, one world after another, so the storage only ever sees a
+     * single listing at a time. A run still in progress is not overlapped.
+     */
+    private void reconcileCatalog() {
+        if (!this.catalogReconciliation.isDone()) {
+            return;
+        }
+        BackupCatalog catalog = this.catalog;
+        BackupStorage storage = this.backupStorage;
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (BuildWorld buildWorld : List.copyOf(worldStorage.getBuildWorlds())) {
+            // Also applies a retention changed since the world's latest backup
+            chain = chain.thenCompose(ignored -> catalog.reconcile(buildWorld, storage, executor)
+                    .thenAccept(reconciled -> {
+                        if (reconciled) {
+                            compactor.schedule(buildWorld.getUniqueId());
+                        }
+                    })
+                    .exceptionally(throwable -> {
+                        String message = "Could not reconcile the backups of " + buildWorld.getName();
+                        plugin.getLogger().log(Level.WARNING, message, throwable);
+                        return null;
+                    }));
+        }
+        this.catalogReconciliation = chain;
+    }
+
+    /** A fingerprint is only valid while its backup exists, or the world would not be backed up again. */
+    private void onBackupDeleted(BuildWorld buildWorld, Backup backup) {
+        this.fingerprints.remove(buildWorld.getUniqueId(), backup.key());
+        fireBackupDeleted(buildWorld, backup);
+    }
+
+    /** Bukkit events must be fired on the main thread, but backups are deleted on the backup pool. */
+    private void fireBackupDeleted(BuildWorld buildWorld, Backup backup) {
+        Bukkit.getScheduler()
+                .runTask(plugin, () -> Bukkit.getPluginManager().callEvent(new BackupDeletedEvent(buildWorld, backup)));
+    }
+
+    private void cancelCatalogTasks() {
+        if (catalogReconcileTask != null) {
+            catalogReconcileTask.cancel();
+            catalogReconcileTask = null;
+        }
+        if (compactionTask != null) {
+            compactionTask.cancel();
+            compactionTask = null;
         }
     }
 
+    /**
+     * {@return the seconds until the world's next automatic backup is due, or empty if automatic backups are disabled}
+     *
+     * @param buildWorld The world
+     */
+    public OptionalLong getSecondsUntilAutoBackup(BuildWorld buildWorld) {
+        AutoBackupScheduler scheduler = this.autoBackupScheduler;
+        return scheduler != null ? scheduler.secondsUntilBackup(buildWorld) : OptionalLong.empty();
+    }
+
     /**
      * Rebuilds the backup storage and auto-backup task from the current config, so a {@code /buildsystem reload} picks
      * up storage and schedule changes without a restart.
      */
     public void reload() {
-        if (autoBackupTask != null) {
-            autoBackupTask.cancel();
-            autoBackupTask = null;
-        }
+        cancelAutoBackup();
+        cancelCatalogTasks();
         this.backupStorage.close();
         this.backupStorage =
                 createStorageOrFallback(configService.current().world().backup().storage());
+        this.catalog = createCatalog(configService.current().world().backup().storage(), this.backupStorage);
+        // Profiles hold on to the storage and catalog they were created with
+        this.backupProfileCache.invalidateAll();
         scheduleAutoBackupIfEnabled();
+        scheduleCatalogTasks();
     }
 
     public BackupStorage getStorage() {
@@ -189,41 +370,11 @@ public class BackupServiceImpl implements BackupService {
     }
 
     public void close() {
+        cancelAutoBackup();
+        cancelCatalogTasks();
         this.backupStorage.close();
         this.executor.shutdown();
-    }
-
-    /**
-     * Adds {@link #UPDATE_PERIOD_SECONDS} to every tracked world's backup timer, backing up and resetting any world that
-     * has passed its {@link PluginConfig.World.Backup.AutoBackup#interval() interval}. With {@code onlyActiveWorlds} the
-     * tracked set is the worlds players are currently building in, otherwise every world.
-     */
-    private void incrementTimeSinceBackup() {
-        PluginConfig.World.Backup.AutoBackup autoBackup =
-                configService.current().world().backup().autoBackup();
-
-        Set<BuildWorld> worlds = new HashSet<>();
-        if (autoBackup.onlyActiveWorlds()) {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                BuildWorld buildWorld =
-                        worldStorage.getBuildWorld(player.getWorld().getName());
-                if (buildWorld != null && buildWorld.getPermissions().canModify(player)) {
-                    worlds.add(buildWorld);
-                }
-            }
-        } else {
-            worlds.addAll(worldStorage.getBuildWorlds());
-        }
-
-        worlds.forEach(buildWorld -> {
-            WorldData worldData = buildWorld.getData();
-            int elapsed = worldData.get(WorldDataKey.TIME_SINCE_BACKUP) + (int) UPDATE_PERIOD_SECONDS;
-            if (elapsed > autoBackup.interval()) {
-                getProfile(buildWorld).createBackup();
-                elapsed = 0;
-            }
-            worldData.set(WorldDataKey.TIME_SINCE_BACKUP, elapsed);
-        });
+        this.archiverExecutor.shutdown();
     }
 
     /**
@@ -258,6 +409,16 @@ public class BackupServiceImpl implements BackupService {
 
     private BackupProfile createProfile(BuildWorld buildWorld) {
         return new BackupProfileImpl(
-                plugin, configService, messages, worldService, spawnService.get(), this.backupStorage, buildWorld);
+                plugin,
+                configService,
+                messages,
+                worldService,
+                spawnService.get(),
+                this.backupStorage,
+                this.catalog,
+                this.compactor,
+                this.executor,
+                this.fingerprints,
+                buildWorld);
     }
 }
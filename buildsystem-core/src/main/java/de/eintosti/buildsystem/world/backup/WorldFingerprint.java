@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A cheap description of a world's state at the time of a backup: its {@code LAST_EDITED} time and the modification
+ * time, size and SHA-256 hash of every region file. Two fingerprints with the same edit time and the same region file
+ * sizes and hashes describe the same world, so a new backup would only repeat the previous one.
+ *
+ * <p>Capturing a fingerprint reuses the hash of every region file whose modification time and size did not change
+ * since the previous fingerprint, so an idle world is checked with a few file stats and without reading any file.
+ *
+ * @param lastEdited The world's {@code LAST_EDITED} time
+ * @param regionFiles The region files by their path relative to the world folder, using {@code /} as separator
+ * @param backupKey The key of the backup the fingerprint describes, or {@code null} if it was not recorded for one
+ */
+@NullMarked
+record WorldFingerprint(long lastEdited, Map<String, FileStamp> regionFiles, @Nullable String backupKey) {
+
+    private static final String REGION_FILE_SUFFIX = ".mca";
+    private static final String LAST_EDITED_PREFIX = "last-edited ";
+    private static final String BACKUP_PREFIX = "backup ";
+    private static final HexFormat HEX = HexFormat.of();
+
+    WorldFingerprint {
+        regionFiles = Map.copyOf(regionFiles);
+    }
+
+    /**
+     * Captures the fingerprint of a world folder.
+     *
+     * @param worldFolder The world folder
+     * @param lastEdited The world's {@code LAST_EDITED} time
+     * @param previous The previous fingerprint, whose hashes are reused for unmodified files, if any
+     * @return The fingerprint
+     * @throws IOException If the world folder cannot be read
+     */
+    static WorldFingerprint capture(Path worldFolder, long lastEdited, @Nullable WorldFingerprint previous)
+            throws IOException {
+        Map<String, FileStamp> regionFiles = new TreeMap<>();
+        if (Files.isDirectory(worldFolder)) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(worldFolder)) {
+                files = walk.filter(file -> file.getFileName().toString().endsWith(REGION_FILE_SUFFIX))
+                        .filter(Files::isRegularFile)
+                        .toList();
+            }
+
+            for (Path file : files) {
+                String name = worldFolder.relativize(file).toString().replace('\\', '/');
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long modified = attributes.lastModifiedTime().toMillis();
+                long size = attributes.size();
+
+                FileStamp known = previous != null ? previous.regionFiles.get(name) : null;
+                String hash = known != null && known.modified() == modified && known.size() == size
+                        ? known.hash()
+                        : hash(file);
+                regionFiles.put(name, new FileStamp(modified, size, hash));
+            }
+        }
+        return new WorldFingerprint(lastEdited, regionFiles, null);
+    }
+
+    /**
+     * {@return this fingerprint, recorded for the given backup}
+     *
+     * @param key The key of the backup
+     */
+    WorldFingerprint forBackup(String key) {
+        return new WorldFingerprint(this.lastEdited, this.regionFiles, key);
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    /**
+     * {@return whether both fingerprints describe the same world} Modification times and backup keys are ignored, since
+     * saving a world rewrites its region files even if no chunk changed.
+     *
+     * @param other The other fingerprint
+     */
+    boolean sameWorld(WorldFingerprint other) {
+        if (this.lastEdited != other.lastEdited || !this.regionFiles.keySet().equals(other.regionFiles.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, FileStamp> entry : this.regionFiles.entrySet()) {
+            FileStamp otherStamp = other.regionFiles.get(entry.getKey());
+            if (!entry.getValue().sameContent(Objects.requireNonNull(otherStamp))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return the fingerprint as text, one region file per line}
+     */
+    String serialize() {
+        StringBuilder text = new StringBuilder(LAST_EDITED_PREFIX).append(this.lastEdited).append('\n');
+        if (this.backupKey != null) {
+            text.append(BACKUP_PREFIX).append(this.backupKey).append('\n');
+        }
+        new TreeMap<>(this.regionFiles).forEach((name, stamp) -> text.append(stamp.modified())
+                .append('\t')
+                .append(stamp.size())
+                .append('\t')
+                .append(stamp.hash())
+                .append('\t')
+                .append(name)
+                .append('\n'));
+        return text.toString();
+    }
+
+    /**
+     * Parses a fingerprint written by {@link #serialize()}.
+     *
+     * @param text The serialized fingerprint
+     * @return The fingerprint, or {@code null} if the text is malformed
+     */
+    static @Nullable WorldFingerprint parse(String text) {
+        List<String> lines = text.lines().toList();
+        if (lines.isEmpty() || !lines.getFirst().startsWith(LAST_EDITED_PREFIX)) {
+            return null;
+        }
+        try {
+            long lastEdited = Long.parseLong(lines.getFirst().substring(LAST_EDITED_PREFIX.length()));
+            String backupKey = null;
+            int firstRegionFile = 1;
+            if (lines.size() > 1 && lines.get(1).startsWith(BACKUP_PREFIX)) {
+                backupKey = lines.get(1).substring(BACKUP_PREFIX.length());
+                firstRegionFile = 2;
+            }
+            Map<String, FileStamp> regionFiles = new TreeMap<>();
+            for (String line : lines.subList(firstRegionFile, lines.size())) {
+                String[] parts = line.split("\t", 4);
+                if (parts.length != 4) {
+                    return null;
+                }
+                regionFiles.put(parts[3], new FileStamp(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+            }
+            return new WorldFingerprint(lastEdited, regionFiles, backupKey);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The state of a single region file.
+     *
+     * @param modified The last modification time in epoch milliseconds
+     * @param size The file size in bytes
+     * @param hash The hex-encoded SHA-256 hash of the file's content
+     */
+    record FileStamp(long modified, long size, String hash) {
+
+        boolean sameContent(FileStamp other) {
+            return this.size == other.size && this.hash.equals(other.hash);
+        }
+    }
+}
@@ -17,16 +17,34 @@
  */
 package de.eintosti.buildsystem.world.backup.storage;
 
+import com.google.common.base.Suppliers;
+import com.google.common.io.CountingOutputStream;
 import de.eintosti.buildsystem.BuildSystemPlugin;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import de.eintosti.buildsystem.config.PluginConfig.World.Backup.Format;
+import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
+import de.eintosti.buildsystem.world.backup.BackupImpl;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -37,24 +55,115 @@ public abstract class AbstractBackupStorage implements BackupStorage {
     protected final @Nullable BuildSystemPlugin plugin;
 
     protected final Logger logger;
+    protected final ParallelZipArchiver archiver;
     private final Executor executor;
+    private final Format format;
+    private final Supplier<IncrementalBackups> incrementalBackups =
+            Suppliers.memoize(() -> new IncrementalBackups(objects()));
 
-    protected AbstractBackupStorage(BuildSystemPlugin plugin, Executor executor) {
+    protected AbstractBackupStorage(
+            BuildSystemPlugin plugin, Executor executor, Format format, ParallelZipArchiver archiver) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
+        this.archiver = archiver;
         this.executor = executor;
+        this.format = format;
     }
 
-    AbstractBackupStorage(Logger logger, Executor executor) {
+    AbstractBackupStorage(Logger logger, Executor executor, Format format, ParallelZipArchiver archiver) {
         this.plugin = null;
         this.logger = logger;
+        this.archiver = archiver;
         this.executor = executor;
+        this.format = format;
     }
 
     protected static String backupName(long timestamp) {
         return timestamp + ".zip";
     }
 
+    /**
+     * {@return whether the name is that of a backup in either format: a zip archive or an incremental manifest}
+     */
+    protected static boolean isBackupName(String name) {
+        return name.endsWith(".zip") || IncrementalBackups.isManifest(name);
+    }
+
+    /**
+     * {@return whether new backups are stored in the {@link Format#INCREMENTAL incremental} format}
+     */
+    protected boolean isIncremental() {
+        return format == Format.INCREMENTAL;
+    }
+
+    /**
+     * {@return the object operations incremental backups are stored through} Only called once, when the first
+     * incremental backup is stored, restored or deleted.
+     */
+    protected abstract BackupObjects objects();
+
+    /**
+     * Stores an incremental backup of the world below {@code directory}, writing only the blocks not stored by an
+     * earlier backup of the same world.
+     *
+     * @param buildWorld The world to back up
+     * @param directory The world's backup directory, ending with a separator
+     * @param profileProvider Provides the profile owning the new backup
+     * @return A future completing with the stored backup
+     */
+    protected CompletableFuture<Backup> storeIncremental(
+            BuildWorld buildWorld, String directory, Function<BuildWorld, BackupProfile> profileProvider) {
+        return supply("store incremental backup for " + buildWorld.getName(), () -> {
+            long timestamp = System.currentTimeMillis();
+            IncrementalBackups.Stored stored = incrementalBackups
+                    .get()
+                    .store(FileUtils.worldFolder(buildWorld.getName()).toPath(), directory, timestamp);
+            logger.info("Backed up world '%s', wrote %s of %s KiB. Took %sms"
+                    .formatted(
+                            buildWorld.getName(),
+                            stored.writtenBytes() / 1024,
+                            stored.totalBytes() / 1024,
+                            System.currentTimeMillis() - timestamp));
+            return new BackupImpl(profileProvider.apply(buildWorld), timestamp, stored.key());
+        });
+    }
+
+    /**
+     * Rebuilds an incremental backup into a new directory below {@code stagingDirectory}, which the caller is expected
+     * to delete once it has been restored.
+     *
+     * @param backup The incremental backup
+     * @param stagingDirectory The directory to rebuild the world folder in
+     * @return A future completing with the rebuilt world folder
+     */
+    protected CompletableFuture<File> restoreIncremental(Backup backup, Path stagingDirectory) {
+        return supply("download backup " + backup.key(), () -> {
+            Path target = stagingDirectory.resolve(UUID.randomUUID().toString());
+            incrementalBackups.get().restore(backup.key(), target);
+            return target.toFile();
+        });
+    }
+
+    /**
+     * Archives the world folder into {@code out}, which is not closed, hashing the archive as it is written.
+     *
+     * @param buildWorld The world to archive
+     * @param out The stream to write the archive to
+     * @return The size and SHA-256 of the written archive
+     * @throws IOException If the world folder cannot be read or the output fails
+     */
+    protected Archived archiveWorld(BuildWorld buildWorld, OutputStream out) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        CountingOutputStream counting = new CountingOutputStream(new DigestOutputStream(out, digest));
+        archiver.archive(FileUtils.worldFolder(buildWorld.getName()).toPath(), counting);
+        return new Archived(counting.getCount(), HexFormat.of().formatHex(digest.digest()));
+    }
+
     protected void logDuration(BuildWorld buildWorld, long startTimestamp) {
         logger.info("Backed up world '%s'. Took %sms"
                 .formatted(buildWorld.getName(), System.currentTimeMillis() - startTimestamp));
@@ -93,8 +202,8 @@ public abstract class AbstractBackupStorage implements BackupStorage {
     }
 
     /**
-     * Called on any IOException caught by the template scaffolding. Override to perform cleanup (e.g. SFTP subclass
-     * calls {@code disconnectAll()}).
+     * Called on any IOException caught by the template scaffolding. Override to perform cleanup, such as dropping a
+     * connection the failure may have broken.
      */
     protected void onIoFailure() {}
 
@@ -109,7 +218,38 @@ public abstract class AbstractBackupStorage implements BackupStorage {
 
     @Override
     public final CompletableFuture<Void> deleteBackup(Backup backup) {
-        return run("delete backup " + backup.key(), () -> doDeleteBackup(backup));
+        return run("delete backup " + backup.key(), () -> {
+            if (IncrementalBackups.isManifest(backup.key())) {
+                incrementalBackups.get().delete(backup.key());
+            } else {
+                doDeleteBackup(backup);
+            }
+        });
+    }
+
+    /**
+     * Deletes the backups in one task: zip backups through {@link #doDeleteBackups}, incremental ones with a single
+     * sweep of unreferenced blocks per world.
+     */
+    @Override
+    public final CompletableFuture<Void> deleteBackups(Collection<Backup> backups) {
+        return run("delete " + backups.size() + " backups", () -> {
+            List<Backup> zips = new ArrayList<>();
+            List<String> manifests = new ArrayList<>();
+            for (Backup backup : backups) {
+                if (IncrementalBackups.isManifest(backup.key())) {
+                    manifests.add(backup.key());
+                } else {
+                    zips.add(backup);
+                }
+            }
+            if (!zips.isEmpty()) {
+                doDeleteBackups(zips);
+            }
+            if (!manifests.isEmpty()) {
+                incrementalBackups.get().delete(manifests);
+            }
+        });
     }
 
     /**
@@ -123,8 +263,26 @@ public abstract class AbstractBackupStorage implements BackupStorage {
     @Override
     public abstract CompletableFuture<File> downloadBackup(Backup backup);
 
+    /**
+     * Deletes a zip backup; incremental backups are deleted by the base class.
+     */
     protected abstract void doDeleteBackup(Backup backup) throws IOException;
 
+    /**
+     * Deletes several zip backups. Override to batch the deletes into fewer requests.
+     */
+    protected void doDeleteBackups(List<Backup> backups) throws IOException {
+        for (Backup backup : backups) {
+            doDeleteBackup(backup);
+        }
+    }
+
+    /**
+     * @param size The size of the archive in bytes
+     * @param checksum The hex SHA-256 of the archive
+     */
+    protected record Archived(long size, String checksum) {}
+
     @FunctionalInterface
     protected interface IoSupplier<T> {
 
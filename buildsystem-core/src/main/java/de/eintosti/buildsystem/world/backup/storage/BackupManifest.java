@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The contents of one incremental backup: every file of the world folder with the hashes of the blocks it is made of,
+ * in order. Stored as plain text, one file per line ({@code size<TAB>hash,hash,...<TAB>path}), so a manifest stays a
+ * few kilobytes even for large maps.
+ *
+ * @param entries The backed up files
+ */
+@NullMarked
+record BackupManifest(List<Entry> entries) {
+
+    private static final String HEADER = "buildsystem-backup-manifest 1";
+
+    /**
+     * {@return every blob hash referenced by this manifest}
+     */
+    Set<String> blobs() {
+        Set<String> blobs = new HashSet<>();
+        entries.forEach(entry -> blobs.addAll(entry.blobs()));
+        return blobs;
+    }
+
+    byte[] serialize() {
+        StringBuilder builder = new StringBuilder(HEADER).append('\n');
+        for (Entry entry : entries) {
+            builder.append(entry.size())
+                    .append('\t')
+                    .append(String.join(",", entry.blobs()))
+                    .append('\t')
+                    .append(entry.path())
+                    .append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static BackupManifest parse(byte[] data) throws IOException {
+        String[] lines = new String(data, StandardCharsets.UTF_8).split("\n");
+        if (!lines[0].equals(HEADER)) {
+            throw new IOException("Not a backup manifest");
+        }
+
+        List<Entry> entries = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split("\t", 3);
+            if (parts.length != 3) {
+                throw new IOException("Malformed backup manifest line " + (i + 1));
+            }
+            try {
+                List<String> blobs = parts[1].isEmpty() ? List.of() : List.of(parts[1].split(","));
+                entries.add(new Entry(parts[2], Long.parseLong(parts[0]), blobs));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed backup manifest line " + (i + 1), e);
+            }
+        }
+        return new BackupManifest(entries);
+    }
+
+    /**
+     * A single backed up file.
+     *
+     * @param path The path relative to the world folder, separated by {@code /}
+     * @param size The file size in bytes
+     * @param blobs The hashes of the file's blocks, in order
+     */
+    record Entry(String path, long size, List<String> blobs) {}
+}
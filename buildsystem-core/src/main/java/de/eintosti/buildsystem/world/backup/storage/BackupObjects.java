@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The minimal object operations an incremental backup needs from a storage backend. Keys use the backend's own
+ * addressing (an absolute path for local storage, an object key for S3, a remote path for SFTP), with {@code /}
+ * separating the blob directories appended by {@link IncrementalBackups}.
+ */
+@NullMarked
+interface BackupObjects {
+
+    /**
+     * Writes an object, replacing any existing one. A reader must never observe a partially written object, since a
+     * blob that exists is assumed to be complete.
+     */
+    void write(String key, byte[] data) throws IOException;
+
+    byte[] read(String key) throws IOException;
+
+    /** Deletes an object; deleting a missing object is not an error. */
+    void delete(String key) throws IOException;
+
+    /**
+     * Deletes several objects in as few requests as the backend allows; deleting a missing object is not an error.
+     *
+     * @param keys The keys of the objects to delete
+     */
+    default void deleteAll(Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            delete(key);
+        }
+    }
+
+    /**
+     * Lists the keys of the objects under a directory.
+     *
+     * @param directory The directory key, ending with a separator
+     * @param recursive Whether to include objects in nested directories
+     * @return The full keys of the objects found, empty if the directory does not exist
+     */
+    List<String> list(String directory, boolean recursive) throws IOException;
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import de.eintosti.buildsystem.world.backup.storage.BackupManifest.Entry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Content-addressed backups on top of any {@link BackupObjects} backend. Every file of the world folder is split into
+ * fixed-size blocks, each block is stored once under its SHA-256 hash in the world's {@code blobs/} directory, and a
+ * backup itself is just a {@link BackupManifest} naming the blocks of every file. A new backup therefore only writes
+ * the blocks that changed since any backup still kept.
+ *
+ * <p>Layout below a world's backup directory:
+ *
+ * <pre>
+ * &lt;timestamp&gt;.manifest
+ * blobs/&lt;first two hash characters&gt;/&lt;hash&gt;
+ * </pre>
+ *
+ * <p>Blobs are shared between the backups of one world only, so deleting a backup never has to look at other worlds.
+ * Storing, restoring and deleting are serialized per world directory, so a backup that reuses a blob cannot race the
+ * deletion that would otherwise collect it.
+ */
+@NullMarked
+final class IncrementalBackups {
+
+    static final String MANIFEST_SUFFIX = ".manifest";
+
+    /**
+     * Sixteen 4 KiB region-file sectors. Chunks in a region file are sector-aligned and are rewritten in place (or
+     * moved to free sectors) when saved, so editing a chunk only changes the blocks its sectors fall into instead of
+     * the whole region file.
+     */
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final String BLOB_DIRECTORY = "blobs/";
+    private static final Set<String> EXCLUDED_FILES = Set.of("uid.dat", "session.lock");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final BackupObjects objects;
+    private final ConcurrentMap<String, Object> directoryLocks = new ConcurrentHashMap<>();
+
+    IncrementalBackups(BackupObjects objects) {
+        this.objects = objects;
+    }
+
+    static boolean isManifest(String key) {
+        return key.endsWith(MANIFEST_SUFFIX);
+    }
+
+    /**
+     * Backs up a world folder, writing only the blocks not yet present in {@code directory}. The manifest is written
+     * last, so an interrupted backup leaves at most unreferenced blobs, which the next deletion collects.
+     *
+     * @param worldFolder The world folder to back up
+     * @param directory The world's backup directory, ending with a separator
+     * @param timestamp The backup's creation time, used as its name
+     * @return The stored backup
+     */
+    Stored store(Path worldFolder, String directory, long timestamp) throws IOException {
+        synchronized (lock(directory)) {
+            Set<String> stored = new HashSet<>();
+            for (String key : objects.list(directory + BLOB_DIRECTORY, true)) {
+                stored.add(fileName(key));
+            }
+
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(worldFolder)) {
+                files = walk.filter(Files::isRegularFile)
+                        .filter(file -> !EXCLUDED_FILES.contains(file.getFileName().toString()))
+                        .sorted()
+                        .toList();
+            }
+
+            MessageDigest digest = sha256();
+            List<Entry> entries = new ArrayList<>(files.size());
+            long totalBytes = 0;
+            long writtenBytes = 0;
+            for (Path file : files) {
+                List<String> blobs = new ArrayList<>();
+                long size = 0;
+                try (InputStream in = Files.newInputStream(file)) {
+                    byte[] block;
+                    while ((block = in.readNBytes(BLOCK_SIZE)).length > 0) {
+                        String hash = HEX.formatHex(digest.digest(block));
+                        if (stored.add(hash)) {
+                            objects.write(blobKey(directory, hash), block);
+                            writtenBytes += block.length;
+                        }
+                        blobs.add(hash);
+                        size += block.length;
+                    }
+                }
+                totalBytes += size;
+                String path = worldFolder.relativize(file).toString().replace('\\', '/');
+                entries.add(new Entry(path, size, blobs));
+            }
+
+            String key = directory + timestamp + MANIFEST_SUFFIX;
+            objects.write(key, new BackupManifest(entries).serialize());
+            return new Stored(key, totalBytes, writtenBytes);
+        }
+    }
+
+    /**
+     * Rebuilds the world folder described by a manifest into {@code target}. Every block is checked against its hash,
+     * and entries that would resolve outside of {@code target} are rejected.
+     *
+     * @param manifestKey The key of the backup's manifest
+     * @param target The directory to restore into
+     */
+    void restore(String manifestKey, Path target) throws IOException {
+        String directory = directoryOf(manifestKey);
+        synchronized (lock(directory)) {
+            BackupManifest manifest = BackupManifest.parse(objects.read(manifestKey));
+            Path root = target.toAbsolutePath().normalize();
+            Files.createDirectories(root);
+
+            MessageDigest digest = sha256();
+            for (Entry entry : manifest.entries()) {
+                Path file = root.resolve(entry.path()).normalize();
+                if (!file.startsWith(root) || file.equals(root)) {
+                    throw new IOException("Refusing to restore backup: manifest entry escapes the world directory: "
+                            + entry.path());
+                }
+
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    for (String hash : entry.blobs()) {
+                        byte[] block = objects.read(blobKey(directory, hash));
+                        if (!HEX.formatHex(digest.digest(block)).equals(hash)) {
+                            throw new IOException("Backup block " + hash + " of " + entry.path() + " is corrupt");
+                        }
+                        out.write(block);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a backup's manifest, then every blob no remaining manifest of the world references.
+     *
+     * @param manifestKey The key of the backup's manifest
+     */
+    void delete(String manifestKey) throws IOException {
+        delete(List.of(manifestKey));
+    }
+
+    /**
+     * Deletes several backups' manifests, then sweeps the blobs of each affected world once, instead of once per
+     * backup.
+     *
+     * @param manifestKeys The keys of the backups' manifests
+     */
+    void delete(Collection<String> manifestKeys) throws IOException {
+        Map<String, List<String>> byDirectory = new LinkedHashMap<>();
+        for (String manifestKey : manifestKeys) {
+            byDirectory
+                    .computeIfAbsent(directoryOf(manifestKey), ignored -> new ArrayList<>())
+                    .add(manifestKey);
+        }
+
+        for (Map.Entry<String, List<String>> entry : byDirectory.entrySet()) {
+            String directory = entry.getKey();
+            synchronized (lock(directory)) {
+                objects.deleteAll(entry.getValue());
+
+                Set<String> referenced = new HashSet<>();
+                for (String key : objects.list(directory, false)) {
+                    if (isManifest(key)) {
+                        referenced.addAll(BackupManifest.parse(objects.read(key)).blobs());
+                    }
+                }
+
+                List<String> unreferenced = new ArrayList<>();
+                for (String key : objects.list(directory + BLOB_DIRECTORY, true)) {
+                    if (!referenced.contains(fileName(key))) {
+                        unreferenced.add(key);
+                    }
+                }
+                objects.deleteAll(unreferenced);
+            }
+        }
+    }
+
+    private Object lock(String directory) {
+        return directoryLocks.computeIfAbsent(directory.replace('\\', '/'), ignored -> new Object());
+    }
+
+    private static String blobKey(String directory, String hash) {
+        return directory + BLOB_DIRECTORY + hash.substring(0, 2) + "/" + hash;
+    }
+
+    private static String directoryOf(String key) {
+        return key.substring(0, lastSeparator(key) + 1);
+    }
+
+    private static String fileName(String key) {
+        return key.substring(lastSeparator(key) + 1);
+    }
+
+    private static int lastSeparator(String key) {
+        return Math.max(key.lastIndexOf('/'), key.lastIndexOf('\\'));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The result of {@link #store}.
+     *
+     * @param key The key of the backup's manifest
+     * @param totalBytes The size of the backed up world folder
+     * @param writtenBytes The bytes of new blocks actually written
+     */
+    record Stored(String key, long totalBytes, long writtenBytes) {}
+}
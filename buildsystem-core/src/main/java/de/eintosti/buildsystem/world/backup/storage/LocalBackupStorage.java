@@ -20,12 +20,16 @@ package de.eintosti.buildsystem.world.backup.storage;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
-import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.config.PluginConfig.World.Backup.Format;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
 import de.eintosti.buildsystem.world.backup.BackupImpl;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,8 +48,13 @@ public class LocalBackupStorage extends AbstractBackupStorage {
     private final Function<BuildWorld, BackupProfile> profileProvider;
 
     public LocalBackupStorage(
-            Logger logger, Executor executor, File dataFolder, Function<BuildWorld, BackupProfile> profileProvider) {
-        super(logger, executor);
+            Logger logger,
+            Executor executor,
+            File dataFolder,
+            Format format,
+            ParallelZipArchiver archiver,
+            Function<BuildWorld, BackupProfile> profileProvider) {
+        super(logger, executor, format, archiver);
         this.profileProvider = profileProvider;
         this.backupPath = dataFolder.toPath().resolve("backups");
         if (!Files.exists(backupPath)) {
@@ -61,8 +70,13 @@ public class LocalBackupStorage extends AbstractBackupStorage {
      * Package-private constructor for unit tests (no BuildSystemPlugin required).
      */
     LocalBackupStorage(
-            Logger logger, Executor executor, Path backupRoot, Function<BuildWorld, BackupProfile> profileProvider) {
-        super(logger, executor);
+            Logger logger,
+            Executor executor,
+            Path backupRoot,
+            Format format,
+            ParallelZipArchiver archiver,
+            Function<BuildWorld, BackupProfile> profileProvider) {
+        super(logger, executor, format, archiver);
         this.profileProvider = profileProvider;
         this.backupPath = backupRoot;
     }
@@ -74,46 +88,67 @@ public class LocalBackupStorage extends AbstractBackupStorage {
             return new ArrayList<>();
         }
 
+        // Only the backups directly in the world's directory, not the blocks of incremental backups below it
         List<Backup> backups = new ArrayList<>();
-        try (Stream<Path> walk = Files.walk(dir)) {
-            walk.filter(LocalBackupStorage::isZip).forEach(path -> {
-                long creationTime = creationTimeOf(path);
-                backups.add(new BackupImpl(
-                        profileProvider.apply(buildWorld),
-                        creationTime,
-                        path.toAbsolutePath().toString()));
-            });
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(LocalBackupStorage::isBackup).forEach(path -> backups.add(toBackup(buildWorld, path)));
         }
         return backups;
     }
 
-    private long creationTimeOf(Path path) {
+    private Backup toBackup(BuildWorld buildWorld, Path path) {
+        String key = path.toAbsolutePath().toString();
         try {
-            return Files.readAttributes(path, BasicFileAttributes.class)
-                    .creationTime()
-                    .toMillis();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new BackupImpl(
+                    profileProvider.apply(buildWorld),
+                    attributes.creationTime().toMillis(),
+                    key,
+                    attributes.size(),
+                    null);
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to read attributes from " + path, e);
-            return System.currentTimeMillis();
+            return new BackupImpl(profileProvider.apply(buildWorld), System.currentTimeMillis(), key);
         }
     }
 
     @Override
     public CompletableFuture<Backup> storeBackup(BuildWorld buildWorld) {
+        if (isIncremental()) {
+            return storeIncremental(
+                    buildWorld, getBackupDirectory(buildWorld).toAbsolutePath() + File.separator, profileProvider);
+        }
         return supply("store backup for " + buildWorld.getName(), () -> {
             long timestamp = System.currentTimeMillis();
-            File storage = new File(getBackupDirectory(buildWorld).toFile(), backupName(timestamp));
-            File zip = FileUtils.zipWorld(storage, buildWorld);
-            if (zip == null) {
-                throw new IOException("Failed to complete the backup for " + buildWorld.getName());
+            Path directory = Files.createDirectories(getBackupDirectory(buildWorld));
+            Path zip = directory.resolve(backupName(timestamp));
+            Path part = directory.resolve(zip.getFileName() + ".part");
+
+            // Written under a temporary name, so an interrupted backup is never listed as a complete one
+            Archived archived;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                archived = archiveWorld(buildWorld, out);
+            } catch (IOException e) {
+                Files.deleteIfExists(part);
+                throw e;
             }
+            Files.move(part, zip, StandardCopyOption.ATOMIC_MOVE);
+
             logDuration(buildWorld, timestamp);
-            return new BackupImpl(profileProvider.apply(buildWorld), timestamp, zip.getAbsolutePath());
+            return new BackupImpl(
+                    profileProvider.apply(buildWorld),
+                    timestamp,
+                    zip.toAbsolutePath().toString(),
+                    archived.size(),
+                    archived.checksum());
         });
     }
 
     @Override
     public CompletableFuture<File> downloadBackup(Backup backup) {
+        if (IncrementalBackups.isManifest(backup.key())) {
+            return restoreIncremental(backup, backupPath.resolve(".staging"));
+        }
         return CompletableFuture.completedFuture(new File(backup.key()));
     }
 
@@ -122,6 +157,11 @@ public class LocalBackupStorage extends AbstractBackupStorage {
         Files.deleteIfExists(Path.of(backup.key()));
     }
 
+    @Override
+    protected BackupObjects objects() {
+        return new LocalBackupObjects();
+    }
+
     @Override
     public void close() {
         // Nothing to release for local storage
@@ -131,7 +171,7 @@ public class LocalBackupStorage extends AbstractBackupStorage {
         return this.backupPath.resolve(buildWorld.getUniqueId().toString());
     }
 
-    private static boolean isZip(Path path) {
-        return path.getFileName().toString().endsWith(".zip");
+    private static boolean isBackup(Path path) {
+        return Files.isRegularFile(path) && isBackupName(path.getFileName().toString());
     }
 }
@@ -22,16 +22,21 @@ import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
 import de.eintosti.buildsystem.world.backup.BackupImpl;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -49,32 +54,49 @@ import software.amazon.awssdk.services.s3.model.*;
 @NullMarked
 public class S3BackupStorage extends AbstractBackupStorage {
 
+    /** The most keys a single {@code DeleteObjects} request accepts. */
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     private final ConfigService configService;
     private final Function<BuildWorld, BackupProfile> profileProvider;
     private final S3Client s3Client;
     private final String bucket;
     private final String pathPrefix;
     private final Path tmpDownloadDirectory;
+    private final int partSize;
+    private final int parallelism;
+    private final ExecutorService uploadExecutor;
 
     public S3BackupStorage(
             Logger logger,
             Executor executor,
             File dataFolder,
             ConfigService configService,
+            ParallelZipArchiver archiver,
             Function<BuildWorld, BackupProfile> profileProvider,
             @Nullable String url,
             String accessKey,
             String secretKey,
             String region,
             String bucket,
-            String pathPrefix) {
-        super(logger, executor);
+            String pathPrefix,
+            int partSizeMib,
+            int parallelism) {
+        super(logger, executor, configService.current().world().backup().format(), archiver);
 
         this.configService = configService;
         this.profileProvider = profileProvider;
         this.bucket = bucket;
         this.pathPrefix = pathPrefix.endsWith("/") ? pathPrefix : pathPrefix + "/";
         this.tmpDownloadDirectory = FileUtils.resolve(dataFolder, ".tmp_backup_downloads");
+        this.partSize = partSizeMib * 1024 * 1024;
+        this.parallelism = parallelism;
+        AtomicInteger counter = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-S3-Upload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
         S3ClientBuilder builder = S3Client.builder()
                 .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
@@ -96,17 +118,21 @@ public class S3BackupStorage extends AbstractBackupStorage {
         List<Backup> backups =
                 new ArrayList<>(configService.current().world().backup().maxBackupsPerWorld());
         try {
+            // The delimiter keeps the blocks of incremental backups (below blobs/) out of the listing
             ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
                     .bucket(bucket)
                     .prefix(getBackupDirectory(buildWorld))
+                    .delimiter("/")
                     .build());
 
             backups.addAll(response.contents().stream()
-                    .filter(object -> object.key().endsWith(".zip"))
+                    .filter(object -> isBackupName(object.key()))
                     .map(object -> new BackupImpl(
                             profileProvider.apply(buildWorld),
                             object.lastModified().toEpochMilli(),
-                            object.key()))
+                            object.key(),
+                            object.size(),
+                            null))
                     .toList());
         } catch (S3Exception | SdkClientException e) {
             throw new RuntimeException("Error while listing S3 backups", e);
@@ -116,26 +142,37 @@ public class S3BackupStorage extends AbstractBackupStorage {
 
     @Override
     public CompletableFuture<Backup> storeBackup(BuildWorld buildWorld) {
+        if (isIncremental()) {
+            return storeIncremental(buildWorld, getBackupDirectory(buildWorld), profileProvider);
+        }
         return supply("store S3 backup for " + buildWorld.getName(), () -> {
             long timestamp = System.currentTimeMillis();
             String key = getBackupDirectory(buildWorld) + backupName(timestamp);
 
-            byte[] zipBytes = FileUtils.zipWorldToMemory(buildWorld);
+            Path worldPath = FileUtils.worldFolder(buildWorld.getName()).toPath();
+            int worldPartSize = S3MultipartUpload.partSizeFor(partSize, FileUtils.directorySize(worldPath));
+            Archived archived;
 
-            try {
-                s3Client.putObject(
-                        PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromBytes(zipBytes));
+            // The archive is streamed straight into upload parts, so memory use stays at a few part buffers
+            try (S3MultipartUpload upload = new S3MultipartUpload(
+                    s3Client, bucket, key, worldPartSize, parallelism, uploadExecutor)) {
+                archived = archiveWorld(buildWorld, upload);
+                upload.complete();
             } catch (S3Exception | SdkClientException e) {
                 throw new IOException("Failed to upload S3 backup for " + buildWorld.getName(), e);
             }
 
             logDuration(buildWorld, timestamp);
-            return new BackupImpl(profileProvider.apply(buildWorld), timestamp, key);
+            return new BackupImpl(
+                    profileProvider.apply(buildWorld), timestamp, key, archived.size(), archived.checksum());
         });
     }
 
     @Override
     public CompletableFuture<File> downloadBackup(Backup backup) {
+        if (IncrementalBackups.isManifest(backup.key())) {
+            return restoreIncremental(backup, tmpDownloadDirectory);
+        }
         return supply("download S3 backup " + backup.key(), () -> {
             try {
                 Path target = tmpDownloadDirectory.resolve(UUID.randomUUID() + ".zip");
@@ -164,8 +201,104 @@ public class S3BackupStorage extends AbstractBackupStorage {
         }
     }
 
+    @Override
+    protected void doDeleteBackups(List<Backup> backups) throws IOException {
+        deleteKeys(backups.stream().map(Backup::key).toList());
+    }
+
+    /**
+     * Deletes the objects with {@code DeleteObjects}, up to {@value #MAX_KEYS_PER_DELETE} per request.
+     */
+    private void deleteKeys(Collection<String> keys) throws IOException {
+        List<ObjectIdentifier> identifiers = keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+        for (int from = 0; from < identifiers.size(); from += MAX_KEYS_PER_DELETE) {
+            List<ObjectIdentifier> batch =
+                    identifiers.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, identifiers.size()));
+            DeleteObjectsResponse response;
+            try {
+                response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder().objects(batch).quiet(true).build())
+                        .build());
+            } catch (S3Exception | SdkClientException e) {
+                throw new IOException("Failed to delete " + batch.size() + " S3 objects", e);
+            }
+            // Quiet mode only reports the keys that could not be deleted
+            if (response.hasErrors() && !response.errors().isEmpty()) {
+                S3Error error = response.errors().getFirst();
+                throw new IOException("Failed to delete %d S3 objects, e.g. %s: %s"
+                        .formatted(response.errors().size(), error.key(), error.message()));
+            }
+        }
+    }
+
+    @Override
+    protected BackupObjects objects() {
+        return new BackupObjects() {
+            @Override
+            public void write(String key, byte[] data) throws IOException {
+                try {
+                    // A single PUT is atomic: the object only becomes visible once it is complete
+                    s3Client.putObject(
+                            PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromBytes(data));
+                } catch (S3Exception | SdkClientException e) {
+                    throw new IOException("Failed to upload " + key, e);
+                }
+            }
+
+            @Override
+            public byte[] read(String key) throws IOException {
+                try {
+                    return s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                                    .bucket(bucket)
+                                    .key(key)
+                                    .build())
+                            .asByteArray();
+                } catch (S3Exception | SdkClientException e) {
+                    throw new IOException("Failed to download " + key, e);
+                }
+            }
+
+            @Override
+            public void delete(String key) throws IOException {
+                try {
+                    s3Client.deleteObject(
+                            DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+                } catch (S3Exception | SdkClientException e) {
+                    throw new IOException("Failed to delete " + key, e);
+                }
+            }
+
+            @Override
+            public void deleteAll(Collection<String> keys) throws IOException {
+                deleteKeys(keys);
+            }
+
+            @Override
+            public List<String> list(String directory, boolean recursive) throws IOException {
+                ListObjectsV2Request.Builder request =
+                        ListObjectsV2Request.builder().bucket(bucket).prefix(directory);
+                if (!recursive) {
+                    request.delimiter("/");
+                }
+                try {
+                    List<String> keys = new ArrayList<>();
+                    s3Client.listObjectsV2Paginator(request.build())
+                            .contents()
+                            .forEach(object -> keys.add(object.key()));
+                    return keys;
+                } catch (S3Exception | SdkClientException e) {
+                    throw new IOException("Failed to list " + directory, e);
+                }
+            }
+        };
+    }
+
     @Override
     public void close() {
+        uploadExecutor.shutdown();
         try {
             s3Client.close();
         } catch (Exception e) {
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * An {@link OutputStream} that uploads everything written to it as one S3 object, streamed in fixed-size multipart
+ * parts. A full part is handed to the executor while the caller keeps writing into the next buffer, with at most
+ * {@code parallelism} parts in flight; a writer that gets ahead blocks until a part finishes. Peak memory is therefore
+ * {@code (parallelism + 1) * partSize} no matter how large the object grows. An object smaller than one part is
+ * uploaded with a single plain PUT instead.
+ *
+ * <p>The object only becomes visible once {@link #complete()} succeeds. Closing the stream without completing it, or
+ * any failed part, aborts the multipart upload, so an archive that failed halfway never shows up as a truncated backup.
+ */
+@NullMarked
+final class S3MultipartUpload extends OutputStream {
+
+    /** S3 allows at most 10,000 parts per upload; stay clear of it so a growing world never hits the limit. */
+    private static final int MAX_PARTS = 9_000;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final int partSize;
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final Queue<byte[]> spareBuffers = new ConcurrentLinkedQueue<>();
+    private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+
+    private byte[] buffer;
+    private int position;
+    private @Nullable String uploadId;
+    private volatile @Nullable Throwable failure;
+    private boolean finished;
+
+    /**
+     * @param s3Client The client to upload with
+     * @param bucket The target bucket
+     * @param key The target object key
+     * @param partSize The part size in bytes
+     * @param parallelism The maximum number of parts uploaded at the same time
+     * @param executor The executor running the part uploads, with at least {@code parallelism} threads
+     */
+    S3MultipartUpload(
+            S3Client s3Client, String bucket, String key, int partSize, int parallelism, Executor executor) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.partSize = partSize;
+        this.executor = executor;
+        this.inFlight = new Semaphore(parallelism);
+        this.buffer = new byte[partSize];
+    }
+
+    /**
+     * Grows the configured part size when an object of {@code expectedBytes} would otherwise need more parts than S3
+     * allows.
+     *
+     * @param configuredPartSize The configured part size in bytes
+     * @param expectedBytes The expected object size, e.g. the size of the folder being archived
+     * @return The part size to use
+     */
+    static int partSizeFor(int configuredPartSize, long expectedBytes) {
+        long partSize = Math.max(configuredPartSize, Math.ceilDiv(expectedBytes, MAX_PARTS));
+        return (int) Math.min(partSize, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == buffer.length) {
+            submitPart();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == buffer.length) {
+                submitPart();
+            }
+            int chunk = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private void submitPart() throws IOException {
+        throwIfFailed();
+        if (uploadId == null) {
+            uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .build())
+                    .uploadId();
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to upload a part of " + key, e);
+        }
+
+        byte[] part = buffer;
+        int length = position;
+        int partNumber = parts.size() + 1;
+        String id = uploadId;
+        parts.add(CompletableFuture.supplyAsync(() -> uploadPart(id, partNumber, part, length), executor)
+                .whenComplete((completed, throwable) -> {
+                    spareBuffers.offer(part);
+                    inFlight.release();
+                    if (throwable != null) {
+                        failure = throwable;
+                    }
+                }));
+
+        byte[] spare = spareBuffers.poll();
+        buffer = spare != null ? spare : new byte[partSize];
+        position = 0;
+    }
+
+    private CompletedPart uploadPart(String id, int partNumber, byte[] part, int length) {
+        String eTag = s3Client.uploadPart(
+                        UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(id)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        body(part, length))
+                .eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+    }
+
+    private static RequestBody body(byte[] bytes, int length) {
+        // A content provider hands out a fresh stream per attempt without copying the part buffer
+        return RequestBody.fromContentProvider(
+                () -> new ByteArrayInputStream(bytes, 0, length), length, "application/octet-stream");
+    }
+
+    private void throwIfFailed() throws IOException {
+        Throwable throwable = failure;
+        if (throwable != null) {
+            throw new IOException("Failed to upload a part of " + key, unwrap(throwable));
+        }
+    }
+
+    /**
+     * Uploads the last part and completes the upload, making the object visible. Waits for every part in flight.
+     *
+     * @throws IOException If any part or the completion failed; the upload is aborted in that case
+     */
+    void complete() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        try {
+            if (uploadId == null) {
+                s3Client.putObject(
+                        PutObjectRequest.builder().bucket(bucket).key(key).build(), body(buffer, position));
+                return;
+            }
+
+            if (position > 0) {
+                submitPart();
+            }
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (CompletableFuture<CompletedPart> part : parts) {
+                completed.add(part.join());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(
+                            CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+        } catch (IOException | CompletionException | SdkException e) {
+            IOException exception = e instanceof IOException io
+                    ? io
+                    : new IOException("Failed to upload " + key, unwrap(e));
+            abort(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Aborts the upload unless it was {@link #complete() completed}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        IOException exception = new IOException("Upload of " + key + " was closed before it completed");
+        abort(exception);
+        if (exception.getSuppressed().length > 0) {
+            throw exception;
+        }
+    }
+
+    private void abort(IOException cause) {
+        if (uploadId == null) {
+            return;
+        }
+        // Let the parts in flight settle first, otherwise a part finishing after the abort would be stored again
+        parts.forEach(part -> part.handle((completed, throwable) -> null).join());
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (SdkException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
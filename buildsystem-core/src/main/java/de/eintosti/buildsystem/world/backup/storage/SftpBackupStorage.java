@@ -22,82 +22,75 @@ import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
 import de.eintosti.buildsystem.world.backup.BackupImpl;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.Security;
-import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.apache.sshd.client.SshClient;
-import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
-import org.apache.sshd.client.keyverifier.KnownHostsServerKeyVerifier;
-import org.apache.sshd.client.session.ClientSession;
-import org.apache.sshd.common.signature.BuiltinSignatures;
 import org.apache.sshd.sftp.client.SftpClient;
 import org.apache.sshd.sftp.client.SftpClient.Attributes;
 import org.apache.sshd.sftp.client.SftpClient.DirEntry;
-import org.apache.sshd.sftp.client.SftpClientFactory;
+import org.apache.sshd.sftp.common.SftpConstants;
+import org.apache.sshd.sftp.common.SftpException;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+/**
+ * Stores backups on an SFTP server. Every operation runs on a session borrowed from a {@link SftpSessionPool}, so
+ * backups of different worlds are transferred in parallel, and a dropped connection only fails the operation it
+ * interrupted, or not even that when an upload can be resumed.
+ */
 @NullMarked
 public class SftpBackupStorage extends AbstractBackupStorage {
 
-    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(10);
-    private static final Duration AUTH_TIMEOUT = Duration.ofSeconds(5);
     private static final int BUFFER_SIZE = 8192;
 
-    private final File dataFolder;
     private final ConfigService configService;
     private final Function<BuildWorld, BackupProfile> profileProvider;
-    private final String host;
-    private final int port;
-    private final String username;
-    private final String password;
     private final String remoteBasePath;
     private final Path tmpDownloadPath;
-
-    private volatile @Nullable SshClient sshClient;
-    private volatile @Nullable ClientSession clientSession;
-    private volatile @Nullable SftpClient sftpClient;
+    private final Path tmpUploadPath;
+    private final SftpSessionPool pool;
 
     public SftpBackupStorage(
             Logger logger,
             Executor executor,
             File dataFolder,
             ConfigService configService,
+            ParallelZipArchiver archiver,
             Function<BuildWorld, BackupProfile> profileProvider,
             String host,
             int port,
             String username,
             String password,
-            String remoteBasePath) {
-        super(logger, executor);
+            String remoteBasePath,
+            int maxSessions) {
+        super(logger, executor, configService.current().world().backup().format(), archiver);
 
-        this.dataFolder = dataFolder;
         this.configService = configService;
         this.profileProvider = profileProvider;
-        this.host = host;
-        this.port = validatePort(port);
-        this.username = username;
-        this.password = password;
         this.remoteBasePath = normalizeBasePath(remoteBasePath);
         this.tmpDownloadPath = FileUtils.resolve(dataFolder.toPath(), ".tmp_backup_downloads");
+        this.tmpUploadPath = FileUtils.resolve(dataFolder.toPath(), ".tmp_backup_uploads");
 
         Security.addProvider(new BouncyCastleProvider());
-        establishConnection();
-    }
-
-    @Override
-    protected void onIoFailure() {
-        disconnectAll();
+        this.pool = new SftpSessionPool(
+                logger,
+                host,
+                validatePort(port),
+                username,
+                password,
+                dataFolder.toPath().resolve(".sftp_known_hosts"),
+                maxSessions);
+        checkConnection(host, port);
     }
 
     private static int validatePort(int port) {
@@ -115,55 +108,20 @@ public class SftpBackupStorage extends AbstractBackupStorage {
         return normalized.endsWith("/") ? normalized : normalized + "/";
     }
 
-    private synchronized void establishConnection() {
-        if (sshClient == null) {
-            sshClient = initializeSshClient();
-        }
-
-        try {
-            clientSession = sshClient
-                    .connect(username, host, port)
-                    .verify(CONNECTION_TIMEOUT.toMillis())
-                    .getSession();
-
-            if (clientSession == null) {
-                throw new IllegalStateException();
-            }
-
-            clientSession.addPasswordIdentity(password);
-            clientSession.auth().verify(AUTH_TIMEOUT.toMillis());
-
-            sftpClient = SftpClientFactory.instance().createSftpClient(clientSession);
-            logger.info("SFTP connection established successfully.");
-        } catch (Exception e) {
-            disconnectAll();
-            logger.log(Level.SEVERE, "Failed to establish SFTP connection to " + host + ":" + port, e);
-        }
-    }
-
-    private SshClient initializeSshClient() {
-        SshClient sshClient = SshClient.setUpDefaultClient();
-        sshClient.setSignatureFactories(Arrays.asList(BuiltinSignatures.rsa, BuiltinSignatures.ed25519));
-        // Trust-on-first-use: unknown hosts are accepted and recorded; a later key change is rejected,
-        // so a man-in-the-middle cannot silently impersonate a previously seen backup server.
-        sshClient.setServerKeyVerifier(new KnownHostsServerKeyVerifier(
-                AcceptAllServerKeyVerifier.INSTANCE, dataFolder.toPath().resolve(".sftp_known_hosts")));
-        sshClient.start();
-        return sshClient;
-    }
-
-    private SftpClient getSftpClient() throws IOException {
-        if (sftpClient == null || !sftpClient.isOpen()) {
-            synchronized (this) {
-                if (sftpClient == null || !sftpClient.isOpen()) {
-                    establishConnection();
-                }
-            }
-        }
-        if (sftpClient == null || !sftpClient.isOpen()) {
-            throw new IOException("SFTP connection could not be established");
-        }
-        return sftpClient;
+    /**
+     * Opens the first session in the background, so a misconfigured server is reported at startup without delaying
+     * it. The session stays in the pool for the first backup.
+     */
+    private void checkConnection(String host, int port) {
+        run("connect to SFTP server " + host + ":" + port, () -> pool.call(sftp -> sftp.canonicalPath(".")))
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        logger.log(
+                                Level.SEVERE, "Failed to establish SFTP connection to " + host + ":" + port, throwable);
+                    } else {
+                        logger.info("SFTP connection established successfully.");
+                    }
+                });
     }
 
     private String getBackupDirectory(BuildWorld buildWorld) {
@@ -171,64 +129,92 @@ public class SftpBackupStorage extends AbstractBackupStorage {
     }
 
     @Override
-    protected synchronized List<Backup> doListBackups(BuildWorld buildWorld) throws IOException {
+    protected List<Backup> doListBackups(BuildWorld buildWorld) throws IOException {
         List<Backup> backups =
                 new ArrayList<>(configService.current().world().backup().maxBackupsPerWorld());
         String backupDirectory = getBackupDirectory(buildWorld);
 
-        SftpClient sftp = getSftpClient();
-        createDirectoryIfNotExists(sftp, backupDirectory);
+        List<DirEntry> entries = pool.call(sftp -> {
+            createDirectoryIfNotExists(sftp, backupDirectory);
+            List<DirEntry> files = new ArrayList<>();
+            sftp.readDir(backupDirectory).forEach(files::add);
+            return files;
+        });
 
-        for (DirEntry file : sftp.readDir(backupDirectory)) {
-            if (!file.getFilename().endsWith(".zip")) {
+        for (DirEntry file : entries) {
+            if (!file.getAttributes().isRegularFile() || !isBackupName(file.getFilename())) {
                 continue;
             }
             Attributes attributes = file.getAttributes();
             long timestamp = Optional.ofNullable(attributes.getCreateTime())
                     .orElse(attributes.getModifyTime())
                     .toMillis();
-            backups.add(
-                    new BackupImpl(profileProvider.apply(buildWorld), timestamp, backupDirectory + file.getFilename()));
+            backups.add(new BackupImpl(
+                    profileProvider.apply(buildWorld),
+                    timestamp,
+                    backupDirectory + file.getFilename(),
+                    attributes.getSize(),
+                    null));
         }
 
         return backups;
     }
 
     @Override
-    public synchronized CompletableFuture<Backup> storeBackup(BuildWorld buildWorld) {
+    public CompletableFuture<Backup> storeBackup(BuildWorld buildWorld) {
+        if (isIncremental()) {
+            return storeIncremental(buildWorld, getBackupDirectory(buildWorld), profileProvider);
+        }
         return supply("store SFTP backup for " + buildWorld.getName(), () -> {
             long timestamp = System.currentTimeMillis();
             String backupDirectory = getBackupDirectory(buildWorld);
             String remotePath = backupDirectory + backupName(timestamp);
 
-            byte[] zipBytes = FileUtils.zipWorldToMemory(buildWorld);
-
-            SftpClient sftp = getSftpClient();
-            createDirectoryIfNotExists(sftp, backupDirectory);
-
-            try (OutputStream out = sftp.write(remotePath);
-                    BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE)) {
-                bufferedOut.write(zipBytes);
-                bufferedOut.flush();
+            pool.call(sftp -> {
+                createDirectoryIfNotExists(sftp, backupDirectory);
+                return null;
+            });
+
+            // Streamed while it is compressed; the local copy is what an interrupted upload is resumed from
+            Files.createDirectories(tmpUploadPath);
+            Path spool = tmpUploadPath.resolve(UUID.randomUUID() + ".zip");
+            Archived[] archived = new Archived[1];
+            try {
+                pool.upload(remotePath, spool, out -> {
+                    BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE);
+                    archived[0] = archiveWorld(buildWorld, bufferedOut);
+                    bufferedOut.flush();
+                });
+            } finally {
+                Files.deleteIfExists(spool);
             }
 
             logDuration(buildWorld, timestamp);
-            return new BackupImpl(profileProvider.apply(buildWorld), timestamp, remotePath);
+            return new BackupImpl(
+                    profileProvider.apply(buildWorld),
+                    timestamp,
+                    remotePath,
+                    archived[0].size(),
+                    archived[0].checksum());
         });
     }
 
     @Override
-    public synchronized CompletableFuture<File> downloadBackup(Backup backup) {
+    public CompletableFuture<File> downloadBackup(Backup backup) {
+        if (IncrementalBackups.isManifest(backup.key())) {
+            return restoreIncremental(backup, tmpDownloadPath);
+        }
         return supply("download SFTP backup " + backup.key(), () -> {
-            SftpClient sftp = getSftpClient();
             Path target = tmpDownloadPath.resolve(UUID.randomUUID() + ".zip");
 
-            try (InputStream in = sftp.read(backup.key());
-                    BufferedInputStream bufferedIn = new BufferedInputStream(in, BUFFER_SIZE);
-                    OutputStream out = Files.newOutputStream(target);
-                    BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE)) {
-                bufferedIn.transferTo(bufferedOut);
-            }
+            pool.call(sftp -> {
+                try (InputStream in = sftp.read(backup.key());
+                        BufferedInputStream bufferedIn = new BufferedInputStream(in, BUFFER_SIZE);
+                        OutputStream out = Files.newOutputStream(target);
+                        BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE)) {
+                    return bufferedIn.transferTo(bufferedOut);
+                }
+            });
 
             return target.toFile();
         });
@@ -236,36 +222,112 @@ public class SftpBackupStorage extends AbstractBackupStorage {
 
     @Override
     protected void doDeleteBackup(Backup backup) throws IOException {
-        getSftpClient().remove(backup.key());
+        pool.call(sftp -> {
+            sftp.remove(backup.key());
+            return null;
+        });
     }
 
+    /** Deletes every backup over a single session. */
     @Override
-    public void close() {
-        disconnectAll();
-        try {
-            FileUtils.deleteDirectory(tmpDownloadPath);
-        } catch (IOException e) {
-            logger.log(Level.WARNING, "Failed to delete temporary download directory", e);
-        }
+    protected void doDeleteBackups(List<Backup> backups) throws IOException {
+        pool.call(sftp -> {
+            for (Backup backup : backups) {
+                removeIfExists(sftp, backup.key());
+            }
+            return null;
+        });
     }
 
-    private void disconnectAll() {
-        closeQuietly(sftpClient);
-        sftpClient = null;
-        closeQuietly(clientSession);
-        clientSession = null;
-        closeQuietly(sshClient);
-        sshClient = null;
+    @Override
+    protected BackupObjects objects() {
+        return new BackupObjects() {
+            @Override
+            public void write(String key, byte[] data) throws IOException {
+                pool.call(sftp -> {
+                    createDirectoryIfNotExists(sftp, key.substring(0, key.lastIndexOf('/')));
+
+                    // Upload under a temporary name first, so an interrupted upload never leaves a truncated blob
+                    String partial = key + SftpSessionPool.PART_SUFFIX;
+                    try (OutputStream out = sftp.write(partial);
+                            BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE)) {
+                        bufferedOut.write(data);
+                    }
+                    sftp.rename(partial, key, SftpClient.CopyMode.Overwrite);
+                    return null;
+                });
+            }
+
+            @Override
+            public byte[] read(String key) throws IOException {
+                return pool.call(sftp -> {
+                    try (InputStream in = sftp.read(key)) {
+                        return in.readAllBytes();
+                    }
+                });
+            }
+
+            @Override
+            public void delete(String key) throws IOException {
+                pool.call(sftp -> {
+                    removeIfExists(sftp, key);
+                    return null;
+                });
+            }
+
+            @Override
+            public void deleteAll(Collection<String> keys) throws IOException {
+                pool.call(sftp -> {
+                    for (String key : keys) {
+                        removeIfExists(sftp, key);
+                    }
+                    return null;
+                });
+            }
+
+            @Override
+            public List<String> list(String directory, boolean recursive) throws IOException {
+                return pool.call(sftp -> {
+                    List<String> keys = new ArrayList<>();
+                    if (directoryExists(sftp, directory)) {
+                        collectFiles(sftp, directory, recursive, keys);
+                    }
+                    return keys;
+                });
+            }
+        };
     }
 
-    private void closeQuietly(@Nullable Closeable closeable) {
-        if (closeable == null) {
-            return;
+    private void collectFiles(SftpClient sftp, String directory, boolean recursive, List<String> keys)
+            throws IOException {
+        String prefix = directory.endsWith("/") ? directory : directory + "/";
+        for (DirEntry entry : sftp.readDir(prefix)) {
+            String name = entry.getFilename();
+            if (name.equals(".") || name.equals("..")) {
+                continue;
+            }
+            if (entry.getAttributes().isDirectory()) {
+                if (recursive) {
+                    collectFiles(sftp, prefix + name, true, keys);
+                }
+            } else {
+                keys.add(prefix + name);
+            }
         }
-        try {
-            closeable.close();
-        } catch (IOException e) {
-            logger.log(Level.WARNING, "Failed to close resource", e);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+        for (Path directory : List.of(tmpDownloadPath, tmpUploadPath)) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try {
+                FileUtils.deleteDirectory(directory);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to delete temporary directory " + directory, e);
+            }
         }
     }
 
@@ -297,6 +359,17 @@ public class SftpBackupStorage extends AbstractBackupStorage {
         sftp.mkdir(normalized);
     }
 
+    /** Missing files are skipped, so a retried batch does not fail on the files the first attempt removed. */
+    private void removeIfExists(SftpClient sftp, String path) throws IOException {
+        try {
+            sftp.remove(path);
+        } catch (SftpException e) {
+            if (e.getStatus() != SftpConstants.SSH_FX_NO_SUCH_FILE) {
+                throw e;
+            }
+        }
+    }
+
     private boolean directoryExists(SftpClient sftp, String path) {
         try {
             return sftp.stat(path).isDirectory();
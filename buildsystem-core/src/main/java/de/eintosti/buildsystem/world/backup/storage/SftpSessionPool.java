@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
+import org.apache.sshd.client.keyverifier.KnownHostsServerKeyVerifier;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.signature.BuiltinSignatures;
+import org.apache.sshd.sftp.client.SftpClient;
+import org.apache.sshd.sftp.client.SftpClient.OpenMode;
+import org.apache.sshd.sftp.client.SftpClientFactory;
+import org.apache.sshd.sftp.common.SftpConstants;
+import org.apache.sshd.sftp.common.SftpException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A bounded pool of authenticated SFTP sessions to one server, so backups of different worlds transfer at the same
+ * time instead of queueing on a single channel.
+ *
+ * <p>A session is handed out to one caller at a time. Sessions that sat idle for a while are checked with a round trip
+ * before they are reused, and those idle for longer are closed. A transport failure only discards the session it
+ * happened on; an error status returned by the server, such as a missing file, leaves the session in the pool.
+ *
+ * <p>{@link #upload} streams large files with pipelined writes, which do not wait for each write to be acknowledged,
+ * and resumes an interrupted transfer from the bytes the server already holds.
+ */
+@NullMarked
+final class SftpSessionPool implements Closeable {
+
+    static final String PART_SUFFIX = ".part";
+
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration AUTH_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration BORROW_TIMEOUT = Duration.ofMinutes(10);
+    /** Sessions idle for longer are checked with a round trip before they are handed out again. */
+    private static final long HEALTH_CHECK_AFTER_NANOS = TimeUnit.SECONDS.toNanos(30);
+    /** Sessions idle for longer are closed instead of being reused, as servers drop idle connections anyway. */
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+    /** The size of a pipelined write request; several are in flight at once. */
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RESUME_ATTEMPTS = 3;
+
+    private final Logger logger;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final Path knownHosts;
+    private final Semaphore permits;
+
+    /** Most recently used first, so the sessions kept warm are the ones in use. Guarded by {@code this}. */
+    private final Deque<Session> idle = new ArrayDeque<>();
+
+    private @Nullable SshClient client;
+    private boolean closed;
+
+    /**
+     * @param logger The logger resumed transfers and connection problems are reported to
+     * @param host The server host
+     * @param port The server port
+     * @param username The user to authenticate as
+     * @param password The user's password
+     * @param knownHosts The file server keys are recorded in on first use and verified against afterwards
+     * @param maxSessions The maximum number of sessions open at the same time
+     */
+    SftpSessionPool(
+            Logger logger,
+            String host,
+            int port,
+            String username,
+            String password,
+            Path knownHosts,
+            int maxSessions) {
+        this.logger = logger;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.knownHosts = knownHosts;
+        this.permits = new Semaphore(maxSessions, true);
+    }
+
+    /**
+     * Runs the call on a pooled session, waiting for one to become available if all are in use. If a session taken
+     * from the pool turns out to have been dropped by the server, the call is retried on the next one, or on a new
+     * session once none are left. Calls should therefore be safe to repeat.
+     *
+     * @param call The call
+     * @param <T> The result type
+     * @return The call's result
+     * @throws IOException If no session could be established or the call failed
+     */
+    <T extends @Nullable Object> T call(SftpCall<T> call) throws IOException {
+        while (true) {
+            Session session = borrow();
+            boolean healthy = false;
+            try {
+                T result = call.apply(session.sftp);
+                healthy = true;
+                return result;
+            } catch (SftpException e) {
+                healthy = true;
+                throw e;
+            } catch (IOException e) {
+                if (!session.reused) {
+                    throw e;
+                }
+                logger.log(Level.FINE, "Pooled SFTP session to " + host + " failed, retrying", e);
+            } finally {
+                release(session, healthy);
+            }
+        }
+    }
+
+    /**
+     * Uploads the content produced by {@code writer} to {@code remotePath}. The content is streamed to a temporary
+     * {@code .part} file while it is produced and copied to {@code spool} at the same time. If the transfer fails, the
+     * writer still runs to completion into the spool, and the upload is continued on a fresh session from the size of
+     * the partial file on the server. The partial file is renamed to {@code remotePath} once complete.
+     *
+     * @param remotePath The path to upload to
+     * @param spool A local file holding a copy of the content, which the caller deletes afterwards
+     * @param writer Writes the content to the given stream
+     * @throws IOException If the content cannot be produced or the upload still fails after resuming
+     */
+    void upload(String remotePath, Path spool, ContentWriter writer) throws IOException {
+        String partial = remotePath + PART_SUFFIX;
+        boolean complete = streamWhileSpooling(partial, spool, writer);
+        for (int attempt = 1; !complete; attempt++) {
+            if (attempt > MAX_RESUME_ATTEMPTS) {
+                throw new IOException(
+                        "Failed to upload " + remotePath + ", gave up after " + MAX_RESUME_ATTEMPTS + " resumes");
+            }
+            complete = resume(partial, spool);
+        }
+        call(sftp -> {
+            sftp.rename(partial, remotePath, SftpClient.CopyMode.Overwrite);
+            return null;
+        });
+    }
+
+    private boolean streamWhileSpooling(String partial, Path spool, ContentWriter writer) throws IOException {
+        Session session = borrow();
+        OutputStream remote = null;
+        try {
+            remote = session.sftp.write(
+                    partial, TRANSFER_BUFFER_SIZE, OpenMode.Write, OpenMode.Create, OpenMode.Truncate);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to open " + partial + ", writing it locally to resume from", e);
+        }
+
+        TeeOutputStream tee;
+        try (OutputStream local = new BufferedOutputStream(Files.newOutputStream(spool), TRANSFER_BUFFER_SIZE)) {
+            tee = new TeeOutputStream(local, remote, partial);
+            writer.write(tee);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(remote);
+            release(session, false);
+            throw e;
+        }
+
+        boolean complete = tee.closeRemote();
+        release(session, complete);
+        return complete;
+    }
+
+    /**
+     * Continues an interrupted upload from the size of the partial file on the server. The remaining bytes are written
+     * at explicit offsets, so they land right after the bytes the server already holds.
+     *
+     * @return Whether the partial file now holds the whole spool
+     */
+    private boolean resume(String partial, Path spool) throws IOException {
+        long length = Files.size(spool);
+        Session session;
+        try {
+            session = borrow();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to reconnect to resume the upload of " + partial, e);
+            return false;
+        }
+
+        boolean healthy = false;
+        try {
+            long offset = Math.min(remoteSize(session.sftp, partial), length);
+            logger.info("Resuming the upload of %s at %d of %d bytes".formatted(partial, offset, length));
+
+            try (InputStream in = Files.newInputStream(spool);
+                    SftpClient.CloseableHandle handle = session.sftp.open(partial, OpenMode.Write, OpenMode.Create)) {
+                in.skipNBytes(offset);
+                byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    session.sftp.write(handle, offset, buffer, 0, read);
+                    offset += read;
+                }
+            }
+            healthy = true;
+            return remoteSize(session.sftp, partial) == length;
+        } catch (IOException e) {
+            healthy = e instanceof SftpException;
+            logger.log(Level.WARNING, "Resuming the upload of " + partial + " failed", e);
+            return false;
+        } finally {
+            release(session, healthy);
+        }
+    }
+
+    private static long remoteSize(SftpClient sftp, String path) throws IOException {
+        try {
+            return sftp.stat(path).getSize();
+        } catch (SftpException e) {
+            if (e.getStatus() == SftpConstants.SSH_FX_NO_SUCH_FILE) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    private Session borrow() throws IOException {
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a free SFTP session to " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free SFTP session to " + host);
+        }
+
+        try {
+            Session session;
+            while ((session = pollIdle()) != null) {
+                if (isHealthy(session)) {
+                    session.reused = true;
+                    return session;
+                }
+                closeQuietly(session);
+            }
+            return connect();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private synchronized @Nullable Session pollIdle() throws IOException {
+        if (closed) {
+            throw new IOException("The SFTP session pool is closed");
+        }
+        return idle.pollFirst();
+    }
+
+    private boolean isHealthy(Session session) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        long idleNanos = System.nanoTime() - session.lastUsedNanos;
+        if (idleNanos > IDLE_TIMEOUT_NANOS) {
+            return false;
+        }
+        if (idleNanos < HEALTH_CHECK_AFTER_NANOS) {
+            return true;
+        }
+        try {
+            session.sftp.canonicalPath(".");
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void release(Session session, boolean healthy) {
+        try {
+            synchronized (this) {
+                if (healthy && !closed && session.isOpen()) {
+                    session.lastUsedNanos = System.nanoTime();
+                    idle.addFirst(session);
+                    return;
+                }
+            }
+            closeQuietly(session);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Session connect() throws IOException {
+        ClientSession session = client()
+                .connect(username, host, port)
+                .verify(CONNECTION_TIMEOUT.toMillis())
+                .getSession();
+        try {
+            session.addPasswordIdentity(password);
+            session.auth().verify(AUTH_TIMEOUT.toMillis());
+            return new Session(session, SftpClientFactory.instance().createSftpClient(session));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(session);
+            throw e;
+        }
+    }
+
+    private synchronized SshClient client() throws IOException {
+        if (closed) {
+            throw new IOException("The SFTP session pool is closed");
+        }
+        if (client == null) {
+            SshClient sshClient = SshClient.setUpDefaultClient();
+            sshClient.setSignatureFactories(Arrays.asList(BuiltinSignatures.rsa, BuiltinSignatures.ed25519));
+            // Trust-on-first-use: unknown hosts are accepted and recorded; a later key change is rejected,
+            // so a man-in-the-middle cannot silently impersonate a previously seen backup server.
+            sshClient.setServerKeyVerifier(
+                    new KnownHostsServerKeyVerifier(AcceptAllServerKeyVerifier.INSTANCE, knownHosts));
+            sshClient.start();
+            client = sshClient;
+        }
+        return client;
+    }
+
+    /**
+     * {@return the number of open sessions waiting to be reused}
+     */
+    synchronized int idleSessions() {
+        return idle.size();
+    }
+
+    /** Closes every idle session and the client; sessions still in use are closed when they are released. */
+    @Override
+    public void close() {
+        SshClient sshClient;
+        synchronized (this) {
+            closed = true;
+            idle.forEach(this::closeQuietly);
+            idle.clear();
+            sshClient = client;
+            client = null;
+        }
+        closeQuietly(sshClient);
+    }
+
+    private void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to close SFTP resource", e);
+        }
+    }
+
+    /**
+     * An operation on a pooled SFTP client.
+     *
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    interface SftpCall<T extends @Nullable Object> {
+
+        T apply(SftpClient sftp) throws IOException;
+    }
+
+    /** Produces the content of an {@link #upload}. */
+    @FunctionalInterface
+    interface ContentWriter {
+
+        void write(OutputStream out) throws IOException;
+    }
+
+    /** A pooled session and its SFTP channel. */
+    private static final class Session implements Closeable {
+
+        private final ClientSession session;
+        private final SftpClient sftp;
+        private long lastUsedNanos = System.nanoTime();
+        private boolean reused;
+
+        private Session(ClientSession session, SftpClient sftp) {
+            this.session = session;
+            this.sftp = sftp;
+        }
+
+        private boolean isOpen() {
+            return session.isOpen() && sftp.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                sftp.close();
+            } finally {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Writes to a local spool and, while it works, to the server. A failing server stream is dropped so the content
+     * can still be completed locally and resumed from.
+     */
+    private final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream local;
+        private final String partial;
+        private @Nullable OutputStream remote;
+
+        private TeeOutputStream(OutputStream local, @Nullable OutputStream remote, String partial) {
+            this.local = local;
+            this.remote = remote;
+            this.partial = partial;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            local.write(b, off, len);
+            OutputStream target = remote;
+            if (target == null) {
+                return;
+            }
+            try {
+                target.write(b, off, len);
+            } catch (IOException e) {
+                dropRemote(e);
+            }
+        }
+
+        /** Only flushes the spool; flushing the server stream would wait for its pending acknowledgements. */
+        @Override
+        public void flush() throws IOException {
+            local.flush();
+        }
+
+        /**
+         * Closes the server stream, which waits for every pending write to be acknowledged.
+         *
+         * @return Whether the server acknowledged the whole content
+         */
+        private boolean closeRemote() {
+            OutputStream target = remote;
+            if (target == null) {
+                return false;
+            }
+            try {
+                target.close();
+                return true;
+            } catch (IOException e) {
+                dropRemote(e);
+                return false;
+            }
+        }
+
+        private void dropRemote(IOException e) {
+            logger.log(Level.WARNING, "Uploading " + partial + " failed, finishing it locally to resume from", e);
+            closeQuietly(remote);
+            remote = null;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import de.eintosti.buildsystem.api.world.builder.Builder;
 import de.eintosti.buildsystem.api.world.builder.Builders;
 import de.eintosti.buildsystem.i18n.Messages;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.bukkit.entity.Player;
@@ -35,6 +36,8 @@ public class BuildersImpl implements Builders {
 
     private @Nullable Builder creator;
     private final Map<UUID, Builder> buildersByUuid;
+    private @Nullable Runnable modificationListener;
+    private @Nullable Consumer<UUID> roleChangeListener;
 
     public BuildersImpl(Messages messages, @Nullable Builder creator, List<Builder> builders) {
         this.messages = messages;
@@ -42,6 +45,39 @@ public class BuildersImpl implements Builders {
         this.buildersByUuid = builders.stream().collect(Collectors.toMap(Builder::getUniqueId, Function.identity()));
     }
 
+    /**
+     * Registers a listener that is notified after the creator or the builder list is modified.
+     *
+     * @param listener The listener to run after a mutation, or {@code null} to deregister
+     */
+    public void setModificationListener(@Nullable Runnable listener) {
+        this.modificationListener = listener;
+    }
+
+    /**
+     * Registers a listener that is notified with the unique id of every player who becomes or stops being the creator or
+     * a builder.
+     *
+     * @param listener The listener to notify, or {@code null} to deregister
+     */
+    public void setRoleChangeListener(@Nullable Consumer<UUID> listener) {
+        this.roleChangeListener = listener;
+    }
+
+    private void notifyRoleChanged(@Nullable Builder builder) {
+        Consumer<UUID> listener = this.roleChangeListener;
+        if (listener != null && builder != null) {
+            listener.accept(builder.getUniqueId());
+        }
+    }
+
+    private void notifyModified() {
+        Runnable listener = this.modificationListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
     @Override
     public @Nullable Builder getCreator() {
         return creator;
@@ -49,7 +85,11 @@ public class BuildersImpl implements Builders {
 
     @Override
     public void setCreator(@Nullable Builder creator) {
+        Builder previous = this.creator;
         this.creator = creator;
+        notifyRoleChanged(previous);
+        notifyRoleChanged(creator);
+        notifyModified();
     }
 
     @Override
@@ -91,6 +131,8 @@ public class BuildersImpl implements Builders {
     @Override
     public void addBuilder(Builder builder) {
         buildersByUuid.put(builder.getUniqueId(), builder);
+        notifyRoleChanged(builder);
+        notifyModified();
     }
 
     @Override
@@ -100,7 +142,11 @@ public class BuildersImpl implements Builders {
 
     @Override
     public void removeBuilder(UUID uuid) {
-        buildersByUuid.remove(uuid);
+        Builder removed = buildersByUuid.remove(uuid);
+        if (removed != null) {
+            notifyRoleChanged(removed);
+            notifyModified();
+        }
     }
 
     @Override
@@ -101,6 +101,7 @@ abstract class AbstractWorldCreator {
 
         newBuildWorld.getData().set(WorldDataKey.LAST_LOADED, System.currentTimeMillis());
         worldStorage.addBuildWorld(newBuildWorld);
+        worldStorage.markDirty(newBuildWorld);
         Bukkit.getServer().getPluginManager().callEvent(new BuildWorldPostCreateEvent(newBuildWorld, isImport()));
         return newBuildWorld;
     }
@@ -28,8 +28,11 @@ import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.StringCleaner;
 import de.eintosti.buildsystem.world.WorldContext;
+import de.eintosti.buildsystem.world.WorldFileSystem;
 import java.io.File;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import org.bukkit.ChatColor;
 import org.bukkit.Difficulty;
 import org.bukkit.entity.Player;
@@ -42,11 +45,18 @@ public class WorldBuilderImpl extends AbstractWorldCreator implements WorldBuild
 
     private static final String TEMPLATES_DIRECTORY = "templates";
 
+    private final WorldFileSystem fileSystem;
     private final File dataFolder;
     private @Nullable String template = null;
 
-    public WorldBuilderImpl(WorldContext context, WorldStorageImpl worldStorage, File dataFolder, String worldName) {
+    public WorldBuilderImpl(
+            WorldContext context,
+            WorldStorageImpl worldStorage,
+            WorldFileSystem fileSystem,
+            File dataFolder,
+            String worldName) {
         super(context, worldStorage, worldName, BuildWorldType.NORMAL);
+        this.fileSystem = fileSystem;
         this.dataFolder = dataFolder;
     }
 
@@ -193,7 +203,16 @@ public class WorldBuilderImpl extends AbstractWorldCreator implements WorldBuild
                 "worlds_template_creation_started", Map.entry("%world%", worldName), Map.entry("%template%", template));
 
         File worldFile = FileUtils.worldFolder(worldName);
-        FileUtils.copy(templateFile, worldFile);
+        try {
+            fileSystem.copy(templateFile.toPath(), worldFile.toPath()).join();
+        } catch (CompletionException e) {
+            context.logger()
+                    .log(
+                            Level.SEVERE,
+                            "Failed to copy template '" + template + "' to world " + worldName,
+                            e.getCause());
+            return false;
+        }
 
         buildWorld = createAndRegisterBuildWorld();
         generateBukkitWorld(true);
@@ -23,12 +23,15 @@ import de.eintosti.buildsystem.api.world.data.Visibility;
 import de.eintosti.buildsystem.api.world.data.WorldData;
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.world.data.type.BooleanProperty;
 import de.eintosti.buildsystem.world.data.type.Bypassable;
 import de.eintosti.buildsystem.world.data.type.ConfigurableProperty;
+import de.eintosti.buildsystem.world.data.type.LongProperty;
 import de.eintosti.buildsystem.world.data.type.Overridable;
 import de.eintosti.buildsystem.world.data.type.PersistentProperty;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiConsumer;
@@ -64,10 +67,12 @@ public class WorldDataImpl implements WorldData {
     /** Sentinel for the {@code last-*} timestamps meaning "never". */
     public static final long DEFAULT_TIMESTAMP = -1L;
 
-    private final Map<String, PersistentProperty<?>> data = new HashMap<>();
+    /** The properties indexed by {@link WorldDataKey#ordinal()}. */
+    private final PersistentProperty<?>[] data = new PersistentProperty<?>[WorldDataKey.values().size()];
 
     private String worldName;
     private @Nullable Supplier<@Nullable Folder> folderResolver;
+    private @Nullable Runnable modificationListener;
 
     private WorldDataImpl(WorldDataBuilder builder) {
         this.worldName = builder.worldName;
@@ -102,19 +107,19 @@ public class WorldDataImpl implements WorldData {
         register(WorldDataKey.BLOCK_BREAKING, settingsBypassable(builder.blockBreaking));
         register(WorldDataKey.BLOCK_INTERACTIONS, settingsBypassable(builder.blockInteractions));
         register(WorldDataKey.BLOCK_PLACEMENT, settingsBypassable(builder.blockPlacement));
-        register(WorldDataKey.BUILDERS_ENABLED, new ConfigurableProperty<>(builder.buildersEnabled));
-        register(WorldDataKey.EXPLOSIONS, new ConfigurableProperty<>(builder.explosions));
-        register(WorldDataKey.MOB_AI, new ConfigurableProperty<>(builder.mobAi));
-        register(WorldDataKey.PHYSICS, new ConfigurableProperty<>(builder.physics));
-        register(WorldDataKey.PINNED, new ConfigurableProperty<>(builder.pinned));
+        register(WorldDataKey.BUILDERS_ENABLED, new BooleanProperty(builder.buildersEnabled));
+        register(WorldDataKey.EXPLOSIONS, new BooleanProperty(builder.explosions));
+        register(WorldDataKey.MOB_AI, new BooleanProperty(builder.mobAi));
+        register(WorldDataKey.PHYSICS, new BooleanProperty(builder.physics));
+        register(WorldDataKey.PINNED, new BooleanProperty(builder.pinned));
         register(
                 WorldDataKey.VISIBILITY,
                 new ConfigurableProperty<>(builder.visibility).withConfigFormatter(Visibility::name));
 
         register(WorldDataKey.TIME_SINCE_BACKUP, new ConfigurableProperty<>(builder.timeSinceBackup));
-        register(WorldDataKey.LAST_EDITED, new ConfigurableProperty<>(builder.lastEdited));
-        register(WorldDataKey.LAST_LOADED, new ConfigurableProperty<>(builder.lastLoaded));
-        register(WorldDataKey.LAST_UNLOADED, new ConfigurableProperty<>(builder.lastUnloaded));
+        register(WorldDataKey.LAST_EDITED, new LongProperty(builder.lastEdited));
+        register(WorldDataKey.LAST_LOADED, new LongProperty(builder.lastLoaded));
+        register(WorldDataKey.LAST_UNLOADED, new LongProperty(builder.lastUnloaded));
     }
 
     public void setFolderResolver(Supplier<@Nullable Folder> resolver) {
@@ -126,28 +131,51 @@ public class WorldDataImpl implements WorldData {
         ((ConfigurableProperty<BuildWorldStatus>) property(WorldDataKey.STATUS)).setChangeListener(listener);
     }
 
+    /**
+     * Registers a listener that is notified whenever the {@link WorldDataKey#PHYSICS}, {@link WorldDataKey#EXPLOSIONS}
+     * or {@link WorldDataKey#MOB_AI} setting changes, the settings the event listeners' world policies are built from.
+     *
+     * @param listener The listener to run after a change, or {@code null} to deregister
+     */
+    public void setPolicyChangeListener(@Nullable Runnable listener) {
+        BiConsumer<Boolean, Boolean> changeListener = listener != null ? (oldValue, newValue) -> listener.run() : null;
+        for (WorldDataKey<Boolean> key : List.of(WorldDataKey.PHYSICS, WorldDataKey.EXPLOSIONS, WorldDataKey.MOB_AI)) {
+            ((BooleanProperty) property(key)).setChangeListener(changeListener);
+        }
+    }
+
+    /**
+     * Registers a listener that is notified after every {@link #set} on this data that changes a value. The world
+     * storage uses it to mark the owning world dirty so only modified worlds are re-persisted.
+     *
+     * @param listener The listener to run after a write, or {@code null} to deregister
+     */
+    public void setModificationListener(@Nullable Runnable listener) {
+        this.modificationListener = listener;
+    }
+
     private @Nullable Folder getAssignedFolder() {
         Supplier<@Nullable Folder> resolver = this.folderResolver;
         return resolver != null ? resolver.get() : null;
     }
 
-    private void register(WorldDataKey<?> key, ConfigurableProperty<?> property) {
-        this.data.put(key.id(), property);
+    private void register(WorldDataKey<?> key, PersistentProperty<?> property) {
+        this.data[key.ordinal()] = property;
     }
 
     private PersistentProperty<?> property(WorldDataKey<?> key) {
-        PersistentProperty<?> property = this.data.get(key.id());
-        if (property == null) {
+        int ordinal = key.ordinal();
+        if (ordinal < 0) {
             throw new IllegalArgumentException("Unknown world data key: " + key.id());
         }
-        return property;
+        return this.data[ordinal];
     }
 
     /**
      * Builds a boolean setting property that may be bypassed with the {@code buildsystem.bypass.settings} permission.
      */
-    private static ConfigurableProperty<Boolean> settingsBypassable(boolean defaultValue) {
-        return new ConfigurableProperty<>(defaultValue)
+    private static BooleanProperty settingsBypassable(boolean defaultValue) {
+        return new BooleanProperty(defaultValue)
                 .withCapability(Bypassable.class, new Bypassable("buildsystem.bypass.settings"));
     }
 
@@ -167,10 +195,45 @@ public class WorldDataImpl implements WorldData {
         return key.type().cast(property(key).get());
     }
 
+    @Override
+    public boolean getBoolean(WorldDataKey<Boolean> key) {
+        return property(key) instanceof BooleanProperty booleanProperty ? booleanProperty.getBoolean() : get(key);
+    }
+
+    @Override
+    public long getLong(WorldDataKey<Long> key) {
+        return property(key) instanceof LongProperty longProperty ? longProperty.getLong() : get(key);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> void set(WorldDataKey<T> key, T value) {
-        ((PersistentProperty<T>) property(key)).set(value);
+        if (((PersistentProperty<T>) property(key)).update(value)) {
+            notifyModified();
+        }
+    }
+
+    /**
+     * Writes a timestamp without boxing it.
+     *
+     * @param key The setting to write
+     * @param value The new value
+     */
+    public void setLong(WorldDataKey<Long> key, long value) {
+        if (property(key) instanceof LongProperty longProperty) {
+            if (longProperty.setLong(value)) {
+                notifyModified();
+            }
+        } else {
+            set(key, value);
+        }
+    }
+
+    private void notifyModified() {
+        Runnable listener = this.modificationListener;
+        if (listener != null) {
+            listener.run();
+        }
     }
 
     @Override
@@ -182,8 +245,16 @@ public class WorldDataImpl implements WorldData {
         this.worldName = worldName;
     }
 
+    /**
+     * {@return every property keyed by its {@link WorldDataKey#id() id}, in {@link WorldDataKey#values()} order} The
+     * map is built on each call, for serialization.
+     */
     public Map<String, PersistentProperty<?>> getAllData() {
-        return Collections.unmodifiableMap(data);
+        Map<String, PersistentProperty<?>> allData = new LinkedHashMap<>();
+        for (WorldDataKey<?> key : WorldDataKey.values()) {
+            allData.put(key.id(), this.data[key.ordinal()]);
+        }
+        return Collections.unmodifiableMap(allData);
     }
 
     public static class WorldDataBuilder {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.data.type;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The {@link Capability capabilities} and change listener shared by the {@link PersistentProperty} implementations.
+ * Most properties have no capability, so the capability map is only allocated once the first one is attached.
+ *
+ * @param <T> The type of the value held
+ */
+@NullMarked
+public abstract class AbstractProperty<T> implements PersistentProperty<T> {
+
+    private Map<Class<? extends Capability>, Capability> capabilities = Map.of();
+    private @Nullable BiConsumer<T, T> changeListener;
+
+    /**
+     * Attaches a new capability to this property.
+     *
+     * @param capabilityType The class of the capability
+     * @param capabilityInstance The instance of the capability
+     */
+    protected <C extends Capability> void addCapability(Class<C> capabilityType, C capabilityInstance) {
+        if (this.capabilities.isEmpty()) {
+            this.capabilities = new HashMap<>(2);
+        }
+        this.capabilities.put(capabilityType, capabilityInstance);
+    }
+
+    /**
+     * Checks if this property has a specific capability.
+     *
+     * @param capability The class of the capability
+     * @return {@code true} if the capability is present, {@code false} otherwise
+     */
+    public boolean hasCapability(Class<? extends Capability> capability) {
+        return this.capabilities.containsKey(capability);
+    }
+
+    /**
+     * Gets the capability instance if it exists.
+     *
+     * @param clazz The class of the capability
+     * @return An optional containing the capability, or empty
+     */
+    public <C extends Capability> Optional<C> getCapability(Class<C> clazz) {
+        return Optional.ofNullable(this.capabilities.get(clazz)).map(clazz::cast);
+    }
+
+    /**
+     * Registers a listener that is notified whenever {@link #set(Object)} changes this property's base value.
+     *
+     * @param changeListener A consumer receiving {@code (oldValue, newValue)}, or {@code null} to deregister
+     */
+    public void setChangeListener(@Nullable BiConsumer<T, T> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * {@return whether a change listener is registered} Lets implementations holding unboxed values skip boxing them
+     * when nobody listens.
+     */
+    protected boolean hasChangeListener() {
+        return this.changeListener != null;
+    }
+
+    /**
+     * Notifies the registered change listener, if any, that the base value changed.
+     *
+     * @param oldValue The previous value
+     * @param newValue The new value
+     */
+    protected void notifyChange(T oldValue, T newValue) {
+        BiConsumer<T, T> listener = this.changeListener;
+        if (listener != null) {
+            listener.accept(oldValue, newValue);
+        }
+    }
+}
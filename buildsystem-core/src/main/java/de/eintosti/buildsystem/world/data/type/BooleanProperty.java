@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.data.type;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A boolean {@link PersistentProperty} holding its value unboxed, for the world's on/off settings.
+ */
+@NullMarked
+public final class BooleanProperty extends AbstractProperty<Boolean> {
+
+    private boolean value;
+
+    /**
+     * Creates a boolean property.
+     */
+    public BooleanProperty(boolean defaultValue) {
+        this.value = defaultValue;
+    }
+
+    /**
+     * Attaches a new capability to this property.
+     *
+     * @param capabilityType The class of the capability
+     * @param capabilityInstance The instance of the capability
+     * @return This object, for fluent chaining
+     */
+    public <C extends Capability> BooleanProperty withCapability(Class<C> capabilityType, C capabilityInstance) {
+        addCapability(capabilityType, capabilityInstance);
+        return this;
+    }
+
+    public boolean getBoolean() {
+        return this.value;
+    }
+
+    /**
+     * Sets the value, notifying the change listener if it changed.
+     *
+     * @param value The new value
+     * @return {@code true} if the value changed
+     */
+    public boolean setBoolean(boolean value) {
+        boolean oldValue = this.value;
+        this.value = value;
+        if (oldValue == value) {
+            return false;
+        }
+        notifyChange(oldValue, value);
+        return true;
+    }
+
+    @Override
+    public Boolean get() {
+        return this.value;
+    }
+
+    @Override
+    public void set(Boolean value) {
+        setBoolean(value);
+    }
+
+    @Override
+    public boolean update(Boolean value) {
+        return setBoolean(value);
+    }
+
+    @Override
+    public Object getConfigFormat() {
+        return this.value;
+    }
+}
@@ -17,10 +17,7 @@
  */
 package de.eintosti.buildsystem.world.data.type;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import org.jspecify.annotations.NullMarked;
@@ -32,13 +29,12 @@ import org.jspecify.annotations.Nullable;
  * @param <T> The type of the value held.
  */
 @NullMarked
-public class ConfigurableProperty<T> implements PersistentProperty<T> {
+public class ConfigurableProperty<T> extends AbstractProperty<T> {
 
     private T value;
     private Function<T, Object> configFormatter = (value) -> (Object) value;
-    private @Nullable BiConsumer<T, T> changeListener;
-
-    private final Map<Class<? extends Capability>, Capability> capabilities = new HashMap<>();
+    /** The {@link Overridable} capability, if attached, kept apart so {@link #get()} needs no capability lookup. */
+    private @Nullable Overridable<T> overridable;
 
     /**
      * Creates a simple property.
@@ -65,54 +61,31 @@ public class ConfigurableProperty<T> implements PersistentProperty<T> {
      * @param capabilityInstance The instance of the capability
      * @return This object, for fluent chaining
      */
+    @SuppressWarnings("unchecked")
     public <C extends Capability> ConfigurableProperty<T> withCapability(
             Class<C> capabilityType, C capabilityInstance) {
-        this.capabilities.put(capabilityType, capabilityInstance);
+        addCapability(capabilityType, capabilityInstance);
+        if (capabilityInstance instanceof Overridable<?> override) {
+            this.overridable = (Overridable<T>) override;
+        }
         return this;
     }
 
-    /**
-     * Checks if this property has a specific capability.
-     *
-     * @param capability The class of the capability
-     * @return {@code true} if the capability is present, {@code false} otherwise
-     */
-    public boolean hasCapability(Class<? extends Capability> capability) {
-        return this.capabilities.containsKey(capability);
-    }
-
-    /**
-     * Gets the capability instance if it exists.
-     *
-     * @param clazz The class of the capability
-     * @return An optional containing the capability, or empty
-     */
-    public <C extends Capability> Optional<C> getCapability(Class<C> clazz) {
-        return Optional.ofNullable(this.capabilities.get(clazz)).map(clazz::cast);
-    }
-
     /**
      * Gets the effective value for this property, taking into account any active {@link Overridable} capability.
      *
      * @return The current value
      */
     @Override
-    @SuppressWarnings({"unchecked"})
     public T get() {
-        return getCapability(Overridable.class)
-                .map(raw -> (Overridable<T>) raw)
-                .filter(overridable -> overridable.isEnabled().getAsBoolean())
-                .map(overridable -> overridable.provider().get())
-                .orElse(this.value);
-    }
-
-    /**
-     * Registers a listener that is notified whenever {@link #set(Object)} changes this property's base value.
-     *
-     * @param changeListener A consumer receiving {@code (oldValue, newValue)}, or {@code null} to deregister
-     */
-    public void setChangeListener(@Nullable BiConsumer<T, T> changeListener) {
-        this.changeListener = changeListener;
+        Overridable<T> override = this.overridable;
+        if (override != null && override.isEnabled().getAsBoolean()) {
+            T overridden = override.provider().get();
+            if (overridden != null) {
+                return overridden;
+            }
+        }
+        return this.value;
     }
 
     /**
@@ -128,12 +101,18 @@ public class ConfigurableProperty<T> implements PersistentProperty<T> {
      */
     @Override
     public void set(T value) {
+        update(value);
+    }
+
+    @Override
+    public boolean update(T value) {
         T oldValue = this.value;
         this.value = value;
-        BiConsumer<T, T> listener = this.changeListener;
-        if (listener != null && !Objects.equals(oldValue, value)) {
-            listener.accept(oldValue, value);
+        if (Objects.equals(oldValue, value)) {
+            return false;
         }
+        notifyChange(oldValue, value);
+        return true;
     }
 
     @Override
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.data.type;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@code long} {@link PersistentProperty} holding its value unboxed, for the world's timestamps.
+ */
+@NullMarked
+public final class LongProperty extends AbstractProperty<Long> {
+
+    private long value;
+
+    /**
+     * Creates a long property.
+     */
+    public LongProperty(long defaultValue) {
+        this.value = defaultValue;
+    }
+
+    public long getLong() {
+        return this.value;
+    }
+
+    /**
+     * Sets the value, notifying the change listener if it changed.
+     *
+     * @param value The new value
+     * @return {@code true} if the value changed
+     */
+    public boolean setLong(long value) {
+        long oldValue = this.value;
+        this.value = value;
+        if (oldValue == value) {
+            return false;
+        }
+        if (hasChangeListener()) {
+            notifyChange(oldValue, value);
+        }
+        return true;
+    }
+
+    @Override
+    public Long get() {
+        return this.value;
+    }
+
+    @Override
+    public void set(Long value) {
+        setLong(value);
+    }
+
+    @Override
+    public boolean update(Long value) {
+        return setLong(value);
+    }
+
+    @Override
+    public Object getConfigFormat() {
+        return this.value;
+    }
+}
@@ -34,4 +34,12 @@ public interface PersistentProperty<T> extends Property<T> {
      * @return The value formatted for a config file
      */
     Object getConfigFormat();
+
+    /**
+     * Sets the base value of this property, like {@link #set(Object)}.
+     *
+     * @param value The new base value
+     * @return {@code true} if the base value changed, {@code false} if it already held an equal value
+     */
+    boolean update(T value);
 }
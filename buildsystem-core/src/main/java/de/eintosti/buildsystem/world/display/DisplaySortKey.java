@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.display;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.api.world.display.Displayable;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.WorldSort;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The precomputed position of a {@link Displayable} under one {@link WorldSort}: the priority tiers it belongs to and
+ * the value it is sorted by, lower-cased once when the key is built. Comparing two keys neither allocates nor reads
+ * world data, unlike the {@link WorldSort#getComparator() comparators} that derive the sort value on every comparison.
+ *
+ * <p>{@link #comparator(WorldSort)} floats the {@link #PRIORITIES priority tiers} to the top, then orders each tier
+ * like {@link WorldSort#getComparator()}, and breaks the remaining ties by name and unique id, so that distinct
+ * displayables never compare as equal and keys can live in sorted sets. The switches over {@link WorldSort} are
+ * exhaustive, so a new sort order does not compile until it is given a sort value here.
+ */
+@NullMarked
+public final class DisplaySortKey {
+
+    // Each predicate floats a tier of displayables to the top, applied in order before the user-selected sort.
+    // To add a future criterion (e.g. favorites), add one entry here.
+    private static final List<Predicate<Displayable>> PRIORITIES = List.of(DisplaySortKey::isPinned);
+
+    private static final Map<WorldSort, Comparator<DisplaySortKey>> COMPARATORS = new EnumMap<>(WorldSort.class);
+
+    static {
+        Comparator<DisplaySortKey> byText = Comparator.comparing(key -> Objects.requireNonNull(key.text));
+        Comparator<DisplaySortKey> byNumber = Comparator.comparingLong(key -> key.number);
+        for (WorldSort sort : WorldSort.values()) {
+            Comparator<DisplaySortKey> byValue =
+                    switch (sort) {
+                        case NAME_A_TO_Z, PROJECT_A_TO_Z -> byText;
+                        case NAME_Z_TO_A, PROJECT_Z_TO_A -> byText.reversed();
+                        case STATUS_NOT_STARTED, OLDEST_FIRST -> byNumber;
+                        case STATUS_FINISHED, NEWEST_FIRST -> byNumber.reversed();
+                    };
+            COMPARATORS.put(
+                    sort,
+                    Comparator.<DisplaySortKey>comparingInt(key -> key.tiers)
+                            .reversed()
+                            .thenComparing(byValue)
+                            .thenComparing(key -> key.name)
+                            .thenComparing(
+                                    key -> key.displayable.getUniqueId(),
+                                    Comparator.nullsFirst(Comparator.naturalOrder())));
+        }
+    }
+
+    private final Displayable displayable;
+    private final WorldSort sort;
+    /** One bit per {@link #PRIORITIES priority}, the first priority in the highest bit. */
+    private final int tiers;
+    private final String name;
+    /** The unmodified name or project, to tell whether the key is still current without lower-casing again. */
+    private final @Nullable String raw;
+
+    private final @Nullable String text;
+    private final long number;
+
+    private DisplaySortKey(
+            Displayable displayable, WorldSort sort, int tiers, @Nullable String raw, long number) {
+        this.displayable = displayable;
+        this.sort = sort;
+        this.tiers = tiers;
+        this.name = displayable.getName();
+        this.raw = raw;
+        this.text = raw != null ? raw.toLowerCase(Locale.ROOT) : null;
+        this.number = number;
+    }
+
+    /**
+     * Computes the sort key of a displayable under the given sort.
+     *
+     * @param displayable The world or folder
+     * @param sort The sort order
+     * @return The key
+     */
+    public static DisplaySortKey of(Displayable displayable, WorldSort sort) {
+        int tiers = tiers(displayable);
+        return switch (sort) {
+            case NAME_A_TO_Z, NAME_Z_TO_A -> new DisplaySortKey(displayable, sort, tiers, displayable.getName(), 0);
+            case PROJECT_A_TO_Z, PROJECT_Z_TO_A ->
+                new DisplaySortKey(displayable, sort, tiers, project(displayable), 0);
+            case STATUS_NOT_STARTED, STATUS_FINISHED ->
+                new DisplaySortKey(displayable, sort, tiers, null, statusOrder(displayable));
+            case OLDEST_FIRST, NEWEST_FIRST ->
+                new DisplaySortKey(displayable, sort, tiers, null, displayable.getCreation());
+        };
+    }
+
+    /**
+     * {@return the key order for the given sort}
+     *
+     * @param sort The sort order
+     */
+    public static Comparator<DisplaySortKey> comparator(WorldSort sort) {
+        return COMPARATORS.get(sort);
+    }
+
+    /**
+     * Sorts displayables by {@link #comparator(WorldSort)}, computing every sort value once per displayable instead of
+     * twice per comparison.
+     *
+     * @param displayables The displayables to sort
+     * @param sort The sort order
+     * @return The keys of the displayables, in order
+     */
+    public static List<DisplaySortKey> sort(Collection<? extends Displayable> displayables, WorldSort sort) {
+        List<DisplaySortKey> keys = new ArrayList<>(displayables.size());
+        for (Displayable displayable : displayables) {
+            keys.add(of(displayable, sort));
+        }
+        keys.sort(comparator(sort));
+        return keys;
+    }
+
+    private static int tiers(Displayable displayable) {
+        int tiers = 0;
+        for (Predicate<Displayable> priority : PRIORITIES) {
+            tiers = tiers << 1 | (priority.test(displayable) ? 1 : 0);
+        }
+        return tiers;
+    }
+
+    private static boolean isPinned(Displayable displayable) {
+        return displayable instanceof BuildWorld world && world.getData().get(WorldDataKey.PINNED);
+    }
+
+    private static String project(Displayable displayable) {
+        return switch (displayable) {
+            case BuildWorld world -> world.getData().get(WorldDataKey.PROJECT);
+            case Folder folder -> folder.getProject();
+            default -> "";
+        };
+    }
+
+    private static int statusOrder(Displayable displayable) {
+        if (displayable instanceof BuildWorld buildWorld) {
+            return buildWorld.getData().get(WorldDataKey.STATUS).getOrder();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    public Displayable displayable() {
+        return displayable;
+    }
+
+    /**
+     * {@return whether the key still matches the displayable} Compares the current values against the ones the key
+     * was built from, without allocating, so callers can cheaply skip re-keying after an unrelated change.
+     */
+    public boolean isCurrent() {
+        if (tiers(displayable) != tiers || !displayable.getName().equals(name)) {
+            return false;
+        }
+        return switch (sort) {
+            case NAME_A_TO_Z, NAME_Z_TO_A -> true;
+            case PROJECT_A_TO_Z, PROJECT_Z_TO_A -> project(displayable).equals(raw);
+            case STATUS_NOT_STARTED, STATUS_FINISHED -> statusOrder(displayable) == number;
+            case OLDEST_FIRST, NEWEST_FIRST -> displayable.getCreation() == number;
+        };
+    }
+}
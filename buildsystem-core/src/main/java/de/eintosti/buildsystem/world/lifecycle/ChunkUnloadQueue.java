@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.lifecycle;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+import org.bukkit.Chunk;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The chunks of a world that is being unloaded over several ticks. Every tick, chunks are saved and unloaded until the
+ * time budget is spent, so a large world no longer stalls a single tick while all of its chunks are written.
+ */
+@NullMarked
+final class ChunkUnloadQueue {
+
+    private final Deque<Chunk> chunks;
+    private final long budgetNanos;
+    private final LongSupplier clock;
+
+    ChunkUnloadQueue(Chunk[] chunks, long budgetNanos) {
+        this(chunks, budgetNanos, System::nanoTime);
+    }
+
+    ChunkUnloadQueue(Chunk[] chunks, long budgetNanos, LongSupplier clock) {
+        this.chunks = new ArrayDeque<>(Arrays.asList(chunks));
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Saves and unloads chunks until the budget is spent. At least one chunk is unloaded per call, so the unload makes
+     * progress even when a single chunk takes longer than the whole budget.
+     *
+     * @return Whether every chunk has been handled
+     */
+    boolean unloadNext() {
+        long deadline = clock.getAsLong() + budgetNanos;
+        do {
+            Chunk chunk = chunks.pollFirst();
+            if (chunk == null) {
+                return true;
+            }
+            // A chunk kept loaded by a ticket refuses to unload; it is saved with the world instead
+            if (chunk.isLoaded()) {
+                chunk.unload(true);
+            }
+        } while (clock.getAsLong() < deadline);
+        return chunks.isEmpty();
+    }
+}
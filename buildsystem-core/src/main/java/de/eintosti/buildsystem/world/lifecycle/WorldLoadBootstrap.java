@@ -24,23 +24,32 @@ import de.eintosti.buildsystem.api.world.display.Folder;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.storage.FolderStorageImpl;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.util.PhaseTimer;
 import de.eintosti.buildsystem.world.creation.BukkitWorldFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.jspecify.annotations.NullMarked;
 
 /**
  * Loads persisted {@link BuildWorld}s at startup, assigns them to their {@link Folder}s and pre-loads the Bukkit worlds
  * that must always be available.
+ *
+ * <p>Reading and decoding happen off the main thread inside the storage. The decoded worlds are then published to the
+ * storage in bounded batches across ticks, and the folders and pre-loads only run once every world is published. The
+ * final log line breaks the load down by phase.
  */
 @NullMarked
 public class WorldLoadBootstrap {
 
+    /** The most worlds added to the storage per tick while publishing a load. */
+    private static final int PUBLISH_BATCH_SIZE = 250;
+
     private final BuildSystemPlugin plugin;
     private final FolderStorageImpl folderStorage;
     private final WorldStorageImpl worldStorage;
@@ -58,34 +67,71 @@ public class WorldLoadBootstrap {
     }
 
     public void loadWorlds() {
+        long start = System.nanoTime();
         this.worldStorage
                 .load()
-                .thenAccept(worlds -> Bukkit.getScheduler().runTask(plugin, () -> {
-                    worlds.forEach(worldStorage::addBuildWorld);
-                    assignWorldsToFolders();
-
-                    boolean loadAllWorlds =
-                            !configService.current().world().unload().enabled();
-                    if (loadAllWorlds) {
-                        plugin.getLogger().info("*** All worlds will be loaded now ***");
-                    }
-
-                    List<BuildWorld> notLoaded = new ArrayList<>();
-                    worldStorage.getBuildWorlds().forEach(buildWorld -> {
-                        if (preLoadWorld(buildWorld, loadAllWorlds) == LoadResult.FAILED) {
-                            notLoaded.add(buildWorld);
-                        }
-                    });
-                    notLoaded.forEach(worldStorage::removeBuildWorld);
-
-                    plugin.getLogger().info("Loaded " + worlds.size() + " worlds from storage");
-                }))
+                .thenAccept(worlds -> publishInBatches(List.copyOf(worlds), start))
                 .exceptionally(throwable -> {
                     plugin.getLogger().log(Level.SEVERE, "Failed to load worlds from storage", throwable);
                     return null;
                 });
     }
 
+    /**
+     * Adds the decoded worlds to the storage at most {@value #PUBLISH_BATCH_SIZE} per tick, so a large world list does
+     * not stall a single tick, then finishes the load once every world is published.
+     */
+    private void publishInBatches(List<BuildWorld> worlds, long start) {
+        PhaseTimer timer = worldStorage.getLoadTimer();
+        new BukkitRunnable() {
+            private int published = 0;
+            private int ticks = 0;
+
+            @Override
+            public void run() {
+                long batchStart = System.nanoTime();
+                int end = Math.min(published + PUBLISH_BATCH_SIZE, worlds.size());
+                worlds.subList(published, end).forEach(worldStorage::addBuildWorld);
+                published = end;
+                ticks++;
+                timer.record("publish", batchStart);
+
+                if (published >= worlds.size()) {
+                    this.cancel();
+                    finishLoad(worlds.size(), start, ticks);
+                }
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    private void finishLoad(int loadedCount, long start, int publishTicks) {
+        PhaseTimer timer = worldStorage.getLoadTimer();
+
+        long foldersStart = System.nanoTime();
+        assignWorldsToFolders();
+        timer.record("folders", foldersStart);
+
+        boolean loadAllWorlds = !configService.current().world().unload().enabled();
+        if (loadAllWorlds) {
+            plugin.getLogger().info("*** All worlds will be loaded now ***");
+        }
+
+        long preloadStart = System.nanoTime();
+        List<BuildWorld> notLoaded = new ArrayList<>();
+        worldStorage.getBuildWorlds().forEach(buildWorld -> {
+            if (preLoadWorld(buildWorld, loadAllWorlds) == LoadResult.FAILED) {
+                notLoaded.add(buildWorld);
+            }
+        });
+        notLoaded.forEach(worldStorage::removeBuildWorld);
+        timer.record("preload", preloadStart);
+
+        plugin.getLogger()
+                .info("Loaded " + loadedCount + " worlds from storage in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms (" + timer.summary()
+                        + "; published over " + publishTicks + " ticks)");
+    }
+
     /**
      * Assigns all {@link BuildWorld}s to their respective {@link Folder}s, dropping references to worlds that no longer
      * exist.
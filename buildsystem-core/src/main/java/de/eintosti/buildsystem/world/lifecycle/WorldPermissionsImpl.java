@@ -24,6 +24,7 @@ import de.eintosti.buildsystem.api.world.access.WorldSetting;
 import de.eintosti.buildsystem.api.world.builder.Builders;
 import de.eintosti.buildsystem.api.world.data.WorldData;
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.player.PermissionCache;
 import de.eintosti.buildsystem.world.WorldContext;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
@@ -67,7 +68,7 @@ public class WorldPermissionsImpl implements WorldPermissions {
             return true;
         }
 
-        return player.hasPermission(permission);
+        return hasPermission(player, permission);
     }
 
     @Override
@@ -90,12 +91,12 @@ public class WorldPermissionsImpl implements WorldPermissions {
         }
 
         if (!buildWorld.getData().get(WorldDataKey.STATUS).isBuildingAllowed()
-                && !player.hasPermission("buildsystem.bypass.archive")) {
+                && !hasPermission(player, "buildsystem.bypass.archive")) {
             return false;
         }
 
         if (setting != null) {
-            if (player.hasPermission(setting.getBypassPermission())) {
+            if (hasPermission(player, setting.getBypassPermission())) {
                 return true;
             }
             if (!setting.isEnabled(buildWorld.getData())) {
@@ -106,7 +107,7 @@ public class WorldPermissionsImpl implements WorldPermissions {
         Builders builders = buildWorld.getBuilders();
         return builders.isCreator(player)
                 || builders.isBuilder(player)
-                || player.hasPermission("buildsystem.bypass.builders")
+                || hasPermission(player, "buildsystem.bypass.builders")
                 || !buildWorld.getData().get(WorldDataKey.BUILDERS_ENABLED);
     }
 
@@ -128,15 +129,15 @@ public class WorldPermissionsImpl implements WorldPermissions {
         }
 
         if (buildWorld.getBuilders().isCreator(player)) {
-            return (player.hasPermission(permission + ".self") || player.hasPermission(permission));
+            return (hasPermission(player, permission + ".self") || hasPermission(player, permission));
         }
 
-        return player.hasPermission(permission + ".other");
+        return hasPermission(player, permission + ".other");
     }
 
     @Override
     public boolean hasAdminPermission(Player player) {
-        return player.hasPermission(BuildSystemPlugin.ADMIN_PERMISSION);
+        return hasPermission(player, BuildSystemPlugin.ADMIN_PERMISSION);
     }
 
     @Override
@@ -147,16 +148,28 @@ public class WorldPermissionsImpl implements WorldPermissions {
 
         WorldData worldData = buildWorld.getData();
         if (!worldData.get(WorldDataKey.STATUS).isBuildingAllowed()) {
-            return player.hasPermission("buildsystem.bypass.permission.archive");
+            return hasPermission(player, "buildsystem.bypass.permission.archive");
         }
 
         return worldData.get(WorldDataKey.VISIBILITY).isPrivate()
-                ? player.hasPermission("buildsystem.bypass.permission.private")
-                : player.hasPermission("buildsystem.bypass.permission.public");
+                ? hasPermission(player, "buildsystem.bypass.permission.private")
+                : hasPermission(player, "buildsystem.bypass.permission.public");
     }
 
     @Override
     public boolean canBypassBuildRestriction(Player player) {
         return context.playerService().isInBuildMode(player);
     }
+
+    /**
+     * Checks a permission node through the {@link PermissionCache}, so repeated checks for the same player skip the
+     * permission plugin.
+     *
+     * @param player The player to check
+     * @param permission The permission node
+     * @return {@code true} if the player has the permission, otherwise {@code false}
+     */
+    public boolean hasPermission(Player player, String permission) {
+        return context.playerService().getPermissionCache().has(player, permission);
+    }
 }
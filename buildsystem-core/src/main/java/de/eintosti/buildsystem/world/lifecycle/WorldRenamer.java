@@ -27,6 +27,7 @@ import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.StringCleaner;
 import de.eintosti.buildsystem.util.TaskScheduler;
+import de.eintosti.buildsystem.world.WorldFileSystem;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
 import de.eintosti.buildsystem.world.creation.BukkitWorldFactory;
 import de.eintosti.buildsystem.world.spawn.SpawnService;
@@ -35,7 +36,6 @@ import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -46,7 +46,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 /**
- * Orchestrates renaming a {@link BuildWorld}: validates the new name, evicts players, copies the directory
+ * Orchestrates renaming a {@link BuildWorld}: validates the new name, evicts players, moves the directory
  * asynchronously, then reconstructs the world under the new name.
  */
 @NullMarked
@@ -59,6 +59,7 @@ public class WorldRenamer {
     private final Messages messages;
     private final SpawnService spawnService;
     private final TaskScheduler scheduler;
+    private final WorldFileSystem fileSystem;
 
     public WorldRenamer(
             BuildSystemPlugin plugin,
@@ -67,7 +68,8 @@ public class WorldRenamer {
             ConfigService configService,
             Messages messages,
             SpawnService spawnService,
-            TaskScheduler scheduler) {
+            TaskScheduler scheduler,
+            WorldFileSystem fileSystem) {
         this.plugin = plugin;
         this.worldService = worldService;
         this.worldStorage = worldStorage;
@@ -75,6 +77,7 @@ public class WorldRenamer {
         this.messages = messages;
         this.spawnService = spawnService;
         this.scheduler = scheduler;
+        this.fileSystem = fileSystem;
     }
 
     public void rename(Player player, BuildWorld buildWorld, String newName) {
@@ -128,16 +131,8 @@ public class WorldRenamer {
 
         File oldWorldFile = FileUtils.worldFolder(oldName);
         File newWorldFile = FileUtils.worldFolder(sanitizedNewName);
-        CompletableFuture.runAsync(
-                        () -> {
-                            try {
-                                FileUtils.copy(oldWorldFile, newWorldFile);
-                                FileUtils.deleteDirectory(oldWorldFile);
-                            } catch (Exception e) {
-                                throw new RuntimeException("Failed to rename world directory", e);
-                            }
-                        },
-                        scheduler.background())
+        fileSystem
+                .move(oldWorldFile.toPath(), newWorldFile.toPath())
                 .thenRunAsync(
                         () -> reconstruct(
                                 player,
@@ -147,7 +142,15 @@ public class WorldRenamer {
                                 oldWorld,
                                 oldSpawnLocation,
                                 removedPlayers),
-                        scheduler.mainThread());
+                        scheduler.mainThread())
+                .exceptionally(throwable -> {
+                    plugin.getLogger()
+                            .log(
+                                    Level.SEVERE,
+                                    "Failed to move world \"" + oldName + "\" to \"" + sanitizedNewName + "\"",
+                                    throwable);
+                    return null;
+                });
     }
 
     private void reconstruct(
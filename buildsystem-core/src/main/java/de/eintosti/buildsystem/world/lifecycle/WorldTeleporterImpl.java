@@ -50,6 +50,11 @@ public class WorldTeleporterImpl implements WorldTeleporter {
 
     @Override
     public void teleport(Player player) {
+        // The world must not finish unloading while the destination chunks load
+        if (buildWorld.getUnloader() instanceof WorldUnloaderImpl unloader && unloader.isUnloading()) {
+            unloader.resetUnloadTask();
+        }
+
         boolean hadToLoad = false;
         if (context.configService().current().world().unload().enabled() && !buildWorld.isLoaded()) {
             buildWorld.getLoader().loadForPlayer(player);
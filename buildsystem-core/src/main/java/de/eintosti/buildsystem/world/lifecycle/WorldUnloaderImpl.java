@@ -27,6 +27,7 @@ import de.eintosti.buildsystem.world.WorldContext;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -45,6 +46,7 @@ public class WorldUnloaderImpl implements WorldUnloader {
     private final long secondsUntilUnload;
 
     private @Nullable BukkitTask unloadTask;
+    private @Nullable BukkitTask gradualUnloadTask;
 
     private WorldUnloaderImpl(WorldContext context, BuildWorldImpl buildWorld) {
         this.context = context;
@@ -114,11 +116,29 @@ public class WorldUnloaderImpl implements WorldUnloader {
         startUnloadTask();
     }
 
+    /**
+     * Cancels the scheduled unload and aborts an unload in progress, leaving the world loaded.
+     */
     public void cancelScheduledTask() {
         if (this.unloadTask != null) {
             this.unloadTask.cancel();
             this.unloadTask = null;
         }
+        abortGradualUnload();
+    }
+
+    /**
+     * {@return whether the world's chunks are currently being unloaded over several ticks}
+     */
+    public boolean isUnloading() {
+        return this.gradualUnloadTask != null;
+    }
+
+    private void abortGradualUnload() {
+        if (this.gradualUnloadTask != null) {
+            this.gradualUnloadTask.cancel();
+            this.gradualUnloadTask = null;
+        }
     }
 
     @Override
@@ -144,7 +164,47 @@ public class WorldUnloaderImpl implements WorldUnloader {
             return;
         }
 
-        forceUnload(SaveBehavior.SAVE);
+        if (isUnloading()) {
+            return;
+        }
+
+        int tickBudgetMillis = context.configService().current().world().unload().tickBudgetMillis();
+        if (tickBudgetMillis <= 0) {
+            forceUnload(SaveBehavior.SAVE);
+            return;
+        }
+        unloadGradually(bukkitWorld, tickBudgetMillis);
+    }
+
+    /**
+     * Saves and unloads the world's chunks over as many ticks as needed, spending at most {@code tickBudgetMillis} per
+     * tick, and only releases the world once every chunk is gone. A player entering the world in the meantime aborts
+     * the unload and the world stays loaded.
+     */
+    private void unloadGradually(World bukkitWorld, int tickBudgetMillis) {
+        BuildWorldUnloadEvent unloadEvent = new BuildWorldUnloadEvent(buildWorld);
+        Bukkit.getServer().getPluginManager().callEvent(unloadEvent);
+        if (unloadEvent.isCancelled()) {
+            return;
+        }
+
+        this.unloadTask = null;
+        ChunkUnloadQueue chunks = new ChunkUnloadQueue(
+                bukkitWorld.getLoadedChunks(), TimeUnit.MILLISECONDS.toNanos(tickBudgetMillis));
+        this.gradualUnloadTask = context.scheduler().runTimer(() -> {
+            if (!bukkitWorld.getPlayers().isEmpty()) {
+                resetUnloadTask();
+                return;
+            }
+            if (!chunks.unloadNext()) {
+                return;
+            }
+
+            abortGradualUnload();
+            markUnloaded();
+            // The chunks are already saved, so this only writes the level data and any chunk held by a ticket
+            releaseWorld(bukkitWorld, true);
+        }, 1L, 1L);
     }
 
     @Override
@@ -156,9 +216,9 @@ public class WorldUnloaderImpl implements WorldUnloader {
             return;
         }
 
-        this.buildWorld.getData().set(WorldDataKey.LAST_UNLOADED, System.currentTimeMillis());
-        this.buildWorld.setLoaded(false);
         this.unloadTask = null;
+        abortGradualUnload();
+        markUnloaded();
 
         Optional<World> optionalWorld = this.buildWorld.getWorld();
         if (optionalWorld.isEmpty()) {
@@ -171,6 +231,15 @@ public class WorldUnloaderImpl implements WorldUnloader {
             bukkitWorld.save();
         }
 
+        releaseWorld(bukkitWorld, save);
+    }
+
+    private void markUnloaded() {
+        this.buildWorld.getData().set(WorldDataKey.LAST_UNLOADED, System.currentTimeMillis());
+        this.buildWorld.setLoaded(false);
+    }
+
+    private void releaseWorld(World bukkitWorld, boolean save) {
         if (!Bukkit.unloadWorld(bukkitWorld, save)) {
             context.logger()
                     .warning("Failed to unload world \"" + this.buildWorld.getName()
@@ -23,14 +23,16 @@ import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
 import de.eintosti.buildsystem.config.ConfigService;
 import de.eintosti.buildsystem.i18n.Messages;
-import de.eintosti.buildsystem.menu.ButtonMenu;
 import de.eintosti.buildsystem.menu.ItemBuilder;
 import de.eintosti.buildsystem.menu.MenuButton;
 import de.eintosti.buildsystem.menu.MenuItems;
 import de.eintosti.buildsystem.menu.Menus;
+import de.eintosti.buildsystem.menu.PaginatedMenu;
+import de.eintosti.buildsystem.menu.SkullTextures;
 import de.eintosti.buildsystem.util.StringUtils;
 import de.eintosti.buildsystem.util.TaskScheduler;
 import de.eintosti.buildsystem.world.backup.BackupServiceImpl;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,11 +40,14 @@ import org.bukkit.entity.Player;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
-public class BackupsMenu extends ButtonMenu<MenuButton> {
+public class BackupsMenu extends PaginatedMenu {
+
+    private static final int MAX_BACKUPS_PER_PAGE = 18;
 
     private static final int SLOT_INFO = 4;
     private static final int FIRST_BACKUP_SLOT = 9;
-    private static final int MAX_BACKUPS = 18;
+    private static final int SLOT_PREVIOUS_PAGE = 27;
+    private static final int SLOT_NEXT_PAGE = 35;
 
     private final BackupServiceImpl backupService;
     private final MenuItems menuItems;
@@ -52,6 +57,8 @@ public class BackupsMenu extends ButtonMenu<MenuButton> {
     private final Menus menus;
     private final BuildWorld buildWorld;
 
+    private List<Backup> backups = List.of();
+
     public BackupsMenu(
             Messages messages,
             BackupServiceImpl backupService,
@@ -72,6 +79,11 @@ public class BackupsMenu extends ButtonMenu<MenuButton> {
         this.buildWorld = buildWorld;
     }
 
+    @Override
+    protected int totalItems() {
+        return backups.size();
+    }
+
     @Override
     protected void populate(Player player) {
         menuItems.fillRange(player, getInventory(), 0, 9);
@@ -91,9 +103,9 @@ public class BackupsMenu extends ButtonMenu<MenuButton> {
     }
 
     /**
-     * Loads the {@link Backup}s for the world and, once they arrive, registers a button per backup and renders them.
-     * The backups load asynchronously, so the button registry is (re)built on the main thread in the completion
-     * callback rather than at construction.
+     * Loads the {@link Backup}s for the world and, once they arrive, registers a button per backup on the current page
+     * and renders them. The backups load asynchronously, so the button registry is (re)built on the main thread in the
+     * completion callback rather than at construction.
      *
      * @param player The player to display the backups to
      */
@@ -103,10 +115,19 @@ public class BackupsMenu extends ButtonMenu<MenuButton> {
                 .getProfile(buildWorld)
                 .listBackups()
                 .thenAccept(loaded -> scheduler.run(() -> {
+                    this.backups = loaded;
+                    // Backups may have expired since the page was opened, leaving the current page empty
+                    if (page() >= totalPages(MAX_BACKUPS_PER_PAGE)) {
+                        resetPage();
+                    }
+
                     clearButtons();
-                    for (int i = 0; i < loaded.size() && i < MAX_BACKUPS; i++) {
-                        register(FIRST_BACKUP_SLOT + i, backupButton(loaded.get(i)));
+                    for (int i = FIRST_BACKUP_SLOT; i < FIRST_BACKUP_SLOT + MAX_BACKUPS_PER_PAGE; i++) {
+                        getInventory().setItem(i, null);
                     }
+                    register(SLOT_PREVIOUS_PAGE, previousPageButton(SkullTextures.PREVIOUS_PAGE, MAX_BACKUPS_PER_PAGE));
+                    register(SLOT_NEXT_PAGE, nextPageButton(SkullTextures.NEXT_PAGE, MAX_BACKUPS_PER_PAGE));
+                    registerPageItems(FIRST_BACKUP_SLOT, MAX_BACKUPS_PER_PAGE, loaded, this::backupButton);
                     renderButtons(player);
                 }))
                 .exceptionally(throwable -> {
@@ -142,8 +163,10 @@ public class BackupsMenu extends ButtonMenu<MenuButton> {
     }
 
     private String getDurationUntilBackup() {
-        int timeSinceBackup = buildWorld.getData().get(WorldDataKey.TIME_SINCE_BACKUP);
-        int secondsRemaining = Math.max(0, getBackupIntervalSeconds() - timeSinceBackup);
+        long secondsRemaining = backupService.getSecondsUntilAutoBackup(buildWorld).orElseGet(() -> {
+            int timeSinceBackup = buildWorld.getData().get(WorldDataKey.TIME_SINCE_BACKUP);
+            return Math.max(0, getBackupIntervalSeconds() - timeSinceBackup);
+        });
         return "%02d:%02d".formatted(secondsRemaining / 60, secondsRemaining % 60);
     }
 }
@@ -34,9 +34,10 @@ import de.eintosti.buildsystem.player.settings.SettingsService;
 import de.eintosti.buildsystem.storage.FolderStorageImpl;
 import de.eintosti.buildsystem.storage.WorldStorageImpl;
 import de.eintosti.buildsystem.world.WorldServiceImpl;
-import de.eintosti.buildsystem.world.display.DisplayOrdering;
+import de.eintosti.buildsystem.world.display.DisplaySortKey;
 import de.eintosti.buildsystem.world.menu.CreateMenu.Page;
 import java.util.*;
+import java.util.function.Predicate;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -207,17 +208,31 @@ public abstract class DisplayablesMenu extends PaginatedMenu {
 
     protected List<Displayable> collectDisplayables() {
         WorldDisplay worldDisplay = settingsManager.getSettings(player).getWorldDisplay();
-
-        Collection<Folder> folders = collectFolders();
-        List<BuildWorld> standaloneWorlds = filterWorlds(collectWorlds(), worldDisplay).stream()
-                .filter(buildWorld -> !buildWorld.isAssignedToFolder())
-                .toList();
-
-        List<Displayable> displayables = new ArrayList<>();
-        displayables.addAll(folders);
-        displayables.addAll(standaloneWorlds);
-        displayables.sort(
-                DisplayOrdering.withPriorities(worldDisplay.getWorldSort().getComparator()));
+        WorldSort sort = worldDisplay.getWorldSort();
+        Predicate<BuildWorld> worldFilter = worldDisplay.getWorldFilter().apply();
+
+        // The storage keeps the category's worlds presorted, so they only need merging with the few folders
+        List<DisplaySortKey> folders = DisplaySortKey.sort(collectFolders(), sort);
+        List<DisplaySortKey> worlds = worldStorage.getSortedBuildWorlds(this.category, sort);
+        Comparator<DisplaySortKey> order = DisplaySortKey.comparator(sort);
+
+        List<Displayable> displayables = new ArrayList<>(folders.size() + worlds.size());
+        int nextFolder = 0;
+        for (DisplaySortKey key : worlds) {
+            BuildWorld buildWorld = (BuildWorld) key.displayable();
+            if (buildWorld.isAssignedToFolder()
+                    || !isWorldValidForDisplay(buildWorld)
+                    || !worldFilter.test(buildWorld)) {
+                continue;
+            }
+            while (nextFolder < folders.size() && order.compare(folders.get(nextFolder), key) < 0) {
+                displayables.add(folders.get(nextFolder++).displayable());
+            }
+            displayables.add(buildWorld);
+        }
+        while (nextFolder < folders.size()) {
+            displayables.add(folders.get(nextFolder++).displayable());
+        }
         return displayables;
     }
 
@@ -231,7 +246,7 @@ public abstract class DisplayablesMenu extends PaginatedMenu {
     }
 
     protected Collection<BuildWorld> collectWorlds() {
-        return worldStorage.getBuildWorlds();
+        return worldStorage.getBuildWorlds(this.category);
     }
 
     @Unmodifiable
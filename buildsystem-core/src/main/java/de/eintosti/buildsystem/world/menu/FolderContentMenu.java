@@ -23,7 +23,7 @@ import de.eintosti.buildsystem.api.world.display.Displayable;
 import de.eintosti.buildsystem.api.world.display.Folder;
 import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
 import de.eintosti.buildsystem.api.world.display.WorldDisplay;
-import de.eintosti.buildsystem.world.display.DisplayOrdering;
+import de.eintosti.buildsystem.world.display.DisplaySortKey;
 import java.util.*;
 import java.util.AbstractMap.SimpleEntry;
 import org.bukkit.entity.Player;
@@ -71,8 +71,10 @@ public class FolderContentMenu extends DisplayablesMenu {
         List<Displayable> displayables = new ArrayList<>();
         displayables.addAll(folders);
         displayables.addAll(buildWorlds);
-        displayables.sort(
-                DisplayOrdering.withPriorities(worldDisplay.getWorldSort().getComparator()));
+
+        List<DisplaySortKey> keys = DisplaySortKey.sort(displayables, worldDisplay.getWorldSort());
+        displayables.clear();
+        keys.forEach(key -> displayables.add(key.displayable()));
         return displayables;
     }
 
@@ -87,10 +89,7 @@ public class FolderContentMenu extends DisplayablesMenu {
     @Override
     @Unmodifiable
     protected Collection<BuildWorld> collectWorlds() {
-        return this.folder.getWorldUUIDs().stream()
-                .map(this.worldStorage::getBuildWorld)
-                .filter(Objects::nonNull)
-                .toList();
+        return this.worldStorage.getBuildWorlds(this.folder);
     }
 
     @Override
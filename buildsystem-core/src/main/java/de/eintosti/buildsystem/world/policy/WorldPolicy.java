@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.policy;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.PluginConfig;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The physics, explosion and mob AI rules of one Bukkit world, resolved from its build world's settings and the
+ * {@code world.disabled-physics} config. Block and entity listeners fire far too often to look the build world up for
+ * every event, so they read a {@link WorldPolicyCache cached} policy instead.
+ *
+ * @param physics Whether block physics run
+ * @param connections Whether fences, panes, stairs and walls still connect while physics are disabled
+ * @param fluidFlow Whether fluids still flow while physics are disabled
+ * @param fallingBlocks Whether blocks still fall while physics are disabled
+ * @param explosions Whether explosions destroy blocks
+ * @param mobAi Whether spawned mobs have AI
+ */
+@NullMarked
+public record WorldPolicy(
+        boolean physics,
+        boolean connections,
+        boolean fluidFlow,
+        boolean fallingBlocks,
+        boolean explosions,
+        boolean mobAi) {
+
+    /** The policy of a world that is not a build world, where nothing is restricted. */
+    public static final WorldPolicy UNRESTRICTED = new WorldPolicy(true, true, true, true, true, true);
+
+    /**
+     * Resolves the policy of a world.
+     *
+     * @param buildWorld The build world, or {@code null} if the world is not one
+     * @param disabledPhysics What still happens in worlds with physics disabled
+     * @return The policy
+     */
+    static WorldPolicy resolve(@Nullable BuildWorld buildWorld, PluginConfig.World.DisabledPhysics disabledPhysics) {
+        if (buildWorld == null) {
+            return UNRESTRICTED;
+        }
+
+        WorldData data = buildWorld.getData();
+        boolean physics = data.getBoolean(WorldDataKey.PHYSICS);
+        return new WorldPolicy(
+                physics,
+                !disabledPhysics.preventConnections(),
+                !disabledPhysics.preventFluidFlow(),
+                !disabledPhysics.preventFallingBlocks(),
+                physics && data.getBoolean(WorldDataKey.EXPLOSIONS),
+                data.getBoolean(WorldDataKey.MOB_AI));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.policy;
+
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.World;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the {@link WorldPolicy} of every Bukkit world, so the listeners handling physics, explosion and spawn events
+ * do not resolve the build world and read its settings for each of them. Events arrive in long runs from the same
+ * world, so the most recently used policy is kept in a single field and only a change of world reaches the map.
+ *
+ * <p>The cached policies are dropped whenever one of their inputs changes: a world's physics, explosions or mob AI
+ * setting, a build world being added, removed or renamed, and a config reload. The storage reports the first three;
+ * the plugin calls {@link #invalidateAll()} on reload.
+ */
+@NullMarked
+public final class WorldPolicyCache {
+
+    private final WorldStorageImpl worldStorage;
+    private final ConfigService configService;
+    private final Map<UUID, WorldPolicy> policies = new ConcurrentHashMap<>();
+
+    private volatile @Nullable Entry last;
+
+    public WorldPolicyCache(WorldStorageImpl worldStorage, ConfigService configService) {
+        this.worldStorage = worldStorage;
+        this.configService = configService;
+        worldStorage.addPolicyListener(this::invalidateAll);
+    }
+
+    /**
+     * {@return the policy of the given world}
+     *
+     * @param world The world
+     */
+    public WorldPolicy get(World world) {
+        Entry entry = this.last;
+        if (entry != null && entry.world() == world) {
+            return entry.policy();
+        }
+
+        WorldPolicy policy = policies.computeIfAbsent(world.getUID(), ignored -> resolve(world));
+        this.last = new Entry(world, policy);
+        return policy;
+    }
+
+    private WorldPolicy resolve(World world) {
+        return WorldPolicy.resolve(
+                worldStorage.getBuildWorld(world),
+                configService.current().world().disabledPhysics());
+    }
+
+    /**
+     * Drops every cached policy, so each is resolved again on its next use.
+     */
+    public void invalidateAll() {
+        this.last = null;
+        this.policies.clear();
+    }
+
+    private record Entry(World world, WorldPolicy policy) {}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.preload;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Learns which world players move to from the world they are in. Every move is counted twice: for the player, and for
+ * the whole team, so a builder without a history of their own is still guided by where everyone else goes next.
+ *
+ * <p>Older moves fade: each new move out of a world scales the previous counts of that world down, so a project the
+ * team has moved on from stops being predicted after a while. Only a bounded number of players, and of destinations
+ * per world, are remembered.
+ *
+ * <p>Not thread-safe; only used from the main thread.
+ */
+@NullMarked
+final class VisitHistory {
+
+    /** The factor the earlier moves out of a world are scaled by when a new move is recorded. */
+    static final double DECAY = 0.9;
+    /** A player's own moves count this much more than the team's. */
+    static final double PERSONAL_WEIGHT = 2.0;
+
+    private static final int MAX_PLAYERS = 512;
+    private static final int MAX_DESTINATIONS = 16;
+    /** Stands for "anywhere", i.e. a player's moves regardless of where they came from. */
+    private static final UUID ANYWHERE = new UUID(0, 0);
+
+    private final Map<UUID, Map<UUID, Map<UUID, Double>>> personal =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Map<UUID, Map<UUID, Double>>> eldest) {
+                    return size() > MAX_PLAYERS;
+                }
+            };
+    private final Map<UUID, Map<UUID, Double>> team = new HashMap<>();
+
+    /**
+     * Records that a player moved into a world.
+     *
+     * @param player The player
+     * @param from The world the player left, or {@code null} if it is not a build world
+     * @param to The world the player entered
+     */
+    void record(UUID player, @Nullable UUID from, UUID to) {
+        Map<UUID, Map<UUID, Double>> moves = personal.computeIfAbsent(player, ignored -> new HashMap<>());
+        increment(moves, ANYWHERE, to);
+        if (from != null && !from.equals(to)) {
+            increment(moves, from, to);
+            increment(team, from, to);
+        }
+    }
+
+    private static void increment(Map<UUID, Map<UUID, Double>> table, UUID from, UUID to) {
+        Map<UUID, Double> destinations = table.computeIfAbsent(from, ignored -> new HashMap<>());
+        destinations.replaceAll((world, weight) -> weight * DECAY);
+        destinations.merge(to, 1.0, Double::sum);
+        if (destinations.size() > MAX_DESTINATIONS) {
+            destinations.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .ifPresent(destinations::remove);
+        }
+    }
+
+    /**
+     * Predicts the worlds the player is likeliest to enter next.
+     *
+     * @param player The player
+     * @param current The world the player is in, or {@code null} if it is not a build world
+     * @param limit The maximum number of worlds to return
+     * @param eligible Filters out worlds that should not be predicted
+     * @return The predicted worlds, likeliest first
+     */
+    List<UUID> predict(UUID player, @Nullable UUID current, int limit, Predicate<UUID> eligible) {
+        Map<UUID, Double> scores = new HashMap<>();
+        Map<UUID, Map<UUID, Double>> moves = personal.getOrDefault(player, Map.of());
+        if (current != null) {
+            add(scores, moves.get(current), PERSONAL_WEIGHT);
+            add(scores, team.get(current), 1.0);
+        }
+        // Where the player goes in general only breaks ties between the moves from the current world
+        add(scores, moves.get(ANYWHERE), 0.1);
+
+        List<Map.Entry<UUID, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder()));
+        List<UUID> predicted = new ArrayList<>(limit);
+        for (Map.Entry<UUID, Double> entry : ranked) {
+            if (predicted.size() >= limit) {
+                break;
+            }
+            UUID world = entry.getKey();
+            if (!world.equals(current) && eligible.test(world)) {
+                predicted.add(world);
+            }
+        }
+        return predicted;
+    }
+
+    private static void add(Map<UUID, Double> scores, @Nullable Map<UUID, Double> weights, double factor) {
+        if (weights != null) {
+            weights.forEach((world, weight) -> scores.merge(world, weight * factor, Double::sum));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.preload;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.config.PluginConfig;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import de.eintosti.buildsystem.world.lifecycle.WorldUnloaderImpl;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Loads the worlds a player is likely to enter next before they ask for them, so the teleport does not have to wait
+ * for the world to load. Predictions come from the {@link VisitHistory} of where players go from the world they are
+ * in; a player without a history falls back to the worlds they build in that were loaded most recently.
+ *
+ * <p>Predictions are made when a player changes world or opens the navigator. The predicted worlds are queued and
+ * loaded one at a time on later ticks, since Bukkit only creates worlds on the main thread. Preloading never exceeds
+ * the configured number of loaded build worlds: when the budget is reached, a preloaded world nobody has entered is
+ * unloaded to make room, and if there is none the prediction is dropped. A preloaded world is otherwise unloaded by the
+ * regular unload timer like any other.
+ *
+ * <p>Only does anything while unloading is enabled, because otherwise every world is loaded anyway. Must be used from
+ * the main thread.
+ */
+@NullMarked
+public final class WorldPreloader {
+
+    /** The ticks between two preloads, so that loading several worlds never lands in a single tick. */
+    private static final long PRELOAD_INTERVAL_TICKS = 10L;
+
+    private final WorldStorageImpl worldStorage;
+    private final ConfigService configService;
+    private final TaskScheduler scheduler;
+    private final Logger logger;
+    private final VisitHistory history = new VisitHistory();
+
+    private final Deque<UUID> queue = new ArrayDeque<>();
+    /** Worlds loaded by the preloader that no player has entered since. */
+    private final Set<UUID> preloaded = new LinkedHashSet<>();
+
+    private @Nullable BukkitTask preloadTask;
+
+    public WorldPreloader(
+            WorldStorageImpl worldStorage, ConfigService configService, TaskScheduler scheduler, Logger logger) {
+        this.worldStorage = worldStorage;
+        this.configService = configService;
+        this.scheduler = scheduler;
+        this.logger = logger;
+    }
+
+    /**
+     * Learns from a player changing world and preloads the worlds they are likely to enter next.
+     *
+     * @param player The player
+     * @param from The world the player left
+     */
+    public void onWorldChange(Player player, World from) {
+        BuildWorld to = worldStorage.getBuildWorld(player.getWorld());
+        if (to == null) {
+            return;
+        }
+        preloaded.remove(to.getUniqueId());
+
+        BuildWorld previous = worldStorage.getBuildWorld(from);
+        history.record(player.getUniqueId(), previous == null ? null : previous.getUniqueId(), to.getUniqueId());
+        preloadFor(player);
+    }
+
+    /**
+     * Preloads the worlds the player is likely to pick from the navigator they just opened.
+     *
+     * @param player The player
+     */
+    public void onNavigatorOpened(Player player) {
+        preloadFor(player);
+    }
+
+    private void preloadFor(Player player) {
+        PluginConfig.World world = configService.current().world();
+        if (!world.preload().enabled() || !world.unload().enabled()) {
+            return;
+        }
+
+        BuildWorld current = worldStorage.getBuildWorld(player.getWorld());
+        @Nullable UUID currentId = current == null ? null : current.getUniqueId();
+        int limit = world.preload().worldsPerPlayer();
+        List<UUID> predicted = history.predict(player.getUniqueId(), currentId, limit, id -> {
+            BuildWorld buildWorld = worldStorage.getBuildWorld(id);
+            return buildWorld != null && canPreload(player, buildWorld);
+        });
+        if (predicted.size() < limit) {
+            // No history yet: the worlds the player builds in, most recently loaded first. Read from the creator and
+            // builder indexes, so the cost depends on the player's own worlds rather than on every world.
+            Set<BuildWorld> ownWorlds = new LinkedHashSet<>(worldStorage.getBuildWorldsCreatedBy(player.getUniqueId()));
+            ownWorlds.addAll(worldStorage.getBuildWorldsWithBuilder(player.getUniqueId()));
+            ownWorlds.stream()
+                    .filter(buildWorld -> buildWorld != current
+                            && !predicted.contains(buildWorld.getUniqueId())
+                            && canPreload(player, buildWorld))
+                    .sorted(Comparator.comparingLong(
+                                    (BuildWorld buildWorld) -> buildWorld.getData().getLong(WorldDataKey.LAST_LOADED))
+                            .reversed())
+                    .limit(limit - predicted.size())
+                    .forEach(buildWorld -> predicted.add(buildWorld.getUniqueId()));
+        }
+
+        for (UUID id : predicted) {
+            if (!queue.contains(id)) {
+                queue.addLast(id);
+            }
+        }
+        if (!queue.isEmpty() && preloadTask == null) {
+            preloadTask = scheduler.runTimer(this::preloadNext, PRELOAD_INTERVAL_TICKS, PRELOAD_INTERVAL_TICKS);
+        }
+    }
+
+    private static boolean canPreload(Player player, BuildWorld buildWorld) {
+        return !buildWorld.isLoaded() && buildWorld.getPermissions().canEnter(player);
+    }
+
+    /**
+     * Loads the next queued world, unloading an unused preloaded world first if the budget is reached.
+     */
+    private void preloadNext() {
+        PluginConfig.World world = configService.current().world();
+        // A reload may have turned preloading off since the worlds were queued
+        BuildWorld next = world.preload().enabled() && world.unload().enabled() ? pollQueue() : null;
+        if (next == null) {
+            stop();
+            return;
+        }
+
+        int budget = world.preload().maxLoadedWorlds();
+        long loaded = worldStorage.getBuildWorlds().stream()
+                .filter(WorldPreloader::countsAsLoaded)
+                .count();
+        if (loaded >= budget) {
+            if (evictUnused()) {
+                // Retried once the evicted world is gone
+                queue.addFirst(next.getUniqueId());
+            }
+            // Otherwise there is nothing to make room with, and the player's own teleport loads the world if needed
+            return;
+        }
+
+        next.getLoader().load();
+        if (next.isLoaded()) {
+            preloaded.add(next.getUniqueId());
+            logger.fine("Preloaded world \"" + next.getName() + "\"");
+        }
+    }
+
+    /**
+     * {@return whether the world is loaded and not already being unloaded}
+     */
+    private static boolean countsAsLoaded(BuildWorld buildWorld) {
+        return buildWorld.isLoaded()
+                && !(buildWorld.getUnloader() instanceof WorldUnloaderImpl unloader && unloader.isUnloading());
+    }
+
+    private @Nullable BuildWorld pollQueue() {
+        UUID id;
+        while ((id = queue.pollFirst()) != null) {
+            BuildWorld buildWorld = worldStorage.getBuildWorld(id);
+            if (buildWorld != null && !buildWorld.isLoaded()) {
+                return buildWorld;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts unloading the oldest preloaded world no player has entered.
+     *
+     * @return Whether an unload was started
+     */
+    private boolean evictUnused() {
+        Iterator<UUID> iterator = preloaded.iterator();
+        while (iterator.hasNext()) {
+            BuildWorld buildWorld = worldStorage.getBuildWorld(iterator.next());
+            iterator.remove();
+            if (buildWorld == null || !countsAsLoaded(buildWorld)) {
+                continue;
+            }
+            World bukkitWorld = buildWorld.getWorld().orElse(null);
+            if (bukkitWorld != null && bukkitWorld.getPlayers().isEmpty()) {
+                buildWorld.getUnloader().unload();
+                return !countsAsLoaded(buildWorld);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops preloading and forgets the queued worlds. Called on disable.
+     */
+    public void stop() {
+        queue.clear();
+        if (preloadTask != null) {
+            preloadTask.cancel();
+            preloadTask = null;
+        }
+    }
+}
@@ -67,16 +67,30 @@ class PluginConfigTest {
         // World - Unload
         assertFalse(cfg.world().unload().enabled());
         assertEquals("01:00:00", cfg.world().unload().timeUntilUnload());
+        assertEquals(5, cfg.world().unload().tickBudgetMillis());
+        // World - Preload
+        assertTrue(cfg.world().preload().enabled());
+        assertEquals(10, cfg.world().preload().maxLoadedWorlds());
+        assertEquals(2, cfg.world().preload().worldsPerPlayer());
         // World - Backup
         assertEquals(5, cfg.world().backup().maxBackupsPerWorld());
+        assertEquals(new PluginConfig.World.Backup.Retention(0, 0, 0), cfg.world().backup().retention());
+        assertEquals(PluginConfig.World.Backup.Format.ZIP, cfg.world().backup().format());
+        assertEquals(6, cfg.world().backup().compression().level());
+        assertTrue(cfg.world().backup().compression().storeRegionFiles());
+        assertEquals(32, cfg.world().backup().compression().readAhead());
         assertInstanceOf(
                 PluginConfig.World.Backup.Local.class, cfg.world().backup().storage());
         assertTrue(cfg.world().backup().autoBackup().enabled());
         assertEquals(900, cfg.world().backup().autoBackup().interval());
         assertTrue(cfg.world().backup().autoBackup().onlyActiveWorlds());
+        assertEquals(2, cfg.world().backup().autoBackup().maxConcurrent());
+        assertEquals(60, cfg.world().backup().autoBackup().jitter());
         // Folder
         assertTrue(cfg.folder().overridePermissions());
         assertFalse(cfg.folder().overrideProjects());
+        // Storage
+        assertEquals(PluginConfig.Storage.Type.YAML, cfg.storage().type());
     }
 
     // -----------------------------------------------------------------------
@@ -144,6 +158,10 @@ class PluginConfigTest {
                       - world
                   backup:
                     max-backups-per-world: 10
+                    retention:
+                      hourly: 24
+                      daily: 7
+                      weekly: -1
                     auto-backup:
                       enabled: false
                       interval: 1800
@@ -192,6 +210,7 @@ class PluginConfigTest {
         assertFalse(cfg.world().defaults().buildersEnabled().privateBuilders());
         // backup is capped at 18
         assertEquals(10, cfg.world().backup().maxBackupsPerWorld());
+        assertEquals(new PluginConfig.World.Backup.Retention(24, 7, 0), cfg.world().backup().retention());
         assertFalse(cfg.world().backup().autoBackup().enabled());
         assertEquals(1800, cfg.world().backup().autoBackup().interval());
         assertFalse(cfg.world().backup().autoBackup().onlyActiveWorlds());
@@ -236,6 +255,8 @@ class PluginConfigTest {
         assertEquals("eu-central-1", s3.region());
         assertEquals("my-bucket", s3.bucket());
         assertEquals("backups/", s3.path());
+        assertEquals(16, s3.partSize());
+        assertEquals(4, s3.parallelism());
     }
 
     // -----------------------------------------------------------------------
@@ -273,6 +294,7 @@ class PluginConfigTest {
         assertEquals("user", sftp.username());
         assertEquals("pass", sftp.password());
         assertEquals("/backups/", sftp.path());
+        assertEquals(3, sftp.maxSessions());
     }
 
     @Test
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.event.world.BuildWorldManipulationEvent;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.access.WorldPermissions;
+import de.eintosti.buildsystem.api.world.access.WorldSetting;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.listener.world.WorldManipulateListener;
+import de.eintosti.buildsystem.player.settings.SettingsService;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.plugin.Plugin;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+/**
+ * Tests for {@link EventDispatcher} together with {@link WorldManipulateListener}: without a foreign listener a
+ * manipulation is handled inline, a foreign listener still receives the {@link BuildWorldManipulationEvent}, and edits
+ * within the same tick record the edit time once.
+ */
+@NullMarked
+class EventDispatcherTest {
+
+    private ServerMock server;
+    private Plugin plugin;
+    private World world;
+    private PlayerMock player;
+    private WorldPermissions permissions;
+    private WorldDataImpl worldData;
+    private SettingsService settingsService;
+    private EventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.createMockPlugin();
+        world = server.addSimpleWorld("alpha");
+        player = server.addPlayer();
+
+        permissions = mock(WorldPermissions.class);
+        worldData = new WorldDataImpl.WorldDataBuilder("alpha")
+                .withStatus(TestData.NOT_STARTED)
+                .build();
+        BuildWorld buildWorld = mock(BuildWorld.class);
+        when(buildWorld.getPermissions()).thenReturn(permissions);
+        when(buildWorld.getData()).thenReturn(worldData);
+
+        WorldStorageImpl storage = mock(WorldStorageImpl.class);
+        when(storage.getBuildWorld(any(World.class))).thenReturn(buildWorld);
+
+        settingsService = mock(SettingsService.class);
+        WorldManipulateListener listener = new WorldManipulateListener(
+                storage, mock(ConfigService.class, RETURNS_DEEP_STUBS), TestData.statusRegistry(), settingsService);
+        server.getPluginManager().registerEvents(listener, plugin);
+        dispatcher = listener.getDispatcher();
+    }
+
+    @AfterEach
+    void tearDown() {
+        HandlerList.unregisterAll();
+        MockBukkit.unmock();
+    }
+
+    private BlockBreakEvent blockBreak() {
+        return new BlockBreakEvent(world.getBlockAt(0, 64, 0), player);
+    }
+
+    private ForeignListener registerForeignListener(boolean allow) {
+        ForeignListener foreign = new ForeignListener(allow);
+        server.getPluginManager().registerEvents(foreign, MockBukkit.createMockPlugin());
+        return foreign;
+    }
+
+    @Test
+    void withoutForeignListener_deniedManipulationCancelsParent() {
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(false);
+        BlockBreakEvent event = blockBreak();
+
+        dispatcher.tryDispatchManipulationEvent(player, event);
+
+        assertTrue(event.isCancelled());
+        assertEquals(0L, worldData.getLong(WorldDataKey.LAST_EDITED));
+    }
+
+    @Test
+    void withoutForeignListener_allowedManipulationRecordsEdit() {
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(true);
+        BlockBreakEvent event = blockBreak();
+
+        dispatcher.tryDispatchManipulationEvent(player, event);
+
+        assertFalse(event.isCancelled());
+        assertNotEquals(0L, worldData.getLong(WorldDataKey.LAST_EDITED));
+        assertEquals(TestData.IN_PROGRESS, worldData.get(WorldDataKey.STATUS));
+        verify(settingsService).forceUpdateSidebar(player);
+    }
+
+    @Test
+    void foreignListener_receivesEventAndCanOverrideDenial() {
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(false);
+        ForeignListener foreign = registerForeignListener(true);
+        BlockBreakEvent event = blockBreak();
+
+        dispatcher.tryDispatchManipulationEvent(player, event);
+
+        assertEquals(1, foreign.received.get());
+        assertFalse(event.isCancelled());
+    }
+
+    @Test
+    void unregisteringForeignListener_restoresInlineHandling() {
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(false);
+        ForeignListener foreign = registerForeignListener(true);
+        dispatcher.tryDispatchManipulationEvent(player, blockBreak());
+
+        HandlerList.unregisterAll(foreign);
+        BlockBreakEvent event = blockBreak();
+        dispatcher.tryDispatchManipulationEvent(player, event);
+
+        assertEquals(1, foreign.received.get());
+        assertTrue(event.isCancelled());
+    }
+
+    @Test
+    void cancelledParent_isNotDispatched() {
+        ForeignListener foreign = registerForeignListener(false);
+        BlockBreakEvent event = blockBreak();
+        event.setCancelled(true);
+
+        dispatcher.tryDispatchManipulationEvent(player, event);
+
+        assertEquals(0, foreign.received.get());
+    }
+
+    @Test
+    void editsWithinOneTick_recordEditTimeOnce() {
+        when(permissions.canModify(player, WorldSetting.BLOCK_BREAKING)).thenReturn(true);
+        AtomicInteger modifications = new AtomicInteger();
+        worldData.setModificationListener(modifications::incrementAndGet);
+
+        dispatcher.tryDispatchManipulationEvent(player, blockBreak());
+        int afterFirst = modifications.get();
+        long lastEdited = worldData.getLong(WorldDataKey.LAST_EDITED);
+        for (int i = 0; i < 100; i++) {
+            dispatcher.tryDispatchManipulationEvent(player, blockBreak());
+        }
+
+        // A later edit may land in the next window if the loop straddles it, but never one write per edit
+        assertTrue(modifications.get() - afterFirst <= 1);
+        assertTrue(worldData.getLong(WorldDataKey.LAST_EDITED) - lastEdited
+                < 2 * WorldManipulateListener.EDIT_COALESCE_MILLIS);
+    }
+
+    /** Stands in for another plugin listening for manipulations, optionally allowing every one of them. */
+    public static final class ForeignListener implements Listener {
+
+        private final AtomicInteger received = new AtomicInteger();
+        private final boolean allow;
+
+        private ForeignListener(boolean allow) {
+            this.allow = allow;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onWorldManipulation(BuildWorldManipulationEvent event) {
+            received.incrementAndGet();
+            if (allow) {
+                event.getParentEvent().setCancelled(false);
+            }
+        }
+    }
+}
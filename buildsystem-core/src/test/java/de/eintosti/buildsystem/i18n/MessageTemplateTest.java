@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.i18n;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MessageTemplate}: rendering a compiled message must match the sequential {@link Placeholders#apply}
+ * it replaces, including slots without a value and text that only looks like a placeholder.
+ */
+@NullMarked
+class MessageTemplateTest {
+
+    @Test
+    void render_matchesSequentialReplacement() {
+        List<String> messages = List.of(
+                "%prefix% &7World &e%world% &7created by &e%creator%&7.",
+                "no placeholders here",
+                "%world%%world%",
+                "50% off, only %percent%% left",
+                "Unknown %name% stays",
+                "%",
+                "");
+        @SuppressWarnings("unchecked")
+        Entry<String, Object>[] placeholders = new Entry[] {
+            Map.entry("%prefix%", "[BS]"),
+            Map.entry("%world%", "Lobby"),
+            Map.entry("%creator%", "Alice"),
+            Map.entry("%percent%", 20)
+        };
+
+        for (String message : messages) {
+            assertEquals(
+                    Placeholders.apply(message, placeholders),
+                    MessageTemplate.compile(message).render(placeholders),
+                    message);
+        }
+    }
+
+    @Test
+    void render_doesNotExpandPlaceholdersInsideValues() {
+        MessageTemplate template = MessageTemplate.compile("%a% and %b%");
+
+        assertEquals("%b% and B", template.render(Map.entry("%a%", "%b%"), Map.entry("%b%", "B")));
+    }
+
+    @Test
+    void render_keyNotShapedLikeASlot_fallsBackToReplacement() {
+        MessageTemplate template = MessageTemplate.compile("Hello {name}");
+
+        assertEquals("Hello Alice", template.render(Map.entry("{name}", "Alice")));
+    }
+
+    @Test
+    void isStatic_onlyWithoutSlots() {
+        assertTrue(MessageTemplate.compile("100% static").isStatic());
+        assertFalse(MessageTemplate.compile("Hello %player%").isStatic());
+    }
+
+    @Test
+    void renderCache_evictsLeastRecentlyUsed() {
+        RenderCache cache = new RenderCache(2);
+        cache.get("a", String::toUpperCase);
+        cache.get("b", String::toUpperCase);
+        cache.get("a", text -> fail("a is cached"));
+        cache.get("c", String::toUpperCase);
+
+        assertEquals(2L, cache.size());
+        assertEquals("A", cache.get("a", text -> fail("a was used last")));
+        assertEquals("b", cache.get("b", text -> text));
+    }
+
+    @Test
+    void renderCache_lookupsDoNotWaitForAnotherThreadsRender() throws Exception {
+        RenderCache cache = new RenderCache(16);
+        cache.get("cached", String::toUpperCase);
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.get("slow", text -> {
+            rendering.countDown();
+            awaitUninterruptibly(release);
+            return text.toUpperCase();
+        }));
+        rendering.await();
+
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5), () -> assertEquals("CACHED", cache.get("cached", text -> fail("cached"))));
+        release.countDown();
+        assertEquals("SLOW", slow.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.navigator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HeadHitbox}: the slab-method intersection, and that it finds every hit the stepped ray the navigator
+ * used before found.
+ */
+@NullMarked
+class HeadHitboxTest {
+
+    private final HeadHitbox box = HeadHitbox.around(new Location(null, 0, 0, 2));
+
+    @Test
+    void intersect_rayTowardsBox_returnsEntryDistance() {
+        assertEquals(1.7, box.intersect(0, 0, 0, 0, 0, 1, 3), 1e-9);
+    }
+
+    @Test
+    void intersect_rayBesideBox_misses() {
+        assertEquals(HeadHitbox.MISS, box.intersect(0.5, 0, 0, 0, 0, 1, 3));
+    }
+
+    @Test
+    void intersect_rayAwayFromBox_misses() {
+        assertEquals(HeadHitbox.MISS, box.intersect(0, 0, 0, 0, 0, -1, 3));
+    }
+
+    @Test
+    void intersect_boxBeyondReach_misses() {
+        assertEquals(HeadHitbox.MISS, box.intersect(0, 0, 0, 0, 0, 1, 1.5));
+    }
+
+    @Test
+    void intersect_originInsideBox_returnsZero() {
+        assertEquals(0, box.intersect(0.1, 0.1, 2, 1, 0, 0, 3));
+    }
+
+    @Test
+    void intersect_findsEveryHitOfSteppedRay() {
+        Random random = new Random(42);
+        Location eye = new Location(null, 0, 0, 0);
+        for (int i = 0; i < 100_000; i++) {
+            eye.setYaw(random.nextFloat() * 360 - 180);
+            eye.setPitch(random.nextFloat() * 180 - 90);
+            Vector direction = eye.getDirection();
+            boolean stepped = steppedHit(direction);
+
+            double distance = box.intersect(0, 0, 0, direction.getX(), direction.getY(), direction.getZ(), 3);
+            if (stepped) {
+                assertNotEquals(HeadHitbox.MISS, distance, "yaw " + eye.getYaw() + ", pitch " + eye.getPitch());
+            }
+        }
+    }
+
+    /** The 0.05 block stepping the navigator used before. */
+    private boolean steppedHit(Vector direction) {
+        for (double distance = 0; distance <= 3; distance += 0.05) {
+            Vector point = direction.clone().multiply(distance);
+            if (point.getX() >= box.minX()
+                    && point.getX() <= box.maxX()
+                    && point.getY() >= box.minY()
+                    && point.getY() <= box.maxY()
+                    && point.getZ() >= box.minZ()
+                    && point.getZ() <= box.maxZ()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
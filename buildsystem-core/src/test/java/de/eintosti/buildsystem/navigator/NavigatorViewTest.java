@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.navigator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.bukkit.Location;
+import org.bukkit.entity.ArmorStand;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NavigatorView}: the looked-at stand is found from the player's rotation, and a look that did not
+ * change is not re-evaluated.
+ */
+@NullMarked
+class NavigatorViewTest {
+
+    private static ArmorStand standAt(double x, double y, double z) {
+        ArmorStand stand = mock(ArmorStand.class);
+        when(stand.getEyeLocation()).thenReturn(new Location(null, x, y, z));
+        return stand;
+    }
+
+    @Test
+    void look_findsStandInLineOfSight() {
+        // Yaw 0 faces +z, yaw 90 faces -x
+        ArmorStand south = standAt(0, 0, 2);
+        ArmorStand west = standAt(-2, 0, 0);
+        NavigatorView view = new NavigatorView(new ArmorStand[] {south, west});
+
+        assertTrue(view.look(0, 0, 0, 0, 0));
+        assertSame(south, view.target());
+
+        assertTrue(view.look(0, 0, 0, 90, 0));
+        assertSame(west, view.target());
+
+        assertTrue(view.look(0, 0, 0, 45, 0));
+        assertNull(view.target());
+    }
+
+    @Test
+    void look_unchangedLook_isNotReevaluated() {
+        ArmorStand south = standAt(0, 0, 2);
+        NavigatorView view = new NavigatorView(new ArmorStand[] {south});
+        view.look(0, 0, 0, 0, 0);
+
+        assertFalse(view.look(0, 0, 0, 0, 0));
+        // Turning a little keeps the same target, which is not a change either
+        assertFalse(view.look(0, 0, 0, 2, 1));
+        assertSame(south, view.target());
+    }
+
+    @Test
+    void look_removedStand_isNoLongerTargeted() {
+        ArmorStand south = standAt(0, 0, 2);
+        NavigatorView view = new NavigatorView(new ArmorStand[] {south});
+        view.look(0, 0, 0, 0, 0);
+
+        when(south.isDead()).thenReturn(true);
+
+        assertTrue(view.look(0, 0, 0, 0, 0));
+        assertNull(view.target());
+    }
+
+    @Test
+    void actionBarDue_refreshesAfterGivenRuns() {
+        NavigatorView view = new NavigatorView(new ArmorStand[0]);
+        view.actionBarSent();
+
+        assertFalse(view.actionBarDue(3));
+        assertFalse(view.actionBarDue(3));
+        assertTrue(view.actionBarDue(3));
+        assertFalse(view.actionBarDue(3));
+    }
+}
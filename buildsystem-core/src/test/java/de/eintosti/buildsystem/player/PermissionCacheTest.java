@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.i18n.Messages;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.WorldContext;
+import de.eintosti.buildsystem.world.builder.BuildersImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import de.eintosti.buildsystem.world.lifecycle.WorldPermissionsImpl;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PermissionCache}: a node is looked up once per player until that player is invalidated, and the
+ * world permission checks go through it.
+ */
+@NullMarked
+class PermissionCacheTest {
+
+    private final PermissionCache cache = new PermissionCache();
+
+    private static Player player(String... permissions) {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        for (String permission : permissions) {
+            when(player.hasPermission(permission)).thenReturn(true);
+        }
+        return player;
+    }
+
+    @Test
+    void has_looksUpEachNodeOnce() {
+        Player player = player("build.alpha");
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(cache.has(player, "build.alpha"));
+            assertFalse(cache.has(player, "build.bravo"));
+        }
+
+        verify(player, times(1)).hasPermission("build.alpha");
+        verify(player, times(1)).hasPermission("build.bravo");
+    }
+
+    @Test
+    void invalidate_dropsOnlyThatPlayer() {
+        Player alice = player("build.alpha");
+        Player bob = player("build.alpha");
+        cache.has(alice, "build.alpha");
+        cache.has(bob, "build.alpha");
+
+        // Alice loses the permission; the cached result stands until her entries are dropped
+        when(alice.hasPermission("build.alpha")).thenReturn(false);
+        assertTrue(cache.has(alice, "build.alpha"));
+
+        cache.invalidate(alice.getUniqueId());
+
+        assertFalse(cache.has(alice, "build.alpha"));
+        assertTrue(cache.has(bob, "build.alpha"));
+        verify(bob, times(1)).hasPermission("build.alpha");
+    }
+
+    @Test
+    void invalidateAll_dropsEveryPlayer() {
+        Player alice = player("build.alpha");
+        Player bob = player("build.alpha");
+        cache.has(alice, "build.alpha");
+        cache.has(bob, "build.alpha");
+
+        cache.invalidateAll();
+        cache.has(alice, "build.alpha");
+        cache.has(bob, "build.alpha");
+
+        verify(alice, times(2)).hasPermission("build.alpha");
+        verify(bob, times(2)).hasPermission("build.alpha");
+    }
+
+    @Test
+    void roleChange_invalidatesAffectedPlayers() {
+        Player builder = player("build.alpha");
+        Player bystander = player("build.alpha");
+        BuildersImpl builders = new BuildersImpl(mock(Messages.class), null, List.of());
+        builders.setRoleChangeListener(cache::invalidate);
+        cache.has(builder, "build.alpha");
+        cache.has(bystander, "build.alpha");
+
+        builders.addBuilder(Builder.of(builder.getUniqueId(), "Builder"));
+        cache.has(builder, "build.alpha");
+        cache.has(bystander, "build.alpha");
+
+        verify(builder, times(2)).hasPermission("build.alpha");
+        verify(bystander, times(1)).hasPermission("build.alpha");
+    }
+
+    @Test
+    void worldPermissions_repeatedChecksLookUpEachNodeOnce() {
+        WorldContext context = TestData.worldContext();
+        PermissionCache contextCache = context.playerService().getPermissionCache();
+        BuildWorld buildWorld = mock(BuildWorld.class);
+        when(buildWorld.getData())
+                .thenReturn(new WorldDataImpl.WorldDataBuilder("alpha")
+                        .withStatus(TestData.NOT_STARTED)
+                        .withPermission("build.alpha")
+                        .build());
+        when(buildWorld.getBuilders()).thenReturn(new BuildersImpl(mock(Messages.class), null, List.of()));
+        WorldPermissionsImpl permissions = WorldPermissionsImpl.of(context, buildWorld);
+        Player player = player("build.alpha");
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(permissions.canEnter(player));
+        }
+
+        verify(player, times(1)).hasPermission(BuildSystemPlugin.ADMIN_PERMISSION);
+        verify(player, times(1)).hasPermission("build.alpha");
+
+        contextCache.invalidate(player.getUniqueId());
+        when(player.hasPermission("build.alpha")).thenReturn(false);
+        assertFalse(permissions.canEnter(player));
+    }
+}
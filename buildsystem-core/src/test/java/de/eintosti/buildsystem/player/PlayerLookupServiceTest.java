@@ -20,6 +20,8 @@ package de.eintosti.buildsystem.player;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import org.jspecify.annotations.NullMarked;
@@ -55,6 +57,19 @@ class PlayerLookupServiceTest {
         assertEquals("Steve", service.lookupName(uuid).get());
     }
 
+    @Test
+    void bulkLookupOfCachedNamesResolvesLocally() {
+        PlayerLookupService service = new PlayerLookupService(null);
+        UUID alex = UUID.randomUUID();
+        UUID steve = UUID.randomUUID();
+        service.cacheUser(alex, "Alex");
+        service.cacheUser(steve, "Steve");
+
+        Map<String, UUID> resolved = service.lookupUniqueIdsBlocking(List.of("alex", "STEVE"));
+
+        assertEquals(Map.of("alex", alex, "steve", steve), resolved);
+    }
+
     @Test
     void undashedUuidRoundTrips() {
         UUID uuid = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
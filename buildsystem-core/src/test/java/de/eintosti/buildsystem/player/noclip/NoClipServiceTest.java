@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player.noclip;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.eintosti.buildsystem.player.noclip.NoClipService.Sample;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+/**
+ * Tests for {@link NoClipService}: the hitbox collision test, and players switching into spectator mode and back as the
+ * blocks around them change. The stress test runs hundreds of No-Clip players at once.
+ */
+@NullMarked
+class NoClipServiceTest {
+
+    private static final int PLAYER_Y = 10;
+
+    private ServerMock server;
+    private TaskScheduler scheduler;
+    private WorldMock world;
+    private NoClipService service;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        scheduler = new TaskScheduler(MockBukkit.createMockPlugin());
+        world = new WorldMock(Material.DIRT, 0, 32, 1);
+        server.addWorld(world);
+        for (int chunkX = 0; chunkX < 2; chunkX++) {
+            for (int chunkZ = 0; chunkZ < 2; chunkZ++) {
+                world.getChunkAt(chunkX, chunkZ);
+                assertTrue(world.isChunkLoaded(chunkX, chunkZ));
+            }
+        }
+        service = new NoClipService(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        MockBukkit.unmock();
+    }
+
+    private PlayerMock noClipPlayer(int blockX, int blockZ) {
+        PlayerMock player = server.addPlayer();
+        player.teleport(new Location(world, blockX + 0.5, PLAYER_Y, blockZ + 0.5));
+        player.setGameMode(GameMode.CREATIVE);
+        service.startNoClip(player);
+        return player;
+    }
+
+    private void setBlock(int x, int y, int z, Material type) {
+        Block block = world.getBlockAt(x, y, z);
+        block.setType(type);
+        service.onBlockChange(block);
+    }
+
+    /**
+     * Ticks the server until the condition holds, failing if it does not within ten check runs.
+     */
+    private void tickUntil(BooleanSupplier condition) {
+        for (int tick = 0; !condition.getAsBoolean(); tick++) {
+            assertTrue(tick < 40, "Timed out waiting for the No-Clip check");
+            server.getScheduler().performOneTick();
+        }
+    }
+
+    @Test
+    void collides_checksAroundHitbox() {
+        Set<List<Integer>> solid = Set.of(List.of(0, 11, 0));
+        NoClipService.BlockLookup blocks = (x, y, z) -> solid.contains(List.of(x, y, z));
+
+        assertTrue(NoClipService.collides(new Sample(UUID.randomUUID(), 0, 32, 0.5, 10, 0.5, false), blocks));
+        assertFalse(NoClipService.collides(new Sample(UUID.randomUUID(), 0, 32, 1.5, 10, 0.5, false), blocks));
+        // Standing on the block only counts while sneaking
+        assertFalse(NoClipService.collides(new Sample(UUID.randomUUID(), 0, 32, 0.5, 12, 0.5, false), blocks));
+        assertTrue(NoClipService.collides(new Sample(UUID.randomUUID(), 0, 32, 0.5, 12, 0.5, true), blocks));
+    }
+
+    @Test
+    void playerInsideBlock_switchesToSpectatorAndBack() {
+        setBlock(3, PLAYER_Y, 3, Material.STONE);
+        PlayerMock player = noClipPlayer(3, 3);
+
+        tickUntil(() -> player.getGameMode() == GameMode.SPECTATOR);
+
+        // The player stands still; the block change alone triggers the next check
+        setBlock(3, PLAYER_Y, 3, Material.AIR);
+        tickUntil(() -> player.getGameMode() == GameMode.CREATIVE);
+    }
+
+    @Test
+    void unreportedBlockChange_isPickedUpByPeriodicRecheck() {
+        PlayerMock player = noClipPlayer(3, 3);
+        server.getScheduler().performTicks(8);
+        assertEquals(GameMode.CREATIVE, player.getGameMode());
+
+        // Changed without notifying the service, as a WorldEdit edit would
+        world.getBlockAt(3, PLAYER_Y, 3).setType(Material.STONE);
+
+        tickUntil(() -> player.getGameMode() == GameMode.SPECTATOR);
+    }
+
+    @Test
+    void stopNoClip_restoresPreviousGameMode() {
+        setBlock(3, PLAYER_Y, 3, Material.STONE);
+        PlayerMock player = noClipPlayer(3, 3);
+        tickUntil(() -> player.getGameMode() == GameMode.SPECTATOR);
+
+        service.stopNoClip(player.getUniqueId());
+
+        assertEquals(GameMode.CREATIVE, player.getGameMode());
+        assertFalse(service.isNoClip(player.getUniqueId()));
+    }
+
+    @Test
+    void stress_hundredsOfPlayers() {
+        // 300 players across four chunks, every other one inside a block; the probes of neighbouring players never
+        // reach each other's block
+        List<PlayerMock> inside = new ArrayList<>();
+        List<PlayerMock> outside = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int blockX = i % 30;
+            int blockZ = (i / 30) * 3;
+            if (i % 2 == 0) {
+                setBlock(blockX, PLAYER_Y, blockZ, Material.STONE);
+                inside.add(noClipPlayer(blockX, blockZ));
+            } else {
+                outside.add(noClipPlayer(blockX, blockZ));
+            }
+        }
+
+        tickUntil(() -> inside.stream().allMatch(player -> player.getGameMode() == GameMode.SPECTATOR));
+        outside.forEach(player -> assertEquals(GameMode.CREATIVE, player.getGameMode()));
+
+        for (PlayerMock player : inside) {
+            Location location = player.getLocation();
+            setBlock(location.getBlockX(), PLAYER_Y, location.getBlockZ(), Material.AIR);
+        }
+        tickUntil(() -> inside.stream().allMatch(player -> player.getGameMode() == GameMode.CREATIVE));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player.settings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.i18n.Messages;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+/**
+ * Tests for {@link SidebarRenderer}: a world is rendered once for all players in it and only again after it was marked
+ * dirty, only changed lines are pushed, and switching worlds shows the new world's lines.
+ */
+@NullMarked
+class SidebarRendererTest {
+
+    private final Map<String, String> statuses = new HashMap<>();
+    private final Map<String, Integer> renders = new HashMap<>();
+
+    private ServerMock server;
+    private TaskScheduler scheduler;
+    private Messages messages;
+    private World alpha;
+    private World beta;
+    private SidebarRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        scheduler = new TaskScheduler(MockBukkit.createMockPlugin());
+        alpha = server.addSimpleWorld("alpha");
+        beta = server.addSimpleWorld("beta");
+        statuses.put("alpha", "Not Started");
+        statuses.put("beta", "Finished");
+
+        messages = mock(Messages.class);
+        when(messages.finishLine(any(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        renderer = new SidebarRenderer(scheduler, messages, worldName -> {
+            renders.merge(worldName, 1, Integer::sum);
+            return List.of("World: " + worldName, "Status: " + statuses.get(worldName));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        MockBukkit.unmock();
+    }
+
+    private RecordingBoard show(World world) {
+        PlayerMock player = server.addPlayer();
+        player.teleport(world.getSpawnLocation());
+        RecordingBoard board = new RecordingBoard();
+        renderer.show(player, board);
+        return board;
+    }
+
+    private void runOnce() {
+        server.getScheduler().performTicks(SidebarRenderer.PERIOD_TICKS);
+    }
+
+    @Test
+    void show_rendersEachWorldOnceForAllItsPlayers() {
+        List<RecordingBoard> boards = List.of(show(alpha), show(alpha), show(alpha));
+
+        assertEquals(1, renders.get("alpha"));
+        for (RecordingBoard board : boards) {
+            assertEquals(List.of("World: alpha", "Status: Not Started"), board.lines);
+        }
+    }
+
+    @Test
+    void run_cleanWorld_isNeitherRenderedNorPushedAgain() {
+        RecordingBoard board = show(alpha);
+        board.pushes = 0;
+
+        for (int i = 0; i < 10; i++) {
+            runOnce();
+        }
+
+        assertEquals(1, renders.get("alpha"));
+        assertEquals(0, board.pushes);
+    }
+
+    @Test
+    void markDirty_pushesOnlyTheChangedLine() {
+        RecordingBoard first = show(alpha);
+        RecordingBoard second = show(alpha);
+        RecordingBoard other = show(beta);
+        first.pushes = 0;
+        second.pushes = 0;
+        other.pushes = 0;
+
+        statuses.put("alpha", "Finished");
+        renderer.markDirty("alpha");
+        runOnce();
+
+        assertEquals(2, renders.get("alpha"));
+        for (RecordingBoard board : List.of(first, second)) {
+            assertEquals(List.of("World: alpha", "Status: Finished"), board.lines);
+            assertEquals(List.of(1), board.updatedLines);
+            assertEquals(1, board.pushes);
+        }
+        assertEquals(1, renders.get("beta"));
+        assertEquals(0, other.pushes);
+    }
+
+    @Test
+    void refresh_afterWorldSwitch_showsTheNewWorld() {
+        PlayerMock player = server.addPlayer();
+        player.teleport(alpha.getSpawnLocation());
+        RecordingBoard board = new RecordingBoard();
+        renderer.show(player, board);
+
+        player.teleport(beta.getSpawnLocation());
+        renderer.refresh(player);
+
+        assertEquals(List.of("World: beta", "Status: Finished"), board.lines);
+    }
+
+    @Test
+    void run_withPlaceholderResolver_resolvesPerPlayer() {
+        when(messages.hasPlaceholderResolver()).thenReturn(true);
+        when(messages.finishLine(any(), anyString()))
+                .thenAnswer(invocation ->
+                        invocation.<Player>getArgument(0).getName() + " " + invocation.getArgument(1));
+        PlayerMock player = server.addPlayer();
+        player.teleport(alpha.getSpawnLocation());
+        RecordingBoard board = new RecordingBoard();
+        renderer.show(player, board);
+
+        assertEquals(player.getName() + " World: alpha", board.lines.getFirst());
+
+        board.pushes = 0;
+        for (int i = 0; i < SidebarRenderer.RESOLVER_REFRESH_RUNS; i++) {
+            runOnce();
+        }
+        // Other plugins' placeholders cannot signal changes, so the lines are re-resolved without a re-render
+        assertEquals(1, renders.get("alpha"));
+        assertEquals(0, board.pushes, "Unchanged resolved lines must not be pushed");
+        assertEquals(player.getName() + " World: alpha", board.lines.getFirst());
+    }
+
+    @Test
+    void hide_lastViewer_dropsRenderedWorlds() {
+        PlayerMock player = server.addPlayer();
+        player.teleport(alpha.getSpawnLocation());
+        renderer.show(player, new RecordingBoard());
+
+        renderer.hide(player);
+        renderer.show(player, new RecordingBoard());
+
+        assertEquals(2, renders.get("alpha"));
+    }
+
+    private static final class RecordingBoard implements SidebarRenderer.Board {
+
+        private List<String> lines = new ArrayList<>();
+        private final List<Integer> updatedLines = new ArrayList<>();
+        private int pushes;
+
+        @Override
+        public void updateLine(int line, String text) {
+            lines.set(line, text);
+            updatedLines.add(line);
+            pushes++;
+        }
+
+        @Override
+        public void updateLines(List<String> lines) {
+            this.lines = new ArrayList<>(lines);
+            pushes++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ParallelLoader}: results keep the input order across chunks, and a failing entry is reported and
+ * skipped without failing the others.
+ */
+class ParallelLoaderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadAll_keepsInputOrderAcrossChunks() {
+        List<Integer> inputs = IntStream.range(0, 1_000).boxed().toList();
+
+        List<String> loaded = ParallelLoader.<Integer, String>loadAll(
+                        inputs, String::valueOf, executor, (input, e) -> fail(e))
+                .join();
+
+        assertEquals(inputs.stream().map(String::valueOf).toList(), loaded);
+    }
+
+    @Test
+    void loadAll_skipsAndReportsFailedEntries() {
+        List<Integer> failed = new CopyOnWriteArrayList<>();
+
+        List<Integer> loaded = ParallelLoader.<Integer, Integer>loadAll(
+                        List.of(1, 2, 3, 4),
+                        input -> {
+                            if (input % 2 == 0) {
+                                throw new IllegalArgumentException("even");
+                            }
+                            return input;
+                        },
+                        executor,
+                        (input, e) -> failed.add(input))
+                .join();
+
+        assertEquals(List.of(1, 3), loaded);
+        assertEquals(List.of(2, 4), failed.stream().sorted().toList());
+    }
+
+    @Test
+    void loadAll_emptyInput_completesImmediately() {
+        assertTrue(ParallelLoader.<Integer, Integer>loadAll(List.of(), input -> input, executor, (input, e) -> {})
+                .join()
+                .isEmpty());
+    }
+}
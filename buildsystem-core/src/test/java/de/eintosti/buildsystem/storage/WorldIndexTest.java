@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.data.BuildWorldType;
+import de.eintosti.buildsystem.api.world.data.Visibility;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.api.world.display.Displayable;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
+import de.eintosti.buildsystem.api.world.display.WorldSort;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.WorldContext;
+import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import de.eintosti.buildsystem.world.display.DisplaySortKey;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+/**
+ * Tests for the secondary indexes behind the {@link WorldStorageImpl} queries: worlds are found by category, status,
+ * creator and builder, move between the index entries as they are modified or removed, and are listed in sort order.
+ */
+@NullMarked
+class WorldIndexTest {
+
+    private final UUID creatorId = UUID.randomUUID();
+
+    private WorldStorageImpl storage;
+    private WorldContext context;
+
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+        storage = new WorldStorageImpl(Logger.getLogger("test")) {
+            @Override
+            public CompletableFuture<Void> save(BuildWorld object) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> save(Collection<BuildWorld> objects) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Collection<BuildWorld>> load() {
+                return CompletableFuture.completedFuture(List.of());
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(BuildWorld object) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(String key) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        context = TestData.worldContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private BuildWorldImpl buildWorld(String name, Visibility visibility) {
+        BuildWorldImpl buildWorld = new BuildWorldImpl(
+                context,
+                UUID.randomUUID(),
+                name,
+                BuildWorldType.NORMAL,
+                new WorldDataBuilder(name)
+                        .withStatus(TestData.NOT_STARTED)
+                        .withVisibility(visibility)
+                        .build(),
+                Builder.of(creatorId, "Creator"),
+                List.of(),
+                System.currentTimeMillis(),
+                null,
+                null);
+        storage.addBuildWorld(buildWorld);
+        return buildWorld;
+    }
+
+    @Test
+    void getBuildWorlds_byCategory_returnsOnlyGroupedWorlds() {
+        BuildWorldImpl publicWorld = buildWorld("public", Visibility.EVERYONE);
+        BuildWorldImpl privateWorld = buildWorld("private", Visibility.ADDED_PLAYERS);
+
+        assertEquals(List.of(publicWorld), storage.getBuildWorlds(TestData.PUBLIC));
+        assertEquals(List.of(privateWorld), storage.getBuildWorlds(TestData.PRIVATE));
+        assertTrue(storage.getBuildWorlds(TestData.ARCHIVE).isEmpty());
+    }
+
+    @Test
+    void statusChange_movesWorldBetweenCategories() {
+        BuildWorldImpl buildWorld = buildWorld("alpha", Visibility.EVERYONE);
+
+        buildWorld.getData().set(WorldDataKey.STATUS, TestData.ARCHIVE_STATUS);
+
+        assertTrue(storage.getBuildWorlds(TestData.PUBLIC).isEmpty());
+        assertEquals(List.of(buildWorld), storage.getBuildWorlds(TestData.ARCHIVE));
+        assertEquals(List.of(buildWorld), storage.getBuildWorlds(Visibility.EVERYONE, TestData.ARCHIVE_STATUS));
+        assertTrue(storage.getBuildWorlds(Visibility.EVERYONE, TestData.NOT_STARTED).isEmpty());
+    }
+
+    @Test
+    void visibilityChange_movesWorldBetweenCategories() {
+        BuildWorldImpl buildWorld = buildWorld("alpha", Visibility.EVERYONE);
+
+        buildWorld.getData().set(WorldDataKey.VISIBILITY, Visibility.ADDED_PLAYERS);
+
+        assertTrue(storage.getBuildWorlds(TestData.PUBLIC).isEmpty());
+        assertEquals(List.of(buildWorld), storage.getBuildWorlds(TestData.PRIVATE));
+    }
+
+    @Test
+    void builderAndCreatorChanges_areIndexed() {
+        BuildWorldImpl buildWorld = buildWorld("alpha", Visibility.EVERYONE);
+        Builder builder = Builder.of(UUID.randomUUID(), "Builder");
+        Builder newCreator = Builder.of(UUID.randomUUID(), "NewCreator");
+
+        assertEquals(List.of(buildWorld), storage.getBuildWorldsCreatedBy(creatorId));
+
+        buildWorld.getBuilders().addBuilder(builder);
+        assertEquals(List.of(buildWorld), storage.getBuildWorldsWithBuilder(builder.getUniqueId()));
+
+        buildWorld.getBuilders().removeBuilder(builder);
+        assertTrue(storage.getBuildWorldsWithBuilder(builder.getUniqueId()).isEmpty());
+
+        buildWorld.getBuilders().setCreator(newCreator);
+        assertTrue(storage.getBuildWorldsCreatedBy(creatorId).isEmpty());
+        assertEquals(List.of(buildWorld), storage.getBuildWorldsCreatedBy(newCreator.getUniqueId()));
+    }
+
+    @Test
+    void removeBuildWorld_dropsWorldFromEveryIndex() {
+        BuildWorldImpl buildWorld = buildWorld("alpha", Visibility.EVERYONE);
+        Builder builder = Builder.of(UUID.randomUUID(), "Builder");
+        buildWorld.getBuilders().addBuilder(builder);
+
+        storage.removeBuildWorld(buildWorld);
+
+        assertTrue(storage.getBuildWorlds(TestData.PUBLIC).isEmpty());
+        assertTrue(storage.getBuildWorldsCreatedBy(creatorId).isEmpty());
+        assertTrue(storage.getBuildWorldsWithBuilder(builder.getUniqueId()).isEmpty());
+    }
+
+    @Test
+    void getSortedBuildWorlds_mergesGroupsInSortOrder() {
+        BuildWorldImpl charlie = buildWorld("charlie", Visibility.EVERYONE);
+        BuildWorldImpl alpha = buildWorld("alpha", Visibility.EVERYONE);
+        BuildWorldImpl bravo = buildWorld("bravo", Visibility.EVERYONE);
+        buildWorld("private", Visibility.ADDED_PLAYERS);
+        alpha.getData().set(WorldDataKey.STATUS, TestData.FINISHED);
+        bravo.getData().set(WorldDataKey.STATUS, TestData.IN_PROGRESS);
+
+        assertEquals(List.of(alpha, bravo, charlie), sorted(TestData.PUBLIC, WorldSort.NAME_A_TO_Z));
+        assertEquals(List.of(charlie, bravo, alpha), sorted(TestData.PUBLIC, WorldSort.NAME_Z_TO_A));
+        assertEquals(List.of(charlie, bravo, alpha), sorted(TestData.PUBLIC, WorldSort.STATUS_NOT_STARTED));
+        assertEquals(List.of(alpha, bravo, charlie), sorted(TestData.PUBLIC, WorldSort.STATUS_FINISHED));
+    }
+
+    @Test
+    void getSortedBuildWorlds_followsPinsAndRemovals() {
+        BuildWorldImpl alpha = buildWorld("alpha", Visibility.EVERYONE);
+        BuildWorldImpl bravo = buildWorld("bravo", Visibility.EVERYONE);
+        BuildWorldImpl charlie = buildWorld("charlie", Visibility.EVERYONE);
+
+        charlie.getData().set(WorldDataKey.PINNED, true);
+        assertEquals(List.of(charlie, alpha, bravo), sorted(TestData.PUBLIC, WorldSort.NAME_A_TO_Z));
+
+        storage.removeBuildWorld(alpha);
+        assertEquals(List.of(charlie, bravo), sorted(TestData.PUBLIC, WorldSort.NAME_A_TO_Z));
+    }
+
+    private List<Displayable> sorted(NavigatorCategory category, WorldSort sort) {
+        return storage.getSortedBuildWorlds(category, sort).stream()
+                .map(DisplaySortKey::displayable)
+                .toList();
+    }
+
+    @Test
+    void getBuildWorlds_byFolder_resolvesIndexedWorlds() {
+        BuildWorldImpl first = buildWorld("first", Visibility.EVERYONE);
+        BuildWorldImpl second = buildWorld("second", Visibility.EVERYONE);
+        Folder folder = mock(Folder.class);
+        when(folder.getWorldUUIDs()).thenReturn(List.of(second.getUniqueId(), UUID.randomUUID()));
+
+        assertEquals(List.of(second), storage.getBuildWorlds(folder));
+        assertEquals(Set.of(first, second), Set.copyOf(storage.getBuildWorlds(TestData.PUBLIC)));
+    }
+}
@@ -197,4 +197,29 @@ class WorldStorageImplTest {
         assertSame(buildWorld, storage.getBuildWorld("newName"));
         assertSame(buildWorld, storage.getBuildWorld(buildWorld.getUniqueId()));
     }
+
+    @Test
+    void markDirty_drainReturnsWorldOnce() {
+        BuildWorld buildWorld = world("Juliett");
+        storage.addBuildWorld(buildWorld);
+
+        storage.markDirty(buildWorld);
+        assertTrue(storage.isDirty(buildWorld));
+
+        assertEquals(List.of(buildWorld), storage.drainDirtyWorlds());
+        assertFalse(storage.isDirty(buildWorld));
+        assertTrue(storage.drainDirtyWorlds().isEmpty());
+    }
+
+    @Test
+    void removeBuildWorld_clearsDirtyFlag() {
+        BuildWorld buildWorld = world("Kilo");
+        storage.addBuildWorld(buildWorld);
+        storage.markDirty(buildWorld);
+
+        storage.removeBuildWorld(buildWorld);
+
+        assertFalse(storage.isDirty(buildWorld));
+        assertTrue(storage.drainDirtyWorlds().isEmpty());
+    }
 }
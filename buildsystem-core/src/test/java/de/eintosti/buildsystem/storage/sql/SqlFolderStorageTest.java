@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.cryptomorin.xseries.XMaterial;
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.storage.WorldStorage;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.storage.yaml.YamlFolderStorage;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.folder.FolderImpl;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SqlFolderStorage}: folders round-trip through their document column with parent references linked
+ * on load, saves and deletes touch only their own rows, and an existing {@code folders.yml} is imported once.
+ */
+class SqlFolderStorageTest {
+
+    @TempDir
+    File dataFolder;
+
+    private BuildSystemPlugin plugin;
+    private Services services;
+    private WorldStorage worldStorage;
+    private SqlDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(BuildSystemPlugin.class, RETURNS_DEEP_STUBS);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        services = TestData.mockServices();
+        worldStorage = mock(WorldStorage.class);
+        database = SqlDatabase.open(dataFolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private SqlFolderStorage newStorage() {
+        return new SqlFolderStorage(plugin, worldStorage, services, database);
+    }
+
+    private FolderImpl folder(String name, List<UUID> worlds) {
+        return new FolderImpl(
+                services.worldContext(),
+                UUID.randomUUID(),
+                name,
+                1_700_000_000_000L,
+                TestData.PUBLIC,
+                null,
+                Builder.of(UUID.randomUUID(), "FolderCreator"),
+                XMaterial.CHEST,
+                "perm.test",
+                "ProjectX",
+                worlds,
+                new ArrayList<>());
+    }
+
+    private static Folder find(Collection<Folder> folders, Folder folder) {
+        return folders.stream()
+                .filter(loaded -> loaded.getUniqueId().equals(folder.getUniqueId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void save_roundTripsEveryField() {
+        List<UUID> worlds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        FolderImpl original = folder("MyFolder", worlds);
+        newStorage().save(original).join();
+
+        Folder reloaded = find(newStorage().load().join(), original);
+
+        assertEquals("MyFolder", reloaded.getName());
+        assertEquals(TestData.PUBLIC, reloaded.getCategory());
+        assertEquals("perm.test", reloaded.getPermission());
+        assertEquals("ProjectX", reloaded.getProject());
+        assertEquals("FolderCreator", reloaded.getCreator().getName());
+        assertEquals(worlds, reloaded.getWorldUUIDs());
+    }
+
+    @Test
+    void load_linksParentReferences() {
+        FolderImpl parent = folder("Parent", List.of());
+        FolderImpl child = folder("Child", List.of());
+        child.setParent(parent);
+        newStorage().save(List.of(child, parent)).join();
+
+        Folder reloadedChild = find(newStorage().load().join(), child);
+
+        assertNotNull(reloadedChild.getParent());
+        assertEquals(parent.getUniqueId(), reloadedChild.getParent().getUniqueId());
+    }
+
+    @Test
+    void save_existingFolder_updatesItsRowInPlace() {
+        FolderImpl edited = folder("Edited", List.of());
+        FolderImpl untouched = folder("Untouched", List.of());
+        SqlFolderStorage storage = newStorage();
+        storage.save(List.of(edited, untouched)).join();
+
+        edited.setName("Renamed");
+        storage.save(edited).join();
+
+        Collection<Folder> loaded = newStorage().load().join();
+        assertEquals(2, loaded.size());
+        assertEquals("Renamed", find(loaded, edited).getName());
+        assertEquals("Untouched", find(loaded, untouched).getName());
+    }
+
+    @Test
+    void delete_removesOnlyThatFoldersRow() {
+        FolderImpl kept = folder("Kept", List.of());
+        FolderImpl deleted = folder("Deleted", List.of());
+        SqlFolderStorage storage = newStorage();
+        storage.save(List.of(kept, deleted)).join();
+
+        storage.delete(deleted).join();
+
+        Collection<Folder> loaded = newStorage().load().join();
+        assertEquals(1, loaded.size());
+        assertEquals(kept.getUniqueId(), loaded.iterator().next().getUniqueId());
+    }
+
+    @Test
+    void load_importsExistingFoldersYmlIntoEmptyTable() {
+        FolderImpl legacy = folder("Legacy", List.of());
+        new YamlFolderStorage(plugin, worldStorage, services).save(legacy).join();
+
+        assertEquals("Legacy", find(newStorage().load().join(), legacy).getName());
+        assertFalse(database.isEmpty("folders"));
+    }
+
+    @Test
+    void load_emptyDataFolder_returnsEmptyCollection() {
+        assertTrue(newStorage().load().join().isEmpty());
+    }
+}
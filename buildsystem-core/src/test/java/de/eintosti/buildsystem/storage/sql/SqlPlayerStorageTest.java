@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.api.player.BuildPlayer;
+import de.eintosti.buildsystem.api.player.settings.NavigatorType;
+import de.eintosti.buildsystem.player.BuildPlayerImpl;
+import de.eintosti.buildsystem.player.LogoutLocation;
+import de.eintosti.buildsystem.player.settings.SettingsImpl;
+import de.eintosti.buildsystem.storage.yaml.YamlPlayerStorage;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SqlPlayerStorage}: players round-trip through their document column, saves and deletes touch only
+ * their own rows, and an existing {@code players.yml} is imported into an empty table once.
+ */
+class SqlPlayerStorageTest {
+
+    @TempDir
+    File dataFolder;
+
+    private BuildSystemPlugin plugin;
+    private TaskScheduler scheduler;
+    private SqlDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(BuildSystemPlugin.class, RETURNS_DEEP_STUBS);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        scheduler = new TaskScheduler(plugin);
+        database = SqlDatabase.open(dataFolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private SqlPlayerStorage newStorage() {
+        return new SqlPlayerStorage(plugin, scheduler, database);
+    }
+
+    private static BuildPlayerImpl samplePlayer() {
+        SettingsImpl settings = new SettingsImpl();
+        settings.setNavigatorType(NavigatorType.NEW);
+        settings.setNoClip(true);
+        settings.setSlabBreaking(true);
+
+        BuildPlayerImpl player = new BuildPlayerImpl(UUID.randomUUID(), settings);
+        player.setLogoutLocation(new LogoutLocation("lobby", 1.5, 64.0, -3.25, 90.0f, -10.0f));
+        return player;
+    }
+
+    private static BuildPlayerImpl find(Collection<BuildPlayer> players, BuildPlayer buildPlayer) {
+        return players.stream()
+                .filter(player -> player.getUniqueId().equals(buildPlayer.getUniqueId()))
+                .map(BuildPlayerImpl::of)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void save_roundTripsSettingsAndLogoutLocation() {
+        BuildPlayerImpl original = samplePlayer();
+        newStorage().save(original).join();
+
+        BuildPlayerImpl reloaded = find(newStorage().load().join(), original);
+
+        assertEquals(NavigatorType.NEW, reloaded.getSettings().getNavigatorType());
+        assertTrue(reloaded.getSettings().isNoClip());
+        assertTrue(reloaded.getSettings().isSlabBreaking());
+        assertFalse(reloaded.getSettings().isNightVision());
+        LogoutLocation logoutLocation = reloaded.getLogoutLocation();
+        assertNotNull(logoutLocation);
+        assertEquals(original.getLogoutLocation().toString(), logoutLocation.toString());
+    }
+
+    @Test
+    void save_existingPlayer_updatesItsRowInPlace() {
+        BuildPlayerImpl edited = samplePlayer();
+        BuildPlayerImpl untouched = samplePlayer();
+        SqlPlayerStorage storage = newStorage();
+        storage.save(List.of(edited, untouched)).join();
+
+        edited.getSettings().setNoClip(false);
+        storage.save(edited).join();
+
+        Collection<BuildPlayer> loaded = newStorage().load().join();
+        assertEquals(2, loaded.size());
+        assertFalse(find(loaded, edited).getSettings().isNoClip());
+        assertTrue(find(loaded, untouched).getSettings().isNoClip());
+    }
+
+    @Test
+    void delete_removesOnlyThatPlayersRow() {
+        BuildPlayerImpl kept = samplePlayer();
+        BuildPlayerImpl deleted = samplePlayer();
+        SqlPlayerStorage storage = newStorage();
+        storage.save(List.of(kept, deleted)).join();
+
+        storage.delete(deleted).join();
+
+        Collection<BuildPlayer> loaded = newStorage().load().join();
+        assertEquals(1, loaded.size());
+        assertEquals(kept.getUniqueId(), loaded.iterator().next().getUniqueId());
+    }
+
+    @Test
+    void load_importsExistingPlayersYmlIntoEmptyTable() {
+        BuildPlayerImpl legacy = samplePlayer();
+        new YamlPlayerStorage(plugin, scheduler).save(legacy).join();
+
+        assertEquals(legacy.getUniqueId(), find(newStorage().load().join(), legacy).getUniqueId());
+        assertFalse(database.isEmpty("players"));
+    }
+
+    @Test
+    void load_emptyDataFolder_returnsEmptyCollection() {
+        assertTrue(newStorage().load().join().isEmpty());
+    }
+}
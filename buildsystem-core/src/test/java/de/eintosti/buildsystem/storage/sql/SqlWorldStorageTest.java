@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.cryptomorin.xseries.XMaterial;
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.data.BuildWorldType;
+import de.eintosti.buildsystem.api.world.data.Visibility;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.storage.yaml.YamlWorldStorage;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Difficulty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SqlWorldStorage}: worlds round-trip through their typed columns, saves and deletes touch only their
+ * own rows, and an existing {@code worlds.yml} is imported into an empty table once.
+ */
+class SqlWorldStorageTest {
+
+    @TempDir
+    File dataFolder;
+
+    private BuildSystemPlugin plugin;
+    private Services services;
+    private SqlDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(BuildSystemPlugin.class, RETURNS_DEEP_STUBS);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        services = TestData.mockServices();
+        database = SqlDatabase.open(dataFolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private SqlWorldStorage newStorage() {
+        return new SqlWorldStorage(plugin, services, database);
+    }
+
+    private BuildWorldImpl sampleWorld(String name) {
+        WorldDataImpl data = new WorldDataBuilder(name)
+                .withStatus(TestData.IN_PROGRESS)
+                .withDifficulty(Difficulty.EASY)
+                .withMaterial(XMaterial.STONE)
+                .withVisibility(Visibility.EVERYONE)
+                .withPermissionOverrideEnabled(() -> false)
+                .withProjectOverrideEnabled(() -> false)
+                .build();
+        Builder creator = Builder.of(UUID.randomUUID(), "Creator");
+        return new BuildWorldImpl(
+                services.worldContext(),
+                UUID.randomUUID(),
+                name,
+                BuildWorldType.NORMAL,
+                data,
+                creator,
+                List.of(creator),
+                1_700_000_000_000L,
+                null,
+                null);
+    }
+
+    private static BuildWorld find(Collection<BuildWorld> worlds, BuildWorld buildWorld) {
+        return worlds.stream()
+                .filter(world -> world.getUniqueId().equals(buildWorld.getUniqueId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void save_roundTripsEveryColumn() {
+        BuildWorldImpl buildWorld = sampleWorld("First");
+        buildWorld.getData().set(WorldDataKey.PHYSICS, false);
+        buildWorld.getData().set(WorldDataKey.LAST_EDITED, 1_234L);
+        buildWorld.getData().set(WorldDataKey.PROJECT, "Spawn");
+        newStorage().save(buildWorld).join();
+
+        BuildWorld reloaded = find(newStorage().load().join(), buildWorld);
+
+        assertEquals("First", reloaded.getName());
+        assertEquals(BuildWorldType.NORMAL, reloaded.getType());
+        assertEquals(1_700_000_000_000L, reloaded.getCreation());
+        assertEquals("Creator", reloaded.getBuilders().getCreator().getName());
+        assertEquals(TestData.IN_PROGRESS, reloaded.getData().get(WorldDataKey.STATUS));
+        assertEquals(Difficulty.EASY, reloaded.getData().get(WorldDataKey.DIFFICULTY));
+        assertEquals(XMaterial.STONE, reloaded.getData().get(WorldDataKey.MATERIAL));
+        assertFalse(reloaded.getData().get(WorldDataKey.PHYSICS));
+        assertEquals(1_234L, (long) reloaded.getData().get(WorldDataKey.LAST_EDITED));
+        assertEquals("Spawn", reloaded.getData().get(WorldDataKey.PROJECT));
+    }
+
+    @Test
+    void save_existingWorld_updatesItsRowInPlace() {
+        BuildWorldImpl edited = sampleWorld("Edited");
+        BuildWorldImpl untouched = sampleWorld("Untouched");
+        SqlWorldStorage storage = newStorage();
+        storage.save(List.of(edited, untouched)).join();
+
+        edited.setName("Renamed");
+        storage.save(edited).join();
+
+        Collection<BuildWorld> loaded = newStorage().load().join();
+        assertEquals(2, loaded.size());
+        assertEquals("Renamed", find(loaded, edited).getName());
+        assertEquals("Untouched", find(loaded, untouched).getName());
+    }
+
+    @Test
+    void delete_removesOnlyThatWorldsRow() {
+        BuildWorldImpl kept = sampleWorld("Kept");
+        BuildWorldImpl deleted = sampleWorld("Deleted");
+        SqlWorldStorage storage = newStorage();
+        storage.save(List.of(kept, deleted)).join();
+
+        storage.delete(deleted).join();
+
+        Collection<BuildWorld> loaded = newStorage().load().join();
+        assertEquals(1, loaded.size());
+        assertEquals(kept.getUniqueId(), loaded.iterator().next().getUniqueId());
+    }
+
+    @Test
+    void load_importsExistingWorldsYmlIntoEmptyTable() {
+        BuildWorldImpl legacy = sampleWorld("Legacy");
+        new YamlWorldStorage(plugin, services).save(legacy).join();
+
+        assertEquals(1, newStorage().load().join().size());
+        assertFalse(database.isEmpty("worlds"));
+    }
+
+    @Test
+    void load_emptyDataFolder_returnsEmptyCollection() {
+        assertTrue(newStorage().load().join().isEmpty());
+    }
+}
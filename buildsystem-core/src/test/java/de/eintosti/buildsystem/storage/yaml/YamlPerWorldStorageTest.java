@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage.yaml;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.cryptomorin.xseries.XMaterial;
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.Services;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.data.BuildWorldType;
+import de.eintosti.buildsystem.api.world.data.Visibility;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Difficulty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link YamlPerWorldStorage}: each world lives in its own file, a save touches only the saved world's file,
+ * deletes remove exactly that file, and an existing {@code worlds.yml} is imported once on first load. Also covers the
+ * dirty tracking every {@code WorldStorageImpl} performs for the worlds it indexes.
+ */
+class YamlPerWorldStorageTest {
+
+    @TempDir
+    File dataFolder;
+
+    private BuildSystemPlugin plugin;
+    private Services services;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(BuildSystemPlugin.class, RETURNS_DEEP_STUBS);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        services = TestData.mockServices();
+    }
+
+    private YamlPerWorldStorage newStorage() {
+        return new YamlPerWorldStorage(plugin, services);
+    }
+
+    private BuildWorldImpl sampleWorld(String name) {
+        WorldDataImpl data = new WorldDataBuilder(name)
+                .withStatus(TestData.IN_PROGRESS)
+                .withDifficulty(Difficulty.EASY)
+                .withMaterial(XMaterial.STONE)
+                .withVisibility(Visibility.EVERYONE)
+                .withPermissionOverrideEnabled(() -> false)
+                .withProjectOverrideEnabled(() -> false)
+                .build();
+        Builder creator = Builder.of(UUID.randomUUID(), "Creator");
+        return new BuildWorldImpl(
+                services.worldContext(),
+                UUID.randomUUID(),
+                name,
+                BuildWorldType.NORMAL,
+                data,
+                creator,
+                List.of(creator),
+                1_700_000_000_000L,
+                null,
+                null);
+    }
+
+    private File worldFile(BuildWorld buildWorld) {
+        return new File(dataFolder, "worlds/" + buildWorld.getUniqueId() + ".yml");
+    }
+
+    @Test
+    void save_writesOneFilePerWorld_andRoundTrips() {
+        BuildWorldImpl first = sampleWorld("First");
+        BuildWorldImpl second = sampleWorld("Second");
+        newStorage().save(List.of(first, second)).join();
+
+        assertTrue(worldFile(first).isFile());
+        assertTrue(worldFile(second).isFile());
+
+        Collection<BuildWorld> loaded = newStorage().load().join();
+        assertEquals(2, loaded.size());
+        BuildWorld reloaded = loaded.stream()
+                .filter(world -> world.getUniqueId().equals(first.getUniqueId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("First", reloaded.getName());
+        assertEquals(TestData.IN_PROGRESS, reloaded.getData().get(WorldDataKey.STATUS));
+        assertEquals(Difficulty.EASY, reloaded.getData().get(WorldDataKey.DIFFICULTY));
+    }
+
+    @Test
+    void save_singleWorld_leavesOtherFilesUntouched() throws Exception {
+        BuildWorldImpl untouched = sampleWorld("Untouched");
+        BuildWorldImpl edited = sampleWorld("Edited");
+        YamlPerWorldStorage storage = newStorage();
+        storage.save(List.of(untouched, edited)).join();
+
+        long before = worldFile(untouched).lastModified();
+        assertTrue(worldFile(untouched).setLastModified(before - 10_000));
+
+        edited.getData().set(WorldDataKey.PROJECT, "Changed");
+        storage.save(edited).join();
+
+        assertEquals(before - 10_000, worldFile(untouched).lastModified());
+    }
+
+    @Test
+    void delete_removesOnlyThatWorldsFile() {
+        BuildWorldImpl kept = sampleWorld("Kept");
+        BuildWorldImpl deleted = sampleWorld("Deleted");
+        YamlPerWorldStorage storage = newStorage();
+        storage.save(List.of(kept, deleted)).join();
+
+        storage.delete(deleted).join();
+
+        assertTrue(worldFile(kept).isFile());
+        assertFalse(worldFile(deleted).exists());
+    }
+
+    @Test
+    void load_importsExistingWorldsYmlOnce() {
+        BuildWorldImpl legacy = sampleWorld("Legacy");
+        new YamlWorldStorage(plugin, services).save(legacy).join();
+
+        Collection<BuildWorld> loaded = newStorage().load().join();
+
+        assertEquals(1, loaded.size());
+        assertTrue(worldFile(legacy).isFile());
+    }
+
+    @Test
+    void load_emptyDirectory_returnsEmptyCollection() {
+        assertTrue(newStorage().load().join().isEmpty());
+    }
+
+    @Test
+    void indexedWorld_isMarkedDirtyOnDataWrite() {
+        YamlPerWorldStorage storage = newStorage();
+        BuildWorldImpl buildWorld = sampleWorld("Dirty");
+        storage.addBuildWorld(buildWorld);
+        assertFalse(storage.isDirty(buildWorld));
+
+        buildWorld.getData().set(WorldDataKey.PHYSICS, false);
+
+        assertTrue(storage.isDirty(buildWorld));
+    }
+
+    @Test
+    void indexedWorld_isMarkedDirtyOnBuilderChange() {
+        YamlPerWorldStorage storage = newStorage();
+        BuildWorldImpl buildWorld = sampleWorld("Builders");
+        storage.addBuildWorld(buildWorld);
+
+        buildWorld.getBuilders().addBuilder(Builder.of(UUID.randomUUID(), "Helper"));
+
+        assertTrue(storage.isDirty(buildWorld));
+    }
+
+    @Test
+    void saveDirty_writesOnlyModifiedWorlds() {
+        YamlPerWorldStorage storage = newStorage();
+        BuildWorldImpl clean = sampleWorld("Clean");
+        BuildWorldImpl modified = sampleWorld("Modified");
+        storage.addBuildWorld(clean);
+        storage.addBuildWorld(modified);
+
+        modified.getData().set(WorldDataKey.PINNED, true);
+        storage.saveDirty().join();
+
+        assertFalse(worldFile(clean).exists());
+        assertTrue(worldFile(modified).isFile());
+        assertFalse(storage.isDirty(modified));
+    }
+}
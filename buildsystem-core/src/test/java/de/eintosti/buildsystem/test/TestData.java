@@ -28,9 +28,11 @@ import de.eintosti.buildsystem.api.world.data.BuildWorldStatus;
 import de.eintosti.buildsystem.api.world.data.Visibility;
 import de.eintosti.buildsystem.api.world.display.NavigatorCategory;
 import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.config.PluginConfig;
 import de.eintosti.buildsystem.i18n.Messages;
 import de.eintosti.buildsystem.menu.MenuItems;
 import de.eintosti.buildsystem.menu.Prompts;
+import de.eintosti.buildsystem.player.PermissionCache;
 import de.eintosti.buildsystem.player.PlayerLookupService;
 import de.eintosti.buildsystem.player.PlayerServiceImpl;
 import de.eintosti.buildsystem.util.TaskScheduler;
@@ -174,11 +176,14 @@ public final class TestData {
         lenient()
                 .when(configService.current().world().unload().timeUntilUnload())
                 .thenReturn("06:00:00");
+        lenient().when(configService.current().storage().type()).thenReturn(PluginConfig.Storage.Type.YAML);
+        PlayerServiceImpl playerService = mock(PlayerServiceImpl.class);
+        lenient().when(playerService.getPermissionCache()).thenReturn(new PermissionCache());
         return new WorldContext(
                 mock(Messages.class, RETURNS_DEEP_STUBS),
                 mock(MenuItems.class),
                 configService,
-                mock(PlayerServiceImpl.class),
+                playerService,
                 mock(SpawnService.class),
                 statusRegistry(),
                 mock(CustomizableIcons.class),
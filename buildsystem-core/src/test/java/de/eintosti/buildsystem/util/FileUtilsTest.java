@@ -24,16 +24,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.jspecify.annotations.NullMarked;
@@ -60,31 +55,6 @@ class FileUtilsTest {
         return source.toFile();
     }
 
-    @Test
-    void copy_replicatesNestedStructure() throws IOException {
-        File source = createWorldLikeDirectory("source");
-        File target = tempDir.resolve("target").toFile();
-
-        FileUtils.copy(source, target);
-
-        assertTrue(new File(target, "level.dat").isFile());
-        assertTrue(new File(target, "region/r.0.0.mca").isFile());
-        assertEquals(
-                "region-data",
-                Files.readString(target.toPath().resolve("region").resolve("r.0.0.mca")));
-    }
-
-    @Test
-    void copy_skipsServerInternalFiles() throws IOException {
-        File source = createWorldLikeDirectory("source");
-        File target = tempDir.resolve("target").toFile();
-
-        FileUtils.copy(source, target);
-
-        assertFalse(new File(target, "session.lock").exists());
-        assertFalse(new File(target, "uid.dat").exists());
-    }
-
     @Test
     void deleteDirectory_removesNestedTree() throws IOException {
         File source = createWorldLikeDirectory("doomed");
@@ -135,37 +105,6 @@ class FileUtilsTest {
         assertEquals(tempDir.resolve("parent").resolve("child"), resolved);
     }
 
-    private Map<String, String> readZipEntries(byte[] zipped) throws IOException {
-        Map<String, String> entries = new HashMap<>();
-        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipped))) {
-            ZipEntry entry;
-            while ((entry = zip.getNextEntry()) != null) {
-                entries.put(entry.getName(), new String(zip.readAllBytes()));
-            }
-        }
-        return entries;
-    }
-
-    @Test
-    void zipDirectoryToMemory_archivesEveryFileWithForwardSlashPaths() throws IOException {
-        File world = createWorldLikeDirectory("source");
-
-        byte[] zipped = FileUtils.zipDirectoryToMemory(world.toPath());
-
-        Map<String, String> entries = readZipEntries(zipped);
-        assertEquals("level", entries.get("level.dat"));
-        assertEquals("region-data", entries.get("region/r.0.0.mca"));
-        assertEquals(4, entries.size(), "Every regular file should be archived");
-    }
-
-    @Test
-    void zipDirectoryToMemory_missingDirectoryThrows() {
-        Path missing = tempDir.resolve("missing");
-
-        // Failure must surface instead of producing a silently-truncated archive.
-        assertThrows(IOException.class, () -> FileUtils.zipDirectoryToMemory(missing));
-    }
-
     /** A running server with {@code level-name=world} whose container is the temp dir. */
     private MockedStatic<Bukkit> mockServer() {
         MockedStatic<Bukkit> bukkit = mockStatic(Bukkit.class);
@@ -231,5 +170,10 @@ class FileUtilsTest {
         File empty = new File(dimensions(), "empty");
         Files.createDirectories(empty.toPath());
         assertFalse(FileUtils.isWorldDirectory(empty), "a folder without world data is not a world");
+
+        File staging = new File(dimensions(), ".arena-restore-1");
+        Files.createDirectories(staging.toPath().resolve("region"));
+        assertFalse(FileUtils.isWorldDirectory(staging), "hidden staging folders must not be importable");
+        assertTrue(FileUtils.containsWorldData(staging));
     }
 }
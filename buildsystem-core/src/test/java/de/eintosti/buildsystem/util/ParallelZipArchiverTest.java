@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ParallelZipArchiver}: archives read back with the JDK and zip4j, region files are stored while
+ * other files are deflated, and large files take the streamed path without changing the result.
+ */
+class ParallelZipArchiverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Path createWorld() throws IOException {
+        Path world = Files.createDirectories(tempDir.resolve("world"));
+        Files.createDirectories(world.resolve("region"));
+        Files.write(world.resolve("region/r.0.0.mca"), randomBytes(200_000));
+        Files.write(world.resolve("region/r.0.1.mca"), new byte[150_000]);
+        Files.writeString(world.resolve("level.dat"), "level ".repeat(1_000));
+        Files.writeString(world.resolve("uid.dat"), "uid");
+        Files.writeString(world.resolve("session.lock"), "lock");
+        return world;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private Path archive(ParallelZipArchiver archiver, Path world) throws IOException {
+        Path zip = tempDir.resolve("world.zip");
+        try (OutputStream out = Files.newOutputStream(zip)) {
+            archiver.archive(world, out);
+        }
+        return zip;
+    }
+
+    @Test
+    void archive_roundTripsEveryFileExceptServerLocks() throws Exception {
+        Path world = createWorld();
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 6, true), world);
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertEquals(3, zipFile.size());
+            assertNull(zipFile.getEntry("uid.dat"));
+            assertNull(zipFile.getEntry("session.lock"));
+            for (String name : new String[] {"region/r.0.0.mca", "region/r.0.1.mca", "level.dat"}) {
+                assertArrayEquals(
+                        Files.readAllBytes(world.resolve(name)),
+                        zipFile.getInputStream(zipFile.getEntry(name)).readAllBytes(),
+                        name);
+            }
+        }
+    }
+
+    @Test
+    void archive_storesRegionFilesAndDeflatesTheRest() throws Exception {
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 6, true), createWorld());
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("region/r.0.1.mca").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zipFile.getEntry("level.dat").getMethod());
+        }
+    }
+
+    @Test
+    void archive_withoutStoreMode_deflatesCompressibleRegionFiles() throws Exception {
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 6, false), createWorld());
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertEquals(ZipEntry.DEFLATED, zipFile.getEntry("region/r.0.1.mca").getMethod());
+            // Random bytes do not shrink, so they are stored regardless
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("region/r.0.0.mca").getMethod());
+        }
+    }
+
+    @Test
+    void archive_levelZero_storesEverything() throws Exception {
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 0, false), createWorld());
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertTrue(Collections.list(zipFile.entries()).stream()
+                    .allMatch(entry -> entry.getMethod() == ZipEntry.STORED));
+        }
+    }
+
+    @Test
+    void archive_largeEntriesAreStreamedWithDataDescriptors() throws Exception {
+        Path world = createWorld();
+        // Every file above 1 KiB is streamed, and only 64 KiB may be read ahead
+        ParallelZipArchiver archiver = new ParallelZipArchiver(executor, 4, 6, true, 1024, 64 * 1024);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiver.archive(world, out);
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipIn.readAllBytes());
+            }
+        }
+        assertEquals(3, entries.size());
+        assertArrayEquals(Files.readAllBytes(world.resolve("region/r.0.0.mca")), entries.get("region/r.0.0.mca"));
+        assertArrayEquals(Files.readAllBytes(world.resolve("region/r.0.1.mca")), entries.get("region/r.0.1.mca"));
+        assertEquals("level ".repeat(1_000), new String(entries.get("level.dat"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void archive_extractsWithZip4j() throws Exception {
+        Path world = createWorld();
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 6, true, 1024, 64 * 1024), world);
+        Path target = tempDir.resolve("extracted");
+
+        try (net.lingala.zip4j.ZipFile zipFile = new net.lingala.zip4j.ZipFile(zip.toFile())) {
+            zipFile.extractAll(target.toString());
+        }
+
+        assertArrayEquals(
+                Files.readAllBytes(world.resolve("region/r.0.0.mca")),
+                Files.readAllBytes(target.resolve("region/r.0.0.mca")));
+        assertEquals(Files.readString(world.resolve("level.dat")), Files.readString(target.resolve("level.dat")));
+    }
+
+    @Test
+    void archive_emptyDirectory_writesAValidEmptyArchive() throws Exception {
+        Path empty = Files.createDirectories(tempDir.resolve("empty"));
+        Path zip = archive(new ParallelZipArchiver(executor, 4, 6, true), empty);
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertEquals(0, zipFile.size());
+        }
+    }
+}
@@ -19,7 +19,6 @@ package de.eintosti.buildsystem.world;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.StringCleaner;
 import java.io.File;
 import java.nio.file.Files;
@@ -30,7 +29,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Pins the export primitive that {@code /worlds saveTemplate} relies on: copying a live world directory into
- * {@code templates/} via {@link FileUtils#copy} must drop {@code uid.dat}/{@code session.lock}, recurse
+ * {@code templates/} via {@link WorldFileSystem#copy} must drop {@code uid.dat}/{@code session.lock}, recurse
  * subdirectories, and the path-escape guard must reject names that climb out of the templates directory.
  */
 @NullMarked
@@ -49,7 +48,7 @@ class TemplateExportTest {
         Files.writeString(source.resolve("session.lock"), "lock");
 
         Path target = tempDir.resolve("templates").resolve("my-template");
-        FileUtils.copy(source.toFile(), target.toFile());
+        new WorldFileSystem(Runnable::run).copy(source, target).join();
 
         assertTrue(Files.exists(target.resolve("level.dat")), "level.dat should be copied");
         assertTrue(Files.exists(target.resolve("region").resolve("r.0.0.mca")), "region file should be copied");
@@ -65,7 +64,7 @@ class TemplateExportTest {
         Files.writeString(nested.resolve("player.dat"), "player");
 
         Path target = tempDir.resolve("templates").resolve("nested-template");
-        FileUtils.copy(source.toFile(), target.toFile());
+        new WorldFileSystem(Runnable::run).copy(source, target).join();
 
         assertTrue(
                 Files.exists(target.resolve("data").resolve("playerdata").resolve("player.dat")),
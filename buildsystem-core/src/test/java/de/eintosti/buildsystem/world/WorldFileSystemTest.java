@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link WorldFileSystem}: copies replicate the folder without the server's lock files, moves rename the
+ * folder, and failures complete the future exceptionally.
+ */
+@NullMarked
+class WorldFileSystemTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final WorldFileSystem fileSystem = new WorldFileSystem(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Path createWorldLikeDirectory(String name) throws IOException {
+        Path source = tempDir.resolve(name);
+        Files.createDirectories(source.resolve("region"));
+        Files.writeString(source.resolve("level.dat"), "level");
+        Files.writeString(source.resolve("region").resolve("r.0.0.mca"), "region-data");
+        Files.writeString(source.resolve("session.lock"), "lock");
+        Files.writeString(source.resolve("uid.dat"), "uid");
+        return source;
+    }
+
+    @Test
+    void copy_replicatesNestedStructure() throws IOException {
+        Path source = createWorldLikeDirectory("source");
+        Path target = tempDir.resolve("target");
+
+        fileSystem.copy(source, target).join();
+
+        assertEquals("level", Files.readString(target.resolve("level.dat")));
+        assertEquals("region-data", Files.readString(target.resolve("region").resolve("r.0.0.mca")));
+        assertTrue(Files.exists(source.resolve("level.dat")), "the source is left untouched");
+    }
+
+    @Test
+    void copy_skipsServerInternalFiles() throws IOException {
+        Path source = createWorldLikeDirectory("source");
+        Path target = tempDir.resolve("target");
+
+        fileSystem.copy(source, target).join();
+
+        assertFalse(Files.exists(target.resolve("session.lock")));
+        assertFalse(Files.exists(target.resolve("uid.dat")));
+    }
+
+    @Test
+    void copy_manyFiles_copiesEveryOne() throws IOException {
+        Path source = Files.createDirectories(tempDir.resolve("source").resolve("region"));
+        for (int i = 0; i < 200; i++) {
+            Files.writeString(source.resolve("r." + i + ".0.mca"), "region-" + i);
+        }
+        Path target = tempDir.resolve("target");
+
+        fileSystem.copy(source, target).join();
+
+        try (Stream<Path> files = Files.list(target)) {
+            assertEquals(200, files.count());
+        }
+        assertEquals("region-199", Files.readString(target.resolve("r.199.0.mca")));
+    }
+
+    @Test
+    void copy_missingSource_completesExceptionally() {
+        CompletionException e = assertThrows(
+                CompletionException.class,
+                () -> fileSystem
+                        .copy(tempDir.resolve("missing"), tempDir.resolve("target"))
+                        .join());
+        assertInstanceOf(IOException.class, e.getCause().getCause());
+    }
+
+    @Test
+    void move_renamesTheFolder() throws IOException {
+        Path source = createWorldLikeDirectory("old");
+        Path target = tempDir.resolve("new");
+
+        fileSystem.move(source, target).join();
+
+        assertFalse(Files.exists(source));
+        assertEquals("region-data", Files.readString(target.resolve("region").resolve("r.0.0.mca")));
+    }
+
+    @Test
+    void move_existingTarget_completesExceptionallyAndKeepsBoth() throws IOException {
+        Path source = createWorldLikeDirectory("old");
+        Path target = createWorldLikeDirectory("new");
+        Files.writeString(target.resolve("level.dat"), "other");
+
+        assertThrows(CompletionException.class, () -> fileSystem.move(source, target).join());
+
+        assertEquals("level", Files.readString(source.resolve("level.dat")));
+        assertEquals("other", Files.readString(target.resolve("level.dat")));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.PluginConfig;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AutoBackupScheduler}: worlds are backed up once their deadline passes, unedited worlds are skipped,
+ * the number of concurrent backups is capped and overdue worlds are spread over the jitter window.
+ */
+@NullMarked
+class AutoBackupSchedulerTest {
+
+    private static final long START = 1_000_000_000L;
+    private static final int INTERVAL_SECONDS = 100;
+
+    private final Map<UUID, BuildWorld> worlds = new HashMap<>();
+    private final List<BuildWorld> started = new ArrayList<>();
+    private final List<CompletableFuture<Void>> backups = new ArrayList<>();
+    private long now = START;
+
+    private AutoBackupScheduler scheduler(boolean onlyActiveWorlds, int maxConcurrent, int jitter) {
+        return new AutoBackupScheduler(
+                Logger.getLogger("test"),
+                worlds::get,
+                buildWorld -> {
+                    started.add(buildWorld);
+                    CompletableFuture<Void> backup = new CompletableFuture<>();
+                    backups.add(backup);
+                    return backup;
+                },
+                new PluginConfig.World.Backup.AutoBackup(
+                        true, onlyActiveWorlds, INTERVAL_SECONDS, maxConcurrent, jitter),
+                () -> now,
+                new Random(42));
+    }
+
+    private BuildWorld world(int timeSinceBackup, long lastEdited) {
+        BuildWorld buildWorld = mock(BuildWorld.class);
+        WorldData data = mock(WorldData.class);
+        UUID worldId = UUID.randomUUID();
+        when(buildWorld.getUniqueId()).thenReturn(worldId);
+        when(buildWorld.getName()).thenReturn(worldId.toString());
+        when(buildWorld.getData()).thenReturn(data);
+        when(data.get(WorldDataKey.TIME_SINCE_BACKUP)).thenReturn(timeSinceBackup);
+        when(data.get(WorldDataKey.LAST_EDITED)).thenReturn(lastEdited);
+        worlds.put(worldId, buildWorld);
+        return buildWorld;
+    }
+
+    private void advanceSeconds(long seconds) {
+        now += TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    @Test
+    void tick_backsUpWorldOnceItsIntervalPassed() {
+        AutoBackupScheduler scheduler = scheduler(true, 2, 0);
+        BuildWorld buildWorld = world(40, START);
+        scheduler.track(buildWorld);
+
+        scheduler.tick();
+        assertTrue(started.isEmpty());
+        assertEquals(OptionalLong.of(60), scheduler.secondsUntilBackup(buildWorld));
+
+        advanceSeconds(60);
+        scheduler.tick();
+        assertEquals(List.of(buildWorld), started);
+        assertEquals(OptionalLong.of(INTERVAL_SECONDS), scheduler.secondsUntilBackup(buildWorld));
+    }
+
+    @Test
+    void tick_skipsWorldsNotEditedSinceTheirLastBackup() {
+        AutoBackupScheduler scheduler = scheduler(true, 2, 0);
+        BuildWorld unedited = world(INTERVAL_SECONDS, START - TimeUnit.SECONDS.toMillis(INTERVAL_SECONDS + 1));
+        scheduler.track(unedited);
+
+        scheduler.tick();
+        assertTrue(started.isEmpty());
+
+        when(unedited.getData().get(WorldDataKey.LAST_EDITED)).thenReturn(START + 1);
+        advanceSeconds(INTERVAL_SECONDS);
+        scheduler.tick();
+        assertEquals(List.of(unedited), started);
+    }
+
+    @Test
+    void tick_backsUpUneditedWorldsWhenNotLimitedToActiveWorlds() {
+        AutoBackupScheduler scheduler = scheduler(false, 2, 0);
+        BuildWorld unedited = world(INTERVAL_SECONDS, 0);
+        scheduler.track(unedited);
+
+        scheduler.tick();
+
+        assertEquals(List.of(unedited), started);
+    }
+
+    @Test
+    void tick_capsConcurrentBackups() {
+        AutoBackupScheduler scheduler = scheduler(true, 2, 0);
+        for (int i = 0; i < 3; i++) {
+            scheduler.track(world(INTERVAL_SECONDS, START));
+        }
+
+        scheduler.tick();
+        assertEquals(2, started.size());
+        assertEquals(2, scheduler.runningBackups());
+
+        scheduler.tick();
+        assertEquals(2, started.size());
+
+        backups.getFirst().complete(null);
+        scheduler.tick();
+        assertEquals(3, started.size());
+    }
+
+    @Test
+    void tick_spreadsOverdueWorldsOverTheJitterWindow() {
+        int jitterSeconds = 60;
+        AutoBackupScheduler scheduler = scheduler(true, 1_000, jitterSeconds);
+        for (int i = 0; i < 100; i++) {
+            scheduler.track(world(INTERVAL_SECONDS * 10, START));
+        }
+
+        advanceSeconds(jitterSeconds / 2);
+        scheduler.tick();
+        assertTrue(started.size() > 0 && started.size() < 100, "started " + started.size());
+
+        advanceSeconds(jitterSeconds / 2);
+        scheduler.tick();
+        assertEquals(100, started.size());
+    }
+
+    @Test
+    void tick_dropsDeletedWorlds() {
+        AutoBackupScheduler scheduler = scheduler(true, 2, 0);
+        BuildWorld buildWorld = world(INTERVAL_SECONDS, START);
+        scheduler.track(buildWorld);
+        worlds.remove(buildWorld.getUniqueId());
+
+        scheduler.tick();
+
+        assertTrue(started.isEmpty());
+        assertEquals(OptionalLong.empty(), scheduler.secondsUntilBackup(buildWorld));
+    }
+}
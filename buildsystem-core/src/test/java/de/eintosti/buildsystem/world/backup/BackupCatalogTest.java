@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BackupCatalog}: catalogs survive a restart but not a change of storage, local changes are applied
+ * to loaded catalogs, a listing that raced a local change is discarded, checksums survive a listing, and only worlds
+ * with a catalog are reconciled.
+ */
+class BackupCatalogTest {
+
+    private static final String SOURCE = "sftp://backup@example.com:22/backups/";
+
+    @TempDir
+    Path tempDir;
+
+    private final UUID worldId = UUID.randomUUID();
+    private final BackupProfile owner = mock(BackupProfile.class);
+
+    private BackupCatalog catalog(String source) {
+        return new BackupCatalog(Logger.getLogger("BackupCatalogTest"), tempDir, source);
+    }
+
+    private Backup backup(long creationTime) {
+        return new BackupImpl(owner, creationTime, creationTime + ".zip", 100, null);
+    }
+
+    private static List<String> keys(List<BackupCatalog.Entry> entries) {
+        return entries.stream().map(BackupCatalog.Entry::key).toList();
+    }
+
+    @Test
+    void replace_persistsNewestFirst() {
+        BackupCatalog catalog = catalog(SOURCE);
+        assertTrue(catalog.replace(worldId, List.of(backup(1), backup(3), backup(2)), catalog.version(worldId)));
+
+        List<BackupCatalog.Entry> restored = catalog(SOURCE).get(worldId);
+
+        assertNotNull(restored);
+        assertEquals(List.of("3.zip", "2.zip", "1.zip"), keys(restored));
+        assertEquals(100, restored.getFirst().size());
+    }
+
+    @Test
+    void get_otherStorage_ignoresCatalog() {
+        BackupCatalog catalog = catalog(SOURCE);
+        catalog.replace(worldId, List.of(backup(1)), catalog.version(worldId));
+
+        assertNull(catalog("local").get(worldId));
+    }
+
+    @Test
+    void addAndRemove_updateLoadedCatalog() {
+        BackupCatalog catalog = catalog(SOURCE);
+        catalog.replace(worldId, List.of(backup(1), backup(2)), catalog.version(worldId));
+
+        catalog.add(worldId, backup(3));
+        catalog.remove(worldId, "1.zip");
+
+        assertEquals(List.of("3.zip", "2.zip"), keys(catalog.getIfLoaded(worldId)));
+        assertEquals(List.of("3.zip", "2.zip"), keys(catalog(SOURCE).get(worldId)));
+    }
+
+    @Test
+    void add_withoutCatalog_leavesItToTheFirstListing() {
+        BackupCatalog catalog = catalog(SOURCE);
+
+        catalog.add(worldId, backup(1));
+
+        assertNull(catalog.get(worldId));
+        assertFalse(catalog.contains(worldId));
+    }
+
+    @Test
+    void replace_afterLocalChange_isDiscarded() {
+        BackupCatalog catalog = catalog(SOURCE);
+        catalog.replace(worldId, List.of(backup(1)), catalog.version(worldId));
+        long listingStarted = catalog.version(worldId);
+
+        catalog.add(worldId, backup(2));
+
+        assertFalse(catalog.replace(worldId, List.of(backup(1)), listingStarted));
+        assertEquals(List.of("2.zip", "1.zip"), keys(catalog.getIfLoaded(worldId)));
+    }
+
+    @Test
+    void replace_keepsChecksumRecordedOnStore() {
+        BackupCatalog catalog = catalog(SOURCE);
+        catalog.replace(worldId, List.of(), catalog.version(worldId));
+        catalog.add(worldId, new BackupImpl(owner, 1, "1.zip", 100, "abc"));
+
+        catalog.replace(worldId, List.of(backup(1)), catalog.version(worldId));
+
+        assertEquals("abc", catalog.getIfLoaded(worldId).getFirst().checksum());
+    }
+
+    @Test
+    void reconcile_onlyListsWorldsWithCatalog() {
+        BackupCatalog catalog = catalog(SOURCE);
+        BuildWorld tracked = mock(BuildWorld.class);
+        when(tracked.getUniqueId()).thenReturn(worldId);
+        BuildWorld untracked = mock(BuildWorld.class);
+        when(untracked.getUniqueId()).thenReturn(UUID.randomUUID());
+        BackupStorage storage = mock(BackupStorage.class);
+        when(storage.listBackups(tracked)).thenReturn(CompletableFuture.completedFuture(List.of(backup(5))));
+        catalog.replace(worldId, List.of(backup(1)), catalog.version(worldId));
+
+        assertTrue(catalog.reconcile(tracked, storage, Runnable::run).join());
+        assertFalse(catalog.reconcile(untracked, storage, Runnable::run).join());
+
+        assertEquals(List.of("5.zip"), keys(catalog.getIfLoaded(worldId)));
+        verify(storage, never()).listBackups(untracked);
+    }
+}
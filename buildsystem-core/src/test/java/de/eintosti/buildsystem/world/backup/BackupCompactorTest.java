@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import de.eintosti.buildsystem.config.PluginConfig.World.Backup.Retention;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BackupCompactor}: the expired backups of every scheduled world are deleted with a single batched
+ * call and removed from the catalog, worlds are only compacted once per schedule, and a failed deletion is retried.
+ */
+class BackupCompactorTest {
+
+    private static final BackupRetention KEEP_TWO = new BackupRetention(2, new Retention(0, 0, 0), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<UUID, BuildWorld> worlds = new HashMap<>();
+    private final Map<BuildWorld, BackupProfile> profiles = new HashMap<>();
+    private final List<Backup> deleted = new CopyOnWriteArrayList<>();
+    private final BackupStorage storage = mock(BackupStorage.class);
+
+    private BackupCatalog catalog;
+    private BackupCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new BackupCatalog(Logger.getLogger("BackupCompactorTest"), tempDir, "local");
+        compactor = new BackupCompactor(
+                Logger.getLogger("BackupCompactorTest"),
+                worlds::get,
+                profiles::get,
+                (buildWorld, backup) -> deleted.add(backup));
+        when(storage.deleteBackups(anyCollection())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    /** A world with backups created at the given times, all in its catalog. */
+    private BuildWorld world(long... creationTimes) {
+        UUID worldId = UUID.randomUUID();
+        BuildWorld buildWorld = mock(BuildWorld.class);
+        when(buildWorld.getUniqueId()).thenReturn(worldId);
+        BackupProfile profile = mock(BackupProfile.class);
+
+        List<Backup> backups = new ArrayList<>();
+        for (long creationTime : creationTimes) {
+            backups.add(new BackupImpl(profile, creationTime, worldId + "/" + creationTime + ".zip"));
+        }
+        catalog.replace(worldId, backups, catalog.version(worldId));
+        when(profile.listBackups()).thenReturn(CompletableFuture.completedFuture(backups));
+
+        worlds.put(worldId, buildWorld);
+        profiles.put(buildWorld, profile);
+        return buildWorld;
+    }
+
+    private static List<Long> creationTimes(List<Backup> backups) {
+        return backups.stream().map(Backup::creationTime).toList();
+    }
+
+    @Test
+    void compact_deletesExpiredBackupsOfAllWorldsInOneBatch() {
+        BuildWorld first = world(1, 2, 3, 4);
+        BuildWorld second = world(5, 6, 7);
+        compactor.schedule(first.getUniqueId());
+        compactor.schedule(second.getUniqueId());
+
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+
+        verify(storage, times(1)).deleteBackups(anyCollection());
+        verify(storage, never()).deleteBackup(any());
+        assertEquals(List.of(1L, 2L, 5L), creationTimes(deleted).stream().sorted().toList());
+        assertEquals(2, catalog.getIfLoaded(first.getUniqueId()).size());
+        assertEquals(2, catalog.getIfLoaded(second.getUniqueId()).size());
+    }
+
+    @Test
+    void compact_onlyRunsForScheduledWorlds() {
+        BuildWorld buildWorld = world(1, 2, 3);
+        compactor.schedule(buildWorld.getUniqueId());
+
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+
+        verify(storage, times(1)).deleteBackups(anyCollection());
+    }
+
+    @Test
+    void compact_withinRetention_deletesNothing() {
+        BuildWorld buildWorld = world(1, 2);
+        compactor.schedule(buildWorld.getUniqueId());
+
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+
+        verify(storage, never()).deleteBackups(anyCollection());
+        assertTrue(deleted.isEmpty());
+    }
+
+    @Test
+    void compact_failedDeletion_isRetried() {
+        BuildWorld buildWorld = world(1, 2, 3);
+        compactor.schedule(buildWorld.getUniqueId());
+        when(storage.deleteBackups(anyCollection()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("offline")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+        assertTrue(deleted.isEmpty());
+        assertEquals(3, catalog.getIfLoaded(buildWorld.getUniqueId()).size());
+
+        compactor.compact(storage, catalog, KEEP_TWO).join();
+        assertEquals(List.of(1L), creationTimes(deleted));
+    }
+}
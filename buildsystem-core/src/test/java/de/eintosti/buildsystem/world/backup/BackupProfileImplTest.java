@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.BuildSystemPlugin;
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.api.world.backup.BackupStorage;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.i18n.Messages;
+import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.world.WorldServiceImpl;
+import de.eintosti.buildsystem.world.spawn.SpawnService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+/**
+ * Tests for {@link BackupProfileImpl}: an unchanged world needs no backup only while the backup its fingerprint was
+ * recorded for still exists, and the restore steps swap the staged folder in place of the world folder, rename the
+ * previous folder back if the swap fails, and lift an archive's single nested world root.
+ */
+class BackupProfileImplTest {
+
+    private static final Logger LOGGER = Logger.getLogger("test");
+    private static final long LAST_EDITED = 42;
+
+    @TempDir
+    Path worldContainer;
+
+    private BuildWorld buildWorld;
+    private BackupFingerprints fingerprints;
+
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+        buildWorld = mock(BuildWorld.class);
+        WorldData data = mock(WorldData.class);
+        when(buildWorld.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(buildWorld.getName()).thenReturn("world");
+        when(buildWorld.getData()).thenReturn(data);
+        when(data.get(WorldDataKey.LAST_EDITED)).thenReturn(LAST_EDITED);
+        fingerprints = new BackupFingerprints(LOGGER, worldContainer.resolve("fingerprints"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private BackupProfileImpl profile(BackupStorage storage, BackupCatalog catalog) {
+        return new BackupProfileImpl(
+                mock(BuildSystemPlugin.class),
+                mock(ConfigService.class),
+                mock(Messages.class),
+                mock(WorldServiceImpl.class),
+                mock(SpawnService.class),
+                storage,
+                catalog,
+                mock(BackupCompactor.class),
+                Runnable::run,
+                fingerprints,
+                buildWorld);
+    }
+
+    private static BackupStorage storageWith(Backup... backups) {
+        BackupStorage storage = mock(BackupStorage.class);
+        when(storage.listBackups(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(List.of(backups)));
+        return storage;
+    }
+
+    private void recordFingerprint(String backupKey) throws IOException {
+        Path worldFolder = FileUtils.worldFolder(buildWorld.getName()).toPath();
+        fingerprints.put(
+                buildWorld.getUniqueId(),
+                WorldFingerprint.capture(worldFolder, LAST_EDITED, null).forBackup(backupKey));
+    }
+
+    @Test
+    void isBackupNeeded_unchangedWorld_untilItsBackupIsDeleted() throws Exception {
+        Backup backup = new BackupImpl(mock(BackupProfile.class), 1, "1.zip");
+        BackupCatalog catalog = new BackupCatalog(LOGGER, worldContainer.resolve("catalog"), "local");
+        BackupProfileImpl profile = profile(storageWith(backup), catalog);
+        recordFingerprint(backup.key());
+
+        assertFalse(profile.isBackupNeeded().get());
+
+        // Removed from the catalog like the compactor does once retention expires the backup
+        catalog.remove(buildWorld.getUniqueId(), backup.key());
+        assertTrue(profile.isBackupNeeded().get());
+    }
+
+    @Test
+    void isBackupNeeded_backupMissingFromStorage_afterSwitchingStorage() throws Exception {
+        recordFingerprint("1.zip");
+        BackupCatalog catalog = new BackupCatalog(LOGGER, worldContainer.resolve("catalog"), "s3");
+
+        assertTrue(profile(storageWith(), catalog).isBackupNeeded().get());
+    }
+
+    @Test
+    void isBackupNeeded_editedWorld() throws Exception {
+        Backup backup = new BackupImpl(mock(BackupProfile.class), 1, "1.zip");
+        BackupProfileImpl profile =
+                profile(storageWith(backup), new BackupCatalog(LOGGER, worldContainer.resolve("catalog"), "local"));
+        recordFingerprint(backup.key());
+
+        when(buildWorld.getData().get(WorldDataKey.LAST_EDITED)).thenReturn(LAST_EDITED + 1);
+        assertTrue(profile.isBackupNeeded().get());
+    }
+
+    private static Path world(Path directory, String marker) throws IOException {
+        Files.createDirectories(directory.resolve("region"));
+        Files.writeString(directory.resolve("level.dat"), marker);
+        return directory;
+    }
+
+    @Test
+    void swapDirectories_replacesWorldAndKeepsPreviousAside() throws IOException {
+        Path worldPath = world(worldContainer.resolve("world"), "live");
+        Path stagingPath = world(worldContainer.resolve(".world-restore"), "backup");
+        Path replacedPath = worldContainer.resolve(".world-replaced");
+
+        BackupProfileImpl.swapDirectories(worldPath, stagingPath, replacedPath);
+
+        assertEquals("backup", Files.readString(worldPath.resolve("level.dat")));
+        assertEquals("live", Files.readString(replacedPath.resolve("level.dat")));
+        assertFalse(Files.exists(stagingPath));
+    }
+
+    @Test
+    void swapDirectories_withoutExistingWorld_movesStagedFolderIn() throws IOException {
+        Path worldPath = worldContainer.resolve("world");
+        Path stagingPath = world(worldContainer.resolve(".world-restore"), "backup");
+        Path replacedPath = worldContainer.resolve(".world-replaced");
+
+        BackupProfileImpl.swapDirectories(worldPath, stagingPath, replacedPath);
+
+        assertEquals("backup", Files.readString(worldPath.resolve("level.dat")));
+        assertFalse(Files.exists(replacedPath));
+    }
+
+    @Test
+    void swapDirectories_failedSwap_rollsBackToPreviousFolder() throws IOException {
+        Path worldPath = world(worldContainer.resolve("world"), "live");
+        Path missingStagingPath = worldContainer.resolve(".world-restore");
+        Path replacedPath = worldContainer.resolve(".world-replaced");
+
+        assertThrows(
+                IOException.class,
+                () -> BackupProfileImpl.swapDirectories(worldPath, missingStagingPath, replacedPath));
+
+        assertEquals("live", Files.readString(worldPath.resolve("level.dat")));
+        assertTrue(Files.isDirectory(worldPath.resolve("region")));
+        assertFalse(Files.exists(replacedPath));
+    }
+
+    @Test
+    void liftNestedWorld_movesSingleRootUp() throws IOException {
+        Path stagingPath = worldContainer.resolve(".world-restore");
+        world(stagingPath.resolve("world"), "backup");
+
+        BackupProfileImpl.liftNestedWorld(stagingPath);
+
+        assertEquals("backup", Files.readString(stagingPath.resolve("level.dat")));
+        assertTrue(Files.isDirectory(stagingPath.resolve("region")));
+        assertFalse(Files.exists(stagingPath.resolve("world")));
+        assertFalse(Files.exists(worldContainer.resolve(".world-restore-world")));
+    }
+
+    @Test
+    void liftNestedWorld_flatArchive_isLeftAlone() throws IOException {
+        Path stagingPath = world(worldContainer.resolve(".world-restore"), "backup");
+        Files.createDirectories(stagingPath.resolve("data"));
+
+        BackupProfileImpl.liftNestedWorld(stagingPath);
+
+        assertEquals("backup", Files.readString(stagingPath.resolve("level.dat")));
+        assertTrue(Files.isDirectory(stagingPath.resolve("data")));
+    }
+
+    @Test
+    void liftNestedWorld_severalRoots_areLeftAlone() throws IOException {
+        Path stagingPath = worldContainer.resolve(".world-restore");
+        world(stagingPath.resolve("first"), "first");
+        world(stagingPath.resolve("second"), "second");
+
+        BackupProfileImpl.liftNestedWorld(stagingPath);
+
+        assertTrue(Files.exists(stagingPath.resolve("first").resolve("level.dat")));
+        assertTrue(Files.exists(stagingPath.resolve("second").resolve("level.dat")));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.eintosti.buildsystem.api.world.backup.Backup;
+import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.config.PluginConfig.World.Backup.Retention;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BackupRetention}: without tiers only the newest backups are kept, each tier keeps the newest backup
+ * of its most recent periods that have one, and empty periods do not use up a tier.
+ */
+class BackupRetentionTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    private final BackupProfile owner = mock(BackupProfile.class);
+
+    private Backup at(LocalDateTime time) {
+        return new BackupImpl(owner, time.toInstant(ZoneOffset.UTC).toEpochMilli(), time.toString());
+    }
+
+    /** Every 15 minutes from Monday, 2026-01-05 00:00 for the given number of hours. */
+    private List<Backup> quarterHourly(int hours) {
+        List<Backup> backups = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 0, 0);
+        for (int i = 0; i < hours * 4; i++) {
+            backups.add(at(start.plusMinutes(15L * i)));
+        }
+        return backups;
+    }
+
+    private static List<String> keys(List<Backup> backups) {
+        return backups.stream().map(Backup::key).toList();
+    }
+
+    @Test
+    void withoutTiers_keepsNewestOnly() {
+        List<Backup> backups = quarterHourly(2);
+
+        List<Backup> expired = new BackupRetention(3, new Retention(0, 0, 0), ZONE).expired(backups);
+
+        assertEquals(keys(backups.subList(0, 5)), keys(expired));
+    }
+
+    @Test
+    void hourlyTier_keepsNewestBackupOfEachHour() {
+        List<Backup> backups = quarterHourly(4);
+
+        List<Backup> expired = new BackupRetention(1, new Retention(3, 0, 0), ZONE).expired(backups);
+        List<Backup> kept = new ArrayList<>(backups);
+        kept.removeAll(expired);
+
+        assertEquals(List.of("2026-01-05T01:45", "2026-01-05T02:45", "2026-01-05T03:45"), keys(kept));
+    }
+
+    @Test
+    void dailyAndWeeklyTiers_skipPeriodsWithoutBackups() {
+        List<Backup> backups = List.of(
+                at(LocalDateTime.of(2026, 1, 1, 12, 0)),
+                at(LocalDateTime.of(2026, 1, 2, 9, 0)),
+                at(LocalDateTime.of(2026, 1, 2, 18, 0)),
+                at(LocalDateTime.of(2026, 1, 20, 8, 0)),
+                at(LocalDateTime.of(2026, 1, 20, 20, 0)));
+
+        List<Backup> expired = new BackupRetention(0, new Retention(0, 2, 2), ZONE).expired(backups);
+
+        // Jan 20 and Jan 2 are the two most recent days, and the weeks of Jan 19 and Dec 29 the two most recent weeks
+        assertEquals(List.of("2026-01-01T12:00", "2026-01-02T09:00", "2026-01-20T08:00"), keys(expired));
+    }
+
+    @Test
+    void expired_returnsOldestFirst() {
+        List<Backup> backups = new ArrayList<>(quarterHourly(1));
+        Collections.reverse(backups);
+
+        List<Backup> expired = new BackupRetention(1, new Retention(0, 0, 0), ZONE).expired(backups);
+
+        assertEquals(List.of("2026-01-05T00:00", "2026-01-05T00:15", "2026-01-05T00:30"), keys(expired));
+    }
+}
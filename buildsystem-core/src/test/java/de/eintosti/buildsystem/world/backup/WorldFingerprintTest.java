@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.eintosti.buildsystem.world.backup.WorldFingerprint.FileStamp;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link WorldFingerprint} and {@link BackupFingerprints}: rewriting a region file without changing it keeps
+ * the fingerprint, changing its content or the edit time does not, unmodified files are not hashed again, and
+ * fingerprints survive a restart until their backup is deleted.
+ */
+class WorldFingerprintTest {
+
+    private static final String REGION = "region/r.0.0.mca";
+
+    @TempDir
+    Path tempDir;
+
+    private Path worldFolder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        worldFolder = Files.createDirectories(tempDir.resolve("world"));
+        Files.createDirectories(worldFolder.resolve("region"));
+        Files.writeString(worldFolder.resolve(REGION), "chunks");
+        Files.writeString(worldFolder.resolve("level.dat"), "level");
+    }
+
+    private void touch(Path file) throws Exception {
+        Files.setLastModifiedTime(
+                file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+    }
+
+    @Test
+    void capture_coversOnlyRegionFiles() throws Exception {
+        WorldFingerprint fingerprint = WorldFingerprint.capture(worldFolder, 1, null);
+
+        assertEquals(Map.of(REGION, fingerprint.regionFiles().get(REGION)), fingerprint.regionFiles());
+        assertEquals(6, fingerprint.regionFiles().get(REGION).size());
+    }
+
+    @Test
+    void sameWorld_ignoresRewritesWithIdenticalContent() throws Exception {
+        WorldFingerprint before = WorldFingerprint.capture(worldFolder, 1, null);
+
+        Files.writeString(worldFolder.resolve(REGION), "chunks");
+        touch(worldFolder.resolve(REGION));
+
+        assertTrue(WorldFingerprint.capture(worldFolder, 1, before).sameWorld(before));
+    }
+
+    @Test
+    void sameWorld_detectsChangedContentAndEditTime() throws Exception {
+        WorldFingerprint before = WorldFingerprint.capture(worldFolder, 1, null);
+
+        assertFalse(WorldFingerprint.capture(worldFolder, 2, before).sameWorld(before));
+
+        Files.writeString(worldFolder.resolve(REGION), "CHUNKS");
+        touch(worldFolder.resolve(REGION));
+        assertFalse(WorldFingerprint.capture(worldFolder, 1, before).sameWorld(before));
+
+        Files.writeString(worldFolder.resolve("region/r.0.1.mca"), "more");
+        assertFalse(WorldFingerprint.capture(worldFolder, 1, before).sameWorld(before));
+    }
+
+    @Test
+    void capture_reusesHashesOfUnmodifiedFiles() throws Exception {
+        FileStamp stamp = WorldFingerprint.capture(worldFolder, 1, null).regionFiles().get(REGION);
+        WorldFingerprint previous =
+                new WorldFingerprint(1, Map.of(REGION, new FileStamp(stamp.modified(), stamp.size(), "known")), null);
+
+        assertEquals("known", WorldFingerprint.capture(worldFolder, 1, previous).regionFiles().get(REGION).hash());
+    }
+
+    @Test
+    void parse_readsSerializedFingerprint() throws Exception {
+        WorldFingerprint fingerprint = WorldFingerprint.capture(worldFolder, 42, null);
+        WorldFingerprint recorded = fingerprint.forBackup("1700000000000.zip");
+
+        assertEquals(fingerprint, WorldFingerprint.parse(fingerprint.serialize()));
+        assertEquals(recorded, WorldFingerprint.parse(recorded.serialize()));
+        assertTrue(recorded.sameWorld(fingerprint));
+        assertNull(WorldFingerprint.parse("garbage"));
+    }
+
+    @Test
+    void backupFingerprints_persistAcrossInstances() throws Exception {
+        UUID worldId = UUID.randomUUID();
+        Path directory = tempDir.resolve("fingerprints");
+        WorldFingerprint fingerprint = WorldFingerprint.capture(worldFolder, 42, null);
+
+        new BackupFingerprints(Logger.getLogger("test"), directory).put(worldId, fingerprint);
+        BackupFingerprints reloaded = new BackupFingerprints(Logger.getLogger("test"), directory);
+
+        assertEquals(fingerprint, reloaded.get(worldId));
+        assertNull(reloaded.get(UUID.randomUUID()));
+    }
+
+    @Test
+    void backupFingerprints_removeOnlyDropsTheFingerprintOfTheDeletedBackup() throws Exception {
+        UUID worldId = UUID.randomUUID();
+        Path directory = tempDir.resolve("fingerprints");
+        BackupFingerprints fingerprints = new BackupFingerprints(Logger.getLogger("test"), directory);
+        fingerprints.put(worldId, WorldFingerprint.capture(worldFolder, 42, null).forBackup("2.zip"));
+
+        fingerprints.remove(worldId, "1.zip");
+        assertNotNull(fingerprints.get(worldId));
+
+        fingerprints.remove(worldId, "2.zip");
+        assertNull(fingerprints.get(worldId));
+        assertNull(new BackupFingerprints(Logger.getLogger("test"), directory).get(worldId));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+/**
+ * A minimal in-process stand-in for an S3-compatible server, speaking just enough of the REST API (path-style
+ * addressing) for plain and multipart uploads: PutObject, CreateMultipartUpload, UploadPart, CompleteMultipartUpload
+ * and AbortMultipartUpload. It records how many parts were uploading at the same time and can be told to reject a
+ * part.
+ */
+final class FakeS3Server implements AutoCloseable {
+
+    private static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    final ConcurrentMap<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Set<String> abortedUploads = ConcurrentHashMap.newKeySet();
+    final AtomicInteger createdUploads = new AtomicInteger();
+    final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    volatile int failingPartNumber = -1;
+    volatile long partDelayMillis;
+
+    private final ConcurrentMap<String, ConcurrentSkipListMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    S3Client newClient() {
+        return S3Client.builder()
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .region(Region.EU_CENTRAL_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("access", "secret")))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .chunkedEncodingEnabled(false)
+                        .build())
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String bucket = path.substring(1, path.indexOf('/', 1));
+            String key = path.substring(path.indexOf('/', 1) + 1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = readBody(exchange);
+
+            switch (exchange.getRequestMethod()) {
+                case "POST" -> {
+                    if (query.containsKey("uploads")) {
+                        String uploadId = UUID.randomUUID().toString();
+                        uploads.put(uploadId, new ConcurrentSkipListMap<>());
+                        createdUploads.incrementAndGet();
+                        respondXml(exchange, "<InitiateMultipartUploadResult xmlns=\"" + NAMESPACE + "\"><Bucket>"
+                                + bucket + "</Bucket><Key>" + key + "</Key><UploadId>" + uploadId
+                                + "</UploadId></InitiateMultipartUploadResult>");
+                    } else {
+                        ConcurrentSkipListMap<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+                        ByteArrayOutputStream object = new ByteArrayOutputStream();
+                        parts.values().forEach(object::writeBytes);
+                        objects.put(key, object.toByteArray());
+                        respondXml(exchange, "<CompleteMultipartUploadResult xmlns=\"" + NAMESPACE + "\"><Bucket>"
+                                + bucket + "</Bucket><Key>" + key + "</Key><ETag>\"complete\"</ETag>"
+                                + "</CompleteMultipartUploadResult>");
+                    }
+                }
+                case "PUT" -> {
+                    if (query.containsKey("partNumber")) {
+                        uploadPart(exchange, query, body);
+                    } else {
+                        objects.put(key, body);
+                        exchange.getResponseHeaders().add("ETag", "\"object\"");
+                        exchange.sendResponseHeaders(200, -1);
+                    }
+                }
+                case "DELETE" -> {
+                    uploads.remove(query.get("uploadId"));
+                    abortedUploads.add(query.get("uploadId"));
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query, byte[] body) throws IOException {
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        if (partNumber == failingPartNumber) {
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            byte[] error = "<Error><Code>InvalidPart</Code><Message>Rejected by test</Message></Error>"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(400, error.length);
+            exchange.getResponseBody().write(error);
+            return;
+        }
+
+        int inFlight = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            Thread.sleep(partDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+
+        uploads.get(query.get("uploadId")).put(partNumber, body);
+        exchange.getResponseHeaders().add("ETag", "\"part-" + partNumber + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private static void respondXml(HttpExchange exchange, String xml) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        return contentEncoding != null && contentEncoding.contains("aws-chunked") ? decodeAwsChunked(raw) : raw;
+    }
+
+    /**
+     * Strips the {@code aws-chunked} framing ({@code <hex size>[;extensions]\r\n<data>\r\n ... 0\r\n<trailers>}), in
+     * case the SDK streams a body that way despite chunked encoding being disabled.
+     */
+    private static byte[] decodeAwsChunked(byte[] raw) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = position;
+            while (raw[lineEnd] != '\r') {
+                lineEnd++;
+            }
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            position = lineEnd + 2;
+            decoded.write(raw, position, size);
+            position += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                query.put(parameter, "");
+            } else {
+                query.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+            }
+        }
+        return query;
+    }
+}
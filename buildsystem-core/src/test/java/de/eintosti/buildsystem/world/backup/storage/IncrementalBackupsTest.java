@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link IncrementalBackups}: a restore rebuilds the backed up folder byte for byte, unchanged blocks are
+ * written once, deleting a backup keeps the blocks other backups still need, and manifest entries cannot escape the
+ * restore directory.
+ */
+class IncrementalBackupsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path worldFolder;
+    private String backupDirectory;
+    private IncrementalBackups backups;
+    private final LocalBackupObjects objects = new LocalBackupObjects();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        worldFolder = Files.createDirectories(tempDir.resolve("world"));
+        backupDirectory = Files.createDirectories(tempDir.resolve("backups"))
+                        .toAbsolutePath()
+                        .toString()
+                + "/";
+        backups = new IncrementalBackups(objects);
+
+        Files.createDirectories(worldFolder.resolve("region"));
+        Files.write(worldFolder.resolve("region/r.0.0.mca"), randomBytes(4 * IncrementalBackups.BLOCK_SIZE, 1));
+        Files.writeString(worldFolder.resolve("level.dat"), "level");
+        Files.write(worldFolder.resolve("empty.dat"), new byte[0]);
+        Files.writeString(worldFolder.resolve("session.lock"), "lock");
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private void editSecondBlock() throws Exception {
+        Path region = worldFolder.resolve("region/r.0.0.mca");
+        byte[] bytes = Files.readAllBytes(region);
+        bytes[IncrementalBackups.BLOCK_SIZE + 10]++;
+        Files.write(region, bytes);
+    }
+
+    private int blobCount() throws Exception {
+        return objects.list(backupDirectory + "blobs/", true).size();
+    }
+
+    @Test
+    void restore_rebuildsTheBackedUpFolder() throws Exception {
+        IncrementalBackups.Stored stored = backups.store(worldFolder, backupDirectory, 1_000L);
+
+        Path restored = tempDir.resolve("restored");
+        backups.restore(stored.key(), restored);
+
+        assertArrayEquals(
+                Files.readAllBytes(worldFolder.resolve("region/r.0.0.mca")),
+                Files.readAllBytes(restored.resolve("region/r.0.0.mca")));
+        assertEquals("level", Files.readString(restored.resolve("level.dat")));
+        assertEquals(0, Files.size(restored.resolve("empty.dat")));
+        assertFalse(Files.exists(restored.resolve("session.lock")));
+    }
+
+    @Test
+    void store_writesOnlyChangedBlocks() throws Exception {
+        IncrementalBackups.Stored first = backups.store(worldFolder, backupDirectory, 1_000L);
+        editSecondBlock();
+        IncrementalBackups.Stored second = backups.store(worldFolder, backupDirectory, 2_000L);
+
+        assertEquals(first.totalBytes(), first.writtenBytes());
+        assertEquals(first.totalBytes(), second.totalBytes());
+        assertEquals(IncrementalBackups.BLOCK_SIZE, second.writtenBytes());
+    }
+
+    @Test
+    void delete_keepsBlocksStillReferencedByOtherBackups() throws Exception {
+        IncrementalBackups.Stored first = backups.store(worldFolder, backupDirectory, 1_000L);
+        int blobsAfterFirst = blobCount();
+        editSecondBlock();
+        IncrementalBackups.Stored second = backups.store(worldFolder, backupDirectory, 2_000L);
+        assertEquals(blobsAfterFirst + 1, blobCount());
+
+        backups.delete(first.key());
+
+        assertEquals(blobsAfterFirst, blobCount());
+        Path restored = tempDir.resolve("restored");
+        backups.restore(second.key(), restored);
+        assertArrayEquals(
+                Files.readAllBytes(worldFolder.resolve("region/r.0.0.mca")),
+                Files.readAllBytes(restored.resolve("region/r.0.0.mca")));
+    }
+
+    @Test
+    void delete_lastBackup_removesEveryBlock() throws Exception {
+        IncrementalBackups.Stored stored = backups.store(worldFolder, backupDirectory, 1_000L);
+
+        backups.delete(stored.key());
+
+        assertEquals(0, blobCount());
+        assertFalse(Files.exists(Path.of(stored.key())));
+    }
+
+    @Test
+    void restore_rejectsEntriesEscapingTheTarget() throws Exception {
+        String key = backupDirectory + "3000" + IncrementalBackups.MANIFEST_SUFFIX;
+        BackupManifest manifest = new BackupManifest(List.of(new BackupManifest.Entry("../escaped.dat", 0, List.of())));
+        objects.write(key, manifest.serialize());
+
+        assertThrows(Exception.class, () -> backups.restore(key, tempDir.resolve("restored")));
+        assertFalse(Files.exists(tempDir.resolve("escaped.dat")));
+    }
+
+    @Test
+    void manifest_roundTripsPathsWithSpaces() throws Exception {
+        BackupManifest manifest = new BackupManifest(
+                List.of(new BackupManifest.Entry("data/my map.dat", 3, List.of("aa", "bb"))));
+
+        BackupManifest parsed = BackupManifest.parse(manifest.serialize());
+
+        assertEquals(manifest, parsed);
+        assertThrows(
+                Exception.class, () -> BackupManifest.parse("not a manifest".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -24,6 +24,8 @@ import static org.mockito.Mockito.when;
 import de.eintosti.buildsystem.api.world.BuildWorld;
 import de.eintosti.buildsystem.api.world.backup.Backup;
 import de.eintosti.buildsystem.api.world.backup.BackupProfile;
+import de.eintosti.buildsystem.config.PluginConfig.World.Backup.Format;
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -53,7 +55,13 @@ class LocalBackupStorageTest {
         when(world.getName()).thenReturn("test-world");
 
         // Synchronous executor so futures complete immediately in tests
-        storage = new LocalBackupStorage(Logger.getLogger("test"), Runnable::run, backupRoot, bw -> profile);
+        storage = new LocalBackupStorage(
+                Logger.getLogger("test"),
+                Runnable::run,
+                backupRoot,
+                Format.ZIP,
+                new ParallelZipArchiver(Runnable::run, 1, 6, true),
+                bw -> profile);
     }
 
     private Path worldBackupDir() throws Exception {
@@ -103,6 +111,19 @@ class LocalBackupStorageTest {
                 "First element should have a creation time >= second");
     }
 
+    @Test
+    void listIncludesManifestsButNotTheirBlocks() throws Exception {
+        Path dir = worldBackupDir();
+        createZip(dir, "1000.zip");
+        Files.writeString(dir.resolve("2000.manifest"), "manifest");
+        Path blobs = Files.createDirectories(dir.resolve("blobs").resolve("ab"));
+        Files.writeString(blobs.resolve("abcdef"), "block");
+
+        List<Backup> backups = storage.listBackups(world).get();
+        assertEquals(2, backups.size());
+        assertTrue(backups.stream().anyMatch(b -> b.key().endsWith("2000.manifest")));
+    }
+
     @Test
     void listEmptyWhenDirectoryAbsent() throws Exception {
         List<Backup> backups = storage.listBackups(world).get();
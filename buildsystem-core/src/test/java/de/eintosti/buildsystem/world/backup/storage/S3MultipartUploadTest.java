@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.eintosti.buildsystem.util.ParallelZipArchiver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Tests for {@link S3MultipartUpload} against an in-process S3 stand-in ({@link FakeS3Server}): a streamed archive
+ * arrives intact across several parts, no more parts than the configured parallelism are in flight, small objects use
+ * a single PUT, and a failed or unfinished upload is aborted instead of leaving a truncated object behind.
+ */
+class S3MultipartUploadTest {
+
+    private static final String BUCKET = "backups";
+    private static final int PART_SIZE = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private FakeS3Server server;
+    private S3Client client;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeS3Server();
+        client = server.newClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+        executor.shutdownNow();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private S3MultipartUpload upload(String key, int parallelism) {
+        return new S3MultipartUpload(client, BUCKET, key, PART_SIZE, parallelism, executor);
+    }
+
+    @Test
+    void streamedArchive_arrivesIntactAcrossParts() throws Exception {
+        Path world = Files.createDirectories(tempDir.resolve("world"));
+        Files.createDirectories(world.resolve("region"));
+        Files.write(world.resolve("region/r.0.0.mca"), randomBytes(5 * PART_SIZE / 2));
+        Files.writeString(world.resolve("level.dat"), "level");
+
+        try (S3MultipartUpload upload = upload("world.zip", 2)) {
+            new ParallelZipArchiver(executor, 2, 6, true).archive(world, upload);
+            upload.complete();
+        }
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(server.objects.get("world.zip")))) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipIn.readAllBytes());
+            }
+        }
+        assertEquals(1, server.createdUploads.get());
+        assertArrayEquals(Files.readAllBytes(world.resolve("region/r.0.0.mca")), entries.get("region/r.0.0.mca"));
+        assertEquals("level", new String(entries.get("level.dat")));
+    }
+
+    @Test
+    void partsInFlight_neverExceedParallelism() throws Exception {
+        server.partDelayMillis = 50;
+        byte[] data = randomBytes(10 * PART_SIZE);
+
+        try (S3MultipartUpload upload = upload("parts.bin", 2)) {
+            upload.write(data);
+            upload.complete();
+        }
+
+        assertArrayEquals(data, server.objects.get("parts.bin"));
+        assertTrue(server.maxPartsInFlight.get() <= 2, "At most two parts may upload at once");
+    }
+
+    @Test
+    void smallObject_usesSinglePut() throws Exception {
+        try (S3MultipartUpload upload = upload("small.bin", 2)) {
+            upload.write(new byte[] {1, 2, 3});
+            upload.complete();
+        }
+
+        assertEquals(0, server.createdUploads.get());
+        assertArrayEquals(new byte[] {1, 2, 3}, server.objects.get("small.bin"));
+    }
+
+    @Test
+    void failedPart_abortsTheUpload() {
+        server.failingPartNumber = 2;
+
+        assertThrows(IOException.class, () -> {
+            try (S3MultipartUpload upload = upload("failed.bin", 2)) {
+                upload.write(randomBytes(5 * PART_SIZE));
+                upload.complete();
+            }
+        });
+
+        assertEquals(1, server.abortedUploads.size());
+        assertFalse(server.objects.containsKey("failed.bin"));
+    }
+
+    @Test
+    void closeWithoutComplete_abortsTheUpload() throws Exception {
+        try (S3MultipartUpload upload = upload("unfinished.bin", 2)) {
+            upload.write(randomBytes(3 * PART_SIZE));
+        }
+
+        assertEquals(1, server.abortedUploads.size());
+        assertFalse(server.objects.containsKey("unfinished.bin"));
+    }
+
+    @Test
+    void partSizeFor_growsToStayWithinThePartLimit() {
+        assertEquals(PART_SIZE, S3MultipartUpload.partSizeFor(PART_SIZE, 10L * PART_SIZE));
+
+        long terabyte = 1L << 40;
+        int partSize = S3MultipartUpload.partSizeFor(PART_SIZE, terabyte);
+        assertTrue(Math.ceilDiv(terabyte, partSize) <= 10_000);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.backup.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.apache.sshd.common.config.keys.KeyUtils;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.session.ServerSession;
+import org.apache.sshd.sftp.server.FileHandle;
+import org.apache.sshd.sftp.server.Handle;
+import org.apache.sshd.sftp.server.SftpEventListener;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SftpSessionPool} against an embedded SFTP server: sessions are reused and capped, a session the
+ * server dropped is replaced transparently, and an upload interrupted by a dropped connection is resumed from the size
+ * of the partial file instead of restarted or left as a partial file.
+ */
+class SftpSessionPoolTest {
+
+    private static final String USERNAME = "backup";
+    private static final String PASSWORD = "secret";
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private SshServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    /** The size of the partial file when a handle to it was opened, by handle, in the order they were opened. */
+    private final Map<String, Long> partialSizeOnOpen = Collections.synchronizedMap(new LinkedHashMap<>());
+    /** The offset of the first write through each handle. */
+    private final Map<String, Long> firstWriteOffset = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createDirectories(tempDir.resolve("remote"));
+        Files.createDirectories(root.resolve("backups"));
+
+        SimpleGeneratorHostKeyProvider hostKeys = new SimpleGeneratorHostKeyProvider(tempDir.resolve("host.ser"));
+        hostKeys.setAlgorithm(KeyUtils.RSA_ALGORITHM);
+
+        server = SshServer.setUpDefaultServer();
+        server.setHost("127.0.0.1");
+        server.setPort(0);
+        server.setKeyPairProvider(hostKeys);
+        server.setPasswordAuthenticator(
+                (username, password, session) -> USERNAME.equals(username) && PASSWORD.equals(password));
+        SftpSubsystemFactory sftp = new SftpSubsystemFactory();
+        sftp.addSftpEventListener(new SftpEventListener() {
+            @Override
+            public void open(ServerSession session, String remoteHandle, Handle localHandle) throws IOException {
+                if (localHandle instanceof FileHandle
+                        && localHandle.getFile().toString().endsWith(SftpSessionPool.PART_SUFFIX)) {
+                    partialSizeOnOpen.put(remoteHandle, Files.size(localHandle.getFile()));
+                }
+            }
+
+            @Override
+            public void writing(
+                    ServerSession session,
+                    String remoteHandle,
+                    FileHandle localHandle,
+                    long offset,
+                    byte[] data,
+                    int dataOffset,
+                    int dataLen) {
+                firstWriteOffset.putIfAbsent(remoteHandle, offset);
+            }
+        });
+        server.setSubsystemFactories(List.of(sftp));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(root));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.stop(true);
+    }
+
+    private SftpSessionPool pool(int maxSessions) {
+        return new SftpSessionPool(
+                Logger.getLogger("SftpSessionPoolTest"),
+                "127.0.0.1",
+                server.getPort(),
+                USERNAME,
+                PASSWORD,
+                tempDir.resolve("known_hosts"),
+                maxSessions);
+    }
+
+    private void dropServerSessions() {
+        server.getActiveSessions().forEach(session -> session.close(true));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    void call_reusesIdleSession() throws IOException {
+        try (SftpSessionPool pool = pool(3)) {
+            pool.call(sftp -> sftp.canonicalPath("."));
+            pool.call(sftp -> sftp.canonicalPath("."));
+
+            assertEquals(1, pool.idleSessions());
+            assertEquals(1, server.getActiveSessions().size());
+        }
+    }
+
+    @Test
+    void call_neverOpensMoreThanMaxSessions() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        try (SftpSessionPool pool = pool(2)) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(executor.submit(() -> pool.call(sftp -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    active.decrementAndGet();
+                    return sftp.canonicalPath(".");
+                })));
+            }
+            for (Future<String> future : futures) {
+                future.get();
+            }
+
+            assertEquals(2, maxActive.get());
+            assertEquals(2, pool.idleSessions());
+            assertTrue(server.getActiveSessions().size() <= 2);
+        }
+    }
+
+    @Test
+    void call_replacesSessionDroppedByServer() throws IOException {
+        Files.writeString(root.resolve("backups/level.dat"), "level");
+
+        try (SftpSessionPool pool = pool(2)) {
+            pool.call(sftp -> sftp.canonicalPath("."));
+            dropServerSessions();
+
+            long size = pool.call(sftp -> sftp.stat("/backups/level.dat").getSize());
+
+            assertEquals(5, size);
+            assertEquals(1, pool.idleSessions());
+        }
+    }
+
+    @Test
+    void call_keepsSessionOnServerError() throws IOException {
+        try (SftpSessionPool pool = pool(2)) {
+            assertThrows(IOException.class, () -> pool.call(sftp -> sftp.stat("/backups/missing.zip")));
+
+            assertEquals(1, pool.idleSessions());
+        }
+    }
+
+    @Test
+    void upload_renamesCompleteFile() throws IOException {
+        byte[] content = randomBytes(300 * 1024);
+
+        try (SftpSessionPool pool = pool(2)) {
+            pool.upload("/backups/1.zip", tempDir.resolve("spool"), out -> out.write(content));
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(root.resolve("backups/1.zip")));
+        assertFalse(Files.exists(root.resolve("backups/1.zip" + SftpSessionPool.PART_SUFFIX)));
+    }
+
+    @Test
+    void upload_resumesAfterConnectionDrop() throws IOException {
+        byte[] content = randomBytes(4 * 1024 * 1024);
+        int half = content.length / 2;
+
+        try (SftpSessionPool pool = pool(2)) {
+            pool.upload("/backups/2.zip", tempDir.resolve("spool"), out -> {
+                out.write(content, 0, half);
+                dropServerSessions();
+                out.write(content, half, content.length - half);
+            });
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(root.resolve("backups/2.zip")));
+        assertFalse(Files.exists(root.resolve("backups/2.zip" + SftpSessionPool.PART_SUFFIX)));
+    }
+
+    @Test
+    void upload_resumeSendsOnlyTheBytesAfterThePartialFile() throws IOException {
+        byte[] content = randomBytes(4 * 1024 * 1024);
+        int half = content.length / 2;
+
+        try (SftpSessionPool pool = pool(2)) {
+            pool.upload("/backups/3.zip", tempDir.resolve("spool"), out -> {
+                out.write(content, 0, half);
+                dropServerSessions();
+                out.write(content, half, content.length - half);
+            });
+        }
+
+        // The first handle streams from the start; every later one resumes after the bytes the server already holds
+        List<String> handles = List.copyOf(partialSizeOnOpen.keySet());
+        assertTrue(handles.size() > 1);
+        for (String handle : handles.subList(1, handles.size())) {
+            long partialSize = partialSizeOnOpen.get(handle);
+            if (partialSize < content.length) {
+                assertEquals(partialSize, firstWriteOffset.get(handle));
+            } else {
+                assertNull(firstWriteOffset.get(handle));
+            }
+        }
+        assertArrayEquals(content, Files.readAllBytes(root.resolve("backups/3.zip")));
+    }
+}
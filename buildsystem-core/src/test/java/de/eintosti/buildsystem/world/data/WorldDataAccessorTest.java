@@ -21,9 +21,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.api.world.display.Folder;
 import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.data.type.PersistentProperty;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.Difficulty;
 import org.jspecify.annotations.NullMarked;
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +83,99 @@ class WorldDataAccessorTest {
         assertThrows(IllegalArgumentException.class, () -> data.get(unknown));
     }
 
+    @Test
+    void builtInKeys_haveDenseOrdinals() {
+        List<WorldDataKey<?>> keys = WorldDataKey.values();
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, keys.get(i).ordinal());
+        }
+    }
+
+    @Test
+    void keyWithBuiltInId_readsTheBuiltInSetting() {
+        WorldDataImpl data = worldData();
+        data.set(WorldDataKey.PHYSICS, false);
+
+        WorldDataKey<Boolean> physics = WorldDataKey.of("physics", Boolean.class);
+
+        assertEquals(WorldDataKey.PHYSICS.ordinal(), physics.ordinal());
+        assertFalse(data.get(physics));
+    }
+
+    @Test
+    void primitiveAccessors_matchBoxedAccessors() {
+        WorldDataImpl data = worldData();
+
+        data.setLong(WorldDataKey.LAST_EDITED, 1_700_000_000_000L);
+        data.set(WorldDataKey.MOB_AI, false);
+
+        assertEquals(1_700_000_000_000L, data.getLong(WorldDataKey.LAST_EDITED));
+        assertEquals(1_700_000_000_000L, data.get(WorldDataKey.LAST_EDITED));
+        assertFalse(data.getBoolean(WorldDataKey.MOB_AI));
+    }
+
+    @Test
+    void setLong_notifiesModificationListener() {
+        WorldDataImpl data = worldData();
+        AtomicInteger modifications = new AtomicInteger();
+        data.setModificationListener(modifications::incrementAndGet);
+
+        data.setLong(WorldDataKey.LAST_LOADED, 42L);
+
+        assertEquals(1, modifications.get());
+    }
+
+    @Test
+    void unchangedValues_doNotNotifyModificationListener() {
+        WorldDataImpl data = worldData();
+        data.setLong(WorldDataKey.LAST_LOADED, 42L);
+        data.set(WorldDataKey.PHYSICS, false);
+        data.set(WorldDataKey.PERMISSION, "buildsystem.test");
+        AtomicInteger modifications = new AtomicInteger();
+        data.setModificationListener(modifications::incrementAndGet);
+
+        data.setLong(WorldDataKey.LAST_LOADED, 42L);
+        data.set(WorldDataKey.LAST_LOADED, 42L);
+        data.set(WorldDataKey.PHYSICS, false);
+        data.set(WorldDataKey.PERMISSION, "buildsystem.test");
+        assertEquals(0, modifications.get());
+
+        data.set(WorldDataKey.PERMISSION, "buildsystem.other");
+        assertEquals(1, modifications.get());
+    }
+
+    @Test
+    void getAllData_listsEveryKeyInOrderWithItsConfigFormat() {
+        WorldDataImpl data = worldData();
+        data.set(WorldDataKey.DIFFICULTY, Difficulty.HARD);
+        data.setLong(WorldDataKey.LAST_UNLOADED, 7L);
+
+        Map<String, PersistentProperty<?>> allData = data.getAllData();
+
+        assertEquals(
+                WorldDataKey.values().stream().map(WorldDataKey::id).toList(), List.copyOf(allData.keySet()));
+        assertEquals("HARD", allData.get("difficulty").getConfigFormat());
+        assertEquals(7L, allData.get("last-unloaded").getConfigFormat());
+        assertEquals(false, allData.get("pinned").getConfigFormat());
+    }
+
+    @Test
+    void folderOverride_appliesWhileEnabled() {
+        WorldDataImpl data = new WorldDataImpl.WorldDataBuilder("test")
+                .withStatus(TestData.NOT_STARTED)
+                .withPermissionOverrideEnabled(() -> true)
+                .build();
+        data.set(WorldDataKey.PERMISSION, "own.permission");
+
+        // Without an assigned folder there is nothing to override with
+        assertEquals("own.permission", data.get(WorldDataKey.PERMISSION));
+
+        Folder folder = mock(Folder.class);
+        when(folder.getPermission()).thenReturn("folder.permission");
+        data.setFolderResolver(() -> folder);
+        assertEquals("folder.permission", data.get(WorldDataKey.PERMISSION));
+    }
+
     @Test
     void getAllData_isUnmodifiable() {
         WorldDataImpl data = worldData();
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.display;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.BuildWorldStatus;
+import de.eintosti.buildsystem.api.world.data.WorldData;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.api.world.display.Displayable;
+import de.eintosti.buildsystem.api.world.display.Folder;
+import de.eintosti.buildsystem.api.world.display.WorldSort;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+@NullMarked
+class DisplaySortKeyTest {
+
+    private static BuildWorld world(String name, String project, boolean pinned) {
+        return world(name, project, pinned, 1, 0L);
+    }
+
+    private static BuildWorld world(String name, String project, boolean pinned, int statusOrder, long creation) {
+        BuildWorld world = mock(BuildWorld.class);
+        WorldData data = mock(WorldData.class);
+        BuildWorldStatus status = mock(BuildWorldStatus.class);
+        when(world.getName()).thenReturn(name);
+        when(world.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(world.getCreation()).thenReturn(creation);
+        when(world.getData()).thenReturn(data);
+        when(data.get(WorldDataKey.PINNED)).thenReturn(pinned);
+        when(data.get(WorldDataKey.PROJECT)).thenReturn(project);
+        when(data.get(WorldDataKey.STATUS)).thenReturn(status);
+        when(status.getOrder()).thenReturn(statusOrder);
+        return world;
+    }
+
+    private static Folder folder(String name, String project, long creation) {
+        Folder folder = mock(Folder.class);
+        when(folder.getName()).thenReturn(name);
+        when(folder.getProject()).thenReturn(project);
+        when(folder.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(folder.getCreation()).thenReturn(creation);
+        return folder;
+    }
+
+    private static List<String> sortedNames(List<Displayable> displayables, WorldSort sort) {
+        return DisplaySortKey.sort(displayables, sort).stream()
+                .map(key -> key.displayable().getName())
+                .toList();
+    }
+
+    @Test
+    void sort_matchesWorldSortComparators_withPinnedWorldsFirst() {
+        List<Displayable> displayables = List.of(
+                world("Delta", "zeta", false, 3, 400L),
+                world("bravo", "Alpha", true, 1, 200L),
+                folder("charlie", "mu", 300L),
+                world("alpha", "beta", false, 2, 100L),
+                world("echo", "gamma", true, 4, 500L),
+                world("foxtrot", "beta", false, 2, 100L),
+                folder("golf", "Alpha", 200L));
+
+        for (WorldSort sort : WorldSort.values()) {
+            List<Displayable> expected = new ArrayList<>(displayables);
+            expected.sort(Comparator.<Displayable, Boolean>comparing(
+                            displayable -> displayable instanceof BuildWorld world
+                                    && world.getData().get(WorldDataKey.PINNED))
+                    .reversed()
+                    .thenComparing(sort.getComparator())
+                    .thenComparing(Displayable::getName));
+
+            List<Displayable> actual = DisplaySortKey.sort(displayables, sort).stream()
+                    .map(DisplaySortKey::displayable)
+                    .toList();
+
+            assertEquals(expected, actual, sort.name());
+        }
+    }
+
+    @Test
+    void folderIsTreatedAsUnpinned_sortsAfterPinnedWorlds() {
+        List<Displayable> displayables =
+                List.of(folder("aaa-folder", "", 0L), world("zulu", "", false), world("alpha", "", true));
+
+        // The pinned world floats to the top even though the folder name sorts first alphabetically.
+        assertEquals(List.of("alpha", "aaa-folder", "zulu"), sortedNames(displayables, WorldSort.NAME_A_TO_Z));
+    }
+
+    @Test
+    void reversedSort_stillPlacesPinnedFirst_descendingWithinGroup() {
+        List<Displayable> displayables = List.of(
+                world("charlie", "", false),
+                world("alpha", "", true),
+                world("delta", "", false),
+                world("bravo", "", true));
+
+        assertEquals(List.of("bravo", "alpha", "delta", "charlie"), sortedNames(displayables, WorldSort.NAME_Z_TO_A));
+    }
+
+    @Test
+    void comparator_breaksTiesSoDistinctDisplayablesNeverCompareEqual() {
+        DisplaySortKey first = DisplaySortKey.of(world("alpha", "", false), WorldSort.PROJECT_A_TO_Z);
+        DisplaySortKey second = DisplaySortKey.of(world("alpha", "", false), WorldSort.PROJECT_A_TO_Z);
+
+        assertTrue(DisplaySortKey.comparator(WorldSort.PROJECT_A_TO_Z).compare(first, second) != 0);
+    }
+
+    @Test
+    void isCurrent_detectsChangedSortValue() {
+        BuildWorld world = world("alpha", "beta", false);
+        DisplaySortKey key = DisplaySortKey.of(world, WorldSort.PROJECT_A_TO_Z);
+        assertTrue(key.isCurrent());
+
+        when(world.getData().get(WorldDataKey.PROJECT)).thenReturn("gamma");
+        assertFalse(key.isCurrent());
+    }
+
+    @Test
+    void isCurrent_detectsChangedPriorityTier() {
+        BuildWorld world = world("alpha", "beta", false);
+        DisplaySortKey key = DisplaySortKey.of(world, WorldSort.NAME_A_TO_Z);
+
+        when(world.getData().get(WorldDataKey.PINNED)).thenReturn(true);
+        assertFalse(key.isCurrent());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Chunk;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ChunkUnloadQueue}: chunks are unloaded until the tick budget is spent, at least one per tick, and
+ * chunks that were already unloaded are skipped.
+ */
+@NullMarked
+class ChunkUnloadQueueTest {
+
+    /** A clock that advances by one millisecond every time it is read. */
+    private final AtomicLong nanos = new AtomicLong();
+
+    private long tick() {
+        return nanos.addAndGet(1_000_000);
+    }
+
+    private static Chunk[] loadedChunks(int count) {
+        Chunk[] chunks = new Chunk[count];
+        for (int i = 0; i < count; i++) {
+            chunks[i] = mock(Chunk.class);
+            when(chunks[i].isLoaded()).thenReturn(true);
+        }
+        return chunks;
+    }
+
+    @Test
+    void unloadNext_stopsOnceTheBudgetIsSpent() {
+        Chunk[] chunks = loadedChunks(10);
+        ChunkUnloadQueue queue = new ChunkUnloadQueue(chunks, 3_000_000, this::tick);
+
+        assertFalse(queue.unloadNext());
+
+        verify(chunks[0]).unload(true);
+        verify(chunks[2]).unload(true);
+        verify(chunks[3], never()).unload(anyBoolean());
+    }
+
+    @Test
+    void unloadNext_unloadsAtLeastOneChunkPerTick() {
+        Chunk[] chunks = loadedChunks(2);
+        ChunkUnloadQueue queue = new ChunkUnloadQueue(chunks, 0, this::tick);
+
+        assertFalse(queue.unloadNext());
+        assertTrue(queue.unloadNext());
+
+        verify(chunks[0]).unload(true);
+        verify(chunks[1]).unload(true);
+    }
+
+    @Test
+    void unloadNext_skipsChunksThatAreNoLongerLoaded() {
+        Chunk[] chunks = loadedChunks(2);
+        when(chunks[0].isLoaded()).thenReturn(false);
+
+        assertTrue(new ChunkUnloadQueue(chunks, Long.MAX_VALUE / 2, this::tick).unloadNext());
+
+        verify(chunks[0], never()).unload(anyBoolean());
+        verify(chunks[1]).unload(true);
+    }
+
+    @Test
+    void unloadNext_noChunks_isDoneImmediately() {
+        assertTrue(new ChunkUnloadQueue(new Chunk[0], 0, this::tick).unloadNext());
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.policy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.builder.Builder;
+import de.eintosti.buildsystem.api.world.data.BuildWorldType;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.config.PluginConfig;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.test.TestData;
+import de.eintosti.buildsystem.world.BuildWorldImpl;
+import de.eintosti.buildsystem.world.WorldContext;
+import de.eintosti.buildsystem.world.data.WorldDataImpl;
+import de.eintosti.buildsystem.world.data.WorldDataImpl.WorldDataBuilder;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.bukkit.World;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+/**
+ * Tests for {@link WorldPolicyCache}: policies are resolved from the build world's settings and the config, and are
+ * dropped when a world is indexed, removed or has a policy setting changed.
+ */
+@NullMarked
+class WorldPolicyCacheTest {
+
+    private ServerMock server;
+    private WorldStorageImpl storage;
+    private WorldContext context;
+    private ConfigService configService;
+    private WorldPolicyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        storage = new WorldStorageImpl(Logger.getLogger("test")) {
+            @Override
+            public CompletableFuture<Void> save(BuildWorld object) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> save(Collection<BuildWorld> objects) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Collection<BuildWorld>> load() {
+                return CompletableFuture.completedFuture(List.of());
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(BuildWorld object) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(String key) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        context = TestData.worldContext();
+        configService = mock(ConfigService.class, RETURNS_DEEP_STUBS);
+        when(configService.current().world().disabledPhysics())
+                .thenReturn(new PluginConfig.World.DisabledPhysics(true, false, true));
+        cache = new WorldPolicyCache(storage, configService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private BuildWorldImpl buildWorld(String name) {
+        return new BuildWorldImpl(
+                context,
+                UUID.randomUUID(),
+                name,
+                BuildWorldType.NORMAL,
+                data(name),
+                Builder.of(UUID.randomUUID(), "Creator"),
+                List.of(),
+                System.currentTimeMillis(),
+                null,
+                null);
+    }
+
+    private static WorldDataImpl data(String name) {
+        return new WorldDataBuilder(name).withStatus(TestData.NOT_STARTED).build();
+    }
+
+    @Test
+    void get_worldWithoutBuildWorld_isUnrestricted() {
+        World world = server.addSimpleWorld("lobby");
+
+        assertEquals(WorldPolicy.UNRESTRICTED, cache.get(world));
+    }
+
+    @Test
+    void get_resolvesSettingsAndConfig() {
+        World world = server.addSimpleWorld("alpha");
+        BuildWorldImpl buildWorld = buildWorld("alpha");
+        buildWorld.getData().set(WorldDataKey.PHYSICS, false);
+        buildWorld.getData().set(WorldDataKey.MOB_AI, false);
+        storage.addBuildWorld(buildWorld);
+
+        WorldPolicy policy = cache.get(world);
+
+        assertFalse(policy.physics());
+        assertFalse(policy.connections());
+        assertTrue(policy.fluidFlow());
+        assertFalse(policy.fallingBlocks());
+        assertFalse(policy.mobAi());
+        // Disabled physics also stop explosions, whatever the explosions setting says
+        assertFalse(policy.explosions());
+    }
+
+    @Test
+    void get_explosionsSettingAloneDisablesExplosions() {
+        World world = server.addSimpleWorld("alpha");
+        BuildWorldImpl buildWorld = buildWorld("alpha");
+        buildWorld.getData().set(WorldDataKey.EXPLOSIONS, false);
+        storage.addBuildWorld(buildWorld);
+
+        WorldPolicy policy = cache.get(world);
+
+        assertTrue(policy.physics());
+        assertFalse(policy.explosions());
+    }
+
+    @Test
+    void get_returnsCachedPolicyUntilInvalidated() {
+        World world = server.addSimpleWorld("alpha");
+        storage.addBuildWorld(buildWorld("alpha"));
+        WorldPolicy before = cache.get(world);
+
+        // A config change is only picked up once the plugin invalidates the cache on reload
+        when(configService.current().world().disabledPhysics())
+                .thenReturn(new PluginConfig.World.DisabledPhysics(false, false, false));
+        assertSame(before, cache.get(world));
+
+        cache.invalidateAll();
+        assertTrue(cache.get(world).connections());
+    }
+
+    @Test
+    void indexingAndRemovingWorlds_invalidate() {
+        World world = server.addSimpleWorld("alpha");
+        BuildWorldImpl buildWorld = buildWorld("alpha");
+        buildWorld.getData().set(WorldDataKey.PHYSICS, false);
+        assertTrue(cache.get(world).physics());
+
+        storage.addBuildWorld(buildWorld);
+        assertFalse(cache.get(world).physics());
+
+        storage.removeBuildWorld(buildWorld);
+        assertTrue(cache.get(world).physics());
+    }
+
+    @Test
+    void changingPolicySetting_invalidates() {
+        World world = server.addSimpleWorld("alpha");
+        BuildWorldImpl buildWorld = buildWorld("alpha");
+        storage.addBuildWorld(buildWorld);
+        assertTrue(cache.get(world).mobAi());
+
+        buildWorld.getData().set(WorldDataKey.MOB_AI, false);
+
+        assertFalse(cache.get(world).mobAi());
+    }
+
+    @Test
+    void policyChangeListener_firesOnlyForPolicySettingChanges() {
+        WorldDataImpl data = data("alpha");
+        AtomicInteger changes = new AtomicInteger();
+        data.setPolicyChangeListener(changes::incrementAndGet);
+
+        data.set(WorldDataKey.PHYSICS, false);
+        data.set(WorldDataKey.PHYSICS, false);
+        data.set(WorldDataKey.EXPLOSIONS, false);
+        data.set(WorldDataKey.MOB_AI, false);
+        data.set(WorldDataKey.LAST_EDITED, 42L);
+        data.set(WorldDataKey.BLOCK_BREAKING, false);
+
+        assertEquals(3, changes.get());
+
+        data.setPolicyChangeListener(null);
+        data.set(WorldDataKey.PHYSICS, true);
+        assertEquals(3, changes.get());
+    }
+}
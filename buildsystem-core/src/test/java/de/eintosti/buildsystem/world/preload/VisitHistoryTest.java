@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.preload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link VisitHistory}: a player's own moves outrank the team's, older moves fade, and the current world and
+ * ineligible worlds are never predicted.
+ */
+class VisitHistoryTest {
+
+    private final VisitHistory history = new VisitHistory();
+    private final UUID player = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+    private final UUID lobby = UUID.randomUUID();
+    private final UUID castle = UUID.randomUUID();
+    private final UUID harbour = UUID.randomUUID();
+
+    @Test
+    void predict_withoutHistory_isEmpty() {
+        assertTrue(history.predict(player, lobby, 2, world -> true).isEmpty());
+    }
+
+    @Test
+    void predict_usesTeamHistoryForNewPlayers() {
+        history.record(other, lobby, castle);
+
+        assertEquals(List.of(castle), history.predict(player, lobby, 2, world -> true));
+    }
+
+    @Test
+    void predict_personalMovesOutrankTeamMoves() {
+        history.record(other, lobby, castle);
+        history.record(UUID.randomUUID(), lobby, castle);
+        history.record(player, lobby, harbour);
+
+        assertEquals(List.of(harbour, castle), history.predict(player, lobby, 2, world -> true));
+    }
+
+    @Test
+    void predict_olderMovesFade() {
+        history.record(player, lobby, castle);
+        history.record(player, lobby, castle);
+        for (int i = 0; i < 20; i++) {
+            history.record(player, lobby, harbour);
+        }
+
+        assertEquals(List.of(harbour), history.predict(player, lobby, 1, world -> true));
+        assertEquals(List.of(harbour, castle), history.predict(player, lobby, 2, world -> true));
+    }
+
+    @Test
+    void predict_respectsLimit() {
+        history.record(player, lobby, castle);
+        history.record(player, lobby, harbour);
+
+        assertEquals(1, history.predict(player, lobby, 1, world -> true).size());
+        assertTrue(history.predict(player, lobby, 0, world -> true).isEmpty());
+    }
+
+    @Test
+    void predict_neverReturnsCurrentWorld() {
+        history.record(player, lobby, castle);
+        history.record(player, castle, lobby);
+
+        assertEquals(List.of(lobby), history.predict(player, castle, 2, world -> true));
+    }
+
+    @Test
+    void predict_skipsIneligibleWorlds() {
+        history.record(player, lobby, castle);
+        history.record(player, lobby, harbour);
+
+        assertEquals(List.of(castle), history.predict(player, lobby, 2, world -> !world.equals(harbour)));
+    }
+
+    @Test
+    void predict_outsideBuildWorld_fallsBackToWherePlayerGoes() {
+        history.record(player, null, castle);
+
+        assertEquals(List.of(castle), history.predict(player, null, 2, world -> true));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018-2026, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world.preload;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import de.eintosti.buildsystem.api.world.BuildWorld;
+import de.eintosti.buildsystem.api.world.data.WorldDataKey;
+import de.eintosti.buildsystem.config.ConfigService;
+import de.eintosti.buildsystem.config.PluginConfig;
+import de.eintosti.buildsystem.storage.WorldStorageImpl;
+import de.eintosti.buildsystem.util.TaskScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests for {@link WorldPreloader}: without a visit history the player's own worlds are read from the creator and
+ * builder indexes, most recently loaded first, and worlds are only preloaded while enabled, enterable and within the
+ * loaded world budget.
+ */
+@NullMarked
+class WorldPreloaderTest {
+
+    private final UUID playerId = UUID.randomUUID();
+    private final List<BuildWorld> loadedWorlds = new ArrayList<>();
+
+    private WorldStorageImpl storage;
+    private ConfigService configService;
+    private TaskScheduler scheduler;
+    private Player player;
+    private WorldPreloader preloader;
+
+    @BeforeEach
+    void setUp() {
+        storage = mock(WorldStorageImpl.class);
+        when(storage.getBuildWorlds()).thenReturn(loadedWorlds);
+        configService = mock(ConfigService.class, RETURNS_DEEP_STUBS);
+        configure(true, 10);
+        scheduler = mock(TaskScheduler.class);
+        when(scheduler.runTimer(any(), anyLong(), anyLong())).thenReturn(mock(BukkitTask.class));
+
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(playerId);
+        when(player.getWorld()).thenReturn(mock(World.class));
+        preloader = new WorldPreloader(storage, configService, scheduler, Logger.getLogger("test"));
+    }
+
+    private void configure(boolean enabled, int maxLoadedWorlds) {
+        when(configService.current().world().preload())
+                .thenReturn(new PluginConfig.World.Preload(enabled, maxLoadedWorlds, 2));
+        when(configService.current().world().unload())
+                .thenReturn(new PluginConfig.World.Unload(true, "01:00:00", 5, Set.of()));
+    }
+
+    private BuildWorld buildWorld(long lastLoaded) {
+        BuildWorld buildWorld = mock(BuildWorld.class, RETURNS_DEEP_STUBS);
+        UUID id = UUID.randomUUID();
+        when(buildWorld.getUniqueId()).thenReturn(id);
+        when(buildWorld.getData().getLong(WorldDataKey.LAST_LOADED)).thenReturn(lastLoaded);
+        when(buildWorld.getPermissions().canEnter(player)).thenReturn(true);
+        when(storage.getBuildWorld(id)).thenReturn(buildWorld);
+        return buildWorld;
+    }
+
+    /** Runs the preload timer scheduled by the preloader once. */
+    private void runPreloadTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTimer(task.capture(), anyLong(), anyLong());
+        task.getValue().run();
+    }
+
+    @Test
+    void withoutHistory_preloadsOwnWorldsFromIndexesMostRecentlyLoadedFirst() {
+        BuildWorld older = buildWorld(1_000L);
+        BuildWorld newer = buildWorld(3_000L);
+        BuildWorld built = buildWorld(2_000L);
+        when(storage.getBuildWorldsCreatedBy(playerId)).thenReturn(List.of(older, newer));
+        when(storage.getBuildWorldsWithBuilder(playerId)).thenReturn(List.of(built, newer));
+
+        preloader.onNavigatorOpened(player);
+
+        verify(storage, never()).getBuildWorlds();
+        runPreloadTask();
+        verify(newer.getLoader()).load();
+        verify(built.getLoader(), never()).load();
+        runPreloadTask();
+        verify(built.getLoader()).load();
+        verify(older.getLoader(), never()).load();
+    }
+
+    @Test
+    void disabled_schedulesNothing() {
+        configure(false, 10);
+        when(storage.getBuildWorldsCreatedBy(playerId)).thenReturn(List.of(buildWorld(1_000L)));
+
+        preloader.onNavigatorOpened(player);
+
+        verify(scheduler, never()).runTimer(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void worldThePlayerCannotEnter_isNotPreloaded() {
+        BuildWorld locked = buildWorld(1_000L);
+        when(locked.getPermissions().canEnter(player)).thenReturn(false);
+        when(storage.getBuildWorldsCreatedBy(playerId)).thenReturn(List.of(locked));
+
+        preloader.onNavigatorOpened(player);
+
+        verify(scheduler, never()).runTimer(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void budgetReached_withoutUnusedPreload_dropsPrediction() {
+        configure(true, 1);
+        BuildWorld loaded = mock(BuildWorld.class, RETURNS_DEEP_STUBS);
+        when(loaded.isLoaded()).thenReturn(true);
+        loadedWorlds.add(loaded);
+        BuildWorld own = buildWorld(1_000L);
+        when(storage.getBuildWorldsCreatedBy(playerId)).thenReturn(List.of(own));
+
+        preloader.onNavigatorOpened(player);
+        runPreloadTask();
+
+        verify(own.getLoader(), never()).load();
+        assertFalse(own.isLoaded());
+    }
+}